@@ -0,0 +1,650 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.common.configurable;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.helidon.config.Config;
+import io.helidon.config.metadata.Configured;
+import io.helidon.config.metadata.ConfiguredOption;
+
+/**
+ * A scheduled executor service backed by a hashed timing wheel.
+ * <p>
+ * Scheduling and cancelling a task are constant time operations that do not take a lock, which suits
+ * timeouts that are scheduled for most calls and cancelled for most of them as well, and large numbers of
+ * periodic tasks sharing a single timer thread.
+ * The price is precision: tasks are executed on the first tick at or after their delay expired,
+ * so a task may run up to one {@link Builder#tickDuration(java.time.Duration) tick} late.
+ * <p>
+ * Tasks run on the single timer thread unless an {@link Builder#executor(java.util.concurrent.Executor) executor}
+ * is configured, so they should be short (such as completing a future).
+ * A periodic task is scheduled again once its execution completed, so executions of a periodic task never overlap.
+ * Tasks that are not yet due when the timer is shut down are cancelled.
+ */
+public final class HashedWheelTimer extends AbstractExecutorService implements ScheduledExecutorService {
+    private static final Logger LOGGER = Logger.getLogger(HashedWheelTimer.class.getName());
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    // limit of tasks moved to the wheel on each tick, so a burst of scheduling does not delay expiration
+    private static final int MAX_TRANSFER_PER_TICK = 100_000;
+
+    private static final int STATE_INIT = 0;
+    private static final int STATE_STARTED = 1;
+    private static final int STATE_SHUTDOWN = 2;
+
+    private final AtomicInteger state = new AtomicInteger(STATE_INIT);
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private final Queue<WheelTask<?>> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTask<?>> cancelled = new ConcurrentLinkedQueue<>();
+    private final List<Runnable> unprocessed = new ArrayList<>();
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long tickNanos;
+    private final Executor executor;
+    private final LagListener[] lagListeners;
+    private final Thread worker;
+    private volatile long startNanos;
+
+    private HashedWheelTimer(Builder builder) {
+        this.tickNanos = Math.max(1, builder.tickDuration.toNanos());
+        int ticksPerWheel = normalize(builder.ticksPerWheel);
+        this.wheel = new Bucket[ticksPerWheel];
+        for (int i = 0; i < ticksPerWheel; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = ticksPerWheel - 1;
+        this.executor = builder.executor;
+        this.lagListeners = builder.lagListeners.toArray(new LagListener[0]);
+        this.worker = new Thread(this::run, builder.threadNamePrefix + THREAD_COUNTER.incrementAndGet());
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * A new builder for {@link io.helidon.common.configurable.HashedWheelTimer}.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Create a timer with default configuration.
+     *
+     * @return a new timer
+     */
+    public static HashedWheelTimer create() {
+        return builder().build();
+    }
+
+    /**
+     * Create a timer from configuration.
+     *
+     * @param config configuration of the timer
+     * @return a new timer
+     * @see io.helidon.common.configurable.HashedWheelTimer.Builder#config(io.helidon.config.Config)
+     */
+    public static HashedWheelTimer create(Config config) {
+        return builder().config(config).build();
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        return schedule(new WheelTask<Void>(command, null, deadline(delay, unit), 0));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        return schedule(new WheelTask<>(callable, deadline(delay, unit)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("Period must be positive");
+        }
+        return schedule(new WheelTask<Void>(command, null, deadline(initialDelay, unit), unit.toNanos(period)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        if (delay <= 0) {
+            throw new IllegalArgumentException("Delay must be positive");
+        }
+        return schedule(new WheelTask<Void>(command, null, deadline(initialDelay, unit), -unit.toNanos(delay)));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        schedule(command, 0, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void shutdown() {
+        if (state.compareAndSet(STATE_INIT, STATE_SHUTDOWN)) {
+            // release callers of start() that lost the race with this shutdown
+            started.countDown();
+            terminated.countDown();
+            return;
+        }
+        if (state.compareAndSet(STATE_STARTED, STATE_SHUTDOWN)) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown();
+        if (Thread.currentThread() == worker) {
+            // cannot wait for ourselves, tasks are cancelled once the current task completes
+            return List.of();
+        }
+        try {
+            terminated.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (unprocessed) {
+            return new ArrayList<>(unprocessed);
+        }
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return state.get() == STATE_SHUTDOWN;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return terminated.await(timeout, unit);
+    }
+
+    /**
+     * Number of tasks scheduled and not yet executed or cancelled.
+     *
+     * @return number of pending tasks
+     */
+    public int pendingTasks() {
+        int result = pending.size();
+        for (Bucket bucket : wheel) {
+            result += bucket.size;
+        }
+        return result;
+    }
+
+    private <V> WheelTask<V> schedule(WheelTask<V> task) {
+        start();
+        pending.add(task);
+        if (isShutdown()) {
+            // the worker may have already drained the queue
+            task.cancel(false);
+            throw new RejectedExecutionException("Timer is shut down");
+        }
+        return task;
+    }
+
+    private void start() {
+        int current = state.get();
+        if (current == STATE_INIT && state.compareAndSet(STATE_INIT, STATE_STARTED)) {
+            worker.start();
+        } else if (current == STATE_SHUTDOWN) {
+            throw new RejectedExecutionException("Timer is shut down");
+        }
+        // deadlines are relative to the start of the worker
+        if (startNanos == 0) {
+            try {
+                started.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RejectedExecutionException("Interrupted while waiting for the timer to start", e);
+            }
+            if (startNanos == 0) {
+                // shut down before the worker was started
+                throw new RejectedExecutionException("Timer is shut down");
+            }
+        }
+    }
+
+    // deadline relative to start nanos
+    private long deadline(long delay, TimeUnit unit) {
+        start();
+        long now = System.nanoTime() - startNanos;
+        long delayNanos = Math.max(0, unit.toNanos(delay));
+        // guard against overflow
+        return delayNanos > Long.MAX_VALUE - now ? Long.MAX_VALUE : now + delayNanos;
+    }
+
+    private void run() {
+        long now = System.nanoTime();
+        // zero is used as "not started"
+        startNanos = now == 0 ? 1 : now;
+        started.countDown();
+
+        long tick = 0;
+        while (state.get() == STATE_STARTED) {
+            long deadline = waitForNextTick(tick);
+            if (deadline > 0) {
+                processCancelled();
+                transferPending(tick);
+                wheel[(int) (tick & mask)].expire(deadline);
+                tick++;
+            }
+        }
+
+        // shut down, cancel all tasks that were not yet due
+        synchronized (unprocessed) {
+            for (Bucket bucket : wheel) {
+                bucket.clear(unprocessed);
+            }
+            WheelTask<?> task;
+            while ((task = pending.poll()) != null) {
+                if (!task.isCancelled()) {
+                    unprocessed.add(task);
+                }
+            }
+            unprocessed.forEach(it -> ((WheelTask<?>) it).cancel(false));
+        }
+        terminated.countDown();
+    }
+
+    // returns time of the tick relative to start, or -1 if the timer was shut down
+    private long waitForNextTick(long tick) {
+        long deadline = tickNanos * (tick + 1);
+        while (true) {
+            long current = System.nanoTime() - startNanos;
+            long sleepNanos = deadline - current;
+            if (sleepNanos <= 0) {
+                return current;
+            }
+            LockSupport.parkNanos(this, sleepNanos);
+            if (state.get() != STATE_STARTED) {
+                return -1;
+            }
+        }
+    }
+
+    private void transferPending(long tick) {
+        for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+            WheelTask<?> task = pending.poll();
+            if (task == null) {
+                return;
+            }
+            if (task.isCancelled()) {
+                continue;
+            }
+            long calculated = task.deadline / tickNanos;
+            task.remainingRounds = (calculated - tick) / wheel.length;
+            // tasks that are already due go to the current bucket
+            long ticks = Math.max(calculated, tick);
+            wheel[(int) (ticks & mask)].add(task);
+        }
+    }
+
+    private void processCancelled() {
+        WheelTask<?> task;
+        while ((task = cancelled.poll()) != null) {
+            Bucket bucket = task.bucket;
+            if (bucket != null) {
+                bucket.remove(task);
+            }
+        }
+    }
+
+    private void fire(WheelTask<?> task) {
+        if (executor == null) {
+            task.run();
+            return;
+        }
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            LOGGER.log(Level.WARNING, "Executor rejected a timer task", e);
+            task.cancel(false);
+        }
+    }
+
+    private void notifyLag(long lagNanos) {
+        for (LagListener listener : lagListeners) {
+            try {
+                listener.lag(Math.max(0, lagNanos));
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Lag listener failed", e);
+            }
+        }
+    }
+
+    private static int normalize(int ticksPerWheel) {
+        int normalized = 1;
+        while (normalized < ticksPerWheel) {
+            normalized <<= 1;
+        }
+        return normalized;
+    }
+
+    /**
+     * Fluent API builder for {@link io.helidon.common.configurable.HashedWheelTimer}.
+     */
+    @Configured
+    public static class Builder implements io.helidon.common.Builder<Builder, HashedWheelTimer> {
+        private static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+        private Duration tickDuration = Duration.ofMillis(10);
+        private int ticksPerWheel = DEFAULT_TICKS_PER_WHEEL;
+        private final List<LagListener> lagListeners = new ArrayList<>();
+        private String threadNamePrefix = "timer-";
+        private Executor executor;
+
+        private Builder() {
+        }
+
+        @Override
+        public HashedWheelTimer build() {
+            return new HashedWheelTimer(this);
+        }
+
+        /**
+         * Update builder from configuration.
+         * <p>
+         * <table class="config">
+         * <caption>Optional configuration parameters</caption>
+         * <tr>
+         *     <th>key</th>
+         *     <th>default value</th>
+         *     <th>description</th>
+         * </tr>
+         * <tr>
+         *     <td>tick-duration</td>
+         *     <td>PT0.01S</td>
+         *     <td>Duration of a tick, see {@link #tickDuration(java.time.Duration)}</td>
+         * </tr>
+         * <tr>
+         *     <td>ticks-per-wheel</td>
+         *     <td>{@value DEFAULT_TICKS_PER_WHEEL}</td>
+         *     <td>Number of buckets of the wheel, see {@link #ticksPerWheel(int)}</td>
+         * </tr>
+         * <tr>
+         *     <td>thread-name-prefix</td>
+         *     <td>timer-</td>
+         *     <td>Name prefix of the timer thread</td>
+         * </tr>
+         * </table>
+         *
+         * @param config configuration of the timer
+         * @return updated builder instance
+         */
+        public Builder config(Config config) {
+            config.get("tick-duration").as(Duration.class).ifPresent(this::tickDuration);
+            config.get("ticks-per-wheel").asInt().ifPresent(this::ticksPerWheel);
+            config.get("thread-name-prefix").asString().ifPresent(this::threadNamePrefix);
+            return this;
+        }
+
+        /**
+         * Resolution of the timer. Tasks are executed up to one tick after their delay expired.
+         *
+         * @param tickDuration duration of a tick, defaults to 10 milliseconds
+         * @return updated builder instance
+         */
+        @ConfiguredOption("PT0.01S")
+        public Builder tickDuration(Duration tickDuration) {
+            this.tickDuration = Objects.requireNonNull(tickDuration);
+            return this;
+        }
+
+        /**
+         * Number of buckets of the wheel, rounded up to a power of two.
+         * Tasks with delay longer than {@code ticksPerWheel * tickDuration} stay in their bucket
+         * for multiple rotations of the wheel.
+         *
+         * @param ticksPerWheel number of buckets, defaults to {@value DEFAULT_TICKS_PER_WHEEL}
+         * @return updated builder instance
+         */
+        @ConfiguredOption("512")
+        public Builder ticksPerWheel(int ticksPerWheel) {
+            if (ticksPerWheel <= 0 || ticksPerWheel > (1 << 30)) {
+                throw new IllegalArgumentException("Ticks per wheel must be between 1 and 2^30, but is " + ticksPerWheel);
+            }
+            this.ticksPerWheel = ticksPerWheel;
+            return this;
+        }
+
+        /**
+         * Name prefix of the timer thread.
+         *
+         * @param threadNamePrefix thread name prefix
+         * @return updated builder instance
+         */
+        @ConfiguredOption("timer-")
+        public Builder threadNamePrefix(String threadNamePrefix) {
+            this.threadNamePrefix = Objects.requireNonNull(threadNamePrefix);
+            return this;
+        }
+
+        /**
+         * Executor to run expired tasks in. By default tasks run on the timer thread.
+         *
+         * @param executor executor to run tasks
+         * @return updated builder instance
+         */
+        public Builder executor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor);
+            return this;
+        }
+
+        /**
+         * Add a listener notified each time a task starts executing.
+         *
+         * @param listener listener to add
+         * @return updated builder instance
+         */
+        public Builder addLagListener(LagListener listener) {
+            this.lagListeners.add(Objects.requireNonNull(listener));
+            return this;
+        }
+    }
+
+    /**
+     * Listener notified when a task starts executing.
+     */
+    @FunctionalInterface
+    public interface LagListener {
+        /**
+         * A task started executing. Invoked on the thread that executes the task, so it should be fast.
+         *
+         * @param lagNanos time between the scheduled time of the task and its start, in nanoseconds;
+         *                 includes the time spent waiting for a thread of the {@link Builder#executor(Executor) executor}
+         */
+        void lag(long lagNanos);
+    }
+
+    // doubly linked list of tasks, only accessed from the worker thread (except for size)
+    private final class Bucket {
+        private WheelTask<?> head;
+        private WheelTask<?> tail;
+        private volatile int size;
+
+        private void add(WheelTask<?> task) {
+            task.bucket = this;
+            if (head == null) {
+                head = task;
+                tail = task;
+            } else {
+                tail.next = task;
+                task.prev = tail;
+                tail = task;
+            }
+            size++;
+        }
+
+        private void expire(long deadline) {
+            WheelTask<?> task = head;
+            while (task != null) {
+                WheelTask<?> next = task.next;
+                if (task.remainingRounds <= 0) {
+                    remove(task);
+                    if (task.deadline <= deadline) {
+                        fire(task);
+                    } else {
+                        // cannot happen, tasks are placed in the bucket of their deadline
+                        pending.add(task);
+                    }
+                } else if (task.isCancelled()) {
+                    remove(task);
+                } else {
+                    task.remainingRounds--;
+                }
+                task = next;
+            }
+        }
+
+        private void remove(WheelTask<?> task) {
+            if (task.bucket != this) {
+                return;
+            }
+            if (task.prev != null) {
+                task.prev.next = task.next;
+            }
+            if (task.next != null) {
+                task.next.prev = task.prev;
+            }
+            if (task == head) {
+                head = task.next;
+            }
+            if (task == tail) {
+                tail = task.prev;
+            }
+            task.prev = null;
+            task.next = null;
+            task.bucket = null;
+            size--;
+        }
+
+        private void clear(List<Runnable> unprocessed) {
+            WheelTask<?> task = head;
+            while (task != null) {
+                WheelTask<?> next = task.next;
+                remove(task);
+                if (!task.isCancelled()) {
+                    unprocessed.add(task);
+                }
+                task = next;
+            }
+        }
+    }
+
+    private final class WheelTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+        // positive for fixed rate, negative for fixed delay, zero for one shot tasks
+        private final long period;
+        // relative to start nanos
+        private volatile long deadline;
+
+        // accessed only from the worker thread
+        private long remainingRounds;
+        private Bucket bucket;
+        private WheelTask<?> prev;
+        private WheelTask<?> next;
+
+        private WheelTask(Runnable runnable, V result, long deadline, long period) {
+            super(runnable, result);
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        private WheelTask(Callable<V> callable, long deadline) {
+            super(callable);
+            this.deadline = deadline;
+            this.period = 0;
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return period != 0;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(startNanos + deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other == this) {
+                return 0;
+            }
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public void run() {
+            if (lagListeners.length > 0) {
+                notifyLag(System.nanoTime() - startNanos - deadline);
+            }
+            if (!isPeriodic()) {
+                super.run();
+            } else if (runAndReset()) {
+                if (period > 0) {
+                    deadline += period;
+                } else {
+                    deadline = System.nanoTime() - startNanos - period;
+                }
+                if (!isShutdown()) {
+                    pending.add(this);
+                }
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean result = super.cancel(mayInterruptIfRunning);
+            if (result) {
+                cancelled.add(this);
+            }
+            return result;
+        }
+
+        @Override
+        public String toString() {
+            return "WheelTask{deadline=" + deadline + ", period=" + period + "}";
+        }
+    }
+}
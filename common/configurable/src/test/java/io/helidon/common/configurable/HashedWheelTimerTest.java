@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.common.configurable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test for {@link HashedWheelTimer}.
+ */
+class HashedWheelTimerTest {
+    private HashedWheelTimer timer;
+
+    @BeforeEach
+    void createTimer() {
+        timer = HashedWheelTimer.builder()
+                .tickDuration(Duration.ofMillis(5))
+                .ticksPerWheel(8)
+                .build();
+    }
+
+    @AfterEach
+    void shutdownTimer() {
+        timer.shutdownNow();
+    }
+
+    @Test
+    void testSchedule() throws Exception {
+        long start = System.nanoTime();
+        // longer than a rotation of the wheel (8 * 5 ms)
+        ScheduledFuture<Long> future = timer.schedule(System::nanoTime, 100, TimeUnit.MILLISECONDS);
+
+        long executed = future.get(1, TimeUnit.SECONDS);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(executed - start), is(greaterThanOrEqualTo(100L)));
+        assertThat(timer.pendingTasks(), is(0));
+    }
+
+    @Test
+    void testCancel() throws Exception {
+        AtomicInteger counter = new AtomicInteger();
+        ScheduledFuture<?> cancelled = timer.schedule(counter::incrementAndGet, 20, TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> executed = timer.schedule(counter::incrementAndGet, 40, TimeUnit.MILLISECONDS);
+
+        assertThat(cancelled.cancel(false), is(true));
+        executed.get(1, TimeUnit.SECONDS);
+        assertThat(counter.get(), is(1));
+        assertThat(cancelled.isCancelled(), is(true));
+    }
+
+    @Test
+    void testFixedRate() throws Exception {
+        CountDownLatch latch = new CountDownLatch(5);
+        ScheduledFuture<?> future = timer.scheduleAtFixedRate(latch::countDown, 0, 10, TimeUnit.MILLISECONDS);
+
+        assertThat(latch.await(1, TimeUnit.SECONDS), is(true));
+        assertThat(future.cancel(false), is(true));
+        assertThat(future.isDone(), is(true));
+    }
+
+    @Test
+    void testShutdown() throws Exception {
+        ScheduledFuture<?> future = timer.schedule(() -> { }, 1, TimeUnit.HOURS);
+        timer.shutdown();
+
+        assertThat(timer.awaitTermination(1, TimeUnit.SECONDS), is(true));
+        assertThat(future.isCancelled(), is(true));
+        assertThrows(RejectedExecutionException.class, () -> timer.schedule(() -> { }, 1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testShutdownWhileStarting() throws Exception {
+        // scheduling must not hang when the timer is shut down before its worker was started
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            for (int i = 0; i < 100; i++) {
+                HashedWheelTimer raced = HashedWheelTimer.builder().build();
+                Future<?> scheduled = executor.submit(() -> {
+                    try {
+                        raced.schedule(() -> { }, 1, TimeUnit.HOURS);
+                    } catch (RejectedExecutionException ignored) {
+                        // shut down first
+                    }
+                });
+                raced.shutdown();
+                scheduled.get(5, TimeUnit.SECONDS);
+                assertThat(raced.awaitTermination(5, TimeUnit.SECONDS), is(true));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testLagListener() throws Exception {
+        List<Long> lags = new CopyOnWriteArrayList<>();
+        HashedWheelTimer listened = HashedWheelTimer.builder()
+                .tickDuration(Duration.ofMillis(5))
+                .addLagListener(lags::add)
+                .build();
+        try {
+            listened.schedule(() -> { }, 20, TimeUnit.MILLISECONDS).get(1, TimeUnit.SECONDS);
+        } finally {
+            listened.shutdownNow();
+        }
+        assertThat(lags.size(), is(1));
+        assertThat(lags.get(0), is(greaterThanOrEqualTo(0L)));
+    }
+}
@@ -22,6 +22,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 
 /**
@@ -31,6 +32,12 @@ import java.util.function.Predicate;
  */
 public final class MediaType implements AcceptPredicate<MediaType> {
 
+    /**
+     * Maximal number of media types cached by {@link #parse(String)}.
+     * Real traffic contains only a few distinct header values, the cache is cleared when full.
+     */
+    private static final int PARSE_CACHE_MAX_SIZE = 256;
+    private static final Map<String, MediaType> PARSE_CACHE = new ConcurrentHashMap<>();
     private static final Map<String, MediaType> KNOWN_TYPES;
 
     /**
@@ -304,6 +311,8 @@ public final class MediaType implements AcceptPredicate<MediaType> {
 
     /**
      * Parses a media type from its string representation.
+     * Parsed media types are cached by their string representation, so parsing the same input repeatedly
+     * (such as the {@code Content-Type} header of requests) returns the same instance.
      *
      * @param input the input string representing a media type
      * @return parsed {@link MediaType} instance
@@ -312,6 +321,20 @@ public final class MediaType implements AcceptPredicate<MediaType> {
      */
     public static MediaType parse(String input) {
         Objects.requireNonNull(input, "Parameter 'input' is null!");
+        // media types are immutable, so the same instance is returned for the same input
+        MediaType cached = PARSE_CACHE.get(input);
+        if (cached != null) {
+            return cached;
+        }
+        MediaType parsed = doParse(input);
+        if (PARSE_CACHE.size() >= PARSE_CACHE_MAX_SIZE) {
+            PARSE_CACHE.clear();
+        }
+        PARSE_CACHE.put(input, parsed);
+        return parsed;
+    }
+
+    private static MediaType doParse(String input) {
         Tokenizer tokenizer = new Tokenizer(input);
         try {
             String type = tokenizer.consumeToken(TOKEN_MATCHER);
@@ -43,6 +43,14 @@ class MediaTypeTest {
         assertThat(MediaType.parse("application/json"), sameInstance(MediaType.APPLICATION_JSON));
     }
 
+    @Test
+    void parseCached() {
+        MediaType mediaType = MediaType.parse("application/vnd.helidon+json; charset=UTF-8");
+
+        assertThat(MediaType.parse("application/vnd.helidon+json; charset=UTF-8"), sameInstance(mediaType));
+        assertThat(MediaType.parse("application/vnd.helidon+json;charset=UTF-8"), is(mediaType));
+    }
+
     @Test
     public void parseUnknownType() {
         MediaType mediaType = MediaType.parse("unknown-type/unknown-subtype");
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -33,11 +33,14 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import io.helidon.config.MutabilitySupport;
 import io.helidon.config.mp.spi.MpConfigFilter;
 
 import org.eclipse.microprofile.config.Config;
@@ -47,8 +50,15 @@ import org.eclipse.microprofile.config.spi.Converter;
 
 /**
  * Implementation of the basic MicroProfile {@link org.eclipse.microprofile.config.Config} API.
+ * <p>
+ * When {@value #CACHE_ENABLED_KEY} is set to {@code true}, converted values are cached by property name and type.
+ * The cache is cleared whenever a file based source with polling or change watching enabled is updated, and
+ * whenever a source based on Helidon config reports a change. Changes of other mutable sources (such as system
+ * properties) are not visible for properties that were already read, which is why the cache is disabled by default.
  */
 class MpConfigImpl implements Config {
+    static final String CACHE_ENABLED_KEY = "helidon.config.cache.enabled";
+
     private static final Logger LOGGER = Logger.getLogger(MpConfigImpl.class.getName());
     // for references resolving
     // matches string between ${ } with a negative lookbehind if there is not backslash
@@ -77,11 +87,20 @@ class MpConfigImpl implements Config {
         REPLACED_TYPES.put(Character.TYPE, Character.class);
     }
 
+    // upper bound of cached values, to protect against property names created on the fly
+    private static final int CACHE_MAX_SIZE = 10_000;
+
     private final List<ConfigSource> sources = new LinkedList<>();
     private final HashMap<Class<?>, Converter<?>> converters = new LinkedHashMap<>();
     private final boolean valueResolving;
     private final List<MpConfigFilter> filters = new ArrayList<>();
     private final String configProfile;
+    private final Map<CacheKey, Optional<?>> valueCache = new ConcurrentHashMap<>();
+    // incremented on each invalidation, so values computed before a change are not cached after it
+    private final AtomicLong cacheGeneration = new AtomicLong();
+    private final boolean cacheEnabled;
+    // strong reference to the listener, as MutabilitySupport only keeps a weak one
+    private final Runnable cacheInvalidator = this::clearCache;
 
     MpConfigImpl(List<ConfigSource> sources,
                  HashMap<Class<?>, Converter<?>> converters,
@@ -104,6 +123,16 @@ class MpConfigImpl implements Config {
             // do not do this first, as we would end up in using an uninitialized filter
             this.filters.add(it);
         });
+
+        // only enabled once fully initialized, so values seen by filters during their initialization are not cached
+        this.cacheEnabled = getOptionalValue(CACHE_ENABLED_KEY, Boolean.class).orElse(false);
+        if (cacheEnabled) {
+            MutabilitySupport.onChange(cacheInvalidator);
+            this.sources.stream()
+                    .filter(MpHelidonConfigSource.class::isInstance)
+                    .map(MpHelidonConfigSource.class::cast)
+                    .forEach(it -> it.unwrap().onChange(changed -> clearCache()));
+        }
     }
 
     @Override
@@ -127,6 +156,31 @@ class MpConfigImpl implements Config {
     @SuppressWarnings("unchecked")
     @Override
     public <T> Optional<T> getOptionalValue(String propertyName, Class<T> propertyType) {
+        if (!cacheEnabled) {
+            return findOptionalValue(propertyName, propertyType);
+        }
+
+        CacheKey key = new CacheKey(propertyName, propertyType);
+        Optional<T> cached = (Optional<T>) valueCache.get(key);
+        if (cached == null) {
+            long generation = cacheGeneration.get();
+            cached = findOptionalValue(propertyName, propertyType);
+            if (valueCache.size() < CACHE_MAX_SIZE) {
+                valueCache.put(key, cached);
+                if (generation != cacheGeneration.get()) {
+                    // config changed while we were computing the value
+                    valueCache.remove(key, cached);
+                }
+            }
+        }
+        if (propertyType.isArray()) {
+            // arrays are mutable, each caller gets its own copy
+            return cached.map(MpConfigImpl::copyArray);
+        }
+        return cached;
+    }
+
+    private <T> Optional<T> findOptionalValue(String propertyName, Class<T> propertyType) {
         if (configProfile == null) {
             return optionalValue(propertyName, propertyType);
         }
@@ -528,6 +582,23 @@ class MpConfigImpl implements Config {
         return converters;
     }
 
+    void clearCache() {
+        cacheGeneration.incrementAndGet();
+        valueCache.clear();
+    }
+
+    int cacheSize() {
+        return valueCache.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T copyArray(T array) {
+        int length = Array.getLength(array);
+        Object copy = Array.newInstance(array.getClass().getComponentType(), length);
+        System.arraycopy(array, 0, copy, 0, length);
+        return (T) copy;
+    }
+
     static String[] toArray(String stringValue) {
         String[] values = SPLIT_PATTERN.split(stringValue, -1);
 
@@ -547,6 +618,35 @@ class MpConfigImpl implements Config {
         return result.toArray(new String[0]);
     }
 
+    private static final class CacheKey {
+        private final String name;
+        private final Class<?> type;
+        private final int hashCode;
+
+        private CacheKey(String name, Class<?> type) {
+            this.name = name;
+            this.type = type;
+            this.hashCode = 31 * name.hashCode() + type.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) o;
+            return type == other.type && name.equals(other.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
     private static class FailingConverter<T> implements Converter<T> {
         private final Class<T> type;
 
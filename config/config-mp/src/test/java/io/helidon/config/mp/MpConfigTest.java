@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,12 +15,17 @@
  */
 package io.helidon.config.mp;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiFunction;
@@ -37,6 +42,7 @@ import org.eclipse.microprofile.config.spi.ConfigProviderResolver;
 import org.eclipse.microprofile.config.spi.ConfigSource;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
@@ -132,6 +138,69 @@ public class MpConfigTest {
         assertThat(value, is(updated));
     }
 
+    @Test
+    void valueCacheTest() {
+        var mutable = new MutableConfigSource();
+
+        Config config = ConfigProviderResolver.instance().getBuilder()
+                .withSources(mutable,
+                             MpConfigSources.create(Map.of(MpConfigImpl.CACHE_ENABLED_KEY, "true",
+                                                           "array", "a,b")))
+                .build();
+        MpConfigImpl impl = config.unwrap(MpConfigImpl.class);
+
+        assertThat(config.getValue("key", String.class), is("initial"));
+        mutable.set("updated");
+        // cached until invalidated
+        assertThat(config.getValue("key", String.class), is("initial"));
+        assertThat(config.getOptionalValue("missing", String.class), is(Optional.empty()));
+
+        impl.clearCache();
+        assertThat(impl.cacheSize(), is(0));
+        assertThat(config.getValue("key", String.class), is("updated"));
+
+        // each caller gets its own array
+        String[] array = config.getValue("array", String[].class);
+        array[0] = "changed";
+        assertThat(config.getValue("array", String[].class), arrayContaining("a", "b"));
+    }
+
+    @Test
+    void valueCacheInvalidatedByPollingTest(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("cached.properties");
+        Files.writeString(file, "helidon.config.polling.enabled=true\n"
+                + "helidon.config.polling.duration=PT0.1S\n"
+                + "key=initial\n");
+
+        Config config = ConfigProviderResolver.instance().getBuilder()
+                .withSources(MpConfigSources.create(file),
+                             MpConfigSources.create(Map.of(MpConfigImpl.CACHE_ENABLED_KEY, "true")))
+                .build();
+
+        assertThat(config.getValue("key", String.class), is("initial"));
+
+        Files.writeString(file, "helidon.config.polling.enabled=true\n"
+                + "helidon.config.polling.duration=PT0.1S\n"
+                + "key=updated\n");
+        // make sure the change is detected even on file systems with coarse timestamps
+        Files.setLastModifiedTime(file, FileTime.from(Instant.now().plusSeconds(10)));
+
+        String value = config.getValue("key", String.class);
+        for (int i = 0; i < 50 && !"updated".equals(value); i++) {
+            TimeUnit.MILLISECONDS.sleep(100);
+            value = config.getValue("key", String.class);
+        }
+        assertThat(value, is("updated"));
+    }
+
+    @Test
+    void valueCacheDisabledByDefaultTest() {
+        MpConfigImpl impl = config.unwrap(MpConfigImpl.class);
+
+        config.getValue("mp-1", String.class);
+        assertThat(impl.cacheSize(), is(0));
+    }
+
     @Test
     void arrayTest() {
         MutableConfigSource cs = new MutableConfigSource();
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.config.mp.jmh;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.helidon.config.mp.MpConfigSources;
+
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.spi.ConfigProviderResolver;
+import org.eclipse.microprofile.config.spi.ConfigSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Typical MicroProfile config lookups with several config sources, with and without value cache.
+ */
+@State(Scope.Benchmark)
+public class MpConfigLookupJMH {
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(MpConfigLookupJMH.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({"5", "10"})
+    int sourceCount;
+
+    @Param({"false", "true"})
+    boolean cacheEnabled;
+
+    private Config config;
+
+    @Setup
+    public void setup() {
+        ConfigSource[] sources = new ConfigSource[sourceCount];
+        for (int i = 0; i < sourceCount; i++) {
+            Map<String, String> values = new HashMap<>();
+            values.put(ConfigSource.CONFIG_ORDINAL, String.valueOf(100 + i));
+            for (int j = 0; j < 100; j++) {
+                values.put("source-" + i + ".key-" + j, "value-" + j);
+            }
+            sources[i] = MpConfigSources.create("source-" + i, values);
+        }
+        // the values we look up are in the source with the lowest ordinal, so all sources are visited
+        Map<String, String> lowest = new HashMap<>();
+        lowest.put(ConfigSource.CONFIG_ORDINAL, "1");
+        lowest.put("helidon.config.cache.enabled", String.valueOf(cacheEnabled));
+        lowest.put("app.port", "8080");
+        lowest.put("app.enabled", "true");
+        lowest.put("app.timeout", "PT10S");
+        lowest.put("app.url", "http://${app.host}:${app.port}/path");
+        lowest.put("app.host", "localhost");
+        lowest.put("app.list", "a,b,c,d");
+        lowest.put("app.indexed.0", "1");
+        lowest.put("app.indexed.1", "2");
+        lowest.put("app.indexed.2", "3");
+        sources[0] = MpConfigSources.create("lowest", lowest);
+
+        config = ConfigProviderResolver.instance()
+                .getBuilder()
+                .withSources(sources)
+                .build();
+    }
+
+    @Benchmark
+    public void string(Blackhole bh) {
+        bh.consume(config.getValue("app.host", String.class));
+    }
+
+    @Benchmark
+    public void integer(Blackhole bh) {
+        bh.consume(config.getValue("app.port", Integer.class));
+    }
+
+    @Benchmark
+    public void duration(Blackhole bh) {
+        bh.consume(config.getValue("app.timeout", Duration.class));
+    }
+
+    @Benchmark
+    public void expression(Blackhole bh) {
+        bh.consume(config.getValue("app.url", String.class));
+    }
+
+    @Benchmark
+    public void array(Blackhole bh) {
+        bh.consume(config.getValue("app.list", String[].class));
+    }
+
+    @Benchmark
+    public void indexedArray(Blackhole bh) {
+        bh.consume(config.getValue("app.indexed", Integer[].class));
+    }
+
+    @Benchmark
+    public void missing(Blackhole bh) {
+        bh.consume(config.getOptionalValue("app.missing", String.class));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2017, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -24,6 +24,7 @@ import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import io.helidon.config.spi.ConfigMapper;
+import io.helidon.config.spi.ConfigNode;
 
 /**
  * Abstract common implementation of {@link Config} extended by appropriate Config node types:
@@ -83,6 +84,15 @@ abstract class AbstractConfigImpl implements Config {
         return Optional.empty();
     }
 
+    /**
+     * Root node of the configuration tree this config node belongs to (as loaded from sources, without filters applied).
+     *
+     * @return root node
+     */
+    ConfigNode.ObjectNode rootNode() {
+        return factory.rootNode();
+    }
+
     @Override
     public Context context() {
         return context;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2017, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -413,8 +413,10 @@ class BuilderImpl implements Config.Builder {
         boolean nothingConfigured = sources.isEmpty();
 
         if (nothingConfigured) {
-            // use meta configuration to load all sources
-            MetaConfig.configSources(mediaType -> context.findParser(mediaType).isPresent(), context.supportedSuffixes())
+            // use meta configuration to load all sources, static sources may be replaced with a build time snapshot
+            ConfigSnapshot.applyClasspathSnapshot(
+                            MetaConfig.configSources(mediaType -> context.findParser(mediaType).isPresent(),
+                                                     context.supportedSuffixes()))
                     .stream()
                     .map(context::sourceRuntimeBase)
                     .forEach(targetSources::add);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2017, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -74,6 +74,10 @@ final class ConfigFactory {
         timestamp = Instant.now();
     }
 
+    ObjectNode rootNode() {
+        return (ObjectNode) fullKeyToNodeMap.get(ConfigKeyImpl.of());
+    }
+
     Instant timestamp() {
         return timestamp;
     }
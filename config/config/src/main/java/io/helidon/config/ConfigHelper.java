@@ -17,6 +17,7 @@
 package io.helidon.config;
 
 import java.util.AbstractMap;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -48,18 +49,36 @@ public final class ConfigHelper {
     }
 
     static Map<ConfigKeyImpl, ConfigNode> createFullKeyToNodeMap(ConfigNode.ObjectNode objectNode) {
-        Map<ConfigKeyImpl, ConfigNode> result;
-
-        Stream<Map.Entry<ConfigKeyImpl, ConfigNode>> flattenNodes = objectNode.entrySet()
-                .stream()
-                .map(node -> flattenNodes(ConfigKeyImpl.of(node.getKey()), node.getValue()))
-                .reduce(Stream.empty(), Stream::concat);
-        result = flattenNodes.collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-        result.put(ConfigKeyImpl.of(), objectNode);
+        // this is done for each config (re)load, so we avoid nested stream concatenation of the recursive variant
+        Map<ConfigKeyImpl, ConfigNode> result = new HashMap<>();
+        ConfigKeyImpl root = ConfigKeyImpl.of();
+        objectNode.forEach((name, node) -> addNodes(result, root.child(name), node));
+        result.put(root, objectNode);
 
         return result;
     }
 
+    private static void addNodes(Map<ConfigKeyImpl, ConfigNode> result, ConfigKeyImpl key, ConfigNode node) {
+        if (result.put(key, node) != null) {
+            throw new IllegalStateException("Duplicate key " + key);
+        }
+        switch (node.nodeType()) {
+        case OBJECT:
+            ((ConfigNode.ObjectNode) node).forEach((name, child) -> addNodes(result, key.child(name), child));
+            break;
+        case LIST:
+            ConfigNode.ListNode list = (ConfigNode.ListNode) node;
+            for (int i = 0; i < list.size(); i++) {
+                addNodes(result, key.child(Integer.toString(i)), list.get(i));
+            }
+            break;
+        case VALUE:
+            break;
+        default:
+            throw new IllegalArgumentException("Invalid node type.");
+        }
+    }
+
     static Stream<Map.Entry<ConfigKeyImpl, ConfigNode>> flattenNodes(ConfigKeyImpl key, ConfigNode node) {
         switch (node.nodeType()) {
         case OBJECT:
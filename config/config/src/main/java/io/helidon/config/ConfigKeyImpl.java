@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,7 +17,6 @@
 package io.helidon.config;
 
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
@@ -31,6 +30,7 @@ class ConfigKeyImpl implements Config.Key {
     private final ConfigKeyImpl parent;
     private final List<String> path;
     private final String fullKey;
+    private final int hashCode;
 
     private ConfigKeyImpl(ConfigKeyImpl parent, String name) {
         Objects.requireNonNull(name, "name is mandatory");
@@ -56,6 +56,8 @@ class ConfigKeyImpl implements Config.Key {
         this.name = Config.Key.unescapeName(name);
         this.path = Collections.unmodifiableList(path);
         this.fullKey = fullSB.toString();
+        // keys are used in hash maps of all config nodes, parent hash is already computed
+        this.hashCode = Objects.hash(this.name, parent);
     }
 
     @Override
@@ -97,7 +99,20 @@ class ConfigKeyImpl implements Config.Key {
      * @return new child instance of ConfigKeyImpl.
      */
     ConfigKeyImpl child(String key) {
-        return child(Arrays.asList(key.split("\\.")));
+        ConfigKeyImpl result = this;
+        int length = key.length();
+        int start = 0;
+        while (start < length) {
+            int end = key.indexOf('.', start);
+            if (end == -1) {
+                end = length;
+            }
+            if (end > start) {
+                result = new ConfigKeyImpl(result, key.substring(start, end));
+            }
+            start = end + 1;
+        }
+        return result;
     }
 
     /**
@@ -157,7 +172,7 @@ class ConfigKeyImpl implements Config.Key {
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, parent);
+        return hashCode;
     }
 
     @Override
@@ -0,0 +1,466 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.config;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.helidon.config.spi.ConfigContent;
+import io.helidon.config.spi.ConfigNode;
+import io.helidon.config.spi.ConfigNode.ListNode;
+import io.helidon.config.spi.ConfigNode.ObjectNode;
+import io.helidon.config.spi.ConfigNode.ValueNode;
+import io.helidon.config.spi.ConfigParser;
+import io.helidon.config.spi.ConfigSource;
+import io.helidon.config.spi.ParsableSource;
+
+/**
+ * Pre-merged binary snapshot of static config sources, created at build time to speed up config bootstrap.
+ * <p>
+ * Only classpath sources are considered static, as their content cannot change without a new build. Each run of
+ * consecutive static sources is parsed and merged into a single node, and stored in the snapshot together with
+ * the identification and a digest of the content of the merged sources. When the snapshot is
+ * {@link #apply(java.util.List) applied} to a list of sources, each run of sources present in the snapshot is replaced
+ * with the pre-merged node. All other sources (files, URLs, environment variables, system properties, custom
+ * sources...) are loaded as usual, so dynamic sources keep their change support. If a run does not match the sources,
+ * or the content of a source differs from the content the snapshot was created from (e.g. the snapshot is outdated,
+ * or a resource with the same name comes from another jar), the sources are parsed as if there was no snapshot.
+ * <p>
+ * {@link Config#create()} uses the snapshot from the classpath resource {@value #SNAPSHOT_RESOURCE} if present,
+ * unless disabled by the {@value #SNAPSHOT_ENABLED_PROPERTY} system property set to {@code false}.
+ * The snapshot can be created during the build by running this class with the target file as the only argument,
+ * with the application resources on the classpath:
+ * <pre>
+ * java -cp ... io.helidon.config.ConfigSnapshot target/classes/META-INF/helidon/config-snapshot.bin
+ * </pre>
+ * Values are stored as they are in the sources, filters (such as value resolving) are applied at runtime.
+ */
+public final class ConfigSnapshot {
+    /**
+     * Classpath resource of the snapshot used by {@link Config#create()}.
+     */
+    public static final String SNAPSHOT_RESOURCE = "META-INF/helidon/config-snapshot.bin";
+    /**
+     * System property to disable use of a snapshot by {@link Config#create()}.
+     */
+    public static final String SNAPSHOT_ENABLED_PROPERTY = "helidon.config.snapshot.enabled";
+
+    private static final Logger LOGGER = Logger.getLogger(ConfigSnapshot.class.getName());
+    // "HCSN"
+    private static final int MAGIC = 0x4843534E;
+    private static final int VERSION = 2;
+    private static final String ABSENT = "absent";
+    private static final byte OBJECT = 1;
+    private static final byte LIST = 2;
+    private static final byte VALUE = 3;
+    private static final byte NO_VALUE = 0;
+    private static final byte HAS_VALUE = 1;
+
+    private final List<Section> sections;
+
+    private ConfigSnapshot(List<Section> sections) {
+        this.sections = sections;
+    }
+
+    /**
+     * Create a snapshot from the static sources in the provided list.
+     * The sources are loaded and parsed, so parsers for all the static sources must be available.
+     *
+     * @param sources config sources in the order of their priority, as they would be used to build config
+     * @return a new snapshot
+     */
+    public static ConfigSnapshot create(List<? extends ConfigSource> sources) {
+        List<Section> sections = new LinkedList<>();
+        List<ConfigSource> run = new LinkedList<>();
+        for (ConfigSource source : sources) {
+            if (isStatic(source)) {
+                run.add(source);
+            } else if (!run.isEmpty()) {
+                sections.add(Section.create(run));
+                run = new LinkedList<>();
+            }
+        }
+        if (!run.isEmpty()) {
+            sections.add(Section.create(run));
+        }
+        return new ConfigSnapshot(sections);
+    }
+
+    /**
+     * Create a snapshot of the static sources discovered by {@link Config#create()}.
+     *
+     * @return a new snapshot
+     */
+    public static ConfigSnapshot create() {
+        return create(MetaConfig.defaultConfigSources());
+    }
+
+    /**
+     * Read a snapshot.
+     *
+     * @param inputStream stream with the snapshot data, as written by {@link #write(java.io.OutputStream)}, the stream
+     *                    is not closed by this method
+     * @return snapshot read from the stream
+     * @throws ConfigException in case the data cannot be read or is not a valid snapshot
+     */
+    public static ConfigSnapshot read(InputStream inputStream) {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(inputStream));
+        try {
+            if (in.readInt() != MAGIC) {
+                throw new ConfigException("Data is not a config snapshot");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new ConfigException("Unsupported config snapshot version: " + version + ", expected: " + VERSION);
+            }
+            int sectionCount = in.readInt();
+            List<Section> sections = new ArrayList<>(sectionCount);
+            for (int i = 0; i < sectionCount; i++) {
+                int sourceCount = in.readInt();
+                List<String> sourceIds = new ArrayList<>(sourceCount);
+                List<String> digests = new ArrayList<>(sourceCount);
+                for (int j = 0; j < sourceCount; j++) {
+                    sourceIds.add(readString(in));
+                    digests.add(readString(in));
+                }
+                sections.add(new Section(sourceIds, digests, (ObjectNode) readNode(in)));
+            }
+            return new ConfigSnapshot(sections);
+        } catch (IOException e) {
+            throw new ConfigException("Failed to read config snapshot", e);
+        }
+    }
+
+    /**
+     * Create a snapshot of the default config sources and write it to a file.
+     *
+     * @param args the first argument is the path of the target file
+     * @throws IOException in case the file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Expected exactly one argument - path of the snapshot file to create");
+        }
+        Path path = Paths.get(args[0]);
+        Path parent = path.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        ConfigSnapshot snapshot = create();
+        try (OutputStream out = Files.newOutputStream(path)) {
+            snapshot.write(out);
+        }
+        LOGGER.info("Config snapshot of " + snapshot.sections + " written to " + path.toAbsolutePath());
+    }
+
+    /**
+     * Write this snapshot.
+     *
+     * @param outputStream stream to write to, the stream is flushed, but not closed by this method
+     * @throws IOException in case the data cannot be written
+     */
+    public void write(OutputStream outputStream) throws IOException {
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(outputStream));
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(sections.size());
+        for (Section section : sections) {
+            out.writeInt(section.sourceIds.size());
+            for (int i = 0; i < section.sourceIds.size(); i++) {
+                writeString(out, section.sourceIds.get(i));
+                writeString(out, section.digests.get(i));
+            }
+            writeNode(out, section.node);
+        }
+        out.flush();
+    }
+
+    /**
+     * Replace static sources present in this snapshot with pre-merged sources.
+     * Sources not present in this snapshot are returned unchanged.
+     *
+     * @param sources config sources in the order of their priority
+     * @return config sources to use to build config
+     */
+    public List<ConfigSource> apply(List<? extends ConfigSource> sources) {
+        List<ConfigSource> result = new LinkedList<>(sources);
+        for (Section section : sections) {
+            int index = section.indexIn(result);
+            if (index == -1) {
+                LOGGER.fine(() -> "Config snapshot of " + section.sourceIds + " does not match config sources " + sources
+                        + ", sources will be parsed");
+                continue;
+            }
+            List<ConfigSource> replaced = result.subList(index, index + section.sourceIds.size());
+            replaced.clear();
+            replaced.add(section.toSource());
+        }
+        return result;
+    }
+
+    /**
+     * Identification of the static sources this snapshot contains, grouped by the sections they were merged into.
+     *
+     * @return source identifications
+     */
+    public List<List<String>> sourceIds() {
+        List<List<String>> result = new ArrayList<>(sections.size());
+        sections.forEach(it -> result.add(it.sourceIds));
+        return Collections.unmodifiableList(result);
+    }
+
+    static List<ConfigSource> applyClasspathSnapshot(List<ConfigSource> sources) {
+        if ("false".equalsIgnoreCase(System.getProperty(SNAPSHOT_ENABLED_PROPERTY))) {
+            return sources;
+        }
+        ClassLoader cl = Thread.currentThread().getContextClassLoader();
+        InputStream snapshotStream = cl.getResourceAsStream(SNAPSHOT_RESOURCE);
+        if (snapshotStream == null) {
+            return sources;
+        }
+        try (InputStream in = snapshotStream) {
+            return read(in).apply(sources);
+        } catch (IOException | ConfigException e) {
+            LOGGER.log(Level.WARNING, "Failed to use config snapshot " + SNAPSHOT_RESOURCE + ", sources will be parsed", e);
+            return sources;
+        }
+    }
+
+    private static boolean isStatic(ConfigSource source) {
+        // classpath sources do not support changes
+        return source instanceof ClasspathConfigSource;
+    }
+
+    private static String sourceId(ConfigSource source) {
+        // description contains the resource URL, which differs between build and runtime
+        return source.toString();
+    }
+
+    // size and SHA-256 of the content of a classpath source, reading is much cheaper than parsing
+    private static String digest(ConfigSource source) {
+        Optional<ConfigParser.Content> content = ((ParsableSource) source).load();
+        if (content.isEmpty()) {
+            return ABSENT;
+        }
+        try (InputStream in = content.get().data()) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[8192];
+            long size = 0;
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+                size += read;
+            }
+            return size + ":" + Base64.getEncoder().withoutPadding().encodeToString(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new ConfigException("Failed to compute digest of config source " + source, e);
+        }
+    }
+
+    private static void writeNode(DataOutputStream out, ConfigNode node) throws IOException {
+        switch (node.nodeType()) {
+        case OBJECT:
+            out.writeByte(OBJECT);
+            writeValue(out, node.value());
+            Map<String, ConfigNode> children = (ObjectNode) node;
+            out.writeInt(children.size());
+            for (Map.Entry<String, ConfigNode> child : children.entrySet()) {
+                writeString(out, child.getKey());
+                writeNode(out, child.getValue());
+            }
+            break;
+        case LIST:
+            out.writeByte(LIST);
+            writeValue(out, node.value());
+            List<ConfigNode> elements = (ListNode) node;
+            out.writeInt(elements.size());
+            for (ConfigNode element : elements) {
+                writeNode(out, element);
+            }
+            break;
+        case VALUE:
+            out.writeByte(VALUE);
+            writeString(out, ((ValueNode) node).get());
+            break;
+        default:
+            throw new IllegalArgumentException("Unsupported node type: " + node.nodeType());
+        }
+    }
+
+    private static ConfigNode readNode(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        switch (type) {
+        case OBJECT:
+            ObjectNode.Builder object = ObjectNode.builder();
+            readValue(in).ifPresent(object::value);
+            int childCount = in.readInt();
+            for (int i = 0; i < childCount; i++) {
+                // node names are stored as they are in the node (already escaped)
+                String name = readString(in);
+                object.addNode(name, readNode(in));
+            }
+            return object.build();
+        case LIST:
+            ListNode.Builder list = ListNode.builder();
+            readValue(in).ifPresent(list::value);
+            int elementCount = in.readInt();
+            for (int i = 0; i < elementCount; i++) {
+                ConfigNode element = readNode(in);
+                switch (element.nodeType()) {
+                case OBJECT:
+                    list.addObject((ObjectNode) element);
+                    break;
+                case LIST:
+                    list.addList((ListNode) element);
+                    break;
+                default:
+                    list.addValue((ValueNode) element);
+                    break;
+                }
+            }
+            return list.build();
+        case VALUE:
+            return ValueNode.create(readString(in));
+        default:
+            throw new ConfigException("Invalid node type in config snapshot: " + type);
+        }
+    }
+
+    private static void writeValue(DataOutputStream out, Optional<String> value) throws IOException {
+        if (value.isPresent()) {
+            out.writeByte(HAS_VALUE);
+            writeString(out, value.get());
+        } else {
+            out.writeByte(NO_VALUE);
+        }
+    }
+
+    private static Optional<String> readValue(DataInputStream in) throws IOException {
+        if (in.readByte() == HAS_VALUE) {
+            return Optional.of(readString(in));
+        }
+        return Optional.empty();
+    }
+
+    // DataOutputStream.writeUTF is limited to 64 kB, values (such as certificates) may be longer
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static final class Section {
+        private final List<String> sourceIds;
+        private final List<String> digests;
+        private final ObjectNode node;
+
+        private Section(List<String> sourceIds, List<String> digests, ObjectNode node) {
+            this.sourceIds = sourceIds;
+            this.digests = digests;
+            this.node = node;
+        }
+
+        private static Section create(List<ConfigSource> sources) {
+            Config.Builder builder = Config.builder()
+                    .disableEnvironmentVariablesSource()
+                    .disableSystemPropertiesSource()
+                    .disableFilterServices()
+                    .disableValueResolving()
+                    .disableKeyResolving()
+                    .disableCaching()
+                    .changesExecutor(command -> {
+                    });
+            List<String> sourceIds = new ArrayList<>(sources.size());
+            List<String> digests = new ArrayList<>(sources.size());
+            for (ConfigSource source : sources) {
+                builder.addSource(source);
+                sourceIds.add(sourceId(source));
+                digests.add(digest(source));
+            }
+            AbstractConfigImpl config = (AbstractConfigImpl) builder.build();
+            return new Section(Collections.unmodifiableList(sourceIds), digests, config.rootNode());
+        }
+
+        private int indexIn(List<ConfigSource> sources) {
+            int size = sourceIds.size();
+            for (int start = 0; start + size <= sources.size(); start++) {
+                boolean matches = true;
+                for (int i = 0; i < size; i++) {
+                    ConfigSource source = sources.get(start + i);
+                    if (!isStatic(source) || !sourceIds.get(i).equals(sourceId(source))) {
+                        matches = false;
+                        break;
+                    }
+                }
+                if (matches && contentMatches(sources.subList(start, start + size))) {
+                    return start;
+                }
+            }
+            return -1;
+        }
+
+        private boolean contentMatches(List<ConfigSource> sources) {
+            for (int i = 0; i < sources.size(); i++) {
+                ConfigSource source = sources.get(i);
+                String digest = digest(source);
+                if (!digests.get(i).equals(digest)) {
+                    LOGGER.fine(() -> "Content of config source " + source + " differs from config snapshot, sources will be"
+                            + " parsed");
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private ConfigSource toSource() {
+            return InMemoryConfigSource.create("snapshot: " + sourceIds, ConfigContent.NodeContent.builder()
+                    .node(node)
+                    .build());
+        }
+
+        @Override
+        public String toString() {
+            return sourceIds.toString();
+        }
+    }
+}
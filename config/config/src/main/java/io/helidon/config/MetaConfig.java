@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -215,6 +215,11 @@ public final class MetaConfig {
         return configSources;
     }
 
+    // sources used by default, with parsers available through services
+    static List<ConfigSource> defaultConfigSources() {
+        return configSources(SUPPORTED_MEDIA_TYPES::contains, SUPPORTED_SUFFIXES);
+    }
+
     // only interested in config source
     static List<ConfigSource> configSources(Function<String, Boolean> supportedMediaType, List<String> supportedSuffixes) {
         Optional<Config> metaConfigOpt = metaConfig();
@@ -22,6 +22,9 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.function.Consumer;
@@ -39,11 +42,14 @@ import io.helidon.config.spi.PollingStrategy;
  * Provides support for polling based strategy
  * ({@link #poll(java.nio.file.Path, java.time.Duration, java.util.function.Consumer, java.util.function.Consumer)}) and
  * for file watching ({@link #watch(java.nio.file.Path, java.util.function.Consumer, java.util.function.Consumer)}).
+ * Components caching values read from such sources can register a listener using {@link #onChange(Runnable)}.
  */
 public final class MutabilitySupport {
     private static final Logger LOGGER = Logger.getLogger(MutabilitySupport.class.getName());
     private static final LazyValue<ScheduledExecutorService> EXECUTOR
             = LazyValue.create(Executors::newSingleThreadScheduledExecutor);
+    private static final Set<Runnable> CHANGE_LISTENERS
+            = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
 
     private MutabilitySupport() {
     }
@@ -58,6 +64,8 @@ public final class MutabilitySupport {
      * @return runnable to stop the file watcher
      */
     public static Runnable poll(Path path, Duration duration, Consumer<Path> updater, Consumer<Path> cleaner) {
+        Consumer<Path> notifyingUpdater = updater.andThen(MutabilitySupport::changed);
+        Consumer<Path> notifyingCleaner = cleaner.andThen(MutabilitySupport::changed);
         if (NativeImageHelper.isBuildTime()) {
             LOGGER.info("File polling is not enabled in native image build time. Path: " + path);
         }
@@ -66,7 +74,7 @@ public final class MutabilitySupport {
                 .executor(EXECUTOR.get())
                 .build();
 
-        strategy.start(new PathPolled(path, updater, cleaner));
+        strategy.start(new PathPolled(path, notifyingUpdater, notifyingCleaner));
         return strategy::stop;
     }
 
@@ -79,6 +87,8 @@ public final class MutabilitySupport {
      * @return runnable to stop the file watcher
      */
     public static Runnable watch(Path path, Consumer<Path> updater, Consumer<Path> cleaner) {
+        Consumer<Path> notifyingUpdater = updater.andThen(MutabilitySupport::changed);
+        Consumer<Path> notifyingCleaner = cleaner.andThen(MutabilitySupport::changed);
         if (NativeImageHelper.isBuildTime()) {
             LOGGER.info("File watching is not enabled in native image build time. Path: " + path);
         }
@@ -89,9 +99,9 @@ public final class MutabilitySupport {
         watcher.start(path, event -> {
             try {
                 if (event.type() == ChangeEventType.DELETED) {
-                    cleaner.accept(event.target());
+                    notifyingCleaner.accept(event.target());
                 } else {
-                    updater.accept(event.target());
+                    notifyingUpdater.accept(event.target());
                 }
             } catch (Exception e) {
                 LOGGER.log(Level.WARNING, "Failed to process change watcher event " + event
@@ -101,6 +111,34 @@ public final class MutabilitySupport {
         return watcher::stop;
     }
 
+    /**
+     * Register a listener notified each time a polled or watched file is changed (or deleted), after
+     * the properties of its source are updated.
+     * <p>
+     * Listeners are weakly referenced, so registration does not prevent garbage collection of the component
+     * that registered them. The caller must keep a strong reference to the listener for as long as it should be
+     * notified.
+     *
+     * @param listener listener to notify of changes
+     */
+    public static void onChange(Runnable listener) {
+        CHANGE_LISTENERS.add(listener);
+    }
+
+    private static void changed(Path path) {
+        Runnable[] listeners;
+        synchronized (CHANGE_LISTENERS) {
+            listeners = CHANGE_LISTENERS.toArray(new Runnable[0]);
+        }
+        for (Runnable listener : listeners) {
+            try {
+                listener.run();
+            } catch (Exception e) {
+                LOGGER.log(Level.WARNING, "Change listener failed for file " + path.toAbsolutePath(), e);
+            }
+        }
+    }
+
     private static class PathPolled implements PollingStrategy.Polled {
         private final Path path;
         private final Consumer<Path> updater;
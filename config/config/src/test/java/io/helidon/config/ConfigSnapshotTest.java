@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.config;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import io.helidon.config.spi.ConfigSource;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test for {@link ConfigSnapshot}.
+ */
+class ConfigSnapshotTest {
+    private static final String APPLICATION = "io/helidon/config/application.properties";
+    private static final String OVERRIDES = "io/helidon/config/overrides.properties";
+
+    @Test
+    void testSnapshot() throws IOException {
+        ConfigSnapshot snapshot = ConfigSnapshot.create(sources());
+        assertThat(snapshot.sourceIds(), is(List.of(List.of("classpath: " + APPLICATION),
+                                                    List.of("classpath: " + OVERRIDES))));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        snapshot.write(out);
+        ConfigSnapshot read = ConfigSnapshot.read(new ByteArrayInputStream(out.toByteArray()));
+        assertThat(read.sourceIds(), is(snapshot.sourceIds()));
+
+        List<ConfigSource> original = sources();
+        List<ConfigSource> applied = read.apply(original);
+        assertThat(applied.size(), is(3));
+        assertThat(applied.get(0), not(instanceOf(ClasspathConfigSource.class)));
+        // dynamic source is kept as is
+        assertThat(applied.get(1), sameInstance(original.get(1)));
+        assertThat(applied.get(2), not(instanceOf(ClasspathConfigSource.class)));
+
+        Config expected = config(sources());
+        Config actual = config(applied);
+        assertThat(actual.asMap().get(), is(expected.asMap().get()));
+        // hybrid node (both value and children)
+        assertThat(actual.get("app1.node.value").asString().get(), is("true"));
+        assertThat(actual.get("app1.node.value.sub1").asString().get(), is("subvalue1"));
+        // map source has higher priority than the second snapshot section
+        assertThat(actual.get("app1.node1.value").asString().get(), is("from-map"));
+    }
+
+    @Test
+    void testSnapshotNotMatching() {
+        ConfigSnapshot snapshot = ConfigSnapshot.create(List.of(ConfigSources.classpath(APPLICATION).build()));
+
+        List<ConfigSource> sources = List.of(ConfigSources.classpath(OVERRIDES).build());
+        List<ConfigSource> applied = snapshot.apply(sources);
+        assertThat(applied, is(sources));
+    }
+
+    @Test
+    void testSnapshotContentChanged(@TempDir Path tempDir) throws IOException {
+        ConfigSnapshot snapshot = ConfigSnapshot.create(List.of(ConfigSources.classpath(APPLICATION).build()));
+
+        // resource with the same name and different content (rebuilt resource, or resource from another jar)
+        Path resource = tempDir.resolve(APPLICATION);
+        Files.createDirectories(resource.getParent());
+        Files.writeString(resource, "app1.node.value=changed\n");
+
+        Thread thread = Thread.currentThread();
+        ClassLoader original = thread.getContextClassLoader();
+        List<ConfigSource> sources;
+        List<ConfigSource> applied;
+        try (URLClassLoader cl = new URLClassLoader(new URL[] {tempDir.toUri().toURL()}, null)) {
+            thread.setContextClassLoader(cl);
+            sources = List.of(ConfigSources.classpath(APPLICATION).build());
+            applied = snapshot.apply(sources);
+        } finally {
+            thread.setContextClassLoader(original);
+        }
+        assertThat(applied, is(sources));
+        assertThat(config(applied).get("app1.node.value").asString().get(), is("changed"));
+    }
+
+    @Test
+    void testInvalidSnapshot() {
+        assertThrows(ConfigException.class,
+                     () -> ConfigSnapshot.read(new ByteArrayInputStream(new byte[] {1, 2, 3, 4, 5, 6, 7, 8})));
+    }
+
+    private static List<ConfigSource> sources() {
+        return List.of(ConfigSources.classpath(APPLICATION).build(),
+                       ConfigSources.create(Map.of("app1.node1.value", "from-map")).build(),
+                       ConfigSources.classpath(OVERRIDES).build());
+    }
+
+    private static Config config(List<ConfigSource> sources) {
+        Config.Builder builder = Config.builder()
+                .disableEnvironmentVariablesSource()
+                .disableSystemPropertiesSource();
+        sources.forEach(builder::addSource);
+        return builder.build();
+    }
+}
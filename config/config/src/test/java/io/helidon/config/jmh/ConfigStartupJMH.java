@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.config.jmh;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import io.helidon.config.Config;
+import io.helidon.config.ConfigSnapshot;
+import io.helidon.config.ConfigSources;
+import io.helidon.config.spi.ConfigSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Config bootstrap from a classpath source, parsed or loaded from a {@link ConfigSnapshot}.
+ */
+@State(Scope.Thread)
+public class ConfigStartupJMH {
+    private static final String RESOURCE = "startup-jmh.properties";
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(ConfigStartupJMH.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({"100", "1000", "10000"})
+    int keyCount;
+
+    private Path directory;
+    private ClassLoader originalClassLoader;
+    private byte[] snapshot;
+
+    @Setup
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("config-startup-jmh");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < keyCount; i++) {
+            content.append("app.section-")
+                    .append(i % 50)
+                    .append(".subsection-")
+                    .append(i % 7)
+                    .append(".key-")
+                    .append(i)
+                    .append('=')
+                    .append("value-")
+                    .append(i)
+                    .append('\n');
+        }
+        Files.writeString(directory.resolve(RESOURCE), content);
+
+        // classpath sources are resolved using context class loader
+        originalClassLoader = Thread.currentThread().getContextClassLoader();
+        Thread.currentThread().setContextClassLoader(new URLClassLoader(new URL[] {directory.toUri().toURL()},
+                                                                        originalClassLoader));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ConfigSnapshot.create(sources()).write(out);
+        snapshot = out.toByteArray();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Thread.currentThread().setContextClassLoader(originalClassLoader);
+        Files.deleteIfExists(directory.resolve(RESOURCE));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public Config parse() {
+        return config(sources());
+    }
+
+    @Benchmark
+    public Config snapshot() {
+        return config(ConfigSnapshot.read(new ByteArrayInputStream(snapshot)).apply(sources()));
+    }
+
+    private static List<ConfigSource> sources() {
+        return List.of(ConfigSources.classpath(RESOURCE).build());
+    }
+
+    private static Config config(List<ConfigSource> sources) {
+        Config.Builder builder = Config.builder()
+                .disableEnvironmentVariablesSource()
+                .disableSystemPropertiesSource();
+        sources.forEach(builder::addSource);
+        return builder.build();
+    }
+}
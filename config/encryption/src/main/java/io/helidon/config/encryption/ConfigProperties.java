@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -88,6 +88,13 @@ public final class ConfigProperties {
      */
     public static final String REQUIRE_ENCRYPTION_CONFIG_KEY = "security.config.require-encryption";
 
+    /**
+     * Configuration key to set
+     * whether to decrypt all secrets in parallel when the configuration is created (<code>{@value}</code>).
+     * Defaults to {@code false}, secrets are then decrypted on first access.
+     */
+    public static final String DECRYPT_AT_STARTUP_CONFIG_KEY = "security.config.decrypt-at-startup";
+
     private ConfigProperties() {
         throw new IllegalStateException("Utility class");
     }
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.config.encryption;
+
+import java.security.PrivateKey;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Decryption of the secrets of a configuration, with a master password and a private key.
+ * <p>
+ * Decrypted values are cached per encrypted value, so that a secret is decrypted once regardless of how many
+ * times (and from how many keys) it is read. Each encrypted value has its own random salt, so the keys derived
+ * from the master password are not cached.
+ * The methods are thread safe, values can be decrypted in parallel.
+ */
+final class Decryptor {
+
+    private final char[] masterPassword;
+    private final PrivateKey privateKey;
+    // decrypted values, per algorithm and encrypted value
+    private final Map<String, String> values = new ConcurrentHashMap<>();
+
+    Decryptor(char[] masterPassword, PrivateKey privateKey) {
+        this.masterPassword = masterPassword;
+        this.privateKey = privateKey;
+    }
+
+    /**
+     * Decrypt a value encrypted with AES GCM.
+     *
+     * @param encryptedBase64 encrypted secret, base64 encoded
+     * @return decrypted secret
+     * @throws ConfigEncryptionException if the value cannot be decrypted
+     */
+    String decryptAes(String encryptedBase64) {
+        return cached("GCM=" + encryptedBase64, () -> EncryptionUtil.decryptAes(masterPassword, encryptedBase64));
+    }
+
+    /**
+     * Decrypt a value encrypted with legacy AES.
+     *
+     * @param encryptedBase64 encrypted secret, base64 encoded
+     * @return decrypted secret
+     * @throws ConfigEncryptionException if the value cannot be decrypted
+     */
+    String decryptAesLegacy(String encryptedBase64) {
+        return cached("AES=" + encryptedBase64, () -> EncryptionUtil.decryptAesLegacy(masterPassword, encryptedBase64));
+    }
+
+    /**
+     * Decrypt a value encrypted with RSA OAEP.
+     *
+     * @param encryptedBase64 encrypted secret, base64 encoded
+     * @return decrypted secret
+     * @throws ConfigEncryptionException if the value cannot be decrypted
+     */
+    String decryptRsa(String encryptedBase64) {
+        return cached("RSA-P=" + encryptedBase64, () -> EncryptionUtil.decryptRsa(privateKey, encryptedBase64));
+    }
+
+    /**
+     * Decrypt a value encrypted with legacy RSA.
+     *
+     * @param encryptedBase64 encrypted secret, base64 encoded
+     * @return decrypted secret
+     * @throws ConfigEncryptionException if the value cannot be decrypted
+     */
+    String decryptRsaLegacy(String encryptedBase64) {
+        return cached("RSA=" + encryptedBase64, () -> EncryptionUtil.decryptRsaLegacy(privateKey, encryptedBase64));
+    }
+
+    int decryptedValues() {
+        return values.size();
+    }
+
+    private String cached(String encrypted, Supplier<String> decryption) {
+        // not computeIfAbsent, as it would block other values of the same bin for the duration of the decryption
+        String value = values.get(encrypted);
+        if (value == null) {
+            value = decryption.get();
+            values.putIfAbsent(encrypted, value);
+        }
+        return value;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,10 +20,12 @@ import java.security.PrivateKey;
 import java.security.interfaces.RSAPrivateKey;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Function;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.stream.Collectors;
 
 import io.helidon.common.pki.KeyConfig;
 import io.helidon.config.Config;
@@ -51,6 +53,8 @@ import io.helidon.config.spi.ConfigFilter;
  * another_password=${service_password}
  * cleartext_password=${CLEAR=known_password}
  * </pre>
+ * Values are decrypted on first access, and cached. With {@link ConfigProperties#DECRYPT_AT_STARTUP_CONFIG_KEY},
+ * all values are decrypted in parallel when the configuration is created.
  *
  * @see ConfigProperties#PRIVATE_KEYSTORE_PATH_ENV_VARIABLE
  * @see ConfigProperties#MASTER_PASSWORD_ENV_VARIABLE
@@ -70,6 +74,8 @@ public final class EncryptionFilter implements ConfigFilter {
     private final char[] masterPassword;
 
     private final boolean requireEncryption;
+    private final boolean decryptAtStartup;
+    private final Decryptor decryptor;
 
     private final ConfigFilter clearFilter;
     private final ConfigFilter rsaFilter;
@@ -87,11 +93,13 @@ public final class EncryptionFilter implements ConfigFilter {
             this.masterPassword = EncryptionUtil.resolveMasterPassword(requireEncryption, config).orElse(null);
             this.privateKey = EncryptionUtil.resolvePrivateKey(config.get("security.config.rsa"))
                     .orElse(null);
+            this.decryptAtStartup = config.get(ConfigProperties.DECRYPT_AT_STARTUP_CONFIG_KEY).asBoolean().orElse(false);
         } else {
             this.requireEncryption = builder.requireEncryption;
             this.privateKey = builder.privateKeyConfig.privateKey()
                     .orElseThrow(() -> new ConfigEncryptionException("Private key configuration is invalid"));
             this.masterPassword = builder.masterPassword;
+            this.decryptAtStartup = builder.decryptAtStartup;
         }
 
         if (null != privateKey && !(privateKey instanceof RSAPrivateKey)) {
@@ -100,9 +108,10 @@ public final class EncryptionFilter implements ConfigFilter {
         }
 
         ConfigFilter noOp = (key, stringValue) -> stringValue;
+        decryptor = new Decryptor(masterPassword, privateKey);
 
-        aesFilter = (null == masterPassword ? noOp : (key, stringValue) -> decryptAes(masterPassword, stringValue));
-        rsaFilter = (null == privateKey ? noOp : (key, stringValue) -> decryptRsa(privateKey, stringValue));
+        aesFilter = (null == masterPassword ? noOp : (key, stringValue) -> decryptAes(decryptor, stringValue));
+        rsaFilter = (null == privateKey ? noOp : (key, stringValue) -> decryptRsa(decryptor, stringValue));
         clearFilter = this::clearText;
         aliasFilter = (key, stringValue) -> aliased(stringValue, config);
 
@@ -135,6 +144,28 @@ public final class EncryptionFilter implements ConfigFilter {
         return maybeDecode(key, stringValue);
     }
 
+    @Override
+    public void init(Config config) {
+        if (decryptAtStartup) {
+            // this filter is already in place, reading the values decrypts and caches them
+            List<Config> values = config.traverse()
+                    .filter(node -> node.type() == Config.Type.VALUE)
+                    .collect(Collectors.toList());
+            values.parallelStream().forEach(node -> {
+                try {
+                    node.asString();
+                } catch (RuntimeException e) {
+                    // reported when the value is accessed
+                    LOGGER.log(Level.FINEST, e, () -> "Failed to decrypt " + node.key() + " at startup");
+                }
+            });
+        }
+    }
+
+    int decryptedValues() {
+        return decryptor.decryptedValues();
+    }
+
     private String maybeDecode(Config.Key key, String value) {
         Set<String> processedValues = new HashSet<>();
 
@@ -178,13 +209,13 @@ public final class EncryptionFilter implements ConfigFilter {
         return value;
     }
 
-    private String decryptRsa(PrivateKey privateKey, String value) {
+    private String decryptRsa(Decryptor decryptor, String value) {
         // service_password=${RSA=mYRkg+4Q4hua1kvpCCI2hg==}
         if (value.startsWith(PREFIX_LEGACY_RSA)) {
             LOGGER.log(Level.WARNING, () -> "You are using legacy RSA encryption. Please re-encrypt the value with RSA-P.");
             String b64Value = removePlaceholder(PREFIX_LEGACY_RSA, value);
             try {
-                return EncryptionUtil.decryptRsaLegacy(privateKey, b64Value);
+                return decryptor.decryptRsaLegacy(b64Value);
             } catch (ConfigEncryptionException e) {
                 LOGGER.log(Level.FINEST, e, () -> "Failed to decrypt " + value);
                 return value;
@@ -192,7 +223,7 @@ public final class EncryptionFilter implements ConfigFilter {
         } else if (value.startsWith(PREFIX_RSA)) {
             String b64Value = removePlaceholder(PREFIX_RSA, value);
             try {
-                return EncryptionUtil.decryptRsa(privateKey, b64Value);
+                return decryptor.decryptRsa(b64Value);
             } catch (ConfigEncryptionException e) {
                 LOGGER.log(Level.FINEST, e, () -> "Failed to decrypt " + value);
                 return value;
@@ -202,14 +233,14 @@ public final class EncryptionFilter implements ConfigFilter {
         return value;
     }
 
-    private String decryptAes(char[] masterPassword, String value) {
+    private String decryptAes(Decryptor decryptor, String value) {
         // google_client_secret=${AES=mYRkg+4Q4hua1kvpCCI2hg==}
 
         if (value.startsWith(PREFIX_LEGACY_AES)) {
             LOGGER.log(Level.WARNING, () -> "You are using legacy AES encryption. Please re-encrypt the value with GCM.");
             String b64Value = value.substring(PREFIX_LEGACY_AES.length(), value.length() - 1);
             try {
-                return EncryptionUtil.decryptAesLegacy(masterPassword, b64Value);
+                return decryptor.decryptAesLegacy(b64Value);
             } catch (ConfigEncryptionException e) {
                 LOGGER.log(Level.FINEST, e, () -> "Failed to decrypt " + value);
                 return value;
@@ -217,7 +248,7 @@ public final class EncryptionFilter implements ConfigFilter {
         } else if (value.startsWith(PREFIX_GCM)) {
             String b64Value = value.substring(PREFIX_GCM.length(), value.length() - 1);
             try {
-                return EncryptionUtil.decryptAes(masterPassword, b64Value);
+                return decryptor.decryptAes(b64Value);
             } catch (ConfigEncryptionException e) {
                 LOGGER.log(Level.FINEST, e, () -> "Failed to decrypt " + value);
                 return value;
@@ -235,6 +266,7 @@ public final class EncryptionFilter implements ConfigFilter {
         private char[] masterPassword;
         private KeyConfig privateKeyConfig;
         private boolean requireEncryption = true;
+        private boolean decryptAtStartup;
 
         private Builder fromConfig() {
             fromConfig = true;
@@ -274,6 +306,18 @@ public final class EncryptionFilter implements ConfigFilter {
             return this;
         }
 
+        /**
+         * Whether to decrypt all values in parallel when the configuration is created, instead of on first access.
+         * Defaults to {@code false}.
+         *
+         * @param decryptAtStartup whether to decrypt values at startup
+         * @return updated builder instance
+         */
+        public Builder decryptAtStartup(boolean decryptAtStartup) {
+            this.decryptAtStartup = decryptAtStartup;
+            return this;
+        }
+
         /**
          * Create a new {@link EncryptionFilter} provider based on this builder.
          *
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -37,5 +37,6 @@ public class EncryptionFilterService implements ConfigFilter {
     @Override
     public void init(Config config) {
         this.filter = EncryptionFilter.fromConfig().apply(config);
+        filter.init(config);
     }
 }
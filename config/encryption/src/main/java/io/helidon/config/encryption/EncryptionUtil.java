@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -30,6 +30,7 @@ import java.util.logging.Logger;
 
 import javax.crypto.Cipher;
 import javax.crypto.SecretKeyFactory;
+import javax.crypto.spec.GCMParameterSpec;
 import javax.crypto.spec.IvParameterSpec;
 import javax.crypto.spec.PBEKeySpec;
 import javax.crypto.spec.SecretKeySpec;
@@ -60,6 +61,13 @@ public final class EncryptionUtil {
     private static final int HASH_ITERATIONS = 10000;
     private static final int KEY_LENGTH_LEGACY = 128;
     private static final int KEY_LENGTH = 256;
+    private static final int GCM_TAG_LENGTH = 128;
+
+    // Cipher.getInstance looks up the security providers on each invocation, decryption ciphers are reused per thread
+    private static final ThreadLocal<Cipher> RSA_OAEP = cipherPerThread(AsymmetricCipher.ALGORITHM_RSA_ECB_OAEP256);
+    private static final ThreadLocal<Cipher> RSA_LEGACY = cipherPerThread("RSA");
+    private static final ThreadLocal<Cipher> AES_GCM = cipherPerThread(SymmetricCipher.ALGORITHM_AES_GCM);
+    private static final ThreadLocal<Cipher> AES_LEGACY = cipherPerThread("AES/CBC/PKCS5Padding");
 
     private EncryptionUtil() {
         throw new IllegalStateException("Utility class");
@@ -79,8 +87,10 @@ public final class EncryptionUtil {
         Objects.requireNonNull(encryptedBase64, "Encrypted bytes must be provided for decryption (base64 encoded)");
 
         try {
-            Base64Value value = Base64Value.createFromEncoded(encryptedBase64);
-            return AsymmetricCipher.decrypt(AsymmetricCipher.ALGORITHM_RSA_ECB_OAEP256, null, key, value).toDecodedString();
+            Cipher cipher = RSA_OAEP.get();
+            cipher.init(Cipher.DECRYPT_MODE, key);
+            byte[] decrypted = cipher.doFinal(Base64.getDecoder().decode(encryptedBase64));
+            return new String(decrypted, StandardCharsets.UTF_8);
         } catch (ConfigEncryptionException e) {
             throw e;
         } catch (Exception e) {
@@ -103,7 +113,7 @@ public final class EncryptionUtil {
         Objects.requireNonNull(encryptedBase64, "Encrypted bytes must be provided for decryption (base64 encoded)");
 
         try {
-            Cipher cipher = Cipher.getInstance("RSA");
+            Cipher cipher = RSA_LEGACY.get();
             cipher.init(Cipher.DECRYPT_MODE, key);
             byte[] decrypted = cipher.doFinal(Base64.getDecoder().decode(encryptedBase64));
             return new String(decrypted, StandardCharsets.UTF_8);
@@ -167,8 +177,7 @@ public final class EncryptionUtil {
 
         byte[] salt = SECURE_RANDOM.get().generateSeed(SALT_LENGTH);
         byte[] nonce = SECURE_RANDOM.get().generateSeed(NONCE_LENGTH);
-        byte[] key = PasswordKeyDerivation
-                .deriveKey("PBKDF2WithHmacSHA256", null, masterPassword, salt, HASH_ITERATIONS, KEY_LENGTH);
+        byte[] key = deriveKey(masterPassword, salt);
         byte[] encrypted = SymmetricCipher.encrypt(SymmetricCipher.ALGORITHM_AES_GCM, key, nonce, Base64Value.create(secret))
                 .toBytes();
 
@@ -181,20 +190,46 @@ public final class EncryptionUtil {
         return Base64.getEncoder().encodeToString(bytesToEncode);
     }
 
-    private static Cipher cipherLegacy(char[] masterPassword, byte[] salt, int cipherMode) throws ConfigEncryptionException {
+    /**
+     * Derive the key of a value encrypted with {@link #encryptAes(char[], String)}.
+     *
+     * @param masterPassword master password
+     * @param salt salt of the encrypted value
+     * @return key bytes
+     */
+    private static byte[] deriveKey(char[] masterPassword, byte[] salt) {
+        return PasswordKeyDerivation
+                .deriveKey("PBKDF2WithHmacSHA256", null, masterPassword, salt, HASH_ITERATIONS, KEY_LENGTH);
+    }
+
+    /**
+     * Derive the key of a value encrypted with the legacy AES method.
+     *
+     * @param masterPassword master password
+     * @param salt salt of the encrypted value
+     * @return key bytes
+     * @throws ConfigEncryptionException if the key cannot be derived
+     */
+    private static byte[] deriveKeyLegacy(char[] masterPassword, byte[] salt) throws ConfigEncryptionException {
         try {
             SecretKeyFactory secretKeyFactory = SecretKeyFactory.getInstance("PBKDF2WithHmacSHA1");
             KeySpec keySpec = new PBEKeySpec(masterPassword, salt, HASH_ITERATIONS, KEY_LENGTH_LEGACY);
-            SecretKeySpec spec = new SecretKeySpec(secretKeyFactory.generateSecret(keySpec).getEncoded(), "AES");
-            Cipher cipher = Cipher.getInstance("AES/CBC/PKCS5Padding");
-            cipher.init(cipherMode, spec, new IvParameterSpec(salt));
-
-            return cipher;
+            return secretKeyFactory.generateSecret(keySpec).getEncoded();
         } catch (Exception e) {
             throw new ConfigEncryptionException("Failed to prepare a cipher instance", e);
         }
     }
 
+    private static ThreadLocal<Cipher> cipherPerThread(String algorithm) {
+        return ThreadLocal.withInitial(() -> {
+            try {
+                return Cipher.getInstance(algorithm);
+            } catch (Exception e) {
+                throw new ConfigEncryptionException("Failed to prepare a cipher instance", e);
+            }
+        });
+    }
+
     /**
      * Decrypt using legacy AES.
      * Will only decrypt messages encrypted with previously used AES method.
@@ -219,7 +254,9 @@ public final class EncryptionUtil {
             System.arraycopy(decodedBytes, SALT_LENGTH, encryptedBytes, 0, encryptedBytes.length);
 
             // get cipher
-            Cipher cipher = cipherLegacy(masterPassword, salt, Cipher.DECRYPT_MODE);
+            Cipher cipher = AES_LEGACY.get();
+            cipher.init(Cipher.DECRYPT_MODE, new SecretKeySpec(deriveKeyLegacy(masterPassword, salt), "AES"),
+                        new IvParameterSpec(salt));
 
             // bytes with seed
             byte[] decryptedBytes;
@@ -277,10 +314,11 @@ public final class EncryptionUtil {
             System.arraycopy(decodedBytes, SALT_LENGTH, nonce, 0, NONCE_LENGTH);
             System.arraycopy(decodedBytes, SALT_LENGTH + NONCE_LENGTH, encryptedBytes, 0, encryptedBytes.length);
 
-            byte[] key = PasswordKeyDerivation
-                    .deriveKey("PBKDF2WithHmacSHA256", null, masterPassword, salt, HASH_ITERATIONS, KEY_LENGTH);
-            Base64Value encryptedValue = Base64Value.create(encryptedBytes);
-            return SymmetricCipher.decrypt(SymmetricCipher.ALGORITHM_AES_GCM, key, nonce, encryptedValue).toBytes();
+            Cipher cipher = AES_GCM.get();
+            cipher.init(Cipher.DECRYPT_MODE,
+                        new SecretKeySpec(deriveKey(masterPassword, salt), "AES"),
+                        new GCMParameterSpec(GCM_TAG_LENGTH, nonce));
+            return cipher.doFinal(encryptedBytes);
         } catch (Throwable e) {
             throw new ConfigEncryptionException("Failed to decrypt value using AES. Returning clear text value as is: "
                                                         + encryptedBase64, e);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,7 +18,9 @@ package io.helidon.config.encryption;
 
 import java.security.PrivateKey;
 import java.security.interfaces.RSAPrivateKey;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.logging.Level;
@@ -27,6 +29,7 @@ import java.util.logging.Logger;
 import io.helidon.config.mp.spi.MpConfigFilter;
 
 import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.spi.ConfigSource;
 
 /**
  * Provides possibility to decrypt passwords from configuration sources.
@@ -49,6 +52,8 @@ import org.eclipse.microprofile.config.Config;
  * another_password=${service_password}
  * cleartext_password=${CLEAR=known_password}
  * </pre>
+ * Values are decrypted on first access, and cached. With {@link ConfigProperties#DECRYPT_AT_STARTUP_CONFIG_KEY},
+ * all values are decrypted in parallel when the filter is initialized.
  *
  * @see ConfigProperties#PRIVATE_KEYSTORE_PATH_ENV_VARIABLE
  * @see ConfigProperties#MASTER_PASSWORD_ENV_VARIABLE
@@ -66,6 +71,7 @@ public final class MpEncryptionFilter implements MpConfigFilter {
 
     private PrivateKey privateKey;
     private char[] masterPassword;
+    private Decryptor decryptor;
 
     private boolean requireEncryption;
 
@@ -99,12 +105,16 @@ public final class MpEncryptionFilter implements MpConfigFilter {
         }
 
         MpConfigFilter noOp = (key, stringValue) -> stringValue;
+        decryptor = new Decryptor(masterPassword, privateKey);
 
-        aesFilter = (null == masterPassword ? noOp : (key, stringValue) -> decryptAes(masterPassword, stringValue));
-        rsaFilter = (null == privateKey ? noOp : (key, stringValue) -> decryptRsa(privateKey, stringValue));
+        aesFilter = (null == masterPassword ? noOp : (key, stringValue) -> decryptAes(decryptor, stringValue));
+        rsaFilter = (null == privateKey ? noOp : (key, stringValue) -> decryptRsa(decryptor, stringValue));
         clearFilter = this::clearText;
         aliasFilter = (key, stringValue) -> aliased(stringValue, config);
 
+        if (config.getOptionalValue(ConfigProperties.DECRYPT_AT_STARTUP_CONFIG_KEY, Boolean.class).orElse(false)) {
+            decryptAll(config);
+        }
     }
 
     @Override
@@ -112,6 +122,32 @@ public final class MpEncryptionFilter implements MpConfigFilter {
         return maybeDecode(propertyName, value);
     }
 
+    int decryptedValues() {
+        return decryptor.decryptedValues();
+    }
+
+    private void decryptAll(Config config) {
+        // this filter is not yet registered with the config, and the config would resolve the encrypted
+        // values as references, so the values are read from the sources, highest ordinal first
+        Map<String, String> values = new HashMap<>();
+        for (ConfigSource source : config.getConfigSources()) {
+            for (String name : source.getPropertyNames()) {
+                String value = source.getValue(name);
+                if (value != null) {
+                    values.putIfAbsent(name, value);
+                }
+            }
+        }
+        values.entrySet().parallelStream().forEach(entry -> {
+            try {
+                maybeDecode(entry.getKey(), entry.getValue());
+            } catch (RuntimeException e) {
+                // reported when the value is accessed
+                LOGGER.log(Level.FINEST, e, () -> "Failed to decrypt " + entry.getKey() + " at startup");
+            }
+        });
+    }
+
     private static String removePlaceholder(String prefix, String value) {
         return value.substring(prefix.length(), value.length() - 1);
     }
@@ -160,13 +196,13 @@ public final class MpEncryptionFilter implements MpConfigFilter {
         return value;
     }
 
-    private String decryptRsa(PrivateKey privateKey, String value) {
+    private String decryptRsa(Decryptor decryptor, String value) {
         // service_password=${RSA=mYRkg+4Q4hua1kvpCCI2hg==}
         if (value.startsWith(PREFIX_LEGACY_RSA)) {
             LOGGER.log(Level.WARNING, () -> "You are using legacy RSA encryption. Please re-encrypt the value with RSA-P.");
             String b64Value = removePlaceholder(PREFIX_LEGACY_RSA, value);
             try {
-                return EncryptionUtil.decryptRsaLegacy(privateKey, b64Value);
+                return decryptor.decryptRsaLegacy(b64Value);
             } catch (ConfigEncryptionException e) {
                 LOGGER.log(Level.FINEST, e, () -> "Failed to decrypt " + value);
                 return value;
@@ -174,7 +210,7 @@ public final class MpEncryptionFilter implements MpConfigFilter {
         } else if (value.startsWith(PREFIX_RSA)) {
             String b64Value = removePlaceholder(PREFIX_RSA, value);
             try {
-                return EncryptionUtil.decryptRsa(privateKey, b64Value);
+                return decryptor.decryptRsa(b64Value);
             } catch (ConfigEncryptionException e) {
                 LOGGER.log(Level.FINEST, e, () -> "Failed to decrypt " + value);
                 return value;
@@ -184,14 +220,14 @@ public final class MpEncryptionFilter implements MpConfigFilter {
         return value;
     }
 
-    private String decryptAes(char[] masterPassword, String value) {
+    private String decryptAes(Decryptor decryptor, String value) {
         // google_client_secret=${AES=mYRkg+4Q4hua1kvpCCI2hg==}
 
         if (value.startsWith(PREFIX_LEGACY_AES)) {
             LOGGER.log(Level.WARNING, () -> "You are using legacy AES encryption. Please re-encrypt the value with GCM.");
             String b64Value = value.substring(PREFIX_LEGACY_AES.length(), value.length() - 1);
             try {
-                return EncryptionUtil.decryptAesLegacy(masterPassword, b64Value);
+                return decryptor.decryptAesLegacy(b64Value);
             } catch (ConfigEncryptionException e) {
                 LOGGER.log(Level.FINEST, e, () -> "Failed to decrypt " + value);
                 return value;
@@ -199,7 +235,7 @@ public final class MpEncryptionFilter implements MpConfigFilter {
         } else if (value.startsWith(PREFIX_GCM)) {
             String b64Value = value.substring(PREFIX_GCM.length(), value.length() - 1);
             try {
-                return EncryptionUtil.decryptAes(masterPassword, b64Value);
+                return decryptor.decryptAes(b64Value);
             } catch (ConfigEncryptionException e) {
                 LOGGER.log(Level.FINEST, e, () -> "Failed to decrypt " + value);
                 return value;
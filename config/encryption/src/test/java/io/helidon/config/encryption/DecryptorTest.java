@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.config.encryption;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import io.helidon.common.configurable.Resource;
+import io.helidon.common.pki.KeyConfig;
+import io.helidon.config.Config;
+import io.helidon.config.ConfigSources;
+import io.helidon.config.mp.MpConfigSources;
+import io.helidon.config.spi.ConfigFilter;
+
+import org.eclipse.microprofile.config.spi.ConfigProviderResolver;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit test for {@link Decryptor}.
+ */
+class DecryptorTest {
+    private static final char[] MASTER_PASSWORD = "myComplicatePassword".toCharArray();
+
+    @Test
+    void testValueDecryptedOnce() {
+        Decryptor decryptor = new Decryptor(MASTER_PASSWORD, null);
+        String encrypted = EncryptionUtil.encryptAes(MASTER_PASSWORD, "secret");
+
+        String decrypted = decryptor.decryptAes(encrypted);
+        assertThat(decrypted, is("secret"));
+        assertThat(decryptor.decryptedValues(), is(1));
+
+        // second read is served from the cache
+        assertThat(decryptor.decryptAes(encrypted), sameInstance(decrypted));
+        assertThat(decryptor.decryptedValues(), is(1));
+    }
+
+    @Test
+    void testParallelDecryption() {
+        Decryptor decryptor = new Decryptor(MASTER_PASSWORD, null);
+        List<String> encrypted = IntStream.range(0, 32)
+                .mapToObj(i -> EncryptionUtil.encryptAes(MASTER_PASSWORD, "secret-" + i))
+                .collect(Collectors.toList());
+
+        List<String> decrypted = encrypted.parallelStream()
+                .map(decryptor::decryptAes)
+                .collect(Collectors.toList());
+
+        for (int i = 0; i < decrypted.size(); i++) {
+            assertThat(decrypted.get(i), is("secret-" + i));
+        }
+        assertThat(decryptor.decryptedValues(), is(32));
+    }
+
+    @Test
+    void testDecryptAtStartup() {
+        KeyConfig keyConfig = KeyConfig.keystoreBuilder()
+                .keystore(Resource.create(".ssh/keystore.p12"))
+                .keyAlias("1")
+                .keystorePassphrase("j4c".toCharArray())
+                .build();
+        AtomicReference<EncryptionFilter> filter = new AtomicReference<>();
+        Function<Config, ConfigFilter> provider = EncryptionFilter.builder()
+                .requireEncryption(false)
+                .masterPassword("myMasterPasswordForEncryption".toCharArray())
+                .privateKey(keyConfig)
+                .decryptAtStartup(true)
+                .buildProvider();
+        Config config = Config.builder()
+                .disableFilterServices()
+                .addFilter(it -> {
+                    ConfigFilter created = provider.apply(it);
+                    filter.set((EncryptionFilter) created);
+                    return created;
+                })
+                .addSource(ConfigSources.classpath("application.yaml"))
+                .build()
+                .get("aes-current");
+
+        // decrypted before the first access
+        int decrypted = filter.get().decryptedValues();
+        assertThat(decrypted > 0, is(true));
+
+        assertThat(config.get("pwd1").asString().get(), is("known_password"));
+        assertThat(config.get("pwd4").asString().get(), is(AbstractSecureConfigTest.TEST_STRING));
+        assertThat(config.get("pwd7").asString().get(), is(AbstractSecureConfigTest.TEST_STRING));
+        // failures at startup are reported on access
+        assertThat(config.get("pwd9").asString().get(), is("${GCM=not really encrypted}"));
+        assertThat(filter.get().decryptedValues(), is(decrypted));
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void testMpDecryptAtStartup() {
+        String encrypted = "${GCM=" + EncryptionUtil.encryptAes(MASTER_PASSWORD, "secret") + "}";
+        org.eclipse.microprofile.config.Config config = ConfigProviderResolver.instance()
+                .getBuilder()
+                .withSources(MpConfigSources.create(Map.of(
+                        ConfigProperties.REQUIRE_ENCRYPTION_CONFIG_KEY, "false",
+                        ConfigProperties.MASTER_PASSWORD_CONFIG_KEY, new String(MASTER_PASSWORD),
+                        ConfigProperties.DECRYPT_AT_STARTUP_CONFIG_KEY, "true",
+                        "pwd", encrypted)))
+                .build();
+        MpEncryptionFilter filter = new MpEncryptionFilter();
+        filter.init(config);
+
+        // decrypted before the first access
+        assertThat(filter.decryptedValues(), is(1));
+        assertThat(filter.apply("pwd", encrypted), is("secret"));
+        assertThat(filter.decryptedValues(), is(1));
+    }
+}
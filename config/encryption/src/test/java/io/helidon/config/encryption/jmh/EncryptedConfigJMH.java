@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.config.encryption.jmh;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.helidon.config.Config;
+import io.helidon.config.ConfigSources;
+import io.helidon.config.encryption.ConfigProperties;
+import io.helidon.config.encryption.EncryptionUtil;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Creation of a configuration with encrypted secrets, and first read of all of them, with the secrets
+ * decrypted on access or in parallel when the configuration is created.
+ */
+@State(Scope.Thread)
+public class EncryptedConfigJMH {
+    private static final char[] MASTER_PASSWORD = "jmhMasterPassword".toCharArray();
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(EncryptedConfigJMH.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({"10", "100", "500"})
+    int secretCount;
+
+    private Map<String, String> properties;
+
+    @Setup
+    public void setup() {
+        properties = new HashMap<>();
+        properties.put(ConfigProperties.MASTER_PASSWORD_CONFIG_KEY, new String(MASTER_PASSWORD));
+        properties.put(ConfigProperties.REQUIRE_ENCRYPTION_CONFIG_KEY, "false");
+        for (int i = 0; i < secretCount; i++) {
+            properties.put("app.secret-" + i, "${GCM=" + EncryptionUtil.encryptAes(MASTER_PASSWORD, "secret-" + i) + "}");
+        }
+    }
+
+    @Benchmark
+    public void onAccess(Blackhole blackhole) {
+        readAll(config(false), blackhole);
+    }
+
+    @Benchmark
+    public void atStartup(Blackhole blackhole) {
+        readAll(config(true), blackhole);
+    }
+
+    private void readAll(Config config, Blackhole blackhole) {
+        for (int i = 0; i < secretCount; i++) {
+            blackhole.consume(config.get("app.secret-" + i).asString().get());
+        }
+    }
+
+    private Config config(boolean decryptAtStartup) {
+        Map<String, String> map = new HashMap<>(properties);
+        map.put(ConfigProperties.DECRYPT_AT_STARTUP_CONFIG_KEY, String.valueOf(decryptAtStartup));
+        return Config.builder()
+                .disableEnvironmentVariablesSource()
+                .disableSystemPropertiesSource()
+                .addSource(ConfigSources.create(map))
+                .build();
+    }
+}
@@ -16,6 +16,9 @@
 
 package io.helidon.faulttolerance;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
@@ -30,6 +33,12 @@ import io.helidon.common.LazyValue;
  * until the queue length is reached. Once both the limit and queue are full,
  * additional attempts to invoke will end with a failed response with
  * {@link io.helidon.faulttolerance.BulkheadException}.
+ * <p>
+ * By default the bulkhead is fair: calls are executed in the order they arrived and a new call
+ * never overtakes calls that wait in the queue. For high throughput, the bulkhead can be configured
+ * to let new calls use any free permit immediately ({@link Builder#fair(boolean)}), to execute the
+ * newest queued calls first or drop calls that wait too long ({@link Builder#queueDiscipline(QueueDiscipline)}),
+ * and to adapt its limit to the observed latency ({@link Builder#adaptive(boolean)}).
  */
 public interface Bulkhead extends FtHandler {
     /**
@@ -47,12 +56,24 @@ public interface Bulkhead extends FtHandler {
     class Builder implements io.helidon.common.Builder<Builder, Bulkhead> {
         private static final int DEFAULT_LIMIT = 10;
         private static final int DEFAULT_QUEUE_LENGTH = 10;
+        private static final int DEFAULT_MIN_LIMIT = 1;
+        private static final Duration DEFAULT_LATENCY_THRESHOLD = Duration.ofSeconds(1);
+        private static final Duration DEFAULT_CODEL_TARGET = Duration.ofMillis(5);
+        private static final Duration DEFAULT_CODEL_INTERVAL = Duration.ofMillis(100);
 
         private LazyValue<? extends ExecutorService> executor = FaultTolerance.executor();
         private int limit = DEFAULT_LIMIT;
         private int queueLength = DEFAULT_QUEUE_LENGTH;
         private String name = "Bulkhead-" + System.identityHashCode(this);
         private boolean cancelSource = true;
+        private boolean fair = true;
+        private QueueDiscipline queueDiscipline = QueueDiscipline.FIFO;
+        private Duration codelTarget = DEFAULT_CODEL_TARGET;
+        private Duration codelInterval = DEFAULT_CODEL_INTERVAL;
+        private boolean adaptive;
+        private int minLimit = DEFAULT_MIN_LIMIT;
+        private Duration latencyThreshold = DEFAULT_LATENCY_THRESHOLD;
+        private final List<QueueListener> queueListeners = new ArrayList<>();
 
         private Builder() {
         }
@@ -121,6 +142,101 @@ public interface Bulkhead extends FtHandler {
             return this;
         }
 
+        /**
+         * Whether new calls wait for calls already in the queue.
+         * When set to {@code false}, a new call is executed immediately if there is a free permit,
+         * even if other calls wait in the queue. This avoids queueing when the bulkhead is not saturated
+         * at the cost of ordering guarantees.
+         *
+         * @param fair whether the bulkhead is fair, defaults to {@code true}
+         * @return updated builder instance
+         */
+        public Builder fair(boolean fair) {
+            this.fair = fair;
+            return this;
+        }
+
+        /**
+         * Order in which queued calls are executed.
+         *
+         * @param queueDiscipline queue discipline, defaults to {@link QueueDiscipline#FIFO}
+         * @return updated builder instance
+         */
+        public Builder queueDiscipline(QueueDiscipline queueDiscipline) {
+            this.queueDiscipline = Objects.requireNonNull(queueDiscipline);
+            return this;
+        }
+
+        /**
+         * Acceptable time a call waits in the queue when using {@link QueueDiscipline#CODEL}.
+         *
+         * @param codelTarget target queue wait time, defaults to 5 milliseconds
+         * @return updated builder instance
+         */
+        public Builder codelTarget(Duration codelTarget) {
+            this.codelTarget = Objects.requireNonNull(codelTarget);
+            return this;
+        }
+
+        /**
+         * How long the queue wait time may stay above {@link #codelTarget(java.time.Duration)} before
+         * queued calls are dropped when using {@link QueueDiscipline#CODEL}.
+         *
+         * @param codelInterval interval, defaults to 100 milliseconds
+         * @return updated builder instance
+         */
+        public Builder codelInterval(Duration codelInterval) {
+            this.codelInterval = Objects.requireNonNull(codelInterval);
+            return this;
+        }
+
+        /**
+         * Whether the limit of parallel calls adapts to the observed latency.
+         * When enabled, the {@link #limit(int)} is the initial and the maximal limit. The limit grows
+         * by one for each limit-worth of calls completed within {@link #latencyThreshold(java.time.Duration)},
+         * and is reduced by 10% for each call that takes longer (additive increase, multiplicative decrease).
+         *
+         * @param adaptive whether to use an adaptive limit, defaults to {@code false}
+         * @return updated builder instance
+         */
+        public Builder adaptive(boolean adaptive) {
+            this.adaptive = adaptive;
+            return this;
+        }
+
+        /**
+         * Minimal limit of parallel calls when the limit is {@link #adaptive(boolean)}.
+         *
+         * @param minLimit minimal limit, defaults to {@value DEFAULT_MIN_LIMIT}
+         * @return updated builder instance
+         */
+        public Builder minLimit(int minLimit) {
+            this.minLimit = minLimit;
+            return this;
+        }
+
+        /**
+         * Calls taking longer than this threshold reduce the limit when the limit is {@link #adaptive(boolean)}.
+         *
+         * @param latencyThreshold latency threshold, defaults to 1 second
+         * @return updated builder instance
+         */
+        public Builder latencyThreshold(Duration latencyThreshold) {
+            this.latencyThreshold = Objects.requireNonNull(latencyThreshold);
+            return this;
+        }
+
+        /**
+         * Add a listener notified when a call leaves the queue.
+         *
+         * @param listener listener to add
+         * @return updated builder instance
+         */
+        public Builder addQueueListener(QueueListener listener) {
+            this.queueListeners.add(Objects.requireNonNull(listener));
+            return this;
+        }
+
         int limit() {
             return limit;
         }
@@ -140,6 +256,83 @@ public interface Bulkhead extends FtHandler {
         boolean cancelSource() {
             return cancelSource;
         }
+
+        boolean fair() {
+            return fair;
+        }
+
+        QueueDiscipline queueDiscipline() {
+            return queueDiscipline;
+        }
+
+        Duration codelTarget() {
+            return codelTarget;
+        }
+
+        Duration codelInterval() {
+            return codelInterval;
+        }
+
+        boolean adaptive() {
+            return adaptive;
+        }
+
+        int minLimit() {
+            return minLimit;
+        }
+
+        Duration latencyThreshold() {
+            return latencyThreshold;
+        }
+
+        List<QueueListener> queueListeners() {
+            return List.copyOf(queueListeners);
+        }
+    }
+
+    /**
+     * Order in which queued calls are executed.
+     */
+    enum QueueDiscipline {
+        /**
+         * Calls are executed in the order they were queued.
+         */
+        FIFO,
+        /**
+         * The most recently queued call is executed first. When the queue is full, the oldest
+         * queued call is dropped to make space for the new one.
+         * Under overload this keeps the latency of most calls low, at the cost of the calls waiting longest.
+         */
+        LIFO,
+        /**
+         * Calls are executed in the order they were queued, but once queued calls wait longer than the
+         * {@link Builder#codelTarget(java.time.Duration) target} for a whole
+         * {@link Builder#codelInterval(java.time.Duration) interval}, calls that waited longer than the target
+         * are dropped (controlled delay).
+         */
+        CODEL
+    }
+
+    /**
+     * Listener of calls leaving the bulkhead queue.
+     * Listeners are invoked on the thread releasing the call and should be fast.
+     */
+    @FunctionalInterface
+    interface QueueListener {
+        /**
+         * A queued call was taken from the queue for execution.
+         *
+         * @param waitNanos time the call waited in the queue in nanoseconds
+         */
+        void dequeued(long waitNanos);
+
+        /**
+         * A queued call was dropped from the queue and failed with a {@link io.helidon.faulttolerance.BulkheadException}.
+         *
+         * @param waitNanos time the call waited in the queue in nanoseconds
+         */
+        default void shed(long waitNanos) {
+        }
     }
 
     /**
@@ -175,6 +368,25 @@ public interface Bulkhead extends FtHandler {
          * @return size of waiting queue.
          */
         long waitingQueueSize();
+
+        /**
+         * Number of queued calls dropped because of the {@link QueueDiscipline}.
+         * These calls are also counted in {@link #callsRejected()}.
+         *
+         * @return calls shed.
+         */
+        default long callsShed() {
+            return 0;
+        }
+
+        /**
+         * Current limit of parallel calls. Changes over time if the limit is adaptive.
+         *
+         * @return concurrency limit.
+         */
+        default long concurrencyLimit() {
+            return -1;
+        }
     }
 
     /**
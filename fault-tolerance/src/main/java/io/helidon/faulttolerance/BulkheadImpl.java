@@ -16,13 +16,12 @@
 
 package io.helidon.faulttolerance;
 
-import java.util.ArrayDeque;
-import java.util.Queue;
+import java.util.List;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Flow;
-import java.util.concurrent.LinkedBlockingQueue;
-import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
 import java.util.logging.Logger;
@@ -35,25 +34,38 @@ class BulkheadImpl implements Bulkhead {
     private static final Logger LOGGER = Logger.getLogger(BulkheadImpl.class.getName());
 
     private final LazyValue<? extends ExecutorService> executor;
-    private final Queue<DelayedTask<?>> queue;
-    private final Semaphore inProgress;
+    private final BulkheadQueue queue;
+    private final int limit;
+    private final AdaptiveLimit adaptiveLimit;
+    private final boolean fair;
+    private final List<QueueListener> queueListeners;
     private final String name;
     private final boolean cancelSource;
 
+    // permits in use, including tasks taken from the queue and not yet started
+    private final AtomicInteger inFlight = new AtomicInteger();
     private final AtomicLong concurrentExecutions = new AtomicLong(0L);
     private final AtomicLong callsAccepted = new AtomicLong(0L);
     private final AtomicLong callsRejected = new AtomicLong(0L);
+    private final AtomicLong callsShed = new AtomicLong(0L);
 
     BulkheadImpl(Bulkhead.Builder builder) {
         this.executor = builder.executor();
-        this.inProgress = new Semaphore(builder.limit(), true);
+        this.limit = builder.limit();
+        this.fair = builder.fair();
+        this.queueListeners = builder.queueListeners();
         this.name = builder.name();
         this.cancelSource = builder.cancelSource();
-
-        if (builder.queueLength() == 0) {
-            queue = new NoQueue();
+        this.queue = new BulkheadQueue(builder.queueDiscipline(),
+                                       builder.queueLength(),
+                                       builder.codelTarget().toNanos(),
+                                       builder.codelInterval().toNanos());
+        if (builder.adaptive()) {
+            this.adaptiveLimit = new AdaptiveLimit(Math.min(builder.minLimit(), limit),
+                                                   limit,
+                                                   builder.latencyThreshold().toNanos());
         } else {
-            this.queue = new LinkedBlockingQueue<>(builder.queueLength());
+            this.adaptiveLimit = null;
         }
     }
 
@@ -94,72 +106,152 @@ class BulkheadImpl implements Bulkhead {
             public long waitingQueueSize() {
                 return queue.size();
             }
+
+            @Override
+            public long callsShed() {
+                return callsShed.get();
+            }
+
+            @Override
+            public long concurrencyLimit() {
+                return currentLimit();
+            }
         };
     }
 
     // this method must be called while NOT holding a permit
     @SuppressWarnings("unchecked")
     private <R> R invokeTask(DelayedTask<R> task) {
-        if (inProgress.tryAcquire()) {
+        // a fair bulkhead does not let new calls overtake queued calls
+        if ((!fair || queue.isEmpty()) && tryAcquire()) {
             LOGGER.finest(() -> name + " invoke immediate: " + task);
 
             // free permit, we can invoke
             execute(task);
             return task.result();
-        } else {
-            // no free permit, let's try to enqueue
-            if (queue.offer(task)) {
-                LOGGER.finest(() -> name + " enqueue: " + task);
-                R result = task.result();
-                if (result instanceof Single<?>) {
-                    Single<Object> single = (Single<Object>) result;
-                    return (R) single.onCancel(() -> queue.remove(task));
-                }
-                return result;
-            } else {
-                LOGGER.finest(() -> name + " reject: " + task);
-                callsRejected.incrementAndGet();
-                return task.error(new BulkheadException("Bulkhead queue \"" + name + "\" is full"));
-            }
         }
+        // no free permit, let's try to enqueue
+        BulkheadQueue.Entry entry = queue.offer(task, this::shed);
+        if (entry == null) {
+            LOGGER.finest(() -> name + " reject: " + task);
+            callsRejected.incrementAndGet();
+            return task.error(new BulkheadException("Bulkhead queue \"" + name + "\" is full"));
+        }
+        LOGGER.finest(() -> name + " enqueue: " + task);
+        R result = task.result();
+        if (result instanceof Single<?>) {
+            Single<Object> single = (Single<Object>) result;
+            result = (R) single.onCancel(() -> queue.remove(entry));
+        }
+        // a permit may have been released since we tried to acquire it
+        drain();
+        return result;
     }
 
     // this method must be called while holding a permit
     private void execute(DelayedTask<?> task) {
         callsAccepted.incrementAndGet();
         concurrentExecutions.incrementAndGet();
+        long startNanos = adaptiveLimit == null ? 0 : System.nanoTime();
 
         task.execute()
                 .handle((it, throwable) -> {
                     concurrentExecutions.decrementAndGet();
+                    if (adaptiveLimit != null) {
+                        adaptiveLimit.update(System.nanoTime() - startNanos);
+                    }
                     // we do not care about execution, but let's record it in debug
                     LOGGER.finest(() -> name + " finished execution: " + task
                             + " (" + (throwable == null ? "success" : "failure") + ")");
-                    DelayedTask<?> polled = queue.poll();
-                    if (polled != null) {
-                        LOGGER.finest(() -> name + " invoke in executor: " + polled);
-                        // chain executions from queue until all are executed
-                        executor.get().submit(() -> execute(polled));
-                    } else {
-                        LOGGER.finest(() -> name + " permit released after: " + task);
-                        // nothing in the queue, release permit
-                        inProgress.release();
-                    }
+                    inFlight.decrementAndGet();
+                    drain();
                     return null;
                 });
     }
 
-    private static class NoQueue extends ArrayDeque<DelayedTask<?>> {
-        @Override
-        public boolean offer(DelayedTask delayedTask) {
-            return false;
+    // start queued tasks while there are free permits
+    private void drain() {
+        while (!queue.isEmpty() && tryAcquire()) {
+            BulkheadQueue.Entry entry = queue.poll(this::shed);
+            if (entry == null) {
+                // queue emptied concurrently (or all entries were shed)
+                inFlight.decrementAndGet();
+                continue;
+            }
+            if (!queueListeners.isEmpty()) {
+                long waitNanos = System.nanoTime() - entry.enqueuedNanos();
+                queueListeners.forEach(it -> it.dequeued(waitNanos));
+            }
+            DelayedTask<?> task = entry.task();
+            LOGGER.finest(() -> name + " invoke in executor: " + task);
+            executor.get().submit(() -> execute(task));
         }
+    }
 
-        @SuppressWarnings("ReturnOfNull")
-        @Override
-        public DelayedTask<?> poll() {
-            // this queue is empty, poll must return null
-            return null;
+    private void shed(BulkheadQueue.Entry entry) {
+        long waitNanos = System.nanoTime() - entry.enqueuedNanos();
+        LOGGER.finest(() -> name + " shed: " + entry);
+        callsRejected.incrementAndGet();
+        callsShed.incrementAndGet();
+        queueListeners.forEach(it -> it.shed(waitNanos));
+        entry.task().fail(new BulkheadException("Bulkhead \"" + name + "\" dropped a call after it waited "
+                                                        + TimeUnit.NANOSECONDS.toMillis(waitNanos) + " ms in queue"));
+    }
+
+    private boolean tryAcquire() {
+        int currentLimit = currentLimit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= currentLimit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private int currentLimit() {
+        return adaptiveLimit == null ? limit : adaptiveLimit.get();
+    }
+
+    /**
+     * Additive increase, multiplicative decrease of the limit based on call latency.
+     */
+    private static final class AdaptiveLimit {
+        private static final double BACKOFF_RATIO = 0.9;
+
+        private final int minLimit;
+        private final int maxLimit;
+        private final long latencyThresholdNanos;
+        // double value of the limit, so slow growth (1 / limit for each call) is not lost in rounding
+        private final AtomicLong limitBits;
+
+        private AdaptiveLimit(int minLimit, int maxLimit, long latencyThresholdNanos) {
+            this.minLimit = Math.max(1, minLimit);
+            this.maxLimit = maxLimit;
+            this.latencyThresholdNanos = latencyThresholdNanos;
+            this.limitBits = new AtomicLong(Double.doubleToLongBits(maxLimit));
+        }
+
+        int get() {
+            return (int) Double.longBitsToDouble(limitBits.get());
+        }
+
+        void update(long latencyNanos) {
+            while (true) {
+                long bits = limitBits.get();
+                double current = Double.longBitsToDouble(bits);
+                double next;
+                if (latencyNanos > latencyThresholdNanos) {
+                    next = Math.max(minLimit, current * BACKOFF_RATIO);
+                } else {
+                    next = Math.min(maxLimit, current + 1 / current);
+                }
+                if (next == current || limitBits.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                    return;
+                }
+            }
         }
     }
 }
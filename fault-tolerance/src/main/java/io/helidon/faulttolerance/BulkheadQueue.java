@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.faulttolerance;
+
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Waiting queue of a bulkhead.
+ * Entries are taken from the head ({@link Bulkhead.QueueDiscipline#FIFO} and {@link Bulkhead.QueueDiscipline#CODEL})
+ * or from the tail ({@link Bulkhead.QueueDiscipline#LIFO}). Entries that are dropped from the queue (the oldest entry
+ * of a full LIFO queue, or entries that waited too long in a CoDel queue) are passed to the shed consumer.
+ */
+class BulkheadQueue {
+    private final ConcurrentLinkedDeque<Entry> deque = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final Bulkhead.QueueDiscipline discipline;
+    private final int capacity;
+    private final long codelTargetNanos;
+    private final long codelIntervalNanos;
+
+    // CoDel state, guarded by this
+    private boolean aboveTarget;
+    private long firstAboveTime;
+
+    BulkheadQueue(Bulkhead.QueueDiscipline discipline, int capacity, long codelTargetNanos, long codelIntervalNanos) {
+        this.discipline = discipline;
+        this.capacity = capacity;
+        this.codelTargetNanos = codelTargetNanos;
+        this.codelIntervalNanos = codelIntervalNanos;
+    }
+
+    /**
+     * Add a task to the queue.
+     *
+     * @param task task to enqueue
+     * @param shed consumer of an entry dropped to make space for the new one
+     * @return the new entry, or {@code null} if the queue is full
+     */
+    Entry offer(DelayedTask<?> task, Consumer<Entry> shed) {
+        Entry entry = new Entry(task, System.nanoTime());
+        if (reserve()) {
+            deque.offerLast(entry);
+            return entry;
+        }
+        if (discipline == Bulkhead.QueueDiscipline.LIFO) {
+            // newest requests have the best chance to still be useful to the caller, drop the oldest one
+            Entry oldest = deque.pollFirst();
+            if (oldest != null) {
+                deque.offerLast(entry);
+                shed.accept(oldest);
+                return entry;
+            }
+            // concurrently emptied
+            if (reserve()) {
+                deque.offerLast(entry);
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Take the next task to execute.
+     *
+     * @param shed consumer of entries dropped because they waited too long
+     * @return next entry, or {@code null} if the queue is empty
+     */
+    Entry poll(Consumer<Entry> shed) {
+        switch (discipline) {
+        case LIFO:
+            return released(deque.pollLast());
+        case CODEL:
+            return pollCodel(shed);
+        case FIFO:
+        default:
+            return released(deque.pollFirst());
+        }
+    }
+
+    boolean remove(Entry entry) {
+        if (deque.removeFirstOccurrence(entry)) {
+            size.decrementAndGet();
+            return true;
+        }
+        return false;
+    }
+
+    boolean isEmpty() {
+        return deque.isEmpty();
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    // controlled delay: once the sojourn time stayed above target for a whole interval,
+    // entries are dropped until the queue drains back under the target
+    private synchronized Entry pollCodel(Consumer<Entry> shed) {
+        while (true) {
+            Entry entry = released(deque.pollFirst());
+            if (entry == null) {
+                aboveTarget = false;
+                return null;
+            }
+            long now = System.nanoTime();
+            if (now - entry.enqueuedNanos < codelTargetNanos) {
+                aboveTarget = false;
+                return entry;
+            }
+            if (!aboveTarget) {
+                aboveTarget = true;
+                firstAboveTime = now + codelIntervalNanos;
+                return entry;
+            }
+            if (now - firstAboveTime < 0) {
+                return entry;
+            }
+            shed.accept(entry);
+        }
+    }
+
+    private boolean reserve() {
+        while (true) {
+            int current = size.get();
+            if (current >= capacity) {
+                return false;
+            }
+            if (size.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private Entry released(Entry entry) {
+        if (entry != null) {
+            size.decrementAndGet();
+        }
+        return entry;
+    }
+
+    static final class Entry {
+        private final DelayedTask<?> task;
+        private final long enqueuedNanos;
+
+        private Entry(DelayedTask<?> task, long enqueuedNanos) {
+            this.task = task;
+            this.enqueuedNanos = enqueuedNanos;
+        }
+
+        DelayedTask<?> task() {
+            return task;
+        }
+
+        long enqueuedNanos() {
+            return enqueuedNanos;
+        }
+
+        @Override
+        public String toString() {
+            return task.toString();
+        }
+    }
+}
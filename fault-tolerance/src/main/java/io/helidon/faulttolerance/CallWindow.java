@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.faulttolerance;
+
+/**
+ * Window of recent call results used by a circuit breaker to decide whether to open.
+ */
+interface CallWindow {
+    /**
+     * Record a completed call.
+     *
+     * @param result result of the call
+     * @param slow whether the call took longer than the slow call duration
+     */
+    void update(ResultWindow.Result result, boolean slow);
+
+    /**
+     * Whether the recorded results are bad enough to open the breaker.
+     *
+     * @return {@code true} to open the breaker
+     */
+    boolean shouldOpen();
+
+    /**
+     * Forget all recorded results.
+     */
+    void reset();
+}
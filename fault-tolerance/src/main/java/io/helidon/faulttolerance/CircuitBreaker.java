@@ -17,8 +17,11 @@
 package io.helidon.faulttolerance;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -32,6 +35,12 @@ import io.helidon.common.LazyValue;
  * {@link io.helidon.faulttolerance.CircuitBreakerOpenException} for a period of time.
  * After this period, attempts are made to check if the service is up again - if so, the circuit closes
  * and requests can process as usual again.
+ * <p>
+ * By default, the ratio of failures is computed over the last {@link Builder#volume(int)} calls.
+ * Alternatively, a time based window can be used ({@link Builder#timeWindow(java.time.Duration)}), so the
+ * window covers the same period of time regardless of the call rate. Calls can also be considered
+ * slow ({@link Builder#slowCallDuration(java.time.Duration)}), so the circuit opens when latency degrades
+ * even if calls do not fail.
  */
 public interface CircuitBreaker extends FtHandler {
     /**
@@ -86,12 +95,28 @@ public interface CircuitBreaker extends FtHandler {
         OPEN
     }
 
+    /**
+     * Listener of circuit breaker state transitions.
+     * Listeners are invoked on the thread that caused the transition and should be fast.
+     */
+    @FunctionalInterface
+    interface StateListener {
+        /**
+         * The circuit breaker changed its state.
+         *
+         * @param previous previous state
+         * @param current new state
+         */
+        void stateChanged(State previous, State current);
+    }
+
     /**
      * Fluent API builder for {@link io.helidon.faulttolerance.CircuitBreaker}.
      */
     class Builder implements io.helidon.common.Builder<Builder, CircuitBreaker> {
         private final Set<Class<? extends Throwable>> skipOn = new HashSet<>();
         private final Set<Class<? extends Throwable>> applyOn = new HashSet<>();
+        private final List<StateListener> stateListeners = new ArrayList<>();
         // how long to transition from open to half-open
         private Duration delay = Duration.ofSeconds(5);
         // how many percents of failures will open the breaker
@@ -103,6 +128,13 @@ public interface CircuitBreaker extends FtHandler {
         private LazyValue<? extends ScheduledExecutorService> executor = FaultTolerance.scheduledExecutor();
         private String name = "CircuitBreaker-" + System.identityHashCode(this);
         private boolean cancelSource = true;
+        // time based window, disabled by default
+        private Duration timeWindow;
+        private int windowBuckets = 10;
+        private int minimumCalls = 10;
+        // slow call detection, disabled by default
+        private Duration slowCallDuration;
+        private int slowCallRatio = 100;
 
         private Builder() {
         }
@@ -255,6 +287,78 @@ public interface CircuitBreaker extends FtHandler {
             return this;
         }
 
+        /**
+         * Use a time based sliding window instead of the last {@link #volume(int)} calls to calculate ratio
+         * of failed (and slow) calls. The window is split into {@link #windowBuckets(int)} buckets, so calls
+         * expire from the window in steps of {@code timeWindow / windowBuckets}.
+         *
+         * @param timeWindow duration of the window
+         * @return updated builder instance
+         * @see #minimumCalls(int)
+         */
+        public Builder timeWindow(Duration timeWindow) {
+            this.timeWindow = Objects.requireNonNull(timeWindow);
+            return this;
+        }
+
+        /**
+         * Number of buckets of the {@link #timeWindow(java.time.Duration)}.
+         *
+         * @param windowBuckets number of buckets, defaults to {@code 10}
+         * @return updated builder instance
+         */
+        public Builder windowBuckets(int windowBuckets) {
+            this.windowBuckets = windowBuckets;
+            return this;
+        }
+
+        /**
+         * Minimal number of calls in the {@link #timeWindow(java.time.Duration)} before the circuit can open.
+         *
+         * @param minimumCalls number of calls, defaults to {@code 10}
+         * @return updated builder instance
+         */
+        public Builder minimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * Calls that take longer than this duration are considered slow.
+         * When the percentage of slow calls in the window reaches {@link #slowCallRatio(int)}, the circuit opens.
+         * In half-open state, a slow call opens the circuit again.
+         *
+         * @param slowCallDuration duration of a slow call
+         * @return updated builder instance
+         */
+        public Builder slowCallDuration(Duration slowCallDuration) {
+            this.slowCallDuration = Objects.requireNonNull(slowCallDuration);
+            return this;
+        }
+
+        /**
+         * How many slow calls out of 100 will trigger the circuit to open.
+         *
+         * @param slowCallRatio percent of slow calls that trigger the circuit to open, defaults to {@code 100}
+         * @return updated builder instance
+         * @see #slowCallDuration(java.time.Duration)
+         */
+        public Builder slowCallRatio(int slowCallRatio) {
+            this.slowCallRatio = slowCallRatio;
+            return this;
+        }
+
+        /**
+         * Add a listener notified of state transitions.
+         *
+         * @param listener listener to add
+         * @return updated builder instance
+         */
+        public Builder addStateListener(StateListener listener) {
+            this.stateListeners.add(Objects.requireNonNull(listener));
+            return this;
+        }
+
         LazyValue<? extends ScheduledExecutorService> executor() {
             return executor;
         }
@@ -290,5 +394,29 @@ public interface CircuitBreaker extends FtHandler {
         boolean cancelSource() {
             return cancelSource;
         }
+
+        Duration timeWindow() {
+            return timeWindow;
+        }
+
+        int windowBuckets() {
+            return windowBuckets;
+        }
+
+        int minimumCalls() {
+            return minimumCalls;
+        }
+
+        Duration slowCallDuration() {
+            return slowCallDuration;
+        }
+
+        int slowCallRatio() {
+            return slowCallRatio;
+        }
+
+        List<StateListener> stateListeners() {
+            return List.copyOf(stateListeners);
+        }
     }
 }
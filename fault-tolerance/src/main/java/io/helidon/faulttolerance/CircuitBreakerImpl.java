@@ -16,6 +16,7 @@
 
 package io.helidon.faulttolerance;
 
+import java.util.List;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.Flow;
 import java.util.concurrent.ScheduledExecutorService;
@@ -25,6 +26,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import io.helidon.common.LazyValue;
 import io.helidon.common.reactive.Multi;
@@ -34,6 +37,8 @@ import static io.helidon.faulttolerance.ResultWindow.Result.FAILURE;
 import static io.helidon.faulttolerance.ResultWindow.Result.SUCCESS;
 
 class CircuitBreakerImpl implements CircuitBreaker {
+    private static final Logger LOGGER = Logger.getLogger(CircuitBreakerImpl.class.getName());
+
     /*
      Configuration options
      */
@@ -42,13 +47,15 @@ class CircuitBreakerImpl implements CircuitBreaker {
     private final long delayMillis;
     // how many successful calls will close a half-open breaker
     private final int successThreshold;
+    // calls longer than this are slow, 0 to disable slow call detection
+    private final long slowCallNanos;
 
     /*
     Runtime
      */
     private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
     // rolling window for counting errors to (maybe) open the breaker
-    private final ResultWindow results;
+    private final CallWindow results;
     // to close from half-open
     private final AtomicInteger successCounter = new AtomicInteger();
     private final AtomicBoolean halfOpenInProgress = new AtomicBoolean();
@@ -56,15 +63,27 @@ class CircuitBreakerImpl implements CircuitBreaker {
     private final ErrorChecker errorChecker;
     private final String name;
     private final boolean cancelSource;
+    private final List<StateListener> stateListeners;
 
     CircuitBreakerImpl(CircuitBreaker.Builder builder) {
         this.delayMillis = builder.delay().toMillis();
         this.successThreshold = builder.successThreshold();
-        this.results = new ResultWindow(builder.volume(), builder.errorRatio());
+        this.slowCallNanos = builder.slowCallDuration() == null ? 0 : builder.slowCallDuration().toNanos();
+        if (builder.timeWindow() == null) {
+            this.results = new ResultWindow(builder.volume(), builder.errorRatio(), builder.slowCallRatio());
+        } else {
+            int buckets = Math.max(1, builder.windowBuckets());
+            this.results = new TimeWindow(buckets,
+                                          Math.max(1, builder.timeWindow().toMillis() / buckets),
+                                          builder.minimumCalls(),
+                                          builder.errorRatio(),
+                                          builder.slowCallRatio());
+        }
         this.executor = builder.executor();
         this.errorChecker = ErrorChecker.create(builder.skipOn(), builder.applyOn());
         this.name = builder.name();
         this.cancelSource = builder.cancelSource();
+        this.stateListeners = builder.stateListeners();
     }
 
     @Override
@@ -85,15 +104,17 @@ class CircuitBreakerImpl implements CircuitBreaker {
     private <U> U invokeTask(DelayedTask<U> task) {
         if (state.get() == State.CLOSED) {
             // run it!
+            long startNanos = slowCallNanos == 0 ? 0 : System.nanoTime();
             CompletionStage<Void> completion = task.execute();
             completion.handle((it, throwable) -> {
+                boolean slow = isSlow(startNanos);
                 Throwable exception = FaultTolerance.cause(throwable);
                 if (exception == null || errorChecker.shouldSkip(exception)) {
-                    results.update(SUCCESS);
+                    results.update(SUCCESS, slow);
                 } else {
-                    results.update(FAILURE);
+                    results.update(FAILURE, slow);
                 }
-                if (results.shouldOpen() && state.compareAndSet(State.CLOSED, State.OPEN)) {
+                if (results.shouldOpen() && transition(State.CLOSED, State.OPEN)) {
                     results.reset();
                     // if we successfully switch to open, we need to schedule switch to half-open
                     scheduleHalf();
@@ -107,21 +128,23 @@ class CircuitBreakerImpl implements CircuitBreaker {
         } else {
             // half-open
             if (halfOpenInProgress.compareAndSet(false, true)) {
+                long startNanos = slowCallNanos == 0 ? 0 : System.nanoTime();
                 CompletionStage<Void> result = task.execute();
                 result.handle((it, throwable) -> {
+                    boolean slow = isSlow(startNanos);
                     Throwable exception = FaultTolerance.cause(throwable);
-                    if (exception == null || errorChecker.shouldSkip(exception)) {
+                    if (!slow && (exception == null || errorChecker.shouldSkip(exception))) {
                         // success
                         int successes = successCounter.incrementAndGet();
                         if (successes >= successThreshold) {
                             // transition to closed
                             successCounter.set(0);
-                            state.compareAndSet(State.HALF_OPEN, State.CLOSED);
+                            transition(State.HALF_OPEN, State.CLOSED);
                         }
                     } else {
                         // failure
                         successCounter.set(0);
-                        state.set(State.OPEN);
+                        changeState(State.OPEN);
                         // if we successfully switch to open, we need to schedule switch to half-open
                         scheduleHalf();
                     }
@@ -139,7 +162,7 @@ class CircuitBreakerImpl implements CircuitBreaker {
     private void scheduleHalf() {
         schedule.set(executor.get()
                              .schedule(() -> {
-                                 state.compareAndSet(State.OPEN, State.HALF_OPEN);
+                                 transition(State.OPEN, State.HALF_OPEN);
                                  schedule.set(null);
                                  return true;
                              }, delayMillis, TimeUnit.MILLISECONDS));
@@ -164,9 +187,9 @@ class CircuitBreakerImpl implements CircuitBreaker {
                 future.cancel(false);
             }
             resetCounters();
-            state.set(State.CLOSED);
+            changeState(State.CLOSED);
         } else if (newState == State.OPEN) {
-            state.set(State.OPEN);
+            changeState(State.OPEN);
             ScheduledFuture<Boolean> future = schedule.getAndSet(null);
             if (future != null) {
                 future.cancel(false);
@@ -178,6 +201,35 @@ class CircuitBreakerImpl implements CircuitBreaker {
         }
     }
 
+    private boolean isSlow(long startNanos) {
+        return slowCallNanos != 0 && System.nanoTime() - startNanos > slowCallNanos;
+    }
+
+    private boolean transition(State from, State to) {
+        if (state.compareAndSet(from, to)) {
+            stateChanged(from, to);
+            return true;
+        }
+        return false;
+    }
+
+    private void changeState(State to) {
+        State from = state.getAndSet(to);
+        if (from != to) {
+            stateChanged(from, to);
+        }
+    }
+
+    private void stateChanged(State from, State to) {
+        for (StateListener listener : stateListeners) {
+            try {
+                listener.stateChanged(from, to);
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.WARNING, "State listener of circuit breaker " + name + " failed", e);
+            }
+        }
+    }
+
     private void resetCounters() {
         results.reset();
         successCounter.set(0);
@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.faulttolerance;
+
+import java.util.Objects;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
+
+import io.helidon.common.reactive.Single;
+
+/**
+ * Coalesce (also known as single flight) merges concurrent identical calls into a single invocation.
+ * <p>
+ * Calls are identical if they have the same key. While a call for a key is in progress, other calls with the same
+ * key do not invoke their supplier and receive the result of the call in progress. Once the call completes, the next
+ * call for the key invokes its supplier again; results are not cached.
+ * The shared invocation is cancelled only when all calls waiting for it are cancelled.
+ * <p>
+ * When used as a {@link io.helidon.faulttolerance.FtHandler}, the key is obtained from the
+ * {@link io.helidon.faulttolerance.Coalesce.Builder#keySupplier(java.util.function.Supplier) key supplier}, or use
+ * {@link #forKey(Object)} to obtain a handler for a known key.
+ * In case you call the {@link #invokeMulti(java.util.function.Supplier)} method, the supplier is invoked without
+ * coalescing, as a stream cannot be replayed to other subscribers.
+ */
+public interface Coalesce extends FtHandler {
+    /**
+     * A new builder for {@link io.helidon.faulttolerance.Coalesce}.
+     *
+     * @return a new builder
+     */
+    static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Create a coalesce with default configuration, merging all concurrent calls.
+     *
+     * @return a new coalesce
+     */
+    static Coalesce create() {
+        return builder().build();
+    }
+
+    /**
+     * Invoke the supplier, unless a call with the same key is in progress.
+     *
+     * @param key key of the call
+     * @param supplier supplier of the result
+     * @param <T> type of result
+     * @return result of the call, or of the call in progress with the same key
+     */
+    <T> Single<T> invoke(Object key, Supplier<? extends CompletionStage<T>> supplier);
+
+    /**
+     * A handler that coalesces calls using the provided key.
+     * This is useful when the key is known only for the current call, such as when it is derived from method parameters.
+     *
+     * @param key key of the calls
+     * @return handler for the key
+     */
+    FtHandler forKey(Object key);
+
+    /**
+     * Number of calls that received the result of a call in progress instead of invoking their supplier.
+     *
+     * @return number of coalesced calls
+     */
+    long coalescedCalls();
+
+    /**
+     * Fluent API builder for {@link io.helidon.faulttolerance.Coalesce}.
+     */
+    class Builder implements io.helidon.common.Builder<Builder, Coalesce> {
+        private Supplier<?> keySupplier;
+        private String name = "Coalesce-" + System.identityHashCode(this);
+
+        private Builder() {
+        }
+
+        @Override
+        public Coalesce build() {
+            return new CoalesceImpl(this);
+        }
+
+        /**
+         * Supplier of the key of the current call, used by {@link Coalesce#invoke(java.util.function.Supplier)}.
+         * The supplier is invoked on the calling thread, so it can use thread bound information
+         * such as {@link io.helidon.common.context.Contexts#context()}.
+         * By default all concurrent calls through this handler share the same key.
+         *
+         * @param keySupplier supplier of the key
+         * @return updated builder instance
+         */
+        public Builder keySupplier(Supplier<?> keySupplier) {
+            this.keySupplier = Objects.requireNonNull(keySupplier);
+            return this;
+        }
+
+        /**
+         * A name assigned for debugging, error reporting or configuration purposes.
+         *
+         * @param name the name
+         * @return updated builder instance
+         */
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        Supplier<?> keySupplier() {
+            return keySupplier;
+        }
+
+        String name() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.faulttolerance;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import io.helidon.common.reactive.Multi;
+import io.helidon.common.reactive.Single;
+
+import static io.helidon.faulttolerance.FaultTolerance.createDependency;
+
+class CoalesceImpl implements Coalesce {
+    private final ConcurrentHashMap<Object, Flight<?>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong coalescedCalls = new AtomicLong();
+    private final Supplier<?> keySupplier;
+    private final String name;
+
+    CoalesceImpl(Coalesce.Builder builder) {
+        this.keySupplier = builder.keySupplier();
+        this.name = builder.name();
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public <T> Multi<T> invokeMulti(Supplier<? extends Flow.Publisher<T>> supplier) {
+        return Multi.create(supplier.get());
+    }
+
+    @Override
+    public <T> Single<T> invoke(Supplier<? extends CompletionStage<T>> supplier) {
+        return invoke(keySupplier == null ? this : keySupplier.get(), supplier);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Single<T> invoke(Object key, Supplier<? extends CompletionStage<T>> supplier) {
+        Flight<?>[] created = new Flight<?>[1];
+        Flight<T> flight = (Flight<T>) inFlight.compute(key, (k, existing) -> {
+            if (existing != null && existing.join()) {
+                return existing;
+            }
+            created[0] = new Flight<>(k);
+            return created[0];
+        });
+
+        if (flight == created[0]) {
+            flight.start(supplier);
+        } else {
+            coalescedCalls.incrementAndGet();
+        }
+
+        // each caller gets its own future, so cancelling one does not affect the others
+        CompletableFuture<T> result = flight.future.copy();
+        result.whenComplete((it, throwable) -> {
+            if (result.isCancelled()) {
+                flight.leave();
+            }
+        });
+        return Single.create(result, true);
+    }
+
+    @Override
+    public FtHandler forKey(Object key) {
+        return new FtHandler() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public <T> Single<T> invoke(Supplier<? extends CompletionStage<T>> supplier) {
+                return CoalesceImpl.this.invoke(key, supplier);
+            }
+
+            @Override
+            public <T> Multi<T> invokeMulti(Supplier<? extends Flow.Publisher<T>> supplier) {
+                return CoalesceImpl.this.invokeMulti(supplier);
+            }
+        };
+    }
+
+    @Override
+    public long coalescedCalls() {
+        return coalescedCalls.get();
+    }
+
+    private final class Flight<T> {
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final AtomicInteger callers = new AtomicInteger(1);
+        private final Object key;
+        private volatile CompletionStage<T> source;
+
+        private Flight(Object key) {
+            this.key = key;
+        }
+
+        // join this flight, fails if it is already completed or abandoned
+        private boolean join() {
+            while (true) {
+                int current = callers.get();
+                if (current == 0 || future.isDone()) {
+                    return false;
+                }
+                if (callers.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+            }
+        }
+
+        private void start(Supplier<? extends CompletionStage<T>> supplier) {
+            CompletionStage<T> stage;
+            try {
+                stage = supplier.get();
+            } catch (Throwable e) {
+                stage = CompletableFuture.failedStage(e);
+            }
+            source = stage;
+            stage.whenComplete((it, throwable) -> inFlight.remove(key, this));
+            createDependency(stage, future, false);
+        }
+
+        private void leave() {
+            if (callers.decrementAndGet() == 0) {
+                inFlight.remove(key, this);
+                CompletionStage<T> stage = source;
+                if (stage != null) {
+                    stage.toCompletableFuture().cancel(true);
+                }
+                future.cancel(false);
+            }
+        }
+    }
+}
@@ -41,6 +41,9 @@ interface DelayedTask<T> {
     // create an error result
     T error(Throwable throwable);
 
+    // complete the result with an error without executing the task (such as when dropped from a queue)
+    void fail(Throwable throwable);
+
     // cannot retry or fallback when data was already sent (only useful for multi)
     default boolean hadData() {
         return false;
@@ -80,6 +83,11 @@ interface DelayedTask<T> {
                 return Multi.error(throwable);
             }
 
+            @Override
+            public void fail(Throwable throwable) {
+                publisherFuture.get().complete(Multi.error(throwable));
+            }
+
             @Override
             public String toString() {
                 return "multi:" + System.identityHashCode(this);
@@ -138,6 +146,11 @@ interface DelayedTask<T> {
                 return Single.error(throwable);
             }
 
+            @Override
+            public void fail(Throwable throwable) {
+                resultFuture.get().completeExceptionally(throwable);
+            }
+
             @Override
             public String toString() {
                 return "single:" + System.identityHashCode(this);
@@ -29,8 +29,10 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
 import io.helidon.common.LazyValue;
+import io.helidon.common.configurable.HashedWheelTimer;
 import io.helidon.common.configurable.ScheduledThreadPoolSupplier;
 import io.helidon.common.configurable.ThreadPoolSupplier;
+import io.helidon.common.context.Contexts;
 import io.helidon.common.reactive.Multi;
 import io.helidon.common.reactive.Single;
 import io.helidon.config.Config;
@@ -44,7 +46,9 @@ import io.helidon.config.Config;
  *     <li>{@link io.helidon.faulttolerance.Bulkhead} - limit number of parallel requests to a resource</li>
  *     <li>{@link io.helidon.faulttolerance.CircuitBreaker} - stop trying to request a failing resource until it becomes
  *     available</li>
+ *     <li>{@link io.helidon.faulttolerance.Coalesce} - merge concurrent identical calls into a single invocation</li>
  *     <li>{@link io.helidon.faulttolerance.Fallback} - fall back to another supplier of result in case the usual one fails</li>
+ *     <li>{@link io.helidon.faulttolerance.Hedge} - issue a backup request if a request takes longer than usual</li>
  *     <li>{@link io.helidon.faulttolerance.Retry} - try to call a supplier again if invocation fails</li>
  *     <li>{@link io.helidon.faulttolerance.Timeout} - time out a request if it takes too long</li>
  * </ul>
@@ -77,13 +81,27 @@ public final class FaultTolerance {
 
     /**
      * Configure Helidon wide defaults from a config instance.
+     * <p>
+     * When {@code timer.enabled} is {@code true}, a {@link io.helidon.common.configurable.HashedWheelTimer} configured
+     * from the {@code timer} node is used instead of the {@code scheduled-executor} to schedule timeouts and delays.
+     * Expired tasks, such as retries that invoke the user supplier, are executed in the {@link #executor(java.util.function.Supplier) executor},
+     * so that the timer thread is never blocked.
      *
      * @param config config to read fault tolerance configuration
      */
     public static void config(Config config) {
         CONFIG.set(config);
 
-        SCHEDULED_EXECUTOR.set(LazyValue.create(ScheduledThreadPoolSupplier.create(CONFIG.get().get("scheduled-executor"))));
+        Config timerConfig = CONFIG.get().get("timer");
+        if (timerConfig.get("enabled").asBoolean().orElse(false)) {
+            SCHEDULED_EXECUTOR.set(LazyValue.create(() -> Contexts.wrap(HashedWheelTimer.builder()
+                    .threadNamePrefix("ft-timer-")
+                    .config(timerConfig)
+                    .executor(command -> EXECUTOR.get().get().execute(command))
+                    .build())));
+        } else {
+            SCHEDULED_EXECUTOR.set(LazyValue.create(ScheduledThreadPoolSupplier.create(CONFIG.get().get("scheduled-executor"))));
+        }
         EXECUTOR.set(LazyValue.create(ThreadPoolSupplier.create(CONFIG.get().get("executor"), "ft-se-thread-pool")));
     }
 
@@ -227,6 +245,28 @@ public final class FaultTolerance {
             return me();
         }
 
+        /**
+         * Add a hedge to the list.
+         *
+         * @param hedge hedge handler
+         * @return updated builder instance
+         */
+        public B addHedge(Hedge hedge) {
+            add(hedge);
+            return me();
+        }
+
+        /**
+         * Add a coalesce to the list.
+         *
+         * @param coalesce coalesce handler
+         * @return updated builder instance
+         */
+        public B addCoalesce(Coalesce coalesce) {
+            add(coalesce);
+            return me();
+        }
+
         /**
          * Add a handler to the list. This may be a custom handler or one of the predefined ones.
          *
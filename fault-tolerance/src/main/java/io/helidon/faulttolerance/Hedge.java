@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.faulttolerance;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
+
+import io.helidon.common.LazyValue;
+
+/**
+ * Hedge reduces tail latency by issuing a backup invocation when the original one takes longer
+ * than usual.
+ * <p>
+ * The delay before a backup invocation is a percentile of the latency observed for recent calls
+ * (such as the 95th percentile), so only the slowest calls are hedged. Latency is measured from the start of
+ * the original invocation, also when a backup invocation provides the result. The first invocation that
+ * completes successfully provides the result, all other invocations are cancelled.
+ * If an invocation fails and no other invocation is in progress, the call fails; hedging is not a retry.
+ * <p>
+ * Hedging is only useful for idempotent calls. In case you call the {@link #invokeMulti(java.util.function.Supplier)}
+ * method, the supplier is invoked once without hedging, as items of a stream cannot be deduplicated.
+ */
+public interface Hedge extends FtHandler {
+    /**
+     * A new builder for {@link io.helidon.faulttolerance.Hedge}.
+     *
+     * @return a new builder
+     */
+    static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Provides statistics during the lifetime of a hedge.
+     *
+     * @return statistics of this hedge
+     */
+    Stats stats();
+
+    /**
+     * Fluent API builder for {@link io.helidon.faulttolerance.Hedge}.
+     */
+    class Builder implements io.helidon.common.Builder<Builder, Hedge> {
+        private static final double DEFAULT_PERCENTILE = 95;
+        private static final int DEFAULT_MAX_HEDGES = 1;
+        private static final int DEFAULT_WINDOW = 1000;
+
+        private LazyValue<? extends ScheduledExecutorService> scheduledExecutor = FaultTolerance.scheduledExecutor();
+        private LazyValue<? extends ExecutorService> executor = FaultTolerance.executor();
+        private Duration delay = Duration.ofMillis(100);
+        private double percentile = DEFAULT_PERCENTILE;
+        private int maxHedges = DEFAULT_MAX_HEDGES;
+        private int window = DEFAULT_WINDOW;
+        private String name = "Hedge-" + System.identityHashCode(this);
+
+        private Builder() {
+        }
+
+        @Override
+        public Hedge build() {
+            return new HedgeImpl(this);
+        }
+
+        /**
+         * Delay before a backup invocation until enough calls were observed to compute the
+         * {@link #percentile(double)}.
+         *
+         * @param delay initial delay, defaults to 100 milliseconds
+         * @return updated builder instance
+         */
+        public Builder delay(Duration delay) {
+            this.delay = Objects.requireNonNull(delay);
+            return this;
+        }
+
+        /**
+         * Percentile of observed latency to wait for before a backup invocation.
+         *
+         * @param percentile percentile between 0 (exclusive) and 100 (inclusive), defaults to {@value DEFAULT_PERCENTILE}
+         * @return updated builder instance
+         */
+        public Builder percentile(double percentile) {
+            if (percentile <= 0 || percentile > 100) {
+                throw new IllegalArgumentException("Percentile must be in (0, 100], but is " + percentile);
+            }
+            this.percentile = percentile;
+            return this;
+        }
+
+        /**
+         * Maximal number of backup invocations of a single call.
+         * Each backup invocation is issued after the same delay since the previous one.
+         *
+         * @param maxHedges number of backup invocations, defaults to {@value DEFAULT_MAX_HEDGES}
+         * @return updated builder instance
+         */
+        public Builder maxHedges(int maxHedges) {
+            this.maxHedges = maxHedges;
+            return this;
+        }
+
+        /**
+         * Number of most recent call latencies used to compute the {@link #percentile(double)}.
+         *
+         * @param window number of calls, defaults to {@value DEFAULT_WINDOW}
+         * @return updated builder instance
+         */
+        public Builder window(int window) {
+            if (window <= 0) {
+                throw new IllegalArgumentException("Window must be positive, but is " + window);
+            }
+            this.window = window;
+            return this;
+        }
+
+        /**
+         * Executor service to schedule backup invocations.
+         * By default uses an executor configured on
+         * {@link io.helidon.faulttolerance.FaultTolerance#scheduledExecutor(java.util.function.Supplier)}.
+         *
+         * @param scheduledExecutor executor to use
+         * @return updated builder instance
+         */
+        public Builder scheduledExecutor(ScheduledExecutorService scheduledExecutor) {
+            this.scheduledExecutor = LazyValue.create(Objects.requireNonNull(scheduledExecutor));
+            return this;
+        }
+
+        /**
+         * Executor service to run backup invocations in, so the supplier does not run on the scheduler thread.
+         *
+         * @param executor executor service supplier
+         * @return updated builder instance
+         */
+        public Builder executor(Supplier<? extends ExecutorService> executor) {
+            this.executor = LazyValue.create(Objects.requireNonNull(executor));
+            return this;
+        }
+
+        /**
+         * A name assigned for debugging, error reporting or configuration purposes.
+         *
+         * @param name the name
+         * @return updated builder instance
+         */
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        LazyValue<? extends ScheduledExecutorService> scheduledExecutor() {
+            return scheduledExecutor;
+        }
+
+        LazyValue<? extends ExecutorService> executor() {
+            return executor;
+        }
+
+        Duration delay() {
+            return delay;
+        }
+
+        double percentile() {
+            return percentile;
+        }
+
+        int maxHedges() {
+            return maxHedges;
+        }
+
+        int window() {
+            return window;
+        }
+
+        String name() {
+            return name;
+        }
+    }
+
+    /**
+     * Provides statistics during the lifetime of a hedge.
+     */
+    interface Stats {
+        /**
+         * Number of calls invoked through the hedge.
+         *
+         * @return calls.
+         */
+        long calls();
+
+        /**
+         * Number of backup invocations issued.
+         *
+         * @return backup invocations.
+         */
+        long hedges();
+
+        /**
+         * Number of calls whose result was provided by a backup invocation.
+         *
+         * @return calls won by a backup invocation.
+         */
+        long hedgeWins();
+
+        /**
+         * Current delay before a backup invocation.
+         *
+         * @return delay.
+         */
+        Duration delay();
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.faulttolerance;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import io.helidon.common.LazyValue;
+import io.helidon.common.reactive.Multi;
+import io.helidon.common.reactive.Single;
+
+class HedgeImpl implements Hedge {
+    private final LazyValue<? extends ScheduledExecutorService> scheduledExecutor;
+    private final LazyValue<? extends ExecutorService> executor;
+    private final long initialDelayNanos;
+    private final int maxHedges;
+    private final LatencyWindow latencies;
+    private final String name;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+
+    HedgeImpl(Hedge.Builder builder) {
+        this.scheduledExecutor = builder.scheduledExecutor();
+        this.executor = builder.executor();
+        this.initialDelayNanos = builder.delay().toNanos();
+        this.maxHedges = builder.maxHedges();
+        this.latencies = new LatencyWindow(builder.window(), builder.percentile());
+        this.name = builder.name();
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public <T> Multi<T> invokeMulti(Supplier<? extends Flow.Publisher<T>> supplier) {
+        return Multi.create(supplier.get());
+    }
+
+    @Override
+    public <T> Single<T> invoke(Supplier<? extends CompletionStage<T>> supplier) {
+        calls.incrementAndGet();
+        HedgedCall<T> call = new HedgedCall<>(supplier);
+        call.attempt(0);
+        return Single.create(call.result, true);
+    }
+
+    @Override
+    public Stats stats() {
+        return new Stats() {
+            @Override
+            public long calls() {
+                return calls.get();
+            }
+
+            @Override
+            public long hedges() {
+                return hedges.get();
+            }
+
+            @Override
+            public long hedgeWins() {
+                return hedgeWins.get();
+            }
+
+            @Override
+            public Duration delay() {
+                return Duration.ofNanos(delayNanos());
+            }
+        };
+    }
+
+    private long delayNanos() {
+        long percentile = latencies.percentileNanos();
+        return percentile < 0 ? initialDelayNanos : percentile;
+    }
+
+    private final class HedgedCall<T> {
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        // set by the attempt that decides the result, before the losers are cancelled
+        private final AtomicBoolean decided = new AtomicBoolean();
+        private final List<CompletableFuture<T>> attempts = new CopyOnWriteArrayList<>();
+        // attempts in progress, including a backup attempt being started
+        private final AtomicInteger running = new AtomicInteger();
+        private final Supplier<? extends CompletionStage<T>> supplier;
+        private final long startNanos = System.nanoTime();
+        private volatile Future<?> scheduled;
+
+        private HedgedCall(Supplier<? extends CompletionStage<T>> supplier) {
+            this.supplier = supplier;
+            // cancel all attempts if the caller is no longer interested
+            result.whenComplete((it, throwable) -> {
+                if (result.isCancelled() && decided.compareAndSet(false, true)) {
+                    cancelAll(null);
+                }
+            });
+        }
+
+        private void attempt(int index) {
+            running.incrementAndGet();
+            if (decided.get()) {
+                running.decrementAndGet();
+                return;
+            }
+            if (index > 0) {
+                hedges.incrementAndGet();
+            }
+            CompletableFuture<T> attempt;
+            try {
+                attempt = supplier.get().toCompletableFuture();
+            } catch (Throwable e) {
+                attempt = CompletableFuture.failedFuture(e);
+            }
+            attempts.add(attempt);
+            CompletableFuture<T> thisAttempt = attempt;
+            attempt.whenComplete((value, throwable) -> {
+                int remaining = running.decrementAndGet();
+                if (throwable == null) {
+                    if (decided.compareAndSet(false, true)) {
+                        // latency of the original invocation, which is at least this long when a backup wins;
+                        // the latency of the backup alone would make the delay drift down with each win
+                        latencies.record(System.nanoTime() - startNanos);
+                        if (index > 0) {
+                            hedgeWins.incrementAndGet();
+                        }
+                        cancelAll(thisAttempt);
+                        result.complete(value);
+                    }
+                } else if (remaining == 0) {
+                    // nothing else in progress, hedging is not a retry
+                    if (decided.compareAndSet(false, true)) {
+                        cancelAll(thisAttempt);
+                        result.completeExceptionally(throwable);
+                    }
+                }
+            });
+            if (decided.get()) {
+                // completed by another attempt while this one was starting
+                attempt.cancel(true);
+            } else if (index < maxHedges) {
+                scheduleHedge(index + 1);
+            }
+        }
+
+        private void scheduleHedge(int index) {
+            try {
+                scheduled = scheduledExecutor.get().schedule(() -> startHedge(index), delayNanos(), TimeUnit.NANOSECONDS);
+            } catch (RejectedExecutionException ignored) {
+                // no backup invocation
+            }
+        }
+
+        private void startHedge(int index) {
+            if (decided.get()) {
+                return;
+            }
+            try {
+                executor.get().submit(() -> attempt(index));
+            } catch (RejectedExecutionException ignored) {
+                // no backup invocation
+            }
+        }
+
+        private void cancelAll(CompletableFuture<T> winner) {
+            Future<?> future = scheduled;
+            if (future != null) {
+                future.cancel(false);
+            }
+            for (CompletableFuture<T> attempt : attempts) {
+                if (attempt != winner) {
+                    attempt.cancel(true);
+                }
+            }
+        }
+    }
+}
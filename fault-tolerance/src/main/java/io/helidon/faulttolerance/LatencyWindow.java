@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.faulttolerance;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Latency of the most recent calls and a percentile computed from them.
+ * The percentile is recomputed (by sorting a copy of the samples) once a tenth of the window
+ * was replaced, so recording is cheap and reading is free.
+ */
+final class LatencyWindow {
+    private static final int MIN_SAMPLES = 20;
+
+    private final AtomicLongArray samples;
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicBoolean computing = new AtomicBoolean();
+    private final double percentile;
+    private final int minSamples;
+    private final int recomputeEvery;
+    private volatile long percentileNanos = -1;
+
+    LatencyWindow(int size, double percentile) {
+        this.samples = new AtomicLongArray(size);
+        this.percentile = percentile;
+        this.minSamples = Math.min(MIN_SAMPLES, size);
+        this.recomputeEvery = Math.max(1, size / 10);
+    }
+
+    void record(long nanos) {
+        long index = count.getAndIncrement();
+        samples.set((int) (index % samples.length()), nanos);
+        long recorded = index + 1;
+        if (recorded == minSamples || (recorded > minSamples && recorded % recomputeEvery == 0)) {
+            recompute();
+        }
+    }
+
+    /**
+     * Latency percentile of recent calls.
+     *
+     * @return percentile in nanoseconds, or {@code -1} if not enough calls were recorded
+     */
+    long percentileNanos() {
+        return percentileNanos;
+    }
+
+    private void recompute() {
+        if (!computing.compareAndSet(false, true)) {
+            // somebody else is computing, they will see (almost) the same samples
+            return;
+        }
+        try {
+            int size = (int) Math.min(count.get(), samples.length());
+            long[] sorted = new long[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = samples.get(i);
+            }
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(percentile / 100 * size) - 1;
+            percentileNanos = sorted[Math.max(0, Math.min(size - 1, index))];
+        } finally {
+            computing.set(false);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,31 +25,44 @@ import java.util.concurrent.atomic.AtomicInteger;
  * This should not be a significant issue, as the calculations work on a state (that may change anyway when checking
  * whether to open the circuit).
  */
-final class ResultWindow {
+final class ResultWindow implements CallWindow {
+    private static final int FAILURE_BIT = 1;
+    private static final int SLOW_BIT = 2;
+
     private final AtomicInteger currentSum = new AtomicInteger();
+    private final AtomicInteger currentSlowSum = new AtomicInteger();
     private final AtomicCycle index;
     private final AtomicInteger[] results;
     private final AtomicInteger totalResults = new AtomicInteger();
     private final int thresholdSum;
+    private final int slowThresholdSum;
 
     ResultWindow(int size, int ratio) {
+        this(size, ratio, 100);
+    }
+
+    ResultWindow(int size, int ratio, int slowRatio) {
         results = new AtomicInteger[size];
         for (int i = 0; i < size; i++) {
             results[i] = new AtomicInteger();
         }
         index = new AtomicCycle(size - 1);
         // calculate the sum needed to open the breaker
-        int threshold = (size * ratio) / 100;
-        thresholdSum = threshold == 0 ? 1 : threshold;
-
+        thresholdSum = thresholdSum(size, ratio);
+        slowThresholdSum = thresholdSum(size, slowRatio);
     }
 
     void update(Result resultEnum) {
+        update(resultEnum, false);
+    }
+
+    @Override
+    public void update(Result resultEnum, boolean slow) {
         // update total number of results
         totalResults.incrementAndGet();
 
-        // success is zero, failure is 1
-        int result = resultEnum.ordinal();
+        // success is zero, failure is 1, slow calls have the second bit set
+        int result = resultEnum.ordinal() | (slow ? SLOW_BIT : 0);
 
         AtomicInteger mine = results[index.incrementAndGet()];
         int origValue = mine.getAndSet(result);
@@ -57,10 +70,20 @@ final class ResultWindow {
             // no change
             return;
         }
-        if (origValue == 1) {
-            currentSum.decrementAndGet();
-        } else {
-            currentSum.incrementAndGet();
+        int changed = origValue ^ result;
+        if ((changed & FAILURE_BIT) != 0) {
+            if ((origValue & FAILURE_BIT) != 0) {
+                currentSum.decrementAndGet();
+            } else {
+                currentSum.incrementAndGet();
+            }
+        }
+        if ((changed & SLOW_BIT) != 0) {
+            if ((origValue & SLOW_BIT) != 0) {
+                currentSlowSum.decrementAndGet();
+            } else {
+                currentSlowSum.incrementAndGet();
+            }
         }
     }
 
@@ -69,19 +92,28 @@ final class ResultWindow {
      *
      * @return outcome of test.
      */
-    boolean shouldOpen() {
-        return totalResults.get() >= results.length && currentSum.get() >= thresholdSum;
+    @Override
+    public boolean shouldOpen() {
+        return totalResults.get() >= results.length
+                && (currentSum.get() >= thresholdSum || currentSlowSum.get() >= slowThresholdSum);
     }
 
-    void reset() {
+    @Override
+    public void reset() {
         for (int i = 0; i < results.length; i++) {
             results[i].set(Result.SUCCESS.ordinal());
         }
         currentSum.set(0);
+        currentSlowSum.set(0);
         index.set(results.length - 1);
         totalResults.set(0);
     }
 
+    private static int thresholdSum(int size, int ratio) {
+        int threshold = (size * ratio) / 100;
+        return threshold == 0 ? 1 : threshold;
+    }
+
     // order is significant, do not change
     enum Result {
         SUCCESS,
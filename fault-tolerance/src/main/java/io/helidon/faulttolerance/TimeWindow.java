@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.faulttolerance;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Sliding window of call results over a period of time.
+ * The period is split into buckets of equal duration; each bucket counts calls, failures and slow calls
+ * using striped counters, so concurrent updates do not contend on a single memory location.
+ * A bucket is reused (and cleared) when time moves one full window past it.
+ */
+final class TimeWindow implements CallWindow {
+    private final Bucket[] buckets;
+    private final long bucketNanos;
+    private final int minimumCalls;
+    private final int errorRatio;
+    private final int slowRatio;
+    private final LongSupplier clock;
+
+    TimeWindow(int bucketCount, long bucketMillis, int minimumCalls, int errorRatio, int slowRatio) {
+        this(bucketCount, bucketMillis, minimumCalls, errorRatio, slowRatio, System::nanoTime);
+    }
+
+    // for tests
+    TimeWindow(int bucketCount, long bucketMillis, int minimumCalls, int errorRatio, int slowRatio, LongSupplier clock) {
+        this.buckets = new Bucket[bucketCount];
+        for (int i = 0; i < bucketCount; i++) {
+            buckets[i] = new Bucket();
+        }
+        this.bucketNanos = TimeUnit.MILLISECONDS.toNanos(bucketMillis);
+        this.minimumCalls = Math.max(1, minimumCalls);
+        this.errorRatio = errorRatio;
+        this.slowRatio = slowRatio;
+        this.clock = clock;
+    }
+
+    @Override
+    public void update(ResultWindow.Result result, boolean slow) {
+        long epoch = epoch();
+        Bucket bucket = buckets[(int) Math.floorMod(epoch, (long) buckets.length)];
+        if (!bucket.rollTo(epoch)) {
+            // time moved on while we were computing, the bucket already belongs to a newer epoch
+            return;
+        }
+        bucket.calls.increment();
+        if (result == ResultWindow.Result.FAILURE) {
+            bucket.failures.increment();
+        }
+        if (slow) {
+            bucket.slowCalls.increment();
+        }
+    }
+
+    @Override
+    public boolean shouldOpen() {
+        long epoch = epoch();
+        long calls = 0;
+        long failures = 0;
+        long slowCalls = 0;
+        for (Bucket bucket : buckets) {
+            long age = epoch - bucket.epoch;
+            if (age >= 0 && age < buckets.length) {
+                calls += bucket.calls.sum();
+                failures += bucket.failures.sum();
+                slowCalls += bucket.slowCalls.sum();
+            }
+        }
+        if (calls < minimumCalls) {
+            return false;
+        }
+        return failures * 100 >= calls * errorRatio
+                || (slowCalls > 0 && slowCalls * 100 >= calls * slowRatio);
+    }
+
+    @Override
+    public void reset() {
+        for (Bucket bucket : buckets) {
+            bucket.clear(Long.MIN_VALUE);
+        }
+    }
+
+    private long epoch() {
+        return clock.getAsLong() / bucketNanos;
+    }
+
+    private static final class Bucket {
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder slowCalls = new LongAdder();
+        private volatile long epoch = Long.MIN_VALUE;
+
+        // move this bucket to the epoch, returns false if the bucket is already in a newer epoch
+        private boolean rollTo(long newEpoch) {
+            long current = epoch;
+            if (current == newEpoch) {
+                return true;
+            }
+            if (current > newEpoch) {
+                return false;
+            }
+            synchronized (this) {
+                if (epoch < newEpoch) {
+                    clear(newEpoch);
+                }
+                return epoch == newEpoch;
+            }
+        }
+
+        private synchronized void clear(long newEpoch) {
+            calls.reset();
+            failures.reset();
+            slowCalls.reset();
+            epoch = newEpoch;
+        }
+    }
+}
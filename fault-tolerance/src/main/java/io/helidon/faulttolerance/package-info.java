@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,5 +16,9 @@
 
 /**
  * Fault tolerance for Helidon SE reactive implementation.
+ * <p>
+ * This module does not depend on metrics. Handlers expose their statistics through accessors,
+ * and builders accept listeners (such as {@link io.helidon.faulttolerance.Bulkhead.QueueListener})
+ * that applications use to update metrics, for example a histogram of queue wait times.
  */
 package io.helidon.faulttolerance;
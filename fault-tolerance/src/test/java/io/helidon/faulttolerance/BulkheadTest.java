@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,11 +16,13 @@
 
 package io.helidon.faulttolerance;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Flow;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.IntStream;
@@ -34,6 +36,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.notNullValue;
@@ -169,6 +172,129 @@ class BulkheadTest {
         FaultToleranceTest.completionException(result, IllegalStateException.class);
     }
 
+    @Test
+    void testLifoQueue() throws InterruptedException {
+        Bulkhead bulkhead = Bulkhead.builder()
+                .limit(1)
+                .queueLength(2)
+                .queueDiscipline(Bulkhead.QueueDiscipline.LIFO)
+                .build();
+
+        Request inProgress = new Request(0);
+        Request oldest = new Request(1);
+        Request older = new Request(2);
+        Request newest = new Request(3);
+
+        bulkhead.invoke(inProgress::invoke);
+        Single<Integer> oldestResult = bulkhead.invoke(oldest::invoke);
+        Single<Integer> olderResult = bulkhead.invoke(older::invoke);
+        // queue is full, the oldest call is dropped
+        Single<Integer> newestResult = bulkhead.invoke(newest::invoke);
+
+        CompletionException completionException = assertThrows(CompletionException.class,
+                                                               () -> oldestResult.await(1, TimeUnit.SECONDS));
+        assertThat(completionException.getCause(), instanceOf(BulkheadException.class));
+        assertThat(bulkhead.stats().callsShed(), is(1L));
+        assertThat(bulkhead.stats().callsRejected(), is(1L));
+
+        inProgress.releaseCdl.countDown();
+        if (!newest.invokedCdl.await(1, TimeUnit.SECONDS)) {
+            fail("Invoke method of the newest request was not called");
+        }
+        assertThat(older.invoked.get(), is(false));
+
+        newest.releaseCdl.countDown();
+        older.releaseCdl.countDown();
+        assertThat(newestResult.await(1, TimeUnit.SECONDS), is(3));
+        assertThat(olderResult.await(1, TimeUnit.SECONDS), is(2));
+        assertThat(oldest.invoked.get(), is(false));
+    }
+
+    @Test
+    void testCodelQueue() throws InterruptedException {
+        Bulkhead bulkhead = Bulkhead.builder()
+                .limit(1)
+                .queueLength(10)
+                .queueDiscipline(Bulkhead.QueueDiscipline.CODEL)
+                .codelTarget(Duration.ofMillis(1))
+                .codelInterval(Duration.ZERO)
+                .build();
+
+        Request inProgress = new Request(0);
+        Request first = new Request(1);
+        Request second = new Request(2);
+        Request third = new Request(3);
+        first.releaseCdl.countDown();
+
+        bulkhead.invoke(inProgress::invoke);
+        Single<Integer> firstResult = bulkhead.invoke(first::invoke);
+        Single<Integer> secondResult = bulkhead.invoke(second::invoke);
+        Single<Integer> thirdResult = bulkhead.invoke(third::invoke);
+
+        // all queued calls are now above target
+        Thread.sleep(20);
+        inProgress.releaseCdl.countDown();
+
+        // the first call above target is executed, the following ones are dropped
+        assertThat(firstResult.await(1, TimeUnit.SECONDS), is(1));
+        FaultToleranceTest.completionException(secondResult, BulkheadException.class);
+        FaultToleranceTest.completionException(thirdResult, BulkheadException.class);
+        assertThat(second.invoked.get(), is(false));
+        assertThat(third.invoked.get(), is(false));
+        assertThat(bulkhead.stats().callsShed(), is(2L));
+        assertThat(bulkhead.stats().waitingQueueSize(), is(0L));
+    }
+
+    @Test
+    void testAdaptiveLimit() {
+        Bulkhead bulkhead = Bulkhead.builder()
+                .limit(10)
+                .minLimit(2)
+                .adaptive(true)
+                .latencyThreshold(Duration.ofNanos(1))
+                .build();
+        assertThat(bulkhead.stats().concurrencyLimit(), is(10L));
+
+        for (int i = 0; i < 50; i++) {
+            bulkhead.invoke(() -> Async.create().invoke(() -> "slow"))
+                    .await(1, TimeUnit.SECONDS);
+        }
+        // every call was above the latency threshold
+        assertThat(bulkhead.stats().concurrencyLimit(), is(2L));
+
+        Bulkhead fixed = Bulkhead.builder()
+                .limit(10)
+                .latencyThreshold(Duration.ofNanos(1))
+                .build();
+        fixed.invoke(() -> Async.create().invoke(() -> "slow"))
+                .await(1, TimeUnit.SECONDS);
+        assertThat(fixed.stats().concurrencyLimit(), is(10L));
+    }
+
+    @Test
+    void testQueueListener() throws InterruptedException {
+        List<Long> waits = new CopyOnWriteArrayList<>();
+        Bulkhead bulkhead = Bulkhead.builder()
+                .limit(1)
+                .queueLength(1)
+                .fair(false)
+                .addQueueListener(waits::add)
+                .build();
+
+        Request inProgress = new Request(0);
+        Request enqueued = new Request(1);
+        enqueued.releaseCdl.countDown();
+
+        bulkhead.invoke(inProgress::invoke);
+        Single<Integer> enqueuedResult = bulkhead.invoke(enqueued::invoke);
+        Thread.sleep(20);
+        inProgress.releaseCdl.countDown();
+
+        assertThat(enqueuedResult.await(1, TimeUnit.SECONDS), is(1));
+        assertThat(waits.size(), is(1));
+        assertThat(waits.get(0), greaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(20)));
+    }
+
     private static class MultiRequest {
         private final CountDownLatch releaseCdl = new CountDownLatch(1);
         private final CountDownLatch invokedCdl = new CountDownLatch(1);
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,6 +21,7 @@ import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 
 import io.helidon.common.reactive.Multi;
@@ -94,6 +95,36 @@ class CircuitBreakerTest {
         assertThat(breaker.state(), is(CircuitBreaker.State.OPEN));
     }
 
+    @Test
+    void testSlowCalls() throws InterruptedException {
+        List<CircuitBreaker.State> transitions = new CopyOnWriteArrayList<>();
+        CircuitBreaker breaker = CircuitBreaker.builder()
+                .timeWindow(Duration.ofSeconds(10))
+                .minimumCalls(4)
+                .slowCallDuration(Duration.ofMillis(10))
+                .slowCallRatio(50)
+                .delay(Duration.ofSeconds(10))
+                .addStateListener((previous, current) -> transitions.add(current))
+                .build();
+
+        good(breaker);
+        good(breaker);
+        slow(breaker);
+        assertThat(breaker.state(), is(CircuitBreaker.State.CLOSED));
+        slow(breaker);      // should open - minimum calls reached, 50% slow
+
+        // result may be delivered before the call is recorded
+        int count = 0;
+        while (count++ < 10 && breaker.state() != CircuitBreaker.State.OPEN) {
+            Thread.sleep(50);
+        }
+        breakerOpen(breaker);
+        assertThat(transitions, contains(CircuitBreaker.State.OPEN));
+
+        breaker.state(CircuitBreaker.State.CLOSED);
+        assertThat(transitions, contains(CircuitBreaker.State.OPEN, CircuitBreaker.State.CLOSED));
+    }
+
     private void breakerOpen(CircuitBreaker breaker) {
         Request good = new Request();
         Single<Integer> result = breaker.invoke(good::invoke);
@@ -143,6 +174,17 @@ class CircuitBreakerTest {
 
     }
 
+    private void slow(CircuitBreaker breaker) {
+        Single<Integer> result = breaker.invoke(() -> Async.create().invoke(() -> {
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException ignored) {
+            }
+            return 1;
+        }));
+        assertThat(result.await(1, TimeUnit.SECONDS), is(1));
+    }
+
     private void good(CircuitBreaker breaker) {
         Request good = new Request();
         Single<Integer> result = breaker.invoke(good::invoke);
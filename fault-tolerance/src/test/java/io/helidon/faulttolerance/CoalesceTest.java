@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.faulttolerance;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.helidon.common.reactive.Single;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Unit test for {@link Coalesce}.
+ */
+class CoalesceTest {
+
+    @Test
+    void testConcurrentCallsCoalesced() {
+        Coalesce coalesce = Coalesce.create();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        AtomicInteger counter = new AtomicInteger();
+
+        Single<String> first = coalesce.invoke("key", () -> {
+            counter.incrementAndGet();
+            return upstream;
+        });
+        Single<String> second = coalesce.invoke("key", () -> {
+            counter.incrementAndGet();
+            return CompletableFuture.completedFuture("second");
+        });
+        upstream.complete("first");
+
+        assertThat(first.await(1, TimeUnit.SECONDS), is("first"));
+        assertThat(second.await(1, TimeUnit.SECONDS), is("first"));
+        assertThat(counter.get(), is(1));
+        assertThat(coalesce.coalescedCalls(), is(1L));
+
+        // completed, next call is invoked again
+        String third = coalesce.invoke("key", () -> CompletableFuture.completedFuture("third"))
+                .await(1, TimeUnit.SECONDS);
+        assertThat(third, is("third"));
+    }
+
+    @Test
+    void testDifferentKeys() {
+        Coalesce coalesce = Coalesce.create();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        Single<String> first = coalesce.forKey("first").invoke(() -> upstream);
+        Single<String> second = coalesce.forKey("second").invoke(() -> CompletableFuture.completedFuture("second"));
+
+        assertThat(second.await(1, TimeUnit.SECONDS), is("second"));
+        upstream.complete("first");
+        assertThat(first.await(1, TimeUnit.SECONDS), is("first"));
+        assertThat(coalesce.coalescedCalls(), is(0L));
+    }
+
+    @Test
+    void testCancel() {
+        Coalesce coalesce = Coalesce.create();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        Single<String> first = coalesce.invoke(() -> upstream);
+        Single<String> second = coalesce.invoke(() -> upstream);
+
+        first.cancel();
+        // the other caller still waits for the result
+        assertThat(upstream.isCancelled(), is(false));
+
+        second.cancel();
+        assertThat(upstream.isCancelled(), is(true));
+    }
+
+    @Test
+    void testFailureShared() {
+        Coalesce coalesce = Coalesce.create();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        Single<String> first = coalesce.invoke(() -> upstream);
+        Single<String> second = coalesce.invoke(() -> upstream);
+        upstream.completeExceptionally(new IllegalStateException("failed"));
+
+        FaultToleranceTest.completionException(first, IllegalStateException.class);
+        FaultToleranceTest.completionException(second, IllegalStateException.class);
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.faulttolerance;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.helidon.common.reactive.Single;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Unit test for {@link Hedge}.
+ */
+class HedgeTest {
+
+    @Test
+    void testBackupWins() {
+        Hedge hedge = Hedge.builder()
+                .delay(Duration.ofMillis(10))
+                .build();
+        List<CompletableFuture<String>> attempts = new CopyOnWriteArrayList<>();
+        AtomicInteger counter = new AtomicInteger();
+
+        Single<String> result = hedge.invoke(() -> {
+            CompletableFuture<String> attempt = new CompletableFuture<>();
+            attempts.add(attempt);
+            if (counter.getAndIncrement() > 0) {
+                // backup completes immediately, the original never does
+                attempt.complete("backup");
+            }
+            return attempt;
+        });
+
+        assertThat(result.await(1, TimeUnit.SECONDS), is("backup"));
+        assertThat(attempts.size(), is(2));
+        // the loser is cancelled
+        assertThat(attempts.get(0).isCancelled(), is(true));
+        assertThat(hedge.stats().hedges(), is(1L));
+        assertThat(hedge.stats().hedgeWins(), is(1L));
+    }
+
+    @Test
+    void testNoHedgeForFastCalls() throws InterruptedException {
+        Hedge hedge = Hedge.builder()
+                .delay(Duration.ofMillis(50))
+                .build();
+        AtomicInteger counter = new AtomicInteger();
+
+        for (int i = 0; i < 10; i++) {
+            String result = hedge.invoke(() -> {
+                counter.incrementAndGet();
+                return CompletableFuture.completedFuture("fast");
+            }).await(1, TimeUnit.SECONDS);
+            assertThat(result, is("fast"));
+        }
+        Thread.sleep(100);
+        assertThat(counter.get(), is(10));
+        assertThat(hedge.stats().hedges(), is(0L));
+    }
+
+    @Test
+    void testFailureIsNotRetried() {
+        Hedge hedge = Hedge.builder()
+                .delay(Duration.ofMillis(50))
+                .build();
+        AtomicInteger counter = new AtomicInteger();
+
+        Single<String> result = hedge.invoke(() -> {
+            counter.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("failed"));
+        });
+
+        FaultToleranceTest.completionException(result, IllegalStateException.class);
+        assertThat(counter.get(), is(1));
+    }
+
+    @Test
+    void testDelayFromObservedLatency() {
+        Hedge hedge = Hedge.builder()
+                .delay(Duration.ofSeconds(10))
+                .percentile(90)
+                .window(100)
+                .build();
+
+        for (int i = 0; i < 100; i++) {
+            hedge.invoke(HedgeTest::completed).await(1, TimeUnit.SECONDS);
+        }
+        // percentile of calls that complete immediately replaces the initial delay
+        assertThat(hedge.stats().delay().toMillis(), is(lessThan(1000L)));
+    }
+
+    @Test
+    void testDelayWhenBackupWins() {
+        Hedge hedge = Hedge.builder()
+                .delay(Duration.ofMillis(20))
+                .window(20)
+                .build();
+
+        for (int i = 0; i < 40; i++) {
+            AtomicInteger counter = new AtomicInteger();
+            hedge.invoke(() -> counter.getAndIncrement() == 0 ? new CompletableFuture<String>() : completed())
+                    .await(1, TimeUnit.SECONDS);
+        }
+        // the original invocation took at least the delay, the immediate backups must not shorten it
+        assertThat(hedge.stats().hedgeWins(), is(40L));
+        assertThat(hedge.stats().delay().toMillis(), is(greaterThanOrEqualTo(20L)));
+    }
+
+    @Test
+    void testCancelCancelsAttempts() {
+        Hedge hedge = Hedge.builder()
+                .delay(Duration.ofSeconds(10))
+                .build();
+        CompletableFuture<String> attempt = new CompletableFuture<>();
+
+        Single<String> result = hedge.invoke(() -> attempt);
+        result.cancel();
+
+        assertThat(attempt.isCancelled(), is(true));
+    }
+
+    private static CompletionStage<String> completed() {
+        return CompletableFuture.completedFuture("done");
+    }
+}
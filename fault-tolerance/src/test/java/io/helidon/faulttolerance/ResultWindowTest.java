@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -84,4 +84,20 @@ class ResultWindowTest {
         window.reset();
         assertThat("Empty should not open", window.shouldOpen(), is(false));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSlowCalls() {
+        ResultWindow window = new ResultWindow(4, 50, 50);
+        window.update(ResultWindow.Result.SUCCESS, true);
+        window.update(ResultWindow.Result.SUCCESS, false);
+        window.update(ResultWindow.Result.SUCCESS, false);
+        window.update(ResultWindow.Result.SUCCESS, false);
+        assertThat("Should not open with 25% slow calls", window.shouldOpen(), is(false));
+        window.update(ResultWindow.Result.FAILURE, true);
+        assertThat("Should open with 50% slow calls", window.shouldOpen(), is(true));
+        // replaces the first slow call
+        window.update(ResultWindow.Result.SUCCESS, false);
+        window.update(ResultWindow.Result.SUCCESS, false);
+        assertThat("Should not open after slow calls leave the window", window.shouldOpen(), is(false));
+    }
+}
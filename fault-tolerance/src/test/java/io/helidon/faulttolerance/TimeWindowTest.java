@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.faulttolerance;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit test for {@link TimeWindow}.
+ */
+class TimeWindowTest {
+    private final AtomicLong nanos = new AtomicLong(TimeUnit.SECONDS.toNanos(1000));
+
+    @Test
+    void testMinimumCalls() {
+        TimeWindow window = new TimeWindow(10, 100, 5, 50, 100, nanos::get);
+        window.update(ResultWindow.Result.FAILURE, false);
+        window.update(ResultWindow.Result.FAILURE, false);
+        window.update(ResultWindow.Result.FAILURE, false);
+        window.update(ResultWindow.Result.FAILURE, false);
+        assertThat("Should not open before minimum calls", window.shouldOpen(), is(false));
+        window.update(ResultWindow.Result.SUCCESS, false);
+        assertThat("Should open after minimum calls > 50%", window.shouldOpen(), is(true));
+    }
+
+    @Test
+    void testResultsExpire() {
+        TimeWindow window = new TimeWindow(10, 100, 2, 50, 100, nanos::get);
+        window.update(ResultWindow.Result.FAILURE, false);
+        advanceMillis(500);
+        window.update(ResultWindow.Result.FAILURE, false);
+        assertThat("Both failures are in the window", window.shouldOpen(), is(true));
+
+        // first failure leaves the window
+        advanceMillis(500);
+        assertThat("Only one failure is in the window", window.shouldOpen(), is(false));
+        window.update(ResultWindow.Result.SUCCESS, false);
+        assertThat("Failure ratio is 50%", window.shouldOpen(), is(true));
+
+        // everything leaves the window, buckets are reused
+        advanceMillis(1000);
+        window.update(ResultWindow.Result.SUCCESS, false);
+        window.update(ResultWindow.Result.SUCCESS, false);
+        assertThat("Old failures must not be counted", window.shouldOpen(), is(false));
+    }
+
+    @Test
+    void testSlowCalls() {
+        TimeWindow window = new TimeWindow(10, 100, 4, 50, 75, nanos::get);
+        window.update(ResultWindow.Result.SUCCESS, true);
+        window.update(ResultWindow.Result.SUCCESS, true);
+        window.update(ResultWindow.Result.SUCCESS, false);
+        window.update(ResultWindow.Result.SUCCESS, true);
+        assertThat("Should open with 75% slow calls", window.shouldOpen(), is(true));
+        window.reset();
+        assertThat("Empty should not open", window.shouldOpen(), is(false));
+    }
+
+    private void advanceMillis(long millis) {
+        nanos.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+}
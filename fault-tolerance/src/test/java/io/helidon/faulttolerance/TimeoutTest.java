@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,14 +17,24 @@
 package io.helidon.faulttolerance;
 
 import java.time.Duration;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
+import io.helidon.common.LazyValue;
+import io.helidon.common.configurable.HashedWheelTimer;
 import io.helidon.common.reactive.Multi;
 import io.helidon.common.reactive.Single;
+import io.helidon.config.Config;
+import io.helidon.config.ConfigSources;
 
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.Test;
@@ -91,4 +101,74 @@ class TimeoutTest {
         single.cancel();
         assertThat("Cancel must be called", cancelCalled.get(), is(true));
     }
+
+    @Test
+    void testHashedWheelTimer() {
+        HashedWheelTimer timer = HashedWheelTimer.builder()
+                .tickDuration(Duration.ofMillis(5))
+                .build();
+        try {
+            Timeout timeout = Timeout.builder()
+                    .timeout(Duration.ofMillis(20))
+                    .executor(timer)
+                    .build();
+
+            FaultToleranceTest.completionException(timeout.invoke(Single::never), TimeoutException.class);
+            assertThat(timeout.invoke(() -> Single.just("done")).await(1, TimeUnit.SECONDS), is("done"));
+        } finally {
+            timer.shutdownNow();
+        }
+    }
+
+    @Test
+    void testHashedWheelTimerBlockingRetry() throws InterruptedException {
+        FaultTolerance.config(Config.create(ConfigSources.create(Map.of("timer.enabled", "true",
+                                                                        "timer.tick-duration", "PT0.005S"))));
+        LazyValue<? extends ScheduledExecutorService> timer = FaultTolerance.scheduledExecutor();
+        LazyValue<? extends ExecutorService> workers = FaultTolerance.executor();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        AtomicReference<String> retryThread = new AtomicReference<>();
+        try {
+            Retry retry = Retry.builder()
+                    .retryPolicy(Retry.DelayingRetryPolicy.builder()
+                                         .calls(2)
+                                         .delay(Duration.ofMillis(1))
+                                         .build())
+                    .build();
+            Timeout timeout = Timeout.create(Duration.ofMillis(20));
+
+            Single<String> retried = retry.invoke(() -> {
+                if (calls.incrementAndGet() == 1) {
+                    return Single.<String>error(new IllegalStateException("first call"));
+                }
+                retryThread.set(Thread.currentThread().getName());
+                started.countDown();
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return Single.just("retried");
+            });
+
+            assertThat(started.await(10, TimeUnit.SECONDS), is(true));
+            // the timeout must fire while the retried supplier blocks
+            FaultToleranceTest.completionException(timeout.invoke(Single::never), TimeoutException.class);
+            release.countDown();
+            assertThat(retried.await(10, TimeUnit.SECONDS), is("retried"));
+            assertThat(retryThread.get().startsWith("ft-timer-"), is(false));
+        } finally {
+            release.countDown();
+            FaultTolerance.config(Config.empty());
+            // the timer thread and the pool created by this configuration are not used by other tests
+            if (timer.isLoaded()) {
+                timer.get().shutdownNow();
+            }
+            if (workers.isLoaded()) {
+                workers.get().shutdownNow();
+            }
+        }
+    }
 }
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.faulttolerance.jmh;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+
+import io.helidon.faulttolerance.CircuitBreaker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Calls through a circuit breaker using the count based window (a shared ring of results), compared
+ * with the time based window (buckets of striped counters).
+ * Run with increasing number of threads to see contention on the window.
+ */
+@State(Scope.Benchmark)
+public class CircuitBreakerJMH {
+
+    private static final CompletionStage<String> RESULT = CompletableFuture.completedFuture("result");
+
+    public static void main(String[] args) throws Throwable {
+        for (int threads : new int[] {1, 8, 32}) {
+            Options opt = new OptionsBuilder()
+                    .include(CircuitBreakerJMH.class.getSimpleName())
+                    .forks(1)
+                    .threads(threads)
+                    .warmupIterations(5)
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(5)
+                    .measurementTime(TimeValue.seconds(1))
+                    .build();
+
+            new Runner(opt).run();
+        }
+    }
+
+    private CircuitBreaker countWindow;
+    private CircuitBreaker timeWindow;
+
+    @Setup
+    public void setup() {
+        countWindow = CircuitBreaker.builder()
+                .volume(100)
+                .build();
+        timeWindow = CircuitBreaker.builder()
+                .timeWindow(Duration.ofSeconds(10))
+                .build();
+    }
+
+    @Benchmark
+    public Object countWindow() {
+        return countWindow.invoke(() -> RESULT);
+    }
+
+    @Benchmark
+    public Object timeWindow() {
+        return timeWindow.invoke(() -> RESULT);
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.faulttolerance.jmh;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.faulttolerance.Coalesce;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Concurrent identical calls to a service that takes 2 milliseconds, called directly and through
+ * a {@link Coalesce}. The {@code backendCalls} counter shows the number of calls that reached the service.
+ * Run with increasing number of threads to see the effect of coalescing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CoalesceJMH {
+
+    public static void main(String[] args) throws Throwable {
+        for (int threads : new int[] {1, 8, 32}) {
+            Options opt = new OptionsBuilder()
+                    .include(CoalesceJMH.class.getSimpleName())
+                    .forks(1)
+                    .threads(threads)
+                    .warmupIterations(5)
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(5)
+                    .measurementTime(TimeValue.seconds(1))
+                    .build();
+
+            new Runner(opt).run();
+        }
+    }
+
+    private ScheduledExecutorService service;
+    private Coalesce coalesce;
+
+    /**
+     * Calls that reached the service, per thread.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long backendCalls;
+    }
+
+    @Setup
+    public void setup() {
+        service = Executors.newScheduledThreadPool(4);
+        coalesce = Coalesce.create();
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.shutdownNow();
+    }
+
+    @Benchmark
+    public String direct(Counters counters) throws Exception {
+        counters.backendCalls++;
+        return call().toCompletableFuture().get();
+    }
+
+    @Benchmark
+    public String coalesced(Counters counters) throws Exception {
+        return coalesce.invoke("key", () -> {
+            counters.backendCalls++;
+            return call();
+        }).get();
+    }
+
+    private CompletionStage<String> call() {
+        CompletableFuture<String> result = new CompletableFuture<>();
+        service.schedule(() -> result.complete("result"), 2, TimeUnit.MILLISECONDS);
+        return result;
+    }
+}
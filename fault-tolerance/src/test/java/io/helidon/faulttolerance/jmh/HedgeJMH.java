@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.faulttolerance.jmh;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.faulttolerance.Hedge;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Latency distribution of calls to a service with a heavy tail (most calls take 1 millisecond, one in
+ * twenty takes 50 milliseconds), called directly and through a {@link Hedge}.
+ * Compare the high percentiles reported by the sample time mode.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class HedgeJMH {
+
+    public static void main(String[] args) throws Throwable {
+        for (int threads : new int[] {1, 8, 32}) {
+            Options opt = new OptionsBuilder()
+                    .include(HedgeJMH.class.getSimpleName())
+                    .forks(1)
+                    .threads(threads)
+                    .warmupIterations(5)
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(5)
+                    .measurementTime(TimeValue.seconds(1))
+                    .build();
+
+            new Runner(opt).run();
+        }
+    }
+
+    private ScheduledExecutorService service;
+    private Hedge hedge;
+
+    @Setup
+    public void setup() {
+        service = Executors.newScheduledThreadPool(4);
+        hedge = Hedge.builder()
+                .delay(Duration.ofMillis(5))
+                .percentile(90)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.shutdownNow();
+    }
+
+    @Benchmark
+    public String direct() throws Exception {
+        return call().toCompletableFuture().get();
+    }
+
+    @Benchmark
+    public String hedged() throws Exception {
+        return hedge.invoke(this::call).get();
+    }
+
+    private CompletionStage<String> call() {
+        long latency = ThreadLocalRandom.current().nextInt(20) == 0 ? 50 : 1;
+        CompletableFuture<String> result = new CompletableFuture<>();
+        service.schedule(() -> result.complete("result"), latency, TimeUnit.MILLISECONDS);
+        return result;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.graphql.server;
+
+import java.util.Optional;
+import java.util.function.Function;
+
+import io.helidon.common.configurable.LruCache;
+
+import graphql.ExecutionInput;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+
+/**
+ * Parsed and validated documents, by query text.
+ * A document does not depend on the operation name or on the variables, so the same entry serves all
+ * executions of a query.
+ */
+class DocumentCache implements PreparsedDocumentProvider {
+
+    private final LruCache<String, PreparsedDocumentEntry> cache;
+
+    DocumentCache(int capacity) {
+        this.cache = LruCache.<String, PreparsedDocumentEntry>builder()
+                .capacity(capacity)
+                .build();
+    }
+
+    @Override
+    public PreparsedDocumentEntry getDocument(ExecutionInput executionInput,
+                                              Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        return cache.computeValue(executionInput.getQuery(),
+                                  () -> Optional.of(parseAndValidateFunction.apply(executionInput)))
+                .orElseThrow();
+    }
+
+    int size() {
+        return cache.size();
+    }
+}
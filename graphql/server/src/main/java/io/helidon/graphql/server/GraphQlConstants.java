@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -71,6 +71,14 @@ public final class GraphQlConstants {
      * Default error message to return for unchecked exceptions and errors.
      */
     public static final String DEFAULT_ERROR_MESSAGE = "Server Error";
+    /**
+     * Default number of parsed and validated query documents to cache.
+     */
+    public static final int DEFAULT_DOCUMENT_CACHE_SIZE = 256;
+    /**
+     * Default number of automatically persisted queries to keep.
+     */
+    public static final int DEFAULT_PERSISTED_QUERY_CACHE_SIZE = 256;
 
     // forbid instantiation
     private GraphQlConstants() {
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ package io.helidon.graphql.server;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
 import java.util.function.Supplier;
 import java.util.logging.Level;
@@ -113,20 +114,28 @@ public class GraphQlSupport implements Service {
                 .forSingle(entity -> processRequest(res,
                                                     (String) entity.get("query"),
                                                     (String) entity.get("operationName"),
-                                                    toVariableMap(entity.get("variables"))))
+                                                    toVariableMap(entity.get("variables")),
+                                                    toVariableMap(entity.get("extensions"))))
                 .exceptionallyAccept(res::send);
     }
 
     // handle GET request for GraphQL endpoint
     private void graphQlGet(ServerRequest req, ServerResponse res) {
         Parameters queryParams = req.queryParams();
-        String query = queryParams.first("query").orElseThrow(() -> new IllegalStateException("Query must be defined"));
+        Map<String, Object> extensions = queryParams.first("extensions")
+                .map(this::toVariableMap)
+                .orElseGet(Map::of);
+        String query = queryParams.first("query").orElse(null);
+        // persisted queries are sent without the query
+        if (query == null && PersistedQueries.hash(extensions).isEmpty()) {
+            throw new IllegalStateException("Query must be defined");
+        }
         String operationName = queryParams.first("operationName").orElse(null);
         Map<String, Object> variables = queryParams.first("variables")
                 .map(this::toVariableMap)
                 .orElseGet(Map::of);
 
-        processRequest(res, query, operationName, variables);
+        processRequest(res, query, operationName, variables, extensions);
     }
 
     // handle GET request to obtain GraphQL schema
@@ -137,18 +146,33 @@ public class GraphQlSupport implements Service {
     private void processRequest(ServerResponse res,
                                 String query,
                                 String operationName,
-                                Map<String, Object> variables) {
+                                Map<String, Object> variables,
+                                Map<String, Object> extensions) {
+        // the executor thread is released as soon as the execution waits for asynchronous data fetchers
         executor.submit(() -> {
             try {
-                Map<String, Object> result = invocationHandler.execute(query, operationName, variables);
-                res.send(JSONB_WRITER.marshall(result));
-            } catch (Error e) {
-                res.send(e);
-            } catch (Exception e) {
-                LOGGER.log(Level.SEVERE, "Unexpected exception when executing graphQL request", e);
+                invocationHandler.executeAsync(query, operationName, variables, extensions)
+                        .whenComplete((result, throwable) -> {
+                            if (throwable == null) {
+                                res.send(JSONB_WRITER.marshall(result));
+                            } else {
+                                handleException(res, throwable instanceof CompletionException
+                                        ? throwable.getCause()
+                                        : throwable);
+                            }
+                        });
+            } catch (Throwable e) {
+                handleException(res, e);
             }
         });
+    }
 
+    private void handleException(ServerResponse res, Throwable e) {
+        if (e instanceof Error) {
+            res.send(e);
+        } else {
+            LOGGER.log(Level.SEVERE, "Unexpected exception when executing graphQL request", e);
+        }
     }
 
     private Map<String, Object> toVariableMap(Object variables) {
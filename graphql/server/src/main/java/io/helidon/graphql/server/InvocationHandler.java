@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,19 +16,27 @@
 
 package io.helidon.graphql.server;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.Supplier;
 
 import io.helidon.config.Config;
 
 import graphql.GraphQL;
 import graphql.execution.SubscriptionExecutionStrategy;
+import graphql.execution.instrumentation.dataloader.DataLoaderDispatcherInstrumentation;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.idl.SchemaPrinter;
+import org.dataloader.DataLoaderRegistry;
 
+import static io.helidon.graphql.server.GraphQlConstants.DEFAULT_DOCUMENT_CACHE_SIZE;
 import static io.helidon.graphql.server.GraphQlConstants.DEFAULT_ERROR_MESSAGE;
+import static io.helidon.graphql.server.GraphQlConstants.DEFAULT_PERSISTED_QUERY_CACHE_SIZE;
 
 /**
  * Invocation handler that allows execution of GraphQL requests without a WebServer.
@@ -72,6 +80,41 @@ public interface InvocationHandler {
      */
     Map<String, Object> execute(String query, String operationName, Map<String, Object> variables);
 
+    /**
+     * Execute a GraphQL query asynchronously.
+     * Data fetchers returning a {@link java.util.concurrent.CompletionStage} do not block the calling thread
+     * while they wait.
+     *
+     * @param query query string
+     * @param operationName operation name
+     * @param variables variables to use (optional)
+     * @return GraphQL result
+     */
+    default CompletionStage<Map<String, Object>> executeAsync(String query,
+                                                              String operationName,
+                                                              Map<String, Object> variables) {
+        return executeAsync(query, operationName, variables, Map.of());
+    }
+
+    /**
+     * Execute a GraphQL query asynchronously, with request extensions.
+     * The {@code persistedQuery} extension with a {@code sha256Hash} references a persisted query, in which case
+     * the query string may be {@code null}.
+     * This default implementation ignores the extensions and executes the query synchronously.
+     *
+     * @param query query string, {@code null} for a persisted query
+     * @param operationName operation name
+     * @param variables variables to use (optional)
+     * @param extensions request extensions
+     * @return GraphQL result
+     */
+    default CompletionStage<Map<String, Object>> executeAsync(String query,
+                                                              String operationName,
+                                                              Map<String, Object> variables,
+                                                              Map<String, Object> extensions) {
+        return CompletableFuture.completedFuture(execute(query, operationName, variables));
+    }
+
     /**
      * The schema of this GraphQL endpoint.
      *
@@ -107,9 +150,15 @@ public interface InvocationHandler {
         private final Set<String> blacklistedExceptions = new HashSet<>();
         private final Set<String> whitelistedExceptions = new HashSet<>();
 
+        private final List<String> persistedQueries = new ArrayList<>();
+
         private String defaultErrorMessage = DEFAULT_ERROR_MESSAGE;
+        private int documentCacheSize = DEFAULT_DOCUMENT_CACHE_SIZE;
+        private int persistedQueryCacheSize = DEFAULT_PERSISTED_QUERY_CACHE_SIZE;
         private GraphQLSchema schema;
         private SchemaPrinter schemaPrinter;
+        private DocumentCache documentCache;
+        private Supplier<DataLoaderRegistry> dataLoaderRegistry;
 
         private Builder() {
         }
@@ -120,9 +169,16 @@ public interface InvocationHandler {
                 throw new IllegalStateException("GraphQL schema must be configured");
             }
 
-            GraphQL graphQl = GraphQL.newGraphQL(schema)
-                    .subscriptionExecutionStrategy(new SubscriptionExecutionStrategy())
-                    .build();
+            GraphQL.Builder graphQlBuilder = GraphQL.newGraphQL(schema)
+                    .subscriptionExecutionStrategy(new SubscriptionExecutionStrategy());
+            if (documentCacheSize > 0) {
+                documentCache = new DocumentCache(documentCacheSize);
+                graphQlBuilder.preparsedDocumentProvider(documentCache);
+            }
+            if (dataLoaderRegistry != null) {
+                graphQlBuilder.instrumentation(new DataLoaderDispatcherInstrumentation());
+            }
+            GraphQL graphQl = graphQlBuilder.build();
 
             SchemaPrinter.Options options = SchemaPrinter.Options
                     .defaultOptions()
@@ -163,6 +219,22 @@ public interface InvocationHandler {
          *     <td>Array of exception classes. If a checked {@link java.lang.Exception} is called, its message
          *     is propagated to the caller, unless it is in the blacklist.</td>
          * </tr>
+         * <tr>
+         *     <td>document-cache-size</td>
+         *     <td>{@value io.helidon.graphql.server.GraphQlConstants#DEFAULT_DOCUMENT_CACHE_SIZE}</td>
+         *     <td>Number of parsed and validated queries to cache, {@code 0} to parse each query.</td>
+         * </tr>
+         * <tr>
+         *     <td>persisted-query-cache-size</td>
+         *     <td>{@value io.helidon.graphql.server.GraphQlConstants#DEFAULT_PERSISTED_QUERY_CACHE_SIZE}</td>
+         *     <td>Number of queries received with their hash to keep as persisted queries, {@code 0} to only accept
+         *     registered persisted queries.</td>
+         * </tr>
+         * <tr>
+         *     <td>persisted-queries</td>
+         *     <td>&nbsp;</td>
+         *     <td>Array of queries that can always be executed by their SHA-256 hash.</td>
+         * </tr>
          * </table>
          *
          * @param config configuration to use
@@ -178,6 +250,12 @@ public interface InvocationHandler {
                     .stream()
                     .flatMap(List::stream)
                     .forEach(this::addBlacklistedException);
+            config.get("document-cache-size").asInt().ifPresent(this::documentCacheSize);
+            config.get("persisted-query-cache-size").asInt().ifPresent(this::persistedQueryCacheSize);
+            config.get("persisted-queries").asList(String.class)
+                    .stream()
+                    .flatMap(List::stream)
+                    .forEach(this::addPersistedQuery);
 
             return this;
         }
@@ -254,10 +332,71 @@ public interface InvocationHandler {
             return this;
         }
 
+        /**
+         * Number of parsed and validated query documents to cache. Clients usually send the same set of queries,
+         * which are then parsed and validated once.
+         * Defaults to {@value io.helidon.graphql.server.GraphQlConstants#DEFAULT_DOCUMENT_CACHE_SIZE}.
+         *
+         * @param size cache size, {@code 0} to parse and validate each query
+         * @return updated builder instance
+         */
+        public Builder documentCacheSize(int size) {
+            if (size < 0) {
+                throw new IllegalArgumentException("Document cache size must not be negative: " + size);
+            }
+            this.documentCacheSize = size;
+            return this;
+        }
+
+        /**
+         * Number of queries received together with their SHA-256 hash to keep, so that clients can later send
+         * only the hash.
+         * Defaults to {@value io.helidon.graphql.server.GraphQlConstants#DEFAULT_PERSISTED_QUERY_CACHE_SIZE}.
+         *
+         * @param size cache size, {@code 0} to only accept the queries added with {@link #addPersistedQuery(String)}
+         * @return updated builder instance
+         */
+        public Builder persistedQueryCacheSize(int size) {
+            if (size < 0) {
+                throw new IllegalArgumentException("Persisted query cache size must not be negative: " + size);
+            }
+            this.persistedQueryCacheSize = size;
+            return this;
+        }
+
+        /**
+         * Add a query that clients can always execute by sending its SHA-256 hash (hex encoded) in the
+         * {@code persistedQuery} request extension.
+         *
+         * @param query query to persist
+         * @return updated builder instance
+         */
+        public Builder addPersistedQuery(String query) {
+            persistedQueries.add(query);
+            return this;
+        }
+
+        /**
+         * Supplier of the {@link org.dataloader.DataLoader}s used by the data fetchers of the schema.
+         * A new registry is obtained for each execution, so that data loaders batch and cache values within a single
+         * request. Loads are dispatched once all the fields of a level of the query have been fetched.
+         *
+         * @param registrySupplier supplier of a new registry for each execution
+         * @return updated builder instance
+         */
+        public Builder dataLoaderRegistry(Supplier<DataLoaderRegistry> registrySupplier) {
+            this.dataLoaderRegistry = registrySupplier;
+            return this;
+        }
+
         GraphQLSchema schema() {
             return schema;
         }
 
+        Supplier<DataLoaderRegistry> dataLoaderRegistry() {
+            return dataLoaderRegistry;
+        }
+
         String defaultErrorMessage() {
             return defaultErrorMessage;
         }
@@ -273,5 +412,13 @@ public interface InvocationHandler {
         SchemaPrinter schemaPrinter() {
             return schemaPrinter;
         }
+
+        DocumentCache documentCache() {
+            return documentCache;
+        }
+
+        PersistedQueries persistedQueries() {
+            return new PersistedQueries(persistedQueryCacheSize, persistedQueries);
+        }
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,8 +23,13 @@ import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -38,6 +43,7 @@ import graphql.language.SourceLocation;
 import graphql.schema.GraphQLSchema;
 import graphql.schema.idl.SchemaPrinter;
 import graphql.validation.ValidationError;
+import org.dataloader.DataLoaderRegistry;
 
 import static io.helidon.graphql.server.GraphQlConstants.COLUMN;
 import static io.helidon.graphql.server.GraphQlConstants.DATA;
@@ -50,6 +56,9 @@ import static io.helidon.graphql.server.GraphQlConstants.PATH;
 
 class InvocationHandlerImpl implements InvocationHandler {
     private static final Logger LOGGER = Logger.getLogger(InvocationHandlerImpl.class.getName());
+    // messages expected by clients of the automatic persisted queries protocol
+    private static final String PERSISTED_QUERY_NOT_FOUND = "PersistedQueryNotFound";
+    private static final String PERSISTED_QUERY_HASH_MISMATCH = "provided sha does not match query";
 
     private final String defaultErrorMessage;
     private final Set<String> exceptionDenySet = new HashSet<>();
@@ -59,11 +68,17 @@ class InvocationHandlerImpl implements InvocationHandler {
     private final GraphQLSchema schema;
     private final GraphQL graphQl;
     private final SchemaPrinter schemaPrinter;
+    private final DocumentCache documentCache;
+    private final PersistedQueries persistedQueries;
+    private final Supplier<DataLoaderRegistry> dataLoaderRegistry;
 
     InvocationHandlerImpl(InvocationHandler.Builder builder, GraphQL graphQl) {
         this.schema = builder.schema();
         this.schemaPrinter = builder.schemaPrinter();
         this.defaultErrorMessage = builder.defaultErrorMessage();
+        this.documentCache = builder.documentCache();
+        this.persistedQueries = builder.persistedQueries();
+        this.dataLoaderRegistry = builder.dataLoaderRegistry();
 
         this.graphQl = graphQl;
 
@@ -76,23 +91,87 @@ class InvocationHandlerImpl implements InvocationHandler {
         try {
             return doExecute(query, operationName, variables);
         } catch (RuntimeException e) {
-            LOGGER.log(Level.FINE, "Failed to execute query " + query, e);
-            Map<String, Object> result = new HashMap<>();
-            addError(result, e, e.getMessage());
-            return result;
+            return failedQuery(query, e);
+        }
+    }
+
+    @Override
+    public CompletionStage<Map<String, Object>> executeAsync(String query,
+                                                             String operationName,
+                                                             Map<String, Object> variables,
+                                                             Map<String, Object> extensions) {
+        Optional<String> hash = PersistedQueries.hash(extensions);
+        String resolvedQuery = query;
+        if (hash.isPresent()) {
+            if (query == null) {
+                Optional<String> persisted = persistedQueries.query(hash.get());
+                if (persisted.isEmpty()) {
+                    return CompletableFuture.completedFuture(persistedQueryError(PERSISTED_QUERY_NOT_FOUND,
+                                                                                 "PERSISTED_QUERY_NOT_FOUND"));
+                }
+                resolvedQuery = persisted.get();
+            } else if (!persistedQueries.receive(hash.get(), query)) {
+                return CompletableFuture.completedFuture(persistedQueryError(PERSISTED_QUERY_HASH_MISMATCH,
+                                                                             "BAD_REQUEST"));
+            }
+        }
+
+        String executedQuery = resolvedQuery;
+        try {
+            ExecutionContext context = new ExecutionContextImpl();
+            return graphQl.executeAsync(executionInput(executedQuery, operationName, variables, context))
+                    .handle((result, throwable) -> {
+                        if (throwable == null) {
+                            return processResult(result, context);
+                        }
+                        Throwable cause = throwable instanceof CompletionException ? throwable.getCause() : throwable;
+                        if (cause instanceof RuntimeException) {
+                            return failedQuery(executedQuery, (RuntimeException) cause);
+                        }
+                        throw throwable instanceof CompletionException
+                                ? (CompletionException) throwable
+                                : new CompletionException(throwable);
+                    });
+        } catch (RuntimeException e) {
+            return CompletableFuture.completedFuture(failedQuery(executedQuery, e));
         }
     }
 
     private Map<String, Object> doExecute(String query, String operationName, Map<String, Object> variables) {
         ExecutionContext context = new ExecutionContextImpl();
-        ExecutionInput executionInput = ExecutionInput.newExecutionInput()
+        ExecutionResult result = graphQl.execute(executionInput(query, operationName, variables, context));
+        return processResult(result, context);
+    }
+
+    private ExecutionInput executionInput(String query,
+                                          String operationName,
+                                          Map<String, Object> variables,
+                                          ExecutionContext context) {
+        ExecutionInput.Builder builder = ExecutionInput.newExecutionInput()
                 .query(query)
                 .operationName(operationName)
                 .context(context)
-                .variables(variables)
-                .build();
+                .variables(variables);
+        if (dataLoaderRegistry != null) {
+            builder.dataLoaderRegistry(dataLoaderRegistry.get());
+        }
+        return builder.build();
+    }
+
+    private Map<String, Object> failedQuery(String query, RuntimeException e) {
+        LOGGER.log(Level.FINE, "Failed to execute query " + query, e);
+        Map<String, Object> result = new HashMap<>();
+        addError(result, e, e.getMessage());
+        return result;
+    }
+
+    private Map<String, Object> persistedQueryError(String message, String code) {
+        Map<String, Object> result = new HashMap<>();
+        addErrorPayload(result, message, null, -1, -1, Map.of("code", code));
+        return result;
+    }
 
-        ExecutionResult result = graphQl.execute(executionInput);
+    private Map<String, Object> processResult(ExecutionResult result, ExecutionContext context) {
         List<GraphQLError> errors = result.getErrors();
 
         if (errors.isEmpty() && context.hasPartialResultsException()) {
@@ -305,6 +384,10 @@ class InvocationHandlerImpl implements InvocationHandler {
         return throwable.getMessage();
     }
 
+    int documentCacheSize() {
+        return documentCache == null ? 0 : documentCache.size();
+    }
+
     @Override
     public String schemaString() {
         return schemaPrinter.print(schema);
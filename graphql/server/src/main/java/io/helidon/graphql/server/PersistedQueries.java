@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.graphql.server;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.helidon.common.configurable.LruCache;
+
+/**
+ * Queries sent by their SHA-256 hash instead of their text.
+ * Follows the automatic persisted queries protocol: a client sends the hash in the
+ * {@code persistedQuery} request extension and, if the query is not known, sends it again with its text.
+ * Registered queries are always known, queries received with their hash are kept up to a capacity.
+ */
+class PersistedQueries {
+
+    static final String PERSISTED_QUERY = "persistedQuery";
+    static final String SHA256_HASH = "sha256Hash";
+
+    private final Map<String, String> registered = new ConcurrentHashMap<>();
+    private final LruCache<String, String> received;
+
+    PersistedQueries(int capacity, Iterable<String> queries) {
+        this.received = capacity > 0
+                ? LruCache.<String, String>builder().capacity(capacity).build()
+                : null;
+        queries.forEach(query -> registered.put(hash(query), query));
+    }
+
+    /**
+     * Hash of a persisted query from request extensions.
+     *
+     * @param extensions request extensions
+     * @return hash if the request references a persisted query
+     */
+    static Optional<String> hash(Map<String, Object> extensions) {
+        if (extensions == null) {
+            return Optional.empty();
+        }
+        Object persistedQuery = extensions.get(PERSISTED_QUERY);
+        if (persistedQuery instanceof Map) {
+            return Optional.ofNullable(((Map<?, ?>) persistedQuery).get(SHA256_HASH))
+                    .map(String::valueOf);
+        }
+        return Optional.empty();
+    }
+
+    static String hash(String query) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(query.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported", e);
+        }
+    }
+
+    /**
+     * Query of a hash.
+     *
+     * @param hash SHA-256 hash of the query, hex encoded
+     * @return query if known
+     */
+    Optional<String> query(String hash) {
+        String key = hash.toLowerCase(Locale.ROOT);
+        String query = registered.get(key);
+        if (query != null) {
+            return Optional.of(query);
+        }
+        return received == null ? Optional.empty() : received.get(key);
+    }
+
+    /**
+     * Keep a query received with its hash.
+     *
+     * @param hash hash sent by the client
+     * @param query query sent by the client
+     * @return {@code true} if the hash matches the query
+     */
+    boolean receive(String hash, String query) {
+        String key = hash.toLowerCase(Locale.ROOT);
+        if (!key.equals(hash(query))) {
+            return false;
+        }
+        if (received != null && !registered.containsKey(key)) {
+            received.put(key, query);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.graphql.server;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import graphql.schema.GraphQLSchema;
+import graphql.schema.StaticDataFetcher;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+class InvocationHandlerTest {
+    private static final String QUERY = "{hello}";
+
+    @Test
+    void testDocumentCache() {
+        InvocationHandlerImpl handler = (InvocationHandlerImpl) InvocationHandler.builder()
+                .schema(buildSchema())
+                .build();
+
+        assertThat(handler.execute(QUERY).get("data"), is(Map.of("hello", "world")));
+        assertThat(handler.execute(QUERY).get("data"), is(Map.of("hello", "world")));
+        assertThat(handler.documentCacheSize(), is(1));
+
+        handler.execute("query Other {hello}");
+        assertThat(handler.documentCacheSize(), is(2));
+    }
+
+    @Test
+    void testDocumentCacheDisabled() {
+        InvocationHandlerImpl handler = (InvocationHandlerImpl) InvocationHandler.builder()
+                .schema(buildSchema())
+                .documentCacheSize(0)
+                .build();
+
+        assertThat(handler.execute(QUERY).get("data"), is(Map.of("hello", "world")));
+        assertThat(handler.documentCacheSize(), is(0));
+    }
+
+    @Test
+    void testExecuteAsync() throws Exception {
+        InvocationHandler handler = InvocationHandler.create(buildSchema());
+
+        Map<String, Object> result = handler.executeAsync("{delayed}", null, Map.of())
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+        assertThat(result.get("data"), is(Map.of("delayed", "later")));
+    }
+
+    @Test
+    void testPersistedQueries() throws Exception {
+        InvocationHandler handler = InvocationHandler.create(buildSchema());
+        Map<String, Object> extensions = persistedQuery(PersistedQueries.hash(QUERY));
+
+        Map<String, Object> result = execute(handler, null, extensions);
+        assertThat(result.get("data"), is(nullValue()));
+        assertThat(errorMessage(result), is("PersistedQueryNotFound"));
+
+        result = execute(handler, QUERY, extensions);
+        assertThat(result.get("data"), is(Map.of("hello", "world")));
+
+        result = execute(handler, null, extensions);
+        assertThat(result.get("data"), is(Map.of("hello", "world")));
+
+        result = execute(handler, "{delayed}", extensions);
+        assertThat(errorMessage(result), is("provided sha does not match query"));
+    }
+
+    @Test
+    void testRegisteredPersistedQueries() throws Exception {
+        InvocationHandler handler = InvocationHandler.builder()
+                .schema(buildSchema())
+                .persistedQueryCacheSize(0)
+                .addPersistedQuery(QUERY)
+                .build();
+
+        Map<String, Object> result = execute(handler, null, persistedQuery(PersistedQueries.hash(QUERY)));
+        assertThat(result.get("data"), is(Map.of("hello", "world")));
+
+        // received queries are executed, but not kept
+        String other = "query Other {hello}";
+        Map<String, Object> otherExtensions = persistedQuery(PersistedQueries.hash(other));
+        result = execute(handler, other, otherExtensions);
+        assertThat(result.get("data"), is(Map.of("hello", "world")));
+        result = execute(handler, null, otherExtensions);
+        assertThat(errorMessage(result), is("PersistedQueryNotFound"));
+    }
+
+    private static Map<String, Object> execute(InvocationHandler handler,
+                                               String query,
+                                               Map<String, Object> extensions) throws Exception {
+        return handler.executeAsync(query, null, Map.of(), extensions)
+                .toCompletableFuture()
+                .get(10, TimeUnit.SECONDS);
+    }
+
+    private static Map<String, Object> persistedQuery(String hash) {
+        return Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String errorMessage(Map<String, Object> result) {
+        List<Map<String, Object>> errors = (List<Map<String, Object>>) result.get("errors");
+        return (String) errors.get(0).get("message");
+    }
+
+    private static GraphQLSchema buildSchema() {
+        String schema = "type Query{hello: String, delayed: String}";
+
+        RuntimeWiring runtimeWiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", builder -> builder
+                        .dataFetcher("hello", new StaticDataFetcher("world"))
+                        .dataFetcher("delayed", env -> CompletableFuture.supplyAsync(
+                                () -> "later",
+                                CompletableFuture.delayedExecutor(10, TimeUnit.MILLISECONDS))))
+                .build();
+
+        return new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(schema), runtimeWiring);
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.graphql.server.jmh;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.graphql.server.InvocationHandler;
+
+import graphql.schema.DataFetcher;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Latency of a query with nested selections and fragments, with and without the parsed document cache,
+ * executed synchronously and asynchronously.
+ * Data fetchers of the {@code async} variant complete on another thread, as fetchers waiting on I/O would.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InvocationHandlerJMH {
+
+    private static final String SCHEMA = "type Query { user(id: ID!): User }\n"
+            + "type User { id: ID, name: String, email: String, friends: [User] }";
+    private static final String QUERY = "query Friends($id: ID!) {\n"
+            + "  user(id: $id) {\n"
+            + "    ...details\n"
+            + "    friends { ...details friends { ...details } }\n"
+            + "  }\n"
+            + "}\n"
+            + "fragment details on User { id name email }";
+    private static final Map<String, Object> USER = Map.of("id", "1",
+                                                           "name", "Jane",
+                                                           "email", "jane@example.com",
+                                                           "friends", List.of());
+    private static final Map<String, Object> USER_WITH_FRIENDS = Map.of("id", "1",
+                                                                        "name", "Jane",
+                                                                        "email", "jane@example.com",
+                                                                        "friends", List.of(USER, USER, USER));
+
+    public static void main(String[] args) throws Throwable {
+        for (int threads : new int[] {1, 8, 32}) {
+            Options opt = new OptionsBuilder()
+                    .include(InvocationHandlerJMH.class.getSimpleName())
+                    .forks(1)
+                    .threads(threads)
+                    .warmupIterations(5)
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(5)
+                    .measurementTime(TimeValue.seconds(1))
+                    .build();
+
+            new Runner(opt).run();
+        }
+    }
+
+    @Param({"0", "256"})
+    private int documentCacheSize;
+
+    @Param({"false", "true"})
+    private boolean async;
+
+    private InvocationHandler handler;
+
+    @Setup
+    public void setup() {
+        DataFetcher<?> user = async
+                ? env -> CompletableFuture.supplyAsync(() -> USER_WITH_FRIENDS)
+                : env -> USER_WITH_FRIENDS;
+        RuntimeWiring wiring = RuntimeWiring.newRuntimeWiring()
+                .type("Query", builder -> builder.dataFetcher("user", user))
+                .build();
+        GraphQLSchema schema = new SchemaGenerator().makeExecutableSchema(new SchemaParser().parse(SCHEMA), wiring);
+        handler = InvocationHandler.builder()
+                .schema(schema)
+                .documentCacheSize(documentCacheSize)
+                .build();
+    }
+
+    @Benchmark
+    public Map<String, Object> execute() {
+        return handler.execute(QUERY, "Friends", Map.of("id", "1"));
+    }
+
+    @Benchmark
+    public Map<String, Object> executeAsync() {
+        return handler.executeAsync(QUERY, "Friends", Map.of("id", "1"))
+                .toCompletableFuture()
+                .join();
+    }
+}
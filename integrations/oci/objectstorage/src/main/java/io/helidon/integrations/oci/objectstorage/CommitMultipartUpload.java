@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.integrations.oci.objectstorage;
+
+import java.util.Optional;
+
+import io.helidon.integrations.common.rest.ApiJsonBuilder;
+import io.helidon.integrations.common.rest.ApiResponse;
+import io.helidon.integrations.oci.connect.OciApiException;
+
+/**
+ * Commit multipart upload request and response.
+ */
+public final class CommitMultipartUpload {
+    private CommitMultipartUpload() {
+    }
+
+    /**
+     * Request object. Can be configured with additional headers, query parameters etc.
+     */
+    public static class Request extends ObjectRequest<Request> {
+        private String uploadId;
+
+        private Request() {
+        }
+
+        /**
+         * Fluent API builder for configuring a request.
+         * The request builder is passed as is, without a build method.
+         * The equivalent of a build method is {@link #toJson(jakarta.json.JsonBuilderFactory)}
+         * used by the {@link io.helidon.integrations.common.rest.RestApi}.
+         *
+         * @return new request builder
+         */
+        public static Request builder() {
+            return new Request();
+        }
+
+        /**
+         * The upload ID of the multipart upload, as returned by {@link CreateMultipartUpload.Response#uploadId()}.
+         * Required.
+         *
+         * @param uploadId upload ID
+         * @return updated request
+         */
+        public Request uploadId(String uploadId) {
+            this.uploadId = uploadId;
+            return this;
+        }
+
+        /**
+         * Add a part to commit.
+         *
+         * @param partNumber part number used when uploading the part
+         * @param eTag entity tag returned when uploading the part, see {@link UploadPart.Response#eTag()}
+         * @return updated request
+         */
+        public Request addPart(int partNumber, String eTag) {
+            return addToArray("partsToCommit", Part.create(partNumber, eTag));
+        }
+
+        /**
+         * Upload ID configured on this request.
+         *
+         * @return upload ID, must be present
+         */
+        public String uploadId() {
+            if (uploadId == null) {
+                throw new OciApiException("Upload ID must be defined for CommitMultipartUpload request.");
+            }
+            return uploadId;
+        }
+    }
+
+    /**
+     * Response object for responses without an entity.
+     */
+    public static final class Response extends ApiResponse {
+        private final Optional<String> eTag;
+
+        private Response(Builder builder) {
+            super(builder);
+            this.eTag = builder.headers().first("ETag");
+        }
+
+        static Builder builder() {
+            return new Builder();
+        }
+
+        /**
+         * Entity tag of the committed object.
+         *
+         * @return entity tag if returned by the server
+         */
+        public Optional<String> eTag() {
+            return eTag;
+        }
+
+        static final class Builder extends ApiResponse.Builder<Builder, Response> {
+            private Builder() {
+            }
+
+            @Override
+            public Response build() {
+                return new Response(this);
+            }
+        }
+    }
+
+    private static final class Part extends ApiJsonBuilder<Part> {
+        private Part() {
+        }
+
+        private static Part create(int partNumber, String eTag) {
+            return new Part()
+                    .add("partNum", partNumber)
+                    .add("etag", eTag);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.integrations.oci.objectstorage;
+
+import io.helidon.integrations.common.rest.ApiEntityResponse;
+
+import jakarta.json.JsonObject;
+
+/**
+ * Create multipart upload request and response.
+ */
+public final class CreateMultipartUpload {
+    private CreateMultipartUpload() {
+    }
+
+    /**
+     * Request object. Can be configured with additional headers, query parameters etc.
+     */
+    public static class Request extends ObjectRequest<Request> {
+        private Request() {
+        }
+
+        /**
+         * Fluent API builder for configuring a request.
+         * The request builder is passed as is, without a build method.
+         * The equivalent of a build method is {@link #toJson(jakarta.json.JsonBuilderFactory)}
+         * used by the {@link io.helidon.integrations.common.rest.RestApi}.
+         *
+         * @return new request builder
+         */
+        public static Request builder() {
+            return new Request();
+        }
+
+        /**
+         * The name of the object to upload. Avoid entering confidential information.
+         * Required.
+         *
+         * @param objectName name of the object
+         * @return updated request
+         */
+        @Override
+        public Request objectName(String objectName) {
+            super.objectName(objectName);
+            return add("object", objectName);
+        }
+
+        /**
+         * The storage tier of the object, such as {@code Standard} or {@code InfrequentAccess}.
+         *
+         * @param storageTier storage tier
+         * @return updated request
+         */
+        public Request storageTier(String storageTier) {
+            return add("storageTier", storageTier);
+        }
+    }
+
+    /**
+     * Response object parsed from JSON returned by the {@link io.helidon.integrations.common.rest.RestApi}.
+     */
+    public static final class Response extends ApiEntityResponse {
+        private final String uploadId;
+
+        private Response(Builder builder) {
+            super(builder);
+
+            JsonObject json = builder.entity();
+            this.uploadId = json.getString("uploadId");
+        }
+
+        static Builder builder() {
+            return new Builder();
+        }
+
+        /**
+         * Unique identifier of the multipart upload, used by the other multipart upload requests.
+         *
+         * @return upload ID
+         */
+        public String uploadId() {
+            return uploadId;
+        }
+
+        static final class Builder extends ApiEntityResponse.Builder<Builder, Response, JsonObject> {
+            private Builder() {
+            }
+
+            @Override
+            public Response build() {
+                return new Response(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.integrations.oci.objectstorage;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Flow;
+
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.reactive.Single;
+import io.helidon.integrations.oci.connect.OciApiException;
+
+/**
+ * Subscriber splitting the uploaded data into parts of configured size and uploading them in parallel
+ * as a multipart upload.
+ * Once the configured parallelism of parts is being uploaded, copying of the current chunk stops (even in the middle
+ * of the chunk) until one of the parts is uploaded, and data is requested from upstream only after the chunk
+ * is consumed. So at most {@code parallelism + 1} part buffers are kept in memory, in addition to the single chunk
+ * received from upstream.
+ * Completion of the publisher may be signalled while a chunk is still being copied; the last part is then uploaded
+ * once the chunk is consumed, and the upload is committed once no chunk is pending and all parts are uploaded.
+ * If any part fails, the multipart upload is aborted.
+ */
+final class MultipartUploader implements Flow.Subscriber<DataChunk> {
+    // maximal number of parts of a multipart upload supported by Object Storage
+    static final int MAX_PARTS = 10000;
+
+    private final CompletableFuture<CommitMultipartUpload.Response> result = new CompletableFuture<>();
+    // guarded by this
+    private final Map<Integer, String> eTags = new TreeMap<>();
+    private final OciObjectStorageRx storage;
+    private final ParallelUpload.Request request;
+    private final String uploadId;
+    private final int partSize;
+    private final int parallelism;
+
+    // only accessed from the (serialized) subscriber methods
+    private Flow.Subscription subscription;
+    private byte[] buffer;
+    private int position;
+    private int partNumber;
+    // chunk being copied into parts, handed over to partDone while paused
+    private DataChunk chunk;
+    private ByteBuffer[] chunkData;
+    private int chunkIndex;
+    private ByteBuffer current;
+
+    // guarded by this
+    private int inFlight;
+    // a chunk is being copied, or waits for a part to be uploaded, before more data is requested or the upload finished
+    private boolean draining;
+    private boolean paused;
+    private boolean completed;
+    private boolean terminated;
+
+    private MultipartUploader(OciObjectStorageRx storage, ParallelUpload.Request request, String uploadId) {
+        this.storage = storage;
+        this.request = request;
+        this.uploadId = uploadId;
+        this.partSize = request.partSize();
+        this.parallelism = request.parallelism();
+    }
+
+    static Single<CommitMultipartUpload.Response> upload(OciObjectStorageRx storage,
+                                                          ParallelUpload.Request request,
+                                                          Flow.Publisher<DataChunk> publisher) {
+        return storage.createMultipartUpload(request.copyTo(CreateMultipartUpload.Request.builder()))
+                .flatMapSingle(created -> {
+                    MultipartUploader uploader = new MultipartUploader(storage, request, created.uploadId());
+                    publisher.subscribe(uploader);
+                    return Single.create(uploader.result);
+                });
+    }
+
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        this.subscription = subscription;
+        subscription.request(1);
+    }
+
+    @Override
+    public void onNext(DataChunk chunk) {
+        synchronized (this) {
+            draining = true;
+        }
+        this.chunk = chunk;
+        this.chunkData = chunk.data();
+        this.chunkIndex = 0;
+        this.current = null;
+        drain();
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        fail(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        synchronized (this) {
+            completed = true;
+            if (draining || terminated) {
+                // finished by the drain of the pending chunk
+                return;
+            }
+            draining = true;
+        }
+        finish();
+    }
+
+    // upload the last part, and commit if all parts are uploaded, invoked while draining
+    private void finish() {
+        // an empty object is still uploaded as a single (empty) part
+        if ((position > 0 || partNumber == 0) && !uploadPart()) {
+            return;
+        }
+        boolean commit;
+        synchronized (this) {
+            draining = false;
+            commit = inFlight == 0 && !terminated;
+            terminated = terminated || commit;
+        }
+        if (commit) {
+            commit();
+        }
+    }
+
+    private boolean uploadPart() {
+        int number = ++partNumber;
+        if (number > MAX_PARTS) {
+            fail(new OciApiException("Multipart upload of " + request.objectName() + " exceeds " + MAX_PARTS
+                                             + " parts, please use a larger part size than " + partSize));
+            return false;
+        }
+        byte[] data = (buffer == null) ? new byte[0] : buffer;
+        int length = position;
+        buffer = null;
+        position = 0;
+
+        synchronized (this) {
+            if (terminated) {
+                return false;
+            }
+            inFlight++;
+        }
+
+        UploadPart.Request partRequest = request.copyTo(UploadPart.Request.builder())
+                .uploadId(uploadId)
+                .partNumber(number)
+                .contentLength(length);
+
+        storage.uploadPart(partRequest, Single.just(DataChunk.create(ByteBuffer.wrap(data, 0, length))))
+                .toStage()
+                .whenComplete((response, throwable) -> partDone(number, response, throwable));
+        return true;
+    }
+
+    // copy the current chunk into parts, stops when the maximal number of parts is being uploaded
+    private void drain() {
+        while (true) {
+            if (current == null || !current.hasRemaining()) {
+                if (chunkIndex == chunkData.length) {
+                    break;
+                }
+                current = chunkData[chunkIndex++].duplicate();
+                continue;
+            }
+            if (buffer == null) {
+                buffer = new byte[partSize];
+            }
+            int length = Math.min(current.remaining(), partSize - position);
+            current.get(buffer, position, length);
+            position += length;
+            if (position == partSize) {
+                if (!uploadPart()) {
+                    releaseChunk();
+                    return;
+                }
+                if (pause()) {
+                    // resumed by partDone
+                    return;
+                }
+            }
+        }
+        releaseChunk();
+        chunkDone();
+    }
+
+    // the chunk is consumed, request more data or finish the upload once there is a free slot for a part
+    private void chunkDone() {
+        boolean finish;
+        synchronized (this) {
+            if (terminated) {
+                return;
+            }
+            if (inFlight >= parallelism) {
+                // resumed by partDone
+                paused = true;
+                return;
+            }
+            finish = completed;
+            draining = finish;
+        }
+        if (finish) {
+            finish();
+        } else {
+            subscription.request(1);
+        }
+    }
+
+    // whether to stop copying, to wait for a part to be uploaded (or because the upload is terminated)
+    private boolean pause() {
+        synchronized (this) {
+            if (!terminated) {
+                if (inFlight >= parallelism) {
+                    paused = true;
+                    return true;
+                }
+                return false;
+            }
+        }
+        releaseChunk();
+        return true;
+    }
+
+    private void resume() {
+        if (chunk == null) {
+            chunkDone();
+        } else {
+            drain();
+        }
+    }
+
+    private void releaseChunk() {
+        DataChunk toRelease = chunk;
+        chunk = null;
+        chunkData = null;
+        current = null;
+        if (toRelease != null) {
+            toRelease.release();
+        }
+    }
+
+    private void partDone(int number, UploadPart.Response response, Throwable throwable) {
+        if (throwable != null) {
+            fail(throwable);
+            return;
+        }
+        boolean resume;
+        boolean commit;
+        synchronized (this) {
+            eTags.put(number, response.eTag());
+            inFlight--;
+            resume = paused && !terminated;
+            paused = false;
+            commit = completed && !draining && inFlight == 0 && !terminated;
+            terminated = terminated || commit;
+        }
+        if (resume) {
+            resume();
+        }
+        if (commit) {
+            commit();
+        }
+    }
+
+    private void commit() {
+        CommitMultipartUpload.Request commitRequest = request.copyTo(CommitMultipartUpload.Request.builder())
+                .uploadId(uploadId);
+        synchronized (this) {
+            eTags.forEach(commitRequest::addPart);
+        }
+        storage.commitMultipartUpload(commitRequest)
+                .toStage()
+                .whenComplete((response, throwable) -> {
+                    if (throwable == null) {
+                        result.complete(response);
+                    } else {
+                        abort(throwable);
+                    }
+                });
+    }
+
+    private void fail(Throwable throwable) {
+        boolean wasPaused;
+        synchronized (this) {
+            if (terminated) {
+                return;
+            }
+            terminated = true;
+            wasPaused = paused;
+            paused = false;
+        }
+        if (wasPaused) {
+            // nobody else owns the chunk while paused
+            releaseChunk();
+        }
+        if (subscription != null) {
+            subscription.cancel();
+        }
+        abort(throwable);
+    }
+
+    private void abort(Throwable throwable) {
+        storage.abortMultipartUpload(request.copyTo(AbortMultipartUpload.Request.builder()).uploadId(uploadId))
+                .toStage()
+                .whenComplete((response, abortThrowable) -> {
+                    if (abortThrowable != null) {
+                        throwable.addSuppressed(abortThrowable);
+                    }
+                    result.completeExceptionally(throwable);
+                });
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -99,4 +99,21 @@ public abstract class ObjectRequest<T extends ObjectRequest<T>> extends OciReque
         }
         return objectName;
     }
+
+    /**
+     * Copy the object location (namespace, bucket, object name and endpoint) of this request
+     * to another request.
+     *
+     * @param other request to update
+     * @param <R> type of the other request
+     * @return updated other request
+     */
+    <R extends ObjectRequest<R>> R copyTo(R other) {
+        if (namespace != null) {
+            other.namespace(namespace);
+        }
+        endpoint().ifPresent(other::endpoint);
+        return other.bucket(bucket())
+                .objectName(objectName());
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package io.helidon.integrations.oci.objectstorage;
 
 import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
 
 import io.helidon.integrations.common.rest.ApiOptionalResponse;
 
@@ -79,4 +80,25 @@ public interface OciObjectStorage {
      * @return future with response or error
      */
     ApiOptionalResponse<GetBucket.Response> getBucket(GetBucket.Request request);
+
+    /**
+     * Creates a new object or overwrites an existing object with the same name using a multipart upload,
+     * with parts uploaded in parallel.
+     *
+     * @param request parallel upload request
+     * @param channel to read data from
+     * @return response or error
+     * @see OciObjectStorageRx#parallelUpload(ParallelUpload.Request, java.util.concurrent.Flow.Publisher)
+     */
+    CommitMultipartUpload.Response parallelUpload(ParallelUpload.Request request, ReadableByteChannel channel);
+
+    /**
+     * Gets the body of an object using ranged requests executed in parallel, and writes it to a file.
+     *
+     * @param request parallel download request
+     * @param file file to write the object to, created or truncated
+     * @return response containing the number of bytes written (empty if the object does not exist)
+     * @see OciObjectStorageRx#parallelDownload(ParallelDownload.Request, java.nio.file.Path)
+     */
+    ApiOptionalResponse<Long> parallelDownload(ParallelDownload.Request request, Path file);
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package io.helidon.integrations.oci.objectstorage;
 
 import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
 
 import io.helidon.common.http.DataChunk;
 import io.helidon.common.reactive.IoMulti;
@@ -58,4 +59,16 @@ class OciObjectStorageImpl implements OciObjectStorage {
         return delegate.getBucket(request)
                 .await();
     }
+
+    @Override
+    public CommitMultipartUpload.Response parallelUpload(ParallelUpload.Request request, ReadableByteChannel channel) {
+        return delegate.parallelUpload(request, IoMulti.multiFromByteChannel(channel).map(DataChunk::create))
+                .await();
+    }
+
+    @Override
+    public ApiOptionalResponse<Long> parallelDownload(ParallelDownload.Request request, Path file) {
+        return delegate.parallelDownload(request, file)
+                .await();
+    }
 }
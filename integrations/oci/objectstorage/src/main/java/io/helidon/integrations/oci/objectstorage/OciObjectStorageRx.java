@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package io.helidon.integrations.oci.objectstorage;
 
+import java.nio.file.Path;
 import java.util.Optional;
 import java.util.concurrent.Flow;
 import java.util.function.Consumer;
@@ -116,6 +117,74 @@ public interface OciObjectStorageRx {
      */
     Single<ApiOptionalResponse<GetBucket.Response>> getBucket(GetBucket.Request request);
 
+    /**
+     * Starts a new multipart upload to a specific object in the given bucket in the given namespace.
+     *
+     * @param request create multipart upload request
+     * @return future with response or error
+     */
+    Single<CreateMultipartUpload.Response> createMultipartUpload(CreateMultipartUpload.Request request);
+
+    /**
+     * Uploads a single part of a multipart upload.
+     *
+     * @param request upload part request
+     * @param publisher publisher of part's data
+     * @return future with response (containing the entity tag of the part) or error
+     */
+    Single<UploadPart.Response> uploadPart(UploadPart.Request request, Flow.Publisher<DataChunk> publisher);
+
+    /**
+     * Commits a multipart upload, which involves checking part numbers and entity tags of the parts, to create
+     * an aggregate object.
+     *
+     * @param request commit multipart upload request
+     * @return future with response or error
+     */
+    Single<CommitMultipartUpload.Response> commitMultipartUpload(CommitMultipartUpload.Request request);
+
+    /**
+     * Aborts an in-progress multipart upload and deletes all parts that have been uploaded.
+     *
+     * @param request abort multipart upload request
+     * @return future with response or error
+     */
+    Single<AbortMultipartUpload.Response> abortMultipartUpload(AbortMultipartUpload.Request request);
+
+    /**
+     * Creates a new object or overwrites an existing object with the same name using a multipart upload.
+     * The data is split into parts of {@link ParallelUpload.Request#partSize(int)} bytes, that are uploaded
+     * in parallel (at most {@link ParallelUpload.Request#parallelism(int)} at a time), and committed once
+     * all parts are uploaded. If the upload fails, the multipart upload is aborted.
+     * Content length does not need to be known in advance.
+     *
+     * @param request parallel upload request
+     * @param publisher publisher of object's data
+     * @return future with response or error
+     */
+    Single<CommitMultipartUpload.Response> parallelUpload(ParallelUpload.Request request,
+                                                          Flow.Publisher<DataChunk> publisher);
+
+    /**
+     * Gets the body of an object using ranged requests executed in parallel.
+     * The data is published in order. The headers of the response are the headers of the first ranged request.
+     *
+     * @param request parallel download request
+     * @return future with response or error
+     */
+    Single<ApiOptionalResponse<GetObjectRx.Response>> parallelDownload(ParallelDownload.Request request);
+
+    /**
+     * Gets the body of an object using ranged requests executed in parallel, and writes it to a file.
+     * Each range is written to its position in the file as it is received.
+     *
+     * @param request parallel download request
+     * @param file file to write the object to, created or truncated
+     * @return future with response containing the number of bytes written (empty if the object does not exist)
+     *      or error
+     */
+    Single<ApiOptionalResponse<Long>> parallelDownload(ParallelDownload.Request request, Path file);
+
     /**
      * Fluent API Builder for {@link io.helidon.integrations.oci.objectstorage.OciObjectStorageRx}.
      */
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 
 package io.helidon.integrations.oci.objectstorage;
 
+import java.nio.file.Path;
 import java.util.Optional;
 import java.util.concurrent.Flow;
 
@@ -103,6 +104,67 @@ class OciObjectStorageRxImpl implements OciObjectStorageRx {
                                    .entityProcessor(GetBucket.Response::create));
     }
 
+    @Override
+    public Single<CreateMultipartUpload.Response> createMultipartUpload(CreateMultipartUpload.Request request) {
+        String namespace = namespace(request);
+        String apiPath = "/n/" + namespace + "/b/" + request.bucket() + "/u";
+
+        objectStorage(request);
+
+        return restApi.invokeWithResponse(Http.Method.POST, apiPath, request, CreateMultipartUpload.Response.builder());
+    }
+
+    @Override
+    public Single<UploadPart.Response> uploadPart(UploadPart.Request request, Flow.Publisher<DataChunk> publisher) {
+        String namespace = namespace(request);
+        String apiPath = "/n/" + namespace + "/b/" + request.bucket() + "/u/" + request.objectName();
+
+        request.addQueryParam("uploadId", request.uploadId())
+                .addQueryParam("uploadPartNum", String.valueOf(request.partNumber()))
+                .addHeader("Content-Length", String.valueOf(request.contentLength()));
+        objectStorage(request);
+
+        return restApi.invokeBytesRequest(Http.Method.PUT, apiPath, request, publisher, UploadPart.Response.builder());
+    }
+
+    @Override
+    public Single<CommitMultipartUpload.Response> commitMultipartUpload(CommitMultipartUpload.Request request) {
+        String namespace = namespace(request);
+        String apiPath = "/n/" + namespace + "/b/" + request.bucket() + "/u/" + request.objectName();
+
+        request.addQueryParam("uploadId", request.uploadId());
+        objectStorage(request);
+
+        return restApi.post(apiPath, request, CommitMultipartUpload.Response.builder());
+    }
+
+    @Override
+    public Single<AbortMultipartUpload.Response> abortMultipartUpload(AbortMultipartUpload.Request request) {
+        String namespace = namespace(request);
+        String apiPath = "/n/" + namespace + "/b/" + request.bucket() + "/u/" + request.objectName();
+
+        request.addQueryParam("uploadId", request.uploadId());
+        objectStorage(request);
+
+        return restApi.delete(apiPath, request, AbortMultipartUpload.Response.builder());
+    }
+
+    @Override
+    public Single<CommitMultipartUpload.Response> parallelUpload(ParallelUpload.Request request,
+                                                                 Flow.Publisher<DataChunk> publisher) {
+        return MultipartUploader.upload(this, request, publisher);
+    }
+
+    @Override
+    public Single<ApiOptionalResponse<GetObjectRx.Response>> parallelDownload(ParallelDownload.Request request) {
+        return RangedDownloader.download(this, request);
+    }
+
+    @Override
+    public Single<ApiOptionalResponse<Long>> parallelDownload(ParallelDownload.Request request, Path file) {
+        return RangedDownloader.download(this, request, file);
+    }
+
     private String namespace(ObjectRequest<?> request) {
         return request.namespace()
                 .or(() -> defaultNamespace)
@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.integrations.oci.objectstorage;
+
+import java.util.Optional;
+
+import io.helidon.integrations.oci.connect.OciApiException;
+
+import jakarta.json.JsonBuilderFactory;
+import jakarta.json.JsonObject;
+
+/**
+ * Parallel download request. The object is downloaded using ranged requests executed in parallel.
+ *
+ * @see OciObjectStorageRx#parallelDownload(ParallelDownload.Request)
+ * @see OciObjectStorageRx#parallelDownload(ParallelDownload.Request, java.nio.file.Path)
+ */
+public final class ParallelDownload {
+    /**
+     * Default size of a part in bytes.
+     */
+    public static final int DEFAULT_PART_SIZE = 8 * 1024 * 1024;
+    /**
+     * Default number of parts downloaded in parallel.
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    private ParallelDownload() {
+    }
+
+    /**
+     * Request object. Can be configured with additional headers, query parameters etc.
+     */
+    public static class Request extends ObjectRequest<Request> {
+        private int partSize = DEFAULT_PART_SIZE;
+        private int parallelism = DEFAULT_PARALLELISM;
+
+        private Request() {
+        }
+
+        /**
+         * Fluent API builder for configuring a request.
+         * The request builder is passed as is, without a build method.
+         * The equivalent of a build method is {@link #toJson(jakarta.json.JsonBuilderFactory)}
+         * used by the {@link io.helidon.integrations.common.rest.RestApi}.
+         *
+         * @return new request builder
+         */
+        public static Request builder() {
+            return new Request();
+        }
+
+        /**
+         * Size of each requested range in bytes.
+         * When the object is reassembled in order, parts received ahead of the current one are buffered in memory.
+         * Defaults to {@value ParallelDownload#DEFAULT_PART_SIZE}.
+         *
+         * @param partSize part size in bytes
+         * @return updated request
+         */
+        public Request partSize(int partSize) {
+            if (partSize < 1) {
+                throw new OciApiException("Part size must be a positive number, but is " + partSize);
+            }
+            this.partSize = partSize;
+            return this;
+        }
+
+        /**
+         * Maximal number of ranges downloaded in parallel.
+         * Defaults to {@value ParallelDownload#DEFAULT_PARALLELISM}.
+         *
+         * @param parallelism number of parallel ranged requests
+         * @return updated request
+         */
+        public Request parallelism(int parallelism) {
+            if (parallelism < 1) {
+                throw new OciApiException("Parallelism must be a positive number, but is " + parallelism);
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Configured part size.
+         *
+         * @return part size in bytes
+         */
+        public int partSize() {
+            return partSize;
+        }
+
+        /**
+         * Configured parallelism.
+         *
+         * @return number of parallel ranged requests
+         */
+        public int parallelism() {
+            return parallelism;
+        }
+
+        @Override
+        public Optional<JsonObject> toJson(JsonBuilderFactory factory) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.integrations.oci.objectstorage;
+
+import java.util.Optional;
+
+import io.helidon.integrations.oci.connect.OciApiException;
+
+import jakarta.json.JsonBuilderFactory;
+import jakarta.json.JsonObject;
+
+/**
+ * Parallel upload request. The object is uploaded using a multipart upload, with parts uploaded in parallel.
+ * The response is a {@link CommitMultipartUpload.Response}.
+ *
+ * @see OciObjectStorageRx#parallelUpload(ParallelUpload.Request, java.util.concurrent.Flow.Publisher)
+ */
+public final class ParallelUpload {
+    /**
+     * Default size of a part in bytes.
+     */
+    public static final int DEFAULT_PART_SIZE = 16 * 1024 * 1024;
+    /**
+     * Default number of parts uploaded in parallel.
+     */
+    public static final int DEFAULT_PARALLELISM = 4;
+
+    private ParallelUpload() {
+    }
+
+    /**
+     * Request object. Can be configured with additional headers, query parameters etc.
+     */
+    public static class Request extends ObjectRequest<Request> {
+        private int partSize = DEFAULT_PART_SIZE;
+        private int parallelism = DEFAULT_PARALLELISM;
+
+        private Request() {
+        }
+
+        /**
+         * Fluent API builder for configuring a request.
+         * The request builder is passed as is, without a build method.
+         * The equivalent of a build method is {@link #toJson(jakarta.json.JsonBuilderFactory)}
+         * used by the {@link io.helidon.integrations.common.rest.RestApi}.
+         *
+         * @return new request builder
+         */
+        public static Request builder() {
+            return new Request();
+        }
+
+        /**
+         * Size of each part in bytes (except for the last part, that may be smaller).
+         * Each part is buffered in memory before it is uploaded. Object Storage requires
+         * parts (except for the last one) to be at least 10 MiB large.
+         * Defaults to {@value ParallelUpload#DEFAULT_PART_SIZE}.
+         *
+         * @param partSize part size in bytes
+         * @return updated request
+         */
+        public Request partSize(int partSize) {
+            if (partSize < 1) {
+                throw new OciApiException("Part size must be a positive number, but is " + partSize);
+            }
+            this.partSize = partSize;
+            return this;
+        }
+
+        /**
+         * Maximal number of parts uploaded in parallel. The memory used by the upload is limited
+         * to {@code (parallelism + 1) * partSize}, in addition to the data chunk being split into parts
+         * (no more data is requested until a part is uploaded, even if a single chunk spans multiple parts).
+         * Defaults to {@value ParallelUpload#DEFAULT_PARALLELISM}.
+         *
+         * @param parallelism number of parallel part uploads
+         * @return updated request
+         */
+        public Request parallelism(int parallelism) {
+            if (parallelism < 1) {
+                throw new OciApiException("Parallelism must be a positive number, but is " + parallelism);
+            }
+            this.parallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Configured part size.
+         *
+         * @return part size in bytes
+         */
+        public int partSize() {
+            return partSize;
+        }
+
+        /**
+         * Configured parallelism.
+         *
+         * @return number of parallel part uploads
+         */
+        public int parallelism() {
+            return parallelism;
+        }
+
+        @Override
+        public Optional<JsonObject> toJson(JsonBuilderFactory factory) {
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.integrations.oci.objectstorage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.reactive.Multi;
+import io.helidon.common.reactive.Single;
+import io.helidon.integrations.common.rest.ApiOptionalResponse;
+import io.helidon.integrations.oci.connect.OciApiException;
+
+/**
+ * Download of an object using ranged requests executed in parallel.
+ * The first range is requested alone, to find out the size (and entity tag) of the object from its
+ * {@code Content-Range} header. The remaining ranges are then requested in parallel, with an {@code If-Match}
+ * header, so all the ranges are guaranteed to belong to the same version of the object.
+ */
+final class RangedDownloader {
+    private static final Pattern CONTENT_RANGE = Pattern.compile("bytes (\\d+)-(\\d+)/(\\d+)");
+
+    private final OciObjectStorageRx storage;
+    private final ParallelDownload.Request request;
+    private final int partSize;
+    private final int parallelism;
+
+    private RangedDownloader(OciObjectStorageRx storage, ParallelDownload.Request request) {
+        this.storage = storage;
+        this.request = request;
+        this.partSize = request.partSize();
+        this.parallelism = request.parallelism();
+    }
+
+    /**
+     * Download the object and reassemble the ranges in order.
+     * At most {@code parallelism} ranges are requested at the same time, and ranges received ahead of the one
+     * being published are buffered.
+     */
+    static Single<ApiOptionalResponse<GetObjectRx.Response>> download(OciObjectStorageRx storage,
+                                                                      ParallelDownload.Request request) {
+        RangedDownloader downloader = new RangedDownloader(storage, request);
+        return downloader.firstPart()
+                .map(first -> first.map(it -> GetObjectRx.Response.create(downloader.publisher(first, it))));
+    }
+
+    /**
+     * Download the object to a file, using positional writes, so the ranges can be written in any order.
+     */
+    static Single<ApiOptionalResponse<Long>> download(OciObjectStorageRx storage,
+                                                      ParallelDownload.Request request,
+                                                      Path file) {
+        RangedDownloader downloader = new RangedDownloader(storage, request);
+        return downloader.firstPart()
+                .flatMapSingle(first -> {
+                    if (first.entity().isEmpty()) {
+                        return Single.just(first.map(it -> 0L));
+                    }
+                    return downloader.write(first, first.entity().get(), file)
+                            .map(written -> first.map(it -> written));
+                });
+    }
+
+    private Single<ApiOptionalResponse<GetObjectRx.Response>> firstPart() {
+        return storage.getObject(partRequest(0, partSize, null));
+    }
+
+    private Multi<DataChunk> publisher(ApiOptionalResponse<GetObjectRx.Response> first, GetObjectRx.Response entity) {
+        Optional<Range> range = range(first);
+        if (range.isEmpty() || range.get().parts == 1) {
+            return entity.publisher();
+        }
+        Range objectRange = range.get();
+        return Multi.defer(() -> {
+            // start requests of the following parts while the first one is being consumed
+            Window window = new Window(objectRange);
+            Multi<DataChunk> following = Multi.range(1, objectRange.parts - 1)
+                    .flatMapCompletionStage(window::take)
+                    .map(DataChunk::create);
+            return Multi.concat(entity.publisher(), following);
+        });
+    }
+
+    private Single<Long> write(ApiOptionalResponse<?> first, GetObjectRx.Response entity, Path file) {
+        FileChannel channel;
+        try {
+            channel = FileChannel.open(file,
+                                       StandardOpenOption.CREATE,
+                                       StandardOpenOption.WRITE,
+                                       StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            entity.publisher().forEach(DataChunk::release);
+            return Single.error(new OciApiException("Failed to open file " + file + " for download", e));
+        }
+        Optional<Range> range = range(first);
+        if (range.isEmpty()) {
+            return write(channel, 0, entity.publisher())
+                    .onTerminate(() -> close(channel));
+        }
+        Range objectRange = range.get();
+        return Multi.range(0, objectRange.parts)
+                .flatMap(part -> {
+                    Single<Long> written = (part == 0)
+                            ? write(channel, 0, entity.publisher())
+                            : storage.getObject(partRequest(objectRange.start(part), objectRange.length(part),
+                                                            objectRange.eTag))
+                                    .flatMapSingle(response -> write(channel,
+                                                                     objectRange.start(part),
+                                                                     publisher(response)));
+                    return written.map(length -> objectRange.checkLength(part, length));
+                }, parallelism, false, 1)
+                .reduce(() -> 0L, Long::sum)
+                .onTerminate(() -> close(channel));
+    }
+
+    private static Single<Long> write(FileChannel channel, long position, Multi<DataChunk> publisher) {
+        return publisher.reduce(() -> 0L, (written, chunk) -> {
+            try {
+                long offset = position + written;
+                for (ByteBuffer byteBuffer : chunk.data()) {
+                    ByteBuffer data = byteBuffer.duplicate();
+                    while (data.hasRemaining()) {
+                        offset += channel.write(data, offset);
+                    }
+                }
+                return offset - position;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                chunk.release();
+            }
+        });
+    }
+
+    private static void close(FileChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException ignored) {
+            // nothing to do, the download has already terminated
+        }
+    }
+
+    private static Multi<DataChunk> publisher(ApiOptionalResponse<GetObjectRx.Response> response) {
+        return response.entity()
+                .map(GetObjectRx.Response::publisher)
+                .orElseGet(() -> Multi.error(new OciApiException("Object is no longer available")));
+    }
+
+    private GetObject.Request partRequest(long start, long length, String eTag) {
+        GetObject.Request partRequest = request.copyTo(GetObject.Request.builder());
+        request.headers().forEach((name, values) -> partRequest.addHeader(name, values.toArray(new String[0])));
+        request.queryParams().forEach((name, values) -> partRequest.addQueryParam(name, values.toArray(new String[0])));
+        partRequest.addHeader("Range", "bytes=" + start + "-" + (start + length - 1));
+        if (eTag != null) {
+            partRequest.addHeader("If-Match", eTag);
+        }
+        return partRequest;
+    }
+
+    private Optional<Range> range(ApiOptionalResponse<?> response) {
+        return response.headers()
+                .first("Content-Range")
+                .map(CONTENT_RANGE::matcher)
+                .filter(Matcher::matches)
+                .map(matcher -> new Range(Long.parseLong(matcher.group(3)),
+                                          partSize,
+                                          response.headers().first("ETag").orElse(null)));
+    }
+
+    private static final class Range {
+        private final long size;
+        private final int partSize;
+        private final int parts;
+        private final String eTag;
+
+        private Range(long size, int partSize, String eTag) {
+            this.size = size;
+            this.partSize = partSize;
+            this.parts = (int) Math.max(1, (size + partSize - 1) / partSize);
+            this.eTag = eTag;
+        }
+
+        private long start(int part) {
+            return (long) part * partSize;
+        }
+
+        private long length(int part) {
+            return Math.min(size - start(part), partSize);
+        }
+
+        private long checkLength(int part, long length) {
+            if (length != length(part)) {
+                throw new OciApiException("Received " + length + " bytes for part " + part
+                                                  + ", expected " + length(part));
+            }
+            return length;
+        }
+    }
+
+    /**
+     * Parts requested ahead of the part being published.
+     */
+    private final class Window {
+        private final Map<Integer, CompletionStage<byte[]>> started = new HashMap<>();
+        private final Range range;
+        private int next = 1;
+
+        private Window(Range range) {
+            this.range = range;
+            // the first part is in progress
+            fill(parallelism - 1);
+        }
+
+        synchronized CompletionStage<byte[]> take(int part) {
+            fill(part + parallelism - 1);
+            return started.remove(part);
+        }
+
+        private void fill(int last) {
+            while (next <= last && next < range.parts) {
+                started.put(next, fetch(next));
+                next++;
+            }
+        }
+
+        private CompletionStage<byte[]> fetch(int part) {
+            return storage.getObject(partRequest(range.start(part), range.length(part), range.eTag))
+                    .flatMapSingle(response -> publisher(response)
+                            .collect(ByteArrayOutputStream::new, (out, chunk) -> {
+                                try {
+                                    out.writeBytes(chunk.bytes());
+                                } finally {
+                                    chunk.release();
+                                }
+                            }))
+                    .map(out -> {
+                        range.checkLength(part, out.size());
+                        return out.toByteArray();
+                    })
+                    .toStage();
+        }
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.integrations.oci.objectstorage;
+
+import java.util.Optional;
+
+import io.helidon.integrations.common.rest.ApiResponse;
+import io.helidon.integrations.oci.connect.OciApiException;
+
+import jakarta.json.JsonBuilderFactory;
+import jakarta.json.JsonObject;
+
+/**
+ * Upload part request and response.
+ */
+public final class UploadPart {
+    private UploadPart() {
+    }
+
+    /**
+     * Request object. Can be configured with additional headers, query parameters etc.
+     */
+    public static class Request extends ObjectRequest<Request> {
+        private String uploadId;
+        private Integer partNumber;
+        private Long contentLength;
+
+        private Request() {
+        }
+
+        /**
+         * Fluent API builder for configuring a request.
+         * The request builder is passed as is, without a build method.
+         * The equivalent of a build method is {@link #toJson(jakarta.json.JsonBuilderFactory)}
+         * used by the {@link io.helidon.integrations.common.rest.RestApi}.
+         *
+         * @return new request builder
+         */
+        public static Request builder() {
+            return new Request();
+        }
+
+        /**
+         * The upload ID of the multipart upload, as returned by {@link CreateMultipartUpload.Response#uploadId()}.
+         * Required.
+         *
+         * @param uploadId upload ID
+         * @return updated request
+         */
+        public Request uploadId(String uploadId) {
+            this.uploadId = uploadId;
+            return this;
+        }
+
+        /**
+         * The part number, from {@code 1} to {@code 10000}.
+         * Required.
+         *
+         * @param partNumber part number
+         * @return updated request
+         */
+        public Request partNumber(int partNumber) {
+            this.partNumber = partNumber;
+            return this;
+        }
+
+        /**
+         * The content length of the part (number of bytes in the request entity).
+         * Required.
+         *
+         * @param contentLength content length
+         * @return updated request
+         */
+        public Request contentLength(long contentLength) {
+            this.contentLength = contentLength;
+            return this;
+        }
+
+        /**
+         * Upload ID configured on this request.
+         *
+         * @return upload ID, must be present
+         */
+        public String uploadId() {
+            if (uploadId == null) {
+                throw new OciApiException("Upload ID must be defined for UploadPart request.");
+            }
+            return uploadId;
+        }
+
+        /**
+         * Part number configured on this request.
+         *
+         * @return part number, must be present
+         */
+        public int partNumber() {
+            if (partNumber == null) {
+                throw new OciApiException("Part number must be defined for UploadPart request.");
+            }
+            return partNumber;
+        }
+
+        /**
+         * Content length configured on this request.
+         *
+         * @return content length, must be present
+         */
+        public long contentLength() {
+            if (contentLength == null) {
+                throw new OciApiException("Content-Length must be defined for UploadPart request.");
+            }
+            return contentLength;
+        }
+
+        @Override
+        public Optional<JsonObject> toJson(JsonBuilderFactory factory) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Response object for responses without an entity.
+     */
+    public static final class Response extends ApiResponse {
+        private final String eTag;
+
+        private Response(Builder builder) {
+            super(builder);
+            this.eTag = builder.headers()
+                    .first("ETag")
+                    .orElseThrow(() -> new OciApiException("UploadPart response does not contain an ETag header."));
+        }
+
+        static Builder builder() {
+            return new Builder();
+        }
+
+        /**
+         * Entity tag of the uploaded part, required to commit the multipart upload.
+         *
+         * @return entity tag
+         */
+        public String eTag() {
+            return eTag;
+        }
+
+        static final class Builder extends ApiResponse.Builder<Builder, Response> {
+            private Builder() {
+            }
+
+            @Override
+            public Response build() {
+                return new Response(this);
+            }
+        }
+    }
+}
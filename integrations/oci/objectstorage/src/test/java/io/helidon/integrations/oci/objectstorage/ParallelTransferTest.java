@@ -0,0 +1,394 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.integrations.oci.objectstorage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.Http;
+import io.helidon.common.http.MediaType;
+import io.helidon.common.reactive.Multi;
+import io.helidon.integrations.common.rest.ApiOptionalResponse;
+import io.helidon.integrations.oci.connect.OciConfigProfile;
+import io.helidon.integrations.oci.connect.OciRestApi;
+import io.helidon.webserver.Routing;
+import io.helidon.webserver.ServerRequest;
+import io.helidon.webserver.ServerResponse;
+import io.helidon.webserver.Service;
+import io.helidon.webserver.WebServer;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import jakarta.json.JsonValue;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test for {@link OciObjectStorageRx#parallelUpload(ParallelUpload.Request, java.util.concurrent.Flow.Publisher)}
+ * and {@link OciObjectStorageRx#parallelDownload(ParallelDownload.Request)}, using a stub Object Storage server.
+ */
+class ParallelTransferTest {
+    private static final int SIZE = 10_000;
+    private static final int PART_SIZE = 1024;
+    private static final int PARTS = 10;
+
+    private static StubObjectStorage stub;
+    private static WebServer webServer;
+    private static OciObjectStorageRx objectStorage;
+
+    @BeforeAll
+    static void initClass() throws NoSuchAlgorithmException {
+        stub = new StubObjectStorage();
+        webServer = WebServer.builder()
+                .host("localhost")
+                .routing(Routing.builder().register(stub))
+                .build()
+                .start()
+                .await(10, TimeUnit.SECONDS);
+
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+
+        OciConfigProfile profile = OciConfigProfile.builder()
+                .userOcid("ocid1.user.oc1..test")
+                .tenancyOcid("ocid1.tenancy.oc1..test")
+                .keyFingerprint("00:11:22:33:44:55:66:77:88:99:aa:bb:cc:dd:ee:ff")
+                .region("us-phoenix-1")
+                .privateKey((RSAPrivateKey) generator.generateKeyPair().getPrivate())
+                .build();
+
+        objectStorage = OciObjectStorageRx.builder()
+                .restApi(OciRestApi.builder()
+                                 .configProvider(profile)
+                                 .build())
+                .endpoint("http://localhost:" + webServer.port())
+                .namespace("namespace")
+                .build();
+    }
+
+    @AfterAll
+    static void destroyClass() {
+        if (webServer != null) {
+            webServer.shutdown().await(10, TimeUnit.SECONDS);
+        }
+        stub.delays.shutdownNow();
+    }
+
+    @BeforeEach
+    void resetStub() {
+        stub.reset();
+    }
+
+    @Test
+    void testParallelUpload() {
+        byte[] data = data();
+
+        CommitMultipartUpload.Response response = objectStorage.parallelUpload(uploadRequest("uploaded"), chunks(data, 700))
+                .await(10, TimeUnit.SECONDS);
+
+        assertThat(response.status(), is(Http.Status.OK_200));
+        assertThat(stub.objects.get("uploaded"), is(data));
+        assertThat(stub.uploadedParts.get(), is(PARTS));
+        assertThat(stub.aborted.isEmpty(), is(true));
+    }
+
+    @Test
+    void testParallelUploadSingleChunk() {
+        byte[] data = data();
+
+        // one chunk spanning all parts still uploads at most parallelism parts at a time
+        objectStorage.parallelUpload(uploadRequest("single-chunk"), chunks(data, SIZE))
+                .await(10, TimeUnit.SECONDS);
+
+        assertThat(stub.objects.get("single-chunk"), is(data));
+        assertThat(stub.uploadedParts.get(), is(PARTS));
+        assertThat(stub.maxPartsInFlight.get(), is(lessThanOrEqualTo(3)));
+    }
+
+    @Test
+    void testParallelUploadCompletedWhilePaused() {
+        byte[] data = data();
+        stub.partDelayMillis = 100;
+
+        // the publisher completes right after the single chunk, while the uploader waits for parts to be uploaded
+        objectStorage.parallelUpload(uploadRequest("completed-paused"), chunks(data, SIZE))
+                .await(10, TimeUnit.SECONDS);
+
+        assertThat(stub.objects.get("completed-paused"), is(data));
+        assertThat(stub.uploadedParts.get(), is(PARTS));
+    }
+
+    @Test
+    void testParallelUploadEmpty() {
+        objectStorage.parallelUpload(uploadRequest("empty"), Multi.empty())
+                .await(10, TimeUnit.SECONDS);
+
+        assertThat(stub.objects.get("empty"), is(new byte[0]));
+        assertThat(stub.uploadedParts.get(), is(1));
+    }
+
+    @Test
+    void testParallelUploadAborted() {
+        stub.failedPart = 3;
+
+        assertThrows(CompletionException.class,
+                     () -> objectStorage.parallelUpload(uploadRequest("failed"), chunks(data(), 700))
+                             .await(10, TimeUnit.SECONDS));
+
+        assertThat(stub.objects.containsKey("failed"), is(false));
+        assertThat(stub.aborted.size(), is(1));
+    }
+
+    @Test
+    void testParallelDownload() {
+        byte[] data = data();
+        stub.objects.put("downloaded", data);
+
+        ApiOptionalResponse<GetObjectRx.Response> response = objectStorage.parallelDownload(downloadRequest("downloaded"))
+                .await(10, TimeUnit.SECONDS);
+
+        byte[] downloaded = response.entity()
+                .orElseThrow()
+                .publisher()
+                .collect(ByteArrayOutputStream::new, (out, chunk) -> {
+                    out.writeBytes(chunk.bytes());
+                    chunk.release();
+                })
+                .await(10, TimeUnit.SECONDS)
+                .toByteArray();
+
+        assertThat(downloaded, is(data));
+        assertThat(stub.rangeRequests.get(), is(PARTS));
+    }
+
+    @Test
+    void testParallelDownloadToFile(@TempDir Path tempDir) throws IOException {
+        byte[] data = data();
+        stub.objects.put("downloaded", data);
+        Path file = tempDir.resolve("downloaded");
+
+        ApiOptionalResponse<Long> response = objectStorage.parallelDownload(downloadRequest("downloaded"), file)
+                .await(10, TimeUnit.SECONDS);
+
+        assertThat(response.entity(), is(Optional.of((long) SIZE)));
+        assertThat(Files.readAllBytes(file), is(data));
+        assertThat(stub.rangeRequests.get(), is(PARTS));
+    }
+
+    @Test
+    void testParallelDownloadNotFound(@TempDir Path tempDir) {
+        ApiOptionalResponse<Long> response = objectStorage.parallelDownload(downloadRequest("missing"),
+                                                                            tempDir.resolve("missing"))
+                .await(10, TimeUnit.SECONDS);
+
+        assertThat(response.entity(), is(Optional.empty()));
+        assertThat(Files.exists(tempDir.resolve("missing")), is(false));
+    }
+
+    private static ParallelUpload.Request uploadRequest(String objectName) {
+        return ParallelUpload.Request.builder()
+                .bucket("bucket")
+                .objectName(objectName)
+                .partSize(PART_SIZE)
+                .parallelism(3);
+    }
+
+    private static ParallelDownload.Request downloadRequest(String objectName) {
+        return ParallelDownload.Request.builder()
+                .bucket("bucket")
+                .objectName(objectName)
+                .partSize(PART_SIZE)
+                .parallelism(3);
+    }
+
+    private static byte[] data() {
+        byte[] data = new byte[SIZE];
+        for (int i = 0; i < data.length; i++) {
+            data[i] = (byte) i;
+        }
+        return data;
+    }
+
+    private static Multi<DataChunk> chunks(byte[] data, int chunkSize) {
+        List<DataChunk> chunks = new ArrayList<>();
+        for (int i = 0; i < data.length; i += chunkSize) {
+            byte[] chunk = new byte[Math.min(chunkSize, data.length - i)];
+            System.arraycopy(data, i, chunk, 0, chunk.length);
+            chunks.add(DataChunk.create(chunk));
+        }
+        return Multi.create(chunks);
+    }
+
+    private static final class StubObjectStorage implements Service {
+        private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+        private final Map<String, String> uploadObjects = new ConcurrentHashMap<>();
+        private final Map<String, Map<Integer, byte[]>> uploads = new ConcurrentHashMap<>();
+        private final Set<String> aborted = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger uploadIds = new AtomicInteger();
+        private final AtomicInteger uploadedParts = new AtomicInteger();
+        private final AtomicInteger rangeRequests = new AtomicInteger();
+        private final AtomicInteger partsInFlight = new AtomicInteger();
+        private final AtomicInteger maxPartsInFlight = new AtomicInteger();
+        private final ScheduledExecutorService delays = Executors.newSingleThreadScheduledExecutor();
+        private volatile int failedPart = -1;
+        private volatile long partDelayMillis;
+
+        @Override
+        public void update(Routing.Rules rules) {
+            rules.post("/n/{namespace}/b/{bucket}/u", this::create)
+                    .put("/n/{namespace}/b/{bucket}/u/{object}", this::uploadPart)
+                    .post("/n/{namespace}/b/{bucket}/u/{object}", this::commit)
+                    .delete("/n/{namespace}/b/{bucket}/u/{object}", this::abort)
+                    .get("/n/{namespace}/b/{bucket}/o/{object}", this::get);
+        }
+
+        private void reset() {
+            objects.clear();
+            uploadObjects.clear();
+            uploads.clear();
+            aborted.clear();
+            uploadedParts.set(0);
+            rangeRequests.set(0);
+            maxPartsInFlight.set(0);
+            failedPart = -1;
+            partDelayMillis = 0;
+        }
+
+        private void create(ServerRequest req, ServerResponse res) {
+            req.content().as(String.class).forSingle(content -> {
+                String uploadId = "upload-" + uploadIds.incrementAndGet();
+                uploadObjects.put(uploadId, json(content).getString("object"));
+                uploads.put(uploadId, new ConcurrentHashMap<>());
+                res.headers().contentType(MediaType.APPLICATION_JSON);
+                res.send("{\"uploadId\": \"" + uploadId + "\"}");
+            });
+        }
+
+        private void uploadPart(ServerRequest req, ServerResponse res) {
+            String uploadId = req.queryParams().first("uploadId").orElseThrow();
+            int partNumber = Integer.parseInt(req.queryParams().first("uploadPartNum").orElseThrow());
+            maxPartsInFlight.accumulateAndGet(partsInFlight.incrementAndGet(), Math::max);
+            req.content().as(byte[].class).forSingle(content -> {
+                partsInFlight.decrementAndGet();
+                if (partNumber == failedPart) {
+                    error(res, Http.Status.INTERNAL_SERVER_ERROR_500);
+                    return;
+                }
+                uploads.get(uploadId).put(partNumber, content);
+                uploadedParts.incrementAndGet();
+                res.headers().add("ETag", "etag-" + partNumber);
+                if (partDelayMillis > 0) {
+                    delays.schedule(() -> res.send(), partDelayMillis, TimeUnit.MILLISECONDS);
+                } else {
+                    res.send();
+                }
+            });
+        }
+
+        private void commit(ServerRequest req, ServerResponse res) {
+            String uploadId = req.queryParams().first("uploadId").orElseThrow();
+            req.content().as(String.class).forSingle(content -> {
+                Map<Integer, byte[]> parts = uploads.remove(uploadId);
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                int expectedPart = 1;
+                for (JsonValue value : json(content).getJsonArray("partsToCommit")) {
+                    JsonObject part = value.asJsonObject();
+                    int partNumber = part.getInt("partNum");
+                    if (partNumber != expectedPart++ || !part.getString("etag").equals("etag-" + partNumber)) {
+                        error(res, Http.Status.BAD_REQUEST_400);
+                        return;
+                    }
+                    out.writeBytes(parts.get(partNumber));
+                }
+                objects.put(uploadObjects.remove(uploadId), out.toByteArray());
+                res.send();
+            });
+        }
+
+        private void abort(ServerRequest req, ServerResponse res) {
+            String uploadId = req.queryParams().first("uploadId").orElseThrow();
+            uploads.remove(uploadId);
+            aborted.add(uploadId);
+            res.status(Http.Status.NO_CONTENT_204).send();
+        }
+
+        private void get(ServerRequest req, ServerResponse res) {
+            byte[] object = objects.get(req.path().param("object"));
+            if (object == null) {
+                error(res, Http.Status.NOT_FOUND_404);
+                return;
+            }
+            String eTag = "object-etag";
+            Optional<String> ifMatch = req.headers().first("If-Match");
+            if (ifMatch.isPresent() && !ifMatch.get().equals(eTag)) {
+                error(res, Http.Status.PRECONDITION_FAILED_412);
+                return;
+            }
+            res.headers().add("ETag", eTag);
+            Optional<String> range = req.headers().first("Range");
+            if (range.isEmpty()) {
+                res.send(object);
+                return;
+            }
+            rangeRequests.incrementAndGet();
+            String[] bounds = range.get().substring("bytes=".length()).split("-");
+            int start = Integer.parseInt(bounds[0]);
+            int end = Math.min(Integer.parseInt(bounds[1]), object.length - 1);
+            byte[] content = new byte[end - start + 1];
+            System.arraycopy(object, start, content, 0, content.length);
+            res.status(Http.Status.PARTIAL_CONTENT_206);
+            res.headers().add("Content-Range", "bytes " + start + "-" + end + "/" + object.length);
+            res.send(content);
+        }
+
+        private static void error(ServerResponse res, Http.Status status) {
+            res.status(status);
+            res.headers().contentType(MediaType.APPLICATION_JSON);
+            res.send("{\"code\": \"" + status.reasonPhrase() + "\", \"message\": \"Stub error\"}");
+        }
+
+        private static JsonObject json(String content) {
+            return Json.createReader(new StringReader(content)).readObject();
+        }
+    }
+}
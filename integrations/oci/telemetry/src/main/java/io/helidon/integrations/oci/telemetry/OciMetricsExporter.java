@@ -0,0 +1,645 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.integrations.oci.telemetry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.helidon.common.reactive.Multi;
+import io.helidon.common.reactive.Single;
+import io.helidon.config.Config;
+import io.helidon.faulttolerance.Retry;
+import io.helidon.integrations.oci.connect.OciApiException;
+import io.helidon.metrics.api.RegistryFactory;
+
+import org.eclipse.microprofile.metrics.ConcurrentGauge;
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.Gauge;
+import org.eclipse.microprofile.metrics.Histogram;
+import org.eclipse.microprofile.metrics.Meter;
+import org.eclipse.microprofile.metrics.Metric;
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.SimpleTimer;
+import org.eclipse.microprofile.metrics.Snapshot;
+import org.eclipse.microprofile.metrics.Tag;
+import org.eclipse.microprofile.metrics.Timer;
+
+/**
+ * Periodic export of Helidon metrics registries to OCI Monitoring.
+ * <p>
+ * On each cycle, the registries are read and each metric is converted to one or more data points:
+ * <ul>
+ *     <li>counters and meters - number of events since the previous cycle</li>
+ *     <li>gauges and concurrent gauges - current value</li>
+ *     <li>histograms and timers - number of events since the previous cycle ({@code _count}), mean and max
+ *          of the current snapshot ({@code _mean}, {@code _max}); timers also report the elapsed time since the
+ *          previous cycle in seconds ({@code _elapsedTime})</li>
+ * </ul>
+ * Data points are packed into {@link PostMetricData.Request requests} of at most {@value #MAX_BATCH_SIZE}
+ * metric data and sent asynchronously, retrying with exponential backoff.
+ * The mapping of each {@link org.eclipse.microprofile.metrics.MetricID} to the OCI metric name and dimensions is
+ * computed once and kept for as long as the metric is registered.
+ * <p>
+ * The exporter only reads the values of registered metrics, so the code recording the metrics is not affected.
+ * If the previous cycle is still being sent, a cycle is skipped; counter deltas are then reported
+ * by the next cycle. Counter deltas are only considered reported once the request containing them is sent,
+ * so the deltas of a request that fails (after retries) are included in the next cycle.
+ */
+public final class OciMetricsExporter {
+    /**
+     * Maximal number of metric data in a single post metric data request.
+     */
+    public static final int MAX_BATCH_SIZE = 50;
+
+    private static final Logger LOGGER = Logger.getLogger(OciMetricsExporter.class.getName());
+    private static final int MAX_DIMENSIONS = 20;
+    private static final int MAX_DIMENSION_LENGTH = 256;
+    private static final int MAX_PARALLEL_REQUESTS = 4;
+
+    private final Map<MetricRegistry.Type, Map<MetricID, Mapping>> mappings = new EnumMap<>(MetricRegistry.Type.class);
+    private final AtomicBoolean exporting = new AtomicBoolean();
+    private final OciMetricsRx metrics;
+    private final RegistryFactory registryFactory;
+    private final Set<MetricRegistry.Type> scopes;
+    private final String compartmentId;
+    private final String namespace;
+    private final String resourceGroup;
+    private final Duration interval;
+    private final int batchSize;
+    private final Retry retry;
+    private final ScheduledExecutorService executor;
+    private final boolean ownExecutor;
+
+    private long cycle;
+    private ScheduledFuture<?> task;
+
+    private OciMetricsExporter(Builder builder) {
+        this.metrics = builder.metrics;
+        this.registryFactory = builder.registryFactory;
+        this.scopes = builder.scopes;
+        this.compartmentId = builder.compartmentId;
+        this.namespace = builder.namespace;
+        this.resourceGroup = builder.resourceGroup;
+        this.interval = builder.interval;
+        this.batchSize = builder.batchSize;
+        this.ownExecutor = builder.executor == null;
+        this.executor = ownExecutor
+                ? Executors.newSingleThreadScheduledExecutor(OciMetricsExporter::exporterThread)
+                : builder.executor;
+        this.retry = Retry.builder()
+                .name("oci-metrics-exporter")
+                .scheduledExecutor(executor)
+                .retryPolicy(Retry.DelayingRetryPolicy.builder()
+                                     .calls(builder.retries + 1)
+                                     .delay(builder.retryDelay)
+                                     .delayFactor(2)
+                                     .build())
+                .overallTimeout(interval)
+                .build();
+    }
+
+    /**
+     * A new fluent API builder.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Start exporting metrics, each cycle after the configured interval.
+     *
+     * @return this exporter
+     */
+    public synchronized OciMetricsExporter start() {
+        if (task == null) {
+            long millis = interval.toMillis();
+            task = executor.scheduleAtFixedRate(this::exportCycle, millis, millis, TimeUnit.MILLISECONDS);
+        }
+        return this;
+    }
+
+    /**
+     * Stop exporting metrics. Batches that are being sent are not interrupted.
+     */
+    public synchronized void stop() {
+        if (task != null) {
+            task.cancel(false);
+            task = null;
+        }
+        if (ownExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Export a single cycle now.
+     * The returned future completes once all batches are sent, or fails if any of the batches could not be sent
+     * (after retries).
+     *
+     * @return future completed when the cycle is exported
+     */
+    public Single<Void> export() {
+        if (!exporting.compareAndSet(false, true)) {
+            return Single.error(new OciApiException("Previous metrics export is still in progress"));
+        }
+        List<Batch> batches;
+        try {
+            batches = snapshot(Instant.now());
+        } catch (RuntimeException e) {
+            exporting.set(false);
+            return Single.error(e);
+        }
+        return Multi.create(batches)
+                .flatMap(this::send, MAX_PARALLEL_REQUESTS, true, 1)
+                .onTerminate(() -> exporting.set(false))
+                .ignoreElements();
+    }
+
+    private void exportCycle() {
+        if (exporting.get()) {
+            LOGGER.fine("Previous metrics export is still in progress, skipping this cycle");
+            return;
+        }
+        export().whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                LOGGER.log(Level.WARNING, "Failed to export metrics to OCI", throwable);
+            }
+        });
+    }
+
+    private Single<PostMetricData.Response> send(Batch batch) {
+        return retry.invoke(() -> metrics.postMetricData(batch.request))
+                .peek(response -> {
+                    // metrics rejected by OCI are not valid, sending them again would not help
+                    batch.commits.forEach(Runnable::run);
+                    if (response.failedMetricsCount() > 0 && LOGGER.isLoggable(Level.FINE)) {
+                        response.failedMetrics()
+                                .forEach(failed -> LOGGER.fine("Metric rejected by OCI: " + failed.message()));
+                    }
+                });
+    }
+
+    // only invoked by a single export at a time
+    private List<Batch> snapshot(Instant timestamp) {
+        long currentCycle = ++cycle;
+        Batches batches = new Batches(timestamp);
+        for (MetricRegistry.Type scope : scopes) {
+            MetricRegistry registry = registryFactory.getRegistry(scope);
+            Map<MetricID, Mapping> scopeMappings = mappings.computeIfAbsent(scope, it -> new HashMap<>());
+            for (Map.Entry<MetricID, Metric> entry : registry.getMetrics().entrySet()) {
+                Mapping mapping = scopeMappings.computeIfAbsent(entry.getKey(), id -> new Mapping(scope, id));
+                mapping.cycle = currentCycle;
+                mapping.export(entry.getValue(), batches);
+            }
+            // metrics removed from the registry
+            scopeMappings.values().removeIf(mapping -> mapping.cycle != currentCycle);
+        }
+        return batches.requests;
+    }
+
+    private static Thread exporterThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "oci-metrics-exporter");
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    private static String metricName(String name) {
+        StringBuilder result = new StringBuilder(name.length() + 1);
+        if (name.isEmpty() || !Character.isLetter(name.charAt(0))) {
+            result.append('m');
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            boolean valid = (c < 128 && Character.isLetterOrDigit(c)) || c == '.' || c == '_' || c == '-' || c == '$';
+            result.append(valid ? c : '_');
+        }
+        return result.toString();
+    }
+
+    private static String dimensionKey(String key) {
+        StringBuilder result = new StringBuilder(key.length());
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            boolean valid = c > ' ' && c < 127 && c != '.';
+            result.append(valid ? c : '_');
+        }
+        return truncate(result.toString());
+    }
+
+    private static String truncate(String value) {
+        return value.length() > MAX_DIMENSION_LENGTH ? value.substring(0, MAX_DIMENSION_LENGTH) : value;
+    }
+
+    /**
+     * A single request and the counter states to commit once it is sent.
+     */
+    private static final class Batch {
+        private final PostMetricData.Request request = PostMetricData.Request.builder();
+        private final List<Runnable> commits = new ArrayList<>();
+        private int size;
+    }
+
+    /**
+     * Requests of the current cycle.
+     */
+    private final class Batches {
+        private final List<Batch> requests = new ArrayList<>();
+        private final Instant timestamp;
+        private Batch current;
+
+        private Batches(Instant timestamp) {
+            this.timestamp = timestamp;
+        }
+
+        private void add(Mapping mapping, String name, double value) {
+            add(mapping, name, value, null);
+        }
+
+        private void add(Mapping mapping, String name, double value, Runnable commit) {
+            if (current == null || current.size == batchSize) {
+                current = new Batch();
+                requests.add(current);
+            }
+            PostMetricData.MetricData metricData = PostMetricData.MetricData.builder()
+                    .compartmentId(compartmentId)
+                    .namespace(namespace)
+                    .name(name)
+                    .addDataPoint(timestamp, value);
+            if (resourceGroup != null) {
+                metricData.resourceGroup(resourceGroup);
+            }
+            for (int i = 0; i < mapping.dimensionKeys.length; i++) {
+                metricData.addDimension(mapping.dimensionKeys[i], mapping.dimensionValues[i]);
+            }
+            current.request.addMetricData(metricData);
+            current.size++;
+            if (commit != null) {
+                current.commits.add(commit);
+            }
+        }
+    }
+
+    /**
+     * Mapping of a metric ID to OCI metric names and dimensions, and the state needed to compute deltas.
+     */
+    private static final class Mapping {
+        private final String name;
+        private final String countName;
+        private final String meanName;
+        private final String maxName;
+        private final String elapsedTimeName;
+        private final String[] dimensionKeys;
+        private final String[] dimensionValues;
+        private long cycle;
+        private long lastCount;
+        private long lastElapsedNanos;
+
+        private Mapping(MetricRegistry.Type scope, MetricID metricID) {
+            this.name = metricName(metricID.getName());
+            this.countName = name + "_count";
+            this.meanName = name + "_mean";
+            this.maxName = name + "_max";
+            this.elapsedTimeName = name + "_elapsedTime";
+
+            List<String> keys = new ArrayList<>();
+            List<String> values = new ArrayList<>();
+            keys.add("scope");
+            values.add(scope.getName().toLowerCase(Locale.ROOT));
+            for (Tag tag : metricID.getTagsAsArray()) {
+                if (keys.size() == MAX_DIMENSIONS) {
+                    break;
+                }
+                if (!tag.getTagName().isEmpty() && !tag.getTagValue().isEmpty()) {
+                    keys.add(dimensionKey(tag.getTagName()));
+                    values.add(truncate(tag.getTagValue()));
+                }
+            }
+            this.dimensionKeys = keys.toArray(new String[0]);
+            this.dimensionValues = values.toArray(new String[0]);
+        }
+
+        private void export(Metric metric, Batches batches) {
+            if (metric instanceof Counter) {
+                delta(batches, name, ((Counter) metric).getCount());
+            } else if (metric instanceof Meter) {
+                delta(batches, name, ((Meter) metric).getCount());
+            } else if (metric instanceof ConcurrentGauge) {
+                batches.add(this, name, ((ConcurrentGauge) metric).getCount());
+            } else if (metric instanceof Gauge) {
+                Object value = ((Gauge<?>) metric).getValue();
+                if (value instanceof Number) {
+                    batches.add(this, name, ((Number) value).doubleValue());
+                }
+            } else if (metric instanceof Histogram) {
+                Histogram histogram = (Histogram) metric;
+                delta(batches, countName, histogram.getCount());
+                snapshot(histogram.getSnapshot(), 1, batches);
+            } else if (metric instanceof Timer) {
+                Timer timer = (Timer) metric;
+                delta(batches, countName, timer.getCount());
+                elapsedDelta(batches, timer.getElapsedTime());
+                // timer snapshot values are in nanoseconds
+                snapshot(timer.getSnapshot(), 1e-9, batches);
+            } else if (metric instanceof SimpleTimer) {
+                SimpleTimer timer = (SimpleTimer) metric;
+                delta(batches, countName, timer.getCount());
+                elapsedDelta(batches, timer.getElapsedTime());
+            }
+        }
+
+        private void snapshot(Snapshot snapshot, double factor, Batches batches) {
+            batches.add(this, meanName, snapshot.getMean() * factor);
+            batches.add(this, maxName, snapshot.getMax() * factor);
+        }
+
+        private void delta(Batches batches, String name, long count) {
+            // a lower count means the metric was re-created, so everything counted so far is new
+            long delta = count >= lastCount ? count - lastCount : count;
+            batches.add(this, name, delta, () -> lastCount = count);
+        }
+
+        private void elapsedDelta(Batches batches, Duration elapsed) {
+            long nanos = elapsed.toNanos();
+            long delta = nanos >= lastElapsedNanos ? nanos - lastElapsedNanos : nanos;
+            batches.add(this, elapsedTimeName, delta / 1e9, () -> lastElapsedNanos = nanos);
+        }
+    }
+
+    /**
+     * Fluent API builder for {@link io.helidon.integrations.oci.telemetry.OciMetricsExporter}.
+     */
+    public static final class Builder implements io.helidon.common.Builder<Builder, OciMetricsExporter> {
+        private Set<MetricRegistry.Type> scopes = EnumSet.allOf(MetricRegistry.Type.class);
+        private String namespace = "helidon_metrics";
+        private Duration interval = Duration.ofMinutes(1);
+        private Duration retryDelay = Duration.ofSeconds(1);
+        private int batchSize = MAX_BATCH_SIZE;
+        private int retries = 3;
+        private OciMetricsRx metrics;
+        private RegistryFactory registryFactory;
+        private String compartmentId;
+        private String resourceGroup;
+        private ScheduledExecutorService executor;
+
+        private Builder() {
+        }
+
+        @Override
+        public OciMetricsExporter build() {
+            if (metrics == null) {
+                throw new OciApiException("OCI metrics must be configured for metrics exporter");
+            }
+            if (compartmentId == null) {
+                throw new OciApiException("Compartment ID must be configured for metrics exporter");
+            }
+            if (registryFactory == null) {
+                registryFactory = RegistryFactory.getInstance();
+            }
+            return new OciMetricsExporter(this);
+        }
+
+        /**
+         * Update this builder from configuration.
+         * <p>
+         * Configuration options:
+         * <table class="config">
+         * <caption>Metrics exporter configuration</caption>
+         * <tr>
+         *     <th>key</th>
+         *     <th>default value</th>
+         *     <th>description</th>
+         * </tr>
+         * <tr>
+         *     <td>compartment-id</td>
+         *     <td>&nbsp;</td>
+         *     <td>{@link #compartmentId(String)}</td>
+         * </tr>
+         * <tr>
+         *     <td>namespace</td>
+         *     <td>{@code helidon_metrics}</td>
+         *     <td>{@link #namespace(String)}</td>
+         * </tr>
+         * <tr>
+         *     <td>resource-group</td>
+         *     <td>&nbsp;</td>
+         *     <td>{@link #resourceGroup(String)}</td>
+         * </tr>
+         * <tr>
+         *     <td>scopes</td>
+         *     <td>all scopes</td>
+         *     <td>{@link #scopes(java.util.Set)}</td>
+         * </tr>
+         * <tr>
+         *     <td>interval</td>
+         *     <td>{@code PT1M}</td>
+         *     <td>{@link #interval(java.time.Duration)}</td>
+         * </tr>
+         * <tr>
+         *     <td>batch-size</td>
+         *     <td>{@value OciMetricsExporter#MAX_BATCH_SIZE}</td>
+         *     <td>{@link #batchSize(int)}</td>
+         * </tr>
+         * <tr>
+         *     <td>retries</td>
+         *     <td>{@code 3}</td>
+         *     <td>{@link #retries(int)}</td>
+         * </tr>
+         * <tr>
+         *     <td>retry-delay</td>
+         *     <td>{@code PT1S}</td>
+         *     <td>{@link #retryDelay(java.time.Duration)}</td>
+         * </tr>
+         * </table>
+         *
+         * @param config configuration located on the node of the exporter
+         * @return updated builder
+         */
+        public Builder config(Config config) {
+            config.get("compartment-id").asString().ifPresent(this::compartmentId);
+            config.get("namespace").asString().ifPresent(this::namespace);
+            config.get("resource-group").asString().ifPresent(this::resourceGroup);
+            config.get("scopes").asList(String.class).ifPresent(list -> {
+                Set<MetricRegistry.Type> configured = EnumSet.noneOf(MetricRegistry.Type.class);
+                list.forEach(it -> configured.add(MetricRegistry.Type.valueOf(it.toUpperCase(Locale.ROOT))));
+                scopes(configured);
+            });
+            config.get("interval").as(Duration.class).ifPresent(this::interval);
+            config.get("batch-size").asInt().ifPresent(this::batchSize);
+            config.get("retries").asInt().ifPresent(this::retries);
+            config.get("retry-delay").as(Duration.class).ifPresent(this::retryDelay);
+            return this;
+        }
+
+        /**
+         * OCI metrics API used to post the metric data.
+         * Required.
+         *
+         * @param metrics OCI metrics
+         * @return updated builder
+         */
+        public Builder metrics(OciMetricsRx metrics) {
+            this.metrics = Objects.requireNonNull(metrics);
+            return this;
+        }
+
+        /**
+         * Registry factory to read the registries from.
+         * Defaults to {@link io.helidon.metrics.api.RegistryFactory#getInstance()}.
+         *
+         * @param registryFactory registry factory
+         * @return updated builder
+         */
+        public Builder registryFactory(RegistryFactory registryFactory) {
+            this.registryFactory = Objects.requireNonNull(registryFactory);
+            return this;
+        }
+
+        /**
+         * Registry types (scopes) to export. The scope is exported as the {@code scope} dimension of each metric.
+         * Defaults to all scopes.
+         *
+         * @param scopes scopes to export
+         * @return updated builder
+         */
+        public Builder scopes(Set<MetricRegistry.Type> scopes) {
+            this.scopes = scopes.isEmpty() ? EnumSet.noneOf(MetricRegistry.Type.class) : EnumSet.copyOf(scopes);
+            return this;
+        }
+
+        /**
+         * The OCID of the compartment to use for metrics.
+         * Required.
+         *
+         * @param compartmentId compartment OCID
+         * @return updated builder
+         */
+        public Builder compartmentId(String compartmentId) {
+            this.compartmentId = compartmentId;
+            return this;
+        }
+
+        /**
+         * OCI metric namespace of the exported metrics.
+         * Defaults to {@code helidon_metrics}.
+         *
+         * @param namespace metric namespace
+         * @return updated builder
+         * @see PostMetricData.MetricData#namespace(String)
+         */
+        public Builder namespace(String namespace) {
+            this.namespace = Objects.requireNonNull(namespace);
+            return this;
+        }
+
+        /**
+         * Resource group to assign to the exported metrics.
+         *
+         * @param resourceGroup resource group
+         * @return updated builder
+         * @see PostMetricData.MetricData#resourceGroup(String)
+         */
+        public Builder resourceGroup(String resourceGroup) {
+            this.resourceGroup = resourceGroup;
+            return this;
+        }
+
+        /**
+         * Interval between export cycles. Also used as the overall timeout of sending a batch, including retries.
+         * Defaults to one minute.
+         *
+         * @param interval export interval
+         * @return updated builder
+         */
+        public Builder interval(Duration interval) {
+            if (interval.isNegative() || interval.isZero()) {
+                throw new OciApiException("Export interval must be positive, but is " + interval);
+            }
+            this.interval = interval;
+            return this;
+        }
+
+        /**
+         * Maximal number of metric data in a single request.
+         * Defaults to (and cannot be larger than) {@value OciMetricsExporter#MAX_BATCH_SIZE}.
+         *
+         * @param batchSize batch size
+         * @return updated builder
+         */
+        public Builder batchSize(int batchSize) {
+            if (batchSize < 1 || batchSize > MAX_BATCH_SIZE) {
+                throw new OciApiException("Batch size must be between 1 and " + MAX_BATCH_SIZE + ", but is " + batchSize);
+            }
+            this.batchSize = batchSize;
+            return this;
+        }
+
+        /**
+         * Number of retries of a batch that failed to be sent.
+         * Defaults to {@code 3}.
+         *
+         * @param retries number of retries
+         * @return updated builder
+         */
+        public Builder retries(int retries) {
+            this.retries = retries;
+            return this;
+        }
+
+        /**
+         * Delay before the first retry, doubled for each following retry.
+         * Defaults to one second.
+         *
+         * @param retryDelay delay before first retry
+         * @return updated builder
+         */
+        public Builder retryDelay(Duration retryDelay) {
+            this.retryDelay = retryDelay;
+            return this;
+        }
+
+        /**
+         * Executor to run the export cycles and schedule retries.
+         * Defaults to a new single threaded executor, shut down when the exporter is {@link OciMetricsExporter#stop() stopped}.
+         *
+         * @param executor scheduled executor
+         * @return updated builder
+         */
+        public Builder executor(ScheduledExecutorService executor) {
+            this.executor = executor;
+            return this;
+        }
+    }
+}
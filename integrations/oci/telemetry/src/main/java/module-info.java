@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -29,6 +29,8 @@ module io.helidon.integrations.oci.telemetry {
     requires io.helidon.common.http;
     requires io.helidon.common;
     requires io.helidon.config;
+    requires io.helidon.faulttolerance;
+    requires static io.helidon.metrics.api;
 
     exports io.helidon.integrations.oci.telemetry;
 
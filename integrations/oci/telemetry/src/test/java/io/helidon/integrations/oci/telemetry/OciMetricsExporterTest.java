@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.integrations.oci.telemetry;
+
+import java.io.StringReader;
+import java.security.KeyPairGenerator;
+import java.security.NoSuchAlgorithmException;
+import java.security.interfaces.RSAPrivateKey;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.helidon.common.http.Http;
+import io.helidon.common.http.MediaType;
+import io.helidon.integrations.oci.connect.OciConfigProfile;
+import io.helidon.integrations.oci.connect.OciRestApi;
+import io.helidon.metrics.api.RegistryFactory;
+import io.helidon.webserver.Routing;
+import io.helidon.webserver.WebServer;
+
+import jakarta.json.Json;
+import jakarta.json.JsonObject;
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.Tag;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test for {@link OciMetricsExporter}, using a stub OCI Monitoring server.
+ */
+class OciMetricsExporterTest {
+    private static final List<JsonObject> REQUESTS = new CopyOnWriteArrayList<>();
+    private static final AtomicInteger FAILURES = new AtomicInteger();
+
+    private static WebServer webServer;
+    private static OciMetricsRx ociMetrics;
+
+    private RegistryFactory registryFactory;
+    private MetricRegistry registry;
+
+    @BeforeAll
+    static void initClass() throws NoSuchAlgorithmException {
+        webServer = WebServer.builder()
+                .host("localhost")
+                .routing(Routing.builder()
+                                 .post("/" + OciMetricsRx.API_VERSION + "/metrics", (req, res) -> {
+                                     req.content().as(String.class).forSingle(content -> {
+                                         if (FAILURES.getAndDecrement() > 0) {
+                                             res.status(Http.Status.INTERNAL_SERVER_ERROR_500);
+                                             res.headers().contentType(MediaType.APPLICATION_JSON);
+                                             res.send("{\"code\": \"InternalError\", \"message\": \"Stub error\"}");
+                                             return;
+                                         }
+                                         REQUESTS.add(Json.createReader(new StringReader(content)).readObject());
+                                         res.headers().contentType(MediaType.APPLICATION_JSON);
+                                         res.send("{\"failedMetricsCount\": 0}");
+                                     });
+                                 }))
+                .build()
+                .start()
+                .await(10, TimeUnit.SECONDS);
+
+        KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+        generator.initialize(2048);
+
+        OciConfigProfile profile = OciConfigProfile.builder()
+                .userOcid("ocid1.user.oc1..test")
+                .tenancyOcid("ocid1.tenancy.oc1..test")
+                .keyFingerprint("00:11:22:33:44:55:66:77:88:99:aa:bb:cc:dd:ee:ff")
+                .region("us-phoenix-1")
+                .privateKey((RSAPrivateKey) generator.generateKeyPair().getPrivate())
+                .build();
+
+        ociMetrics = OciMetricsRx.builder()
+                .restApi(OciRestApi.builder()
+                                 .configProvider(profile)
+                                 .build())
+                .endpoint("http://localhost:" + webServer.port())
+                .build();
+    }
+
+    @AfterAll
+    static void destroyClass() {
+        if (webServer != null) {
+            webServer.shutdown().await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @BeforeEach
+    void reset() {
+        REQUESTS.clear();
+        FAILURES.set(0);
+        registryFactory = RegistryFactory.create();
+        registry = registryFactory.getRegistry(MetricRegistry.Type.APPLICATION);
+    }
+
+    @Test
+    void testCounterDeltas() {
+        OciMetricsExporter exporter = exporter().build();
+        Counter counter = registry.counter("requests", new Tag("method", "GET"));
+        try {
+            counter.inc(5);
+            exporter.export().await(10, TimeUnit.SECONDS);
+            counter.inc(2);
+            exporter.export().await(10, TimeUnit.SECONDS);
+        } finally {
+            exporter.stop();
+        }
+
+        assertThat(REQUESTS.size(), is(2));
+        JsonObject first = REQUESTS.get(0).getJsonArray("metricData").getJsonObject(0);
+        assertThat(first.getString("name"), is("requests"));
+        assertThat(first.getString("compartmentId"), is("ocid1.compartment.oc1..test"));
+        assertThat(first.getJsonObject("dimensions").getString("scope"), is("application"));
+        assertThat(first.getJsonObject("dimensions").getString("method"), is("GET"));
+        assertThat(value(first), is(5.0));
+        assertThat(value(REQUESTS.get(1).getJsonArray("metricData").getJsonObject(0)), is(2.0));
+    }
+
+    @Test
+    void testBatches() {
+        OciMetricsExporter exporter = exporter().build();
+        for (int i = 0; i < 120; i++) {
+            registry.counter("counter" + i).inc();
+        }
+        try {
+            exporter.export().await(10, TimeUnit.SECONDS);
+        } finally {
+            exporter.stop();
+        }
+
+        assertThat(REQUESTS.size(), is(3));
+        int metricData = REQUESTS.stream()
+                .mapToInt(request -> request.getJsonArray("metricData").size())
+                .sum();
+        assertThat(metricData, is(120));
+    }
+
+    @Test
+    void testRetry() {
+        OciMetricsExporter exporter = exporter()
+                .retries(3)
+                .retryDelay(Duration.ofMillis(10))
+                .build();
+        registry.counter("retried").inc();
+        FAILURES.set(2);
+        try {
+            exporter.export().await(10, TimeUnit.SECONDS);
+        } finally {
+            exporter.stop();
+        }
+
+        assertThat(REQUESTS.size(), is(1));
+        assertThat(value(REQUESTS.get(0).getJsonArray("metricData").getJsonObject(0)), is(1.0));
+    }
+
+    @Test
+    void testFailedCycleDeltas() {
+        OciMetricsExporter exporter = exporter()
+                .retries(0)
+                .build();
+        Counter counter = registry.counter("failed");
+        try {
+            counter.inc(3);
+            FAILURES.set(1);
+            assertThrows(CompletionException.class, () -> exporter.export().await(10, TimeUnit.SECONDS));
+            counter.inc(2);
+            exporter.export().await(10, TimeUnit.SECONDS);
+        } finally {
+            exporter.stop();
+        }
+
+        assertThat(REQUESTS.size(), is(1));
+        assertThat(value(REQUESTS.get(0).getJsonArray("metricData").getJsonObject(0)), is(5.0));
+    }
+
+    private OciMetricsExporter.Builder exporter() {
+        return OciMetricsExporter.builder()
+                .metrics(ociMetrics)
+                .registryFactory(registryFactory)
+                .scopes(Set.of(MetricRegistry.Type.APPLICATION))
+                .compartmentId("ocid1.compartment.oc1..test");
+    }
+
+    private static double value(JsonObject metricData) {
+        return metricData.getJsonArray("datapoints")
+                .getJsonObject(0)
+                .getJsonNumber("value")
+                .doubleValue();
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -66,6 +67,9 @@ class Lra {
 
     private final Lock lock = new ReentrantLock();
 
+    // set after each change of this Lra or its participants, cleared by the registry when it takes a snapshot
+    private final AtomicBoolean dirty = new AtomicBoolean(true);
+
     private boolean isChild;
     private long whenReadyToDelete = 0;
 
@@ -103,6 +107,7 @@ class Lra {
 
     void setChild(boolean child) {
         isChild = child;
+        markDirty();
     }
 
     long getTimeout() {
@@ -111,6 +116,7 @@ class Lra {
 
     void setStatus(LRAStatus status) {
         this.status.set(status);
+        markDirty();
     }
 
     long getWhenReadyToDelete() {
@@ -119,10 +125,12 @@ class Lra {
 
     void setWhenReadyToDelete(long whenReadyToDelete) {
         this.whenReadyToDelete = whenReadyToDelete;
+        markDirty();
     }
 
     void setTimeout(long timeout) {
         this.timeout = timeout;
+        markDirty();
     }
 
     List<Participant> getParticipants() {
@@ -135,6 +143,7 @@ class Lra {
         } else {
             this.timeout = 0;
         }
+        markDirty();
     }
 
     boolean checkTimeout() {
@@ -146,6 +155,7 @@ class Lra {
             Participant participant = new Participant(config);
             participant.parseCompensatorLinks(compensatorLink);
             participants.add(participant);
+            markDirty();
         }
     }
 
@@ -154,11 +164,21 @@ class Lra {
                 .filter(p -> p.equalCompensatorUris(compensatorUrl))
                 .collect(Collectors.toSet());
         forRemove.forEach(participants::remove);
+        markDirty();
     }
 
     void addChild(Lra lra) {
         children.add(lra);
-        lra.isChild = true;
+        lra.setChild(true);
+    }
+
+    void markDirty() {
+        dirty.set(true);
+    }
+
+    // cleared before taking a snapshot, so changes made during the snapshot mark this Lra again
+    boolean clearDirty() {
+        return dirty.getAndSet(false);
     }
 
     Function<WebClientRequestHeaders, Headers> headers() {
@@ -179,6 +199,7 @@ class Lra {
             LOGGER.warning("Can't close LRA, it's already " + status.get().name() + " " + this.lraId);
             return;
         }
+        markDirty();
         lraLifeSpanTmr.close();
         if (lock.tryLock()) {
             try {
@@ -192,6 +213,7 @@ class Lra {
                 trySendAfterLRA();
                 markForDeletion();
             } finally {
+                markDirty();
                 lock.unlock();
             }
         }
@@ -204,6 +226,7 @@ class Lra {
             LOGGER.warning("Can't cancel LRA, it's already " + status.get().name() + " " + this.lraId);
             return;
         }
+        markDirty();
         lraLifeSpanTmr.close();
         for (Lra nestedLra : children) {
             nestedLra.cancel();
@@ -215,6 +238,7 @@ class Lra {
                 trySendForgetLRA();
                 markForDeletion();
             } finally {
+                markDirty();
                 lock.unlock();
             }
         }
@@ -231,6 +255,7 @@ class Lra {
             try {
                 trySendAfterLRA();
             } finally {
+                markDirty();
                 lock.unlock();
             }
         }
@@ -245,6 +270,7 @@ class Lra {
                 if (participant.getForgetURI().isEmpty() || participant.isForgotten()) continue;
                 allDone = participant.sendForget(nestedLra) && allDone;
             }
+            nestedLra.markDirty();
             if (!allDone) return false;
         }
         return true;
@@ -256,6 +282,7 @@ class Lra {
             try {
                 return trySendAfterLRA();
             } finally {
+                markDirty();
                 lock.unlock();
             }
         }
@@ -267,6 +294,7 @@ class Lra {
             try {
                 return trySendForgetLRA();
             } finally {
+                markDirty();
                 lock.unlock();
             }
         }
@@ -336,5 +364,6 @@ class Lra {
     void markForDeletion() {
         // delete after 10 minutes
         whenReadyToDelete = (10 * 60 * 1000) + System.currentTimeMillis();
+        markDirty();
     }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,28 +17,37 @@
 package io.helidon.lra.coordinator;
 
 import java.net.URI;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import io.helidon.common.reactive.Multi;
-import io.helidon.common.reactive.Single;
 import io.helidon.config.Config;
 import io.helidon.dbclient.DbClient;
 import io.helidon.dbclient.DbTransaction;
 
 import org.eclipse.microprofile.lra.annotation.LRAStatus;
 
+/**
+ * Registry persisted with the DB client.
+ * Lras mark themselves dirty when they or their participants change; each save takes a snapshot of the dirty Lras
+ * only, and writes those that differ from the state written by the previous save.
+ */
 class LraDatabasePersistentRegistry implements LraPersistentRegistry {
 
-    private final Map<String, Lra> lraMap = Collections.synchronizedMap(new HashMap<>());
+    private final Map<String, Lra> lraMap = new ConcurrentHashMap<>();
     private final Config config;
     private final DbClient dbClient;
     private static final Pattern LRA_ID_PATTERN = Pattern.compile(".*/([^/?]+).*");
+    // state of the Lras as written by the last save, accessed only when loading or saving
+    private final Map<String, LraState> persisted = new HashMap<>();
 
     LraDatabasePersistentRegistry(Config config) {
         this.config = config;
@@ -48,7 +57,8 @@ class LraDatabasePersistentRegistry implements LraPersistentRegistry {
 
         dbClient.inTransaction(tx -> Multi.concat(
                                 tx.namedDml("create-lra-table"),
-                                tx.namedDml("create-participant-table"))
+                                tx.namedDml("create-participant-table")
+                                        .flatMapSingle(it -> tx.namedDml("create-participant-index")))
                         .ignoreElements())
                 .await();
     }
@@ -74,7 +84,7 @@ class LraDatabasePersistentRegistry implements LraPersistentRegistry {
     }
 
     @Override
-    public void load(CoordinatorService coordinatorService) {
+    public synchronized void load(CoordinatorService coordinatorService) {
         dbClient.inTransaction(tx -> tx.namedQuery("load")
                 .map(row -> {
 
@@ -141,63 +151,86 @@ class LraDatabasePersistentRegistry implements LraPersistentRegistry {
                             }
                         })
                 );
+        lraMap.forEach((lraId, lra) -> {
+            lra.clearDirty();
+            persisted.put(lraId, LraState.create(lra));
+        });
     }
 
     @Override
-    public void save() {
-        dbClient.inTransaction(tx ->
-                Multi.concat(
-                        cleanUp(tx),
-                        saveAll(tx)
-                ).reduce(Long::sum)
-        ).await();
+    public synchronized void save() {
+        List<Lra> snapshotted = new ArrayList<>();
+        Map<String, LraState> updated = new HashMap<>();
+        List<String> deleted = new ArrayList<>();
+        List<Function<DbTransaction, Multi<Long>>> changes = new ArrayList<>();
+        lraMap.forEach((lraId, lra) -> {
+            LraState previous = persisted.get(lraId);
+            if (!lra.clearDirty() && previous != null) {
+                return;
+            }
+            snapshotted.add(lra);
+            LraState state = LraState.create(lra);
+            if (previous == null) {
+                changes.add(tx -> insertLra(tx, state));
+            } else if (!previous.equals(state)) {
+                changes.add(tx -> updateLra(tx, previous, state));
+            }
+            updated.put(lraId, state);
+        });
+        for (String lraId : persisted.keySet()) {
+            if (!lraMap.containsKey(lraId)) {
+                deleted.add(lraId);
+                changes.add(tx -> deleteLra(tx, lraId));
+            }
+        }
+
+        if (!changes.isEmpty()) {
+            try {
+                // statements share the connection of the transaction, execute them one by one
+                dbClient.inTransaction(tx -> Multi.create(changes)
+                                .flatMap(change -> change.apply(tx), 1, false, 1)
+                                .reduce(Long::sum))
+                        .await();
+            } catch (RuntimeException e) {
+                // nothing was written, write the snapshotted Lras again with the next save
+                snapshotted.forEach(Lra::markDirty);
+                throw e;
+            }
+        }
+        persisted.putAll(updated);
+        deleted.forEach(persisted::remove);
     }
 
-    private Single<Long> saveAll(DbTransaction tx) {
-        return Multi.create(lraMap.values())
-                .flatMap(lra -> insertLra(tx, lra))
-                .reduce(Long::sum);
+    private Multi<Long> insertLra(DbTransaction tx, LraState state) {
+        return Multi.concat(Multi.defer(() -> tx.namedInsert("insert-lra", state.lra.toArray())),
+                            insertParticipants(tx, state));
     }
 
-    private Single<Long> insertLra(DbTransaction tx, Lra lra) {
-        return Multi.concat(tx.namedInsert("insert-lra",
-                                lra.lraId(),
-                                lra.parentId(),
-                                lra.getTimeout(),
-                                lra.status().get().name(),
-                                lra.isChild(),
-                                lra.getWhenReadyToDelete()),
-                        // save all participants of the lra
-                        Multi.create(lra.getParticipants())
-                                .flatMap(participant -> insertParticipant(tx, lra, participant))
-                                .reduce(Long::sum))
-                .reduce(Long::sum);
+    private Multi<Long> updateLra(DbTransaction tx, LraState previous, LraState state) {
+        Multi<Long> result = Multi.empty();
+        if (!previous.lra.equals(state.lra)) {
+            // ID is the first parameter of insert-lra and the last one of update-lra
+            List<Object> params = new ArrayList<>(state.lra.subList(1, state.lra.size()));
+            params.add(state.lraId);
+            result = Multi.defer(() -> tx.namedUpdate("update-lra", params.toArray()));
+        }
+        if (!previous.participants.equals(state.participants)) {
+            // participants have no natural key, replace all of them
+            result = Multi.concat(result,
+                                  Multi.concat(Multi.defer(() -> tx.namedDelete("delete-lra-participants", state.lraId)),
+                                               insertParticipants(tx, state)));
+        }
+        return result;
     }
 
-    private Single<Long> insertParticipant(DbTransaction tx, Lra lra, Participant p) {
-        return tx.namedInsert("insert-participant",
-                lra.lraId(),
-                p.state().name(),
-                p.getCompensateStatus().name(),
-                p.getForgetStatus().name(),
-                p.getAfterLraStatus().name(),
-                p.getSendingStatus().name(),
-                p.getRemainingCloseAttempts(),
-                p.getRemainingAfterAttempts(),
-                p.getCompleteURI().map(URI::toASCIIString).orElse(null),
-                p.getCompensateURI().map(URI::toASCIIString).orElse(null),
-                p.getAfterURI().map(URI::toASCIIString).orElse(null),
-                p.getForgetURI().map(URI::toASCIIString).orElse(null),
-                p.getStatusURI().map(URI::toASCIIString).orElse(null)
-        );
+    private Multi<Long> insertParticipants(DbTransaction tx, LraState state) {
+        return Multi.create(state.participants)
+                .flatMap(participant -> tx.namedInsert("insert-participant", participant.toArray()), 1, false, 1);
     }
 
-    private Single<Long> cleanUp(DbTransaction tx) {
-        return Multi.concat(
-                        tx.namedDelete("delete-all-lra"),
-                        tx.namedDelete("delete-all-participants")
-                )
-                .reduce(Long::sum);
+    private Multi<Long> deleteLra(DbTransaction tx, String lraId) {
+        return Multi.concat(Multi.defer(() -> tx.namedDelete("delete-lra", lraId)),
+                            Multi.defer(() -> tx.namedDelete("delete-lra-participants", lraId)));
     }
 
     static String parseLRAId(String lraUri) {
@@ -209,4 +242,64 @@ class LraDatabasePersistentRegistry implements LraPersistentRegistry {
         return m.group(1);
     }
 
+    /**
+     * Parameters of the insert statements of an Lra and its participants, as written to the database.
+     */
+    private static final class LraState {
+
+        private final String lraId;
+        private final List<Object> lra;
+        private final List<List<Object>> participants;
+
+        private LraState(String lraId, List<Object> lra, List<List<Object>> participants) {
+            this.lraId = lraId;
+            this.lra = lra;
+            this.participants = participants;
+        }
+
+        static LraState create(Lra lra) {
+            List<List<Object>> participants = new ArrayList<>();
+            for (Participant p : lra.getParticipants()) {
+                participants.add(Arrays.asList(
+                        lra.lraId(),
+                        p.state().name(),
+                        p.getCompensateStatus().name(),
+                        p.getForgetStatus().name(),
+                        p.getAfterLraStatus().name(),
+                        p.getSendingStatus().name(),
+                        p.getRemainingCloseAttempts(),
+                        p.getRemainingAfterAttempts(),
+                        p.getCompleteURI().map(URI::toASCIIString).orElse(null),
+                        p.getCompensateURI().map(URI::toASCIIString).orElse(null),
+                        p.getAfterURI().map(URI::toASCIIString).orElse(null),
+                        p.getForgetURI().map(URI::toASCIIString).orElse(null),
+                        p.getStatusURI().map(URI::toASCIIString).orElse(null)));
+            }
+            return new LraState(lra.lraId(),
+                                Arrays.asList(lra.lraId(),
+                                              lra.parentId(),
+                                              lra.getTimeout(),
+                                              lra.status().get().name(),
+                                              lra.isChild(),
+                                              lra.getWhenReadyToDelete()),
+                                participants);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof LraState)) {
+                return false;
+            }
+            LraState other = (LraState) o;
+            return lra.equals(other.lra) && participants.equals(other.participants);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * lra.hashCode() + participants.hashCode();
+        }
+    }
 }
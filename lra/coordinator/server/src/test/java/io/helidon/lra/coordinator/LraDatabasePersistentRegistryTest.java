@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.lra.coordinator;
+
+import java.net.URI;
+import java.util.Map;
+
+import io.helidon.config.Config;
+import io.helidon.config.ConfigSources;
+import io.helidon.dbclient.DbClient;
+
+import org.eclipse.microprofile.lra.annotation.LRAStatus;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class LraDatabasePersistentRegistryTest {
+
+    private static final String PARTICIPANT_LINKS = "<http://localhost:8080/complete>; rel=\"complete\","
+            + "<http://localhost:8080/compensate>; rel=\"compensate\"";
+
+    @Test
+    void testIncrementalSave() {
+        Config config = config("jdbc:h2:mem:lra-incremental-save;DB_CLOSE_DELAY=-1");
+        LraDatabasePersistentRegistry registry = new LraDatabasePersistentRegistry(config);
+        CoordinatorService coordinator = coordinator(config, registry);
+        try {
+            for (int i = 0; i < 3; i++) {
+                Lra lra = new Lra(coordinator, "lra-" + i, config);
+                lra.addParticipant(PARTICIPANT_LINKS);
+                registry.put(lra.lraId(), lra);
+            }
+            registry.save();
+
+            // changed behind the registry, not overwritten as long as lra-0 does not change
+            DbClient dbClient = DbClient.builder()
+                    .config(config.get("db"))
+                    .build();
+            dbClient.execute(exec -> exec.update("UPDATE LRA SET TIMEOUT=? WHERE ID=?", 42L, "lra-0")).await();
+
+            registry.get("lra-1").setStatus(LRAStatus.Closing);
+            registry.get("lra-1").addParticipant("<http://localhost:8080/after>; rel=\"after\"");
+            registry.remove("lra-2");
+            registry.save();
+        } finally {
+            coordinator.shutdown();
+        }
+
+        LraDatabasePersistentRegistry loaded = new LraDatabasePersistentRegistry(config);
+        coordinator(config, loaded).shutdown();
+        Assertions.assertEquals(42L, loaded.get("lra-0").getTimeout());
+        Assertions.assertEquals(1, loaded.get("lra-0").getParticipants().size());
+        Assertions.assertEquals(LRAStatus.Closing, loaded.get("lra-1").status().get());
+        Assertions.assertEquals(2, loaded.get("lra-1").getParticipants().size());
+        Assertions.assertNull(loaded.get("lra-2"));
+    }
+
+    @Test
+    void testDirtyTracking() {
+        Config config = config("jdbc:h2:mem:lra-dirty-tracking;DB_CLOSE_DELAY=-1");
+        LraDatabasePersistentRegistry registry = new LraDatabasePersistentRegistry(config);
+        CoordinatorService coordinator = coordinator(config, registry);
+        try {
+            Lra lra = new Lra(coordinator, "lra-dirty", config);
+            registry.put(lra.lraId(), lra);
+            registry.save();
+            Assertions.assertFalse(lra.clearDirty());
+
+            lra.addParticipant(PARTICIPANT_LINKS);
+            Assertions.assertTrue(lra.clearDirty());
+            Assertions.assertFalse(lra.clearDirty());
+
+            Lra child = new Lra(coordinator, "lra-dirty-child", config);
+            child.clearDirty();
+            lra.addChild(child);
+            Assertions.assertTrue(child.clearDirty());
+
+            lra.markForDeletion();
+            Assertions.assertTrue(lra.clearDirty());
+        } finally {
+            coordinator.shutdown();
+        }
+    }
+
+    private static CoordinatorService coordinator(Config config, LraPersistentRegistry registry) {
+        return CoordinatorService.builder()
+                .config(config)
+                .persistentRegistry(registry)
+                .url(() -> URI.create("http://localhost:8070/lra-coordinator"))
+                .build();
+    }
+
+    private static Config config(String url) {
+        return Config.builder(
+                        () -> ConfigSources.create(Map.of(
+                                "helidon.lra.coordinator.db.connection.url", url,
+                                "helidon.lra.coordinator.recovery-interval", "3600000"
+                        )).build(),
+                        () -> ConfigSources.classpath("application.yaml").build()
+                )
+                .build()
+                .get(CoordinatorService.CONFIG_PREFIX);
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.lra.coordinator;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import io.helidon.config.Config;
+
+import org.eclipse.microprofile.lra.annotation.LRAStatus;
+
+/**
+ * Coordinator with a database registry of registered Lras, for benchmarks outside of this package.
+ */
+public final class TestLraRegistry {
+    private static final String PARTICIPANT_LINKS = "<http://localhost:8080/complete>; rel=\"complete\","
+            + "<http://localhost:8080/compensate>; rel=\"compensate\"";
+
+    private final LraDatabasePersistentRegistry registry;
+    private final CoordinatorService coordinator;
+    private final List<Lra> registered;
+    private int next;
+
+    private TestLraRegistry(Config config, int lras) {
+        registry = new LraDatabasePersistentRegistry(config);
+        coordinator = CoordinatorService.builder()
+                .config(config)
+                .persistentRegistry(registry)
+                .url(() -> URI.create("http://localhost:8070/lra-coordinator"))
+                .build();
+        registered = new ArrayList<>(lras);
+        for (int i = 0; i < lras; i++) {
+            Lra lra = new Lra(coordinator, "lra-" + i, config);
+            lra.addParticipant(PARTICIPANT_LINKS);
+            registry.put(lra.lraId(), lra);
+            registered.add(lra);
+        }
+    }
+
+    /**
+     * Create a coordinator with Lras registered with one participant each.
+     *
+     * @param config coordinator configuration
+     * @param lras number of Lras to register
+     * @return a new registry
+     */
+    public static TestLraRegistry create(Config config, int lras) {
+        return new TestLraRegistry(config, lras);
+    }
+
+    /**
+     * Change the status of the next registered Lras, round robin.
+     *
+     * @param count number of Lras to change
+     */
+    public void change(int count) {
+        for (int i = 0; i < count; i++) {
+            Lra lra = registered.get(next++ % registered.size());
+            lra.setStatus(lra.status().get() == LRAStatus.Active ? LRAStatus.Closing : LRAStatus.Active);
+        }
+    }
+
+    /**
+     * Save the registry to the database.
+     */
+    public void save() {
+        registry.save();
+    }
+
+    /**
+     * Shut down the coordinator.
+     */
+    public void shutdown() {
+        coordinator.shutdown();
+    }
+}
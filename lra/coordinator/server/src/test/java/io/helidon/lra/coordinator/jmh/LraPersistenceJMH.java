@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.lra.coordinator.jmh;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.config.Config;
+import io.helidon.config.ConfigSources;
+import io.helidon.lra.coordinator.CoordinatorService;
+import io.helidon.lra.coordinator.TestLraRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Periodical save of the coordinator registry to an in-memory H2 database, with {@code changed} of the
+ * {@code lras} registered Lras changed between two saves.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class LraPersistenceJMH {
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(LraPersistenceJMH.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({"10000"})
+    private int lras;
+
+    @Param({"0", "100", "10000"})
+    private int changed;
+
+    private TestLraRegistry registry;
+
+    @Setup
+    public void setup() {
+        Config config = Config.builder(
+                        () -> ConfigSources.create(Map.of(
+                                "helidon.lra.coordinator.db.connection.url",
+                                "jdbc:h2:mem:lra-jmh-" + lras + "-" + changed + ";DB_CLOSE_DELAY=-1",
+                                "helidon.lra.coordinator.recovery-interval", "3600000"
+                        )).build(),
+                        () -> ConfigSources.classpath("application.yaml").build()
+                )
+                .build()
+                .get(CoordinatorService.CONFIG_PREFIX);
+        registry = TestLraRegistry.create(config, lras);
+        registry.save();
+    }
+
+    @TearDown
+    public void tearDown() {
+        registry.shutdown();
+    }
+
+    @Setup(Level.Invocation)
+    public void change() {
+        registry.change(changed);
+    }
+
+    @Benchmark
+    public void save() {
+        registry.save();
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -260,18 +260,26 @@ public abstract class MessageBodyContext implements MessageBodyFilters {
         if (publisher == null) {
             publisher = Single.<DataChunk>empty();
         }
-        try {
-            Publisher<DataChunk> last = publisher;
-            for (MessageBodyFilter filter : filters) {
-                Publisher<DataChunk> p = filter.apply(last);
-                if (p != null) {
-                    last = p;
-                }
+        Publisher<DataChunk> last = publisher;
+        for (MessageBodyFilter filter : filters) {
+            Publisher<DataChunk> p = filter.apply(last);
+            if (p != null) {
+                last = p;
             }
-            return new EventingPublisher(last, listener);
-        } finally {
-            filters.close();
         }
+        return new EventingPublisher(last, listener);
+    }
+
+    /**
+     * Key used to cache the selection of an operator for the given type in this context.
+     * The key must contain everything operators may use in
+     * {@link MessageBodyOperator#accept(GenericType, MessageBodyContext)} besides the type.
+     *
+     * @param type requested type
+     * @return selection key, or {@code null} if selections in this context must not be cached
+     */
+    MessageBodyOperators.SelectionKey selectionKey(GenericType<?> type) {
+        return null;
     }
 
     /**
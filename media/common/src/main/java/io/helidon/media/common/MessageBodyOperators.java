@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,27 +15,37 @@
  */
 package io.helidon.media.common;
 
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.ConcurrentHashMap;
 
 import io.helidon.common.GenericType;
+import io.helidon.common.http.MediaType;
 
 /**
  * Thread-safe hierarchical registry of message body operators.
+ * <p>
+ * Registered operators are kept in an immutable snapshot replaced on each registration,
+ * so selection and iteration do not lock.
+ * Selected operators are cached per {@link SelectionKey}, see {@link #select(GenericType, MessageBodyContext)}.
+ *
  * @param <T> operator type
  */
-final class MessageBodyOperators<T extends MessageBodyOperator<?>> implements Iterable<T>, AutoCloseable {
+final class MessageBodyOperators<T extends MessageBodyOperator<?>> implements Iterable<T> {
+
+    /**
+     * Maximal number of cached selections in a registry.
+     */
+    static final int CACHE_MAX_SIZE = 256;
 
-    private final LinkedList<T> operators;
-    private final ReadWriteLock lock;
-    private final AtomicBoolean readLocked;
-    private MessageBodyOperators<T> parent;
+    private final MessageBodyOperators<T> parent;
+    private final Map<SelectionKey, Selection<T>> cache;
+    private volatile List<T> operators;
+    private volatile long version;
 
     /**
      * Create a new parented registry.
@@ -43,9 +53,8 @@ final class MessageBodyOperators<T extends MessageBodyOperator<?>> implements It
      */
     MessageBodyOperators(MessageBodyOperators<T> parent) {
         this.parent = parent;
-        this.operators = new LinkedList<>();
-        this.lock = new ReentrantReadWriteLock();
-        this.readLocked = new AtomicBoolean(false);
+        this.operators = List.of();
+        this.cache = new ConcurrentHashMap<>();
     }
 
     /**
@@ -77,116 +86,211 @@ final class MessageBodyOperators<T extends MessageBodyOperator<?>> implements It
      * @param addFirst {@code true} if the operator should be added first,
      * {@code false} if last
      */
-    private void register(T operator, boolean addFirst) {
+    private synchronized void register(T operator, boolean addFirst) {
         Objects.requireNonNull(operator, "operator is null!");
-        try {
-            lock.writeLock().lock();
-            if (addFirst) {
-                operators.addFirst(operator);
-            } else {
-                operators.addLast(operator);
-            }
-        } finally {
-            lock.writeLock().unlock();
+        List<T> current = operators;
+        List<T> updated = new ArrayList<>(current.size() + 1);
+        if (addFirst) {
+            updated.add(operator);
+            updated.addAll(current);
+        } else {
+            updated.addAll(current);
+            updated.add(operator);
         }
+        operators = List.copyOf(updated);
+        // selections cached by this registry and its children are no longer valid
+        version++;
+        cache.clear();
     }
 
     /**
      * Select an operator using {@link MessageBodyOperator#accept}.
+     * <p>
+     * The selection for a {@link MessageBodyContext#selectionKey(GenericType) selection key} is cached
+     * by the nearest registry (this one or a parent) that has operators of its own, typically the registry of
+     * the {@link MediaContext}. On a cache hit, only the previously selected operator is tested.
+     * The cache is invalidated on registration in the registry or in any of its parents.
+     *
      * @param type the type representation
      * @param context the message body context
      * @return operator, or {@code null} or no operator was found
      */
-    @SuppressWarnings("unchecked")
-    <U extends MessageBodyOperator<V>, V extends MessageBodyContext> T select(GenericType<?> type, V context) {
+    <V extends MessageBodyContext> T select(GenericType<?> type, V context) {
         Objects.requireNonNull(type, "type is null!");
         Objects.requireNonNull(context, "context is null!");
+        MessageBodyOperators<T> registry = this;
+        // a registry without operators (such as a request level registry) selects the same operators as its parent
+        while (registry.operators.isEmpty() && registry.parent != null) {
+            registry = registry.parent;
+        }
+        return registry.selectCached(type, context);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new ParentedIterator<>(this);
+    }
+
+    /**
+     * Number of selections cached by this registry.
+     *
+     * @return number of cached selections
+     */
+    int cacheSize() {
+        return cache.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <U extends MessageBodyOperator<V>, V extends MessageBodyContext> T selectCached(GenericType<?> type,
+                                                                                             V context) {
+        SelectionKey key = context.selectionKey(type);
+        if (key == null) {
+            Selection<T> selection = doSelect(type, context, 0);
+            return selection == null ? null : selection.operator;
+        }
+        long chainVersion = chainVersion();
+        Selection<T> cached = cache.get(key);
+        if (cached != null
+                && cached.chainVersion == chainVersion
+                // invoked so that the operator can update the context, same as without cache
+                && ((U) cached.operator).accept(type, context) == cached.result) {
+            return cached.operator;
+        }
+        Selection<T> selection = doSelect(type, context, chainVersion);
+        if (selection == null) {
+            return null;
+        }
+        if (cache.size() >= CACHE_MAX_SIZE) {
+            cache.clear();
+        }
+        cache.put(key, selection);
+        return selection.operator;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <U extends MessageBodyOperator<V>, V extends MessageBodyContext> Selection<T> doSelect(GenericType<?> type,
+                                                                                                   V context,
+                                                                                                   long chainVersion) {
         T assignableOperator = null;
         MessageBodyOperators<T> current = this;
 
         while (current != null) {
-            try {
-                current.lock.readLock().lock();
-                for (T operator : current.operators) {
-                    MessageBodyOperator.PredicateResult accept = ((U) operator).accept(type, context);
-                    if (accept == MessageBodyOperator.PredicateResult.COMPATIBLE && assignableOperator == null) {
-                        assignableOperator = operator;
-                    } else if (accept == MessageBodyOperator.PredicateResult.SUPPORTED) {
-                        return operator;
-                    }
+            for (T operator : current.operators) {
+                MessageBodyOperator.PredicateResult accept = ((U) operator).accept(type, context);
+                if (accept == MessageBodyOperator.PredicateResult.COMPATIBLE && assignableOperator == null) {
+                    assignableOperator = operator;
+                } else if (accept == MessageBodyOperator.PredicateResult.SUPPORTED) {
+                    return new Selection<>(operator, accept, chainVersion);
                 }
-            } finally {
-                current.lock.readLock().unlock();
             }
             current = current.parent;
         }
-        return assignableOperator;
+        if (assignableOperator == null) {
+            return null;
+        }
+        return new Selection<>(assignableOperator, MessageBodyOperator.PredicateResult.COMPATIBLE, chainVersion);
     }
 
-    @Override
-    public Iterator<T> iterator() {
-        return new ParentedIterator<>(this);
+    // versions only grow, so the sum changes whenever any registry in the chain changes
+    private long chainVersion() {
+        long result = 0;
+        MessageBodyOperators<T> current = this;
+        while (current != null) {
+            result += current.version;
+            current = current.parent;
+        }
+        return result;
     }
 
-    @Override
-    public void close() {
-        if (readLocked.compareAndSet(true, false)) {
-            lock.readLock().unlock();
+    /**
+     * Key of a cached selection.
+     * Selection of an operator depends on the requested type and on the media types of the context,
+     * operators are expected to make the same selection for the same key.
+     */
+    static final class SelectionKey {
+        private final GenericType<?> type;
+        private final MediaType contentType;
+        private final List<MediaType> acceptedTypes;
+        private final int hashCode;
+
+        /**
+         * Create a new key.
+         *
+         * @param type requested type
+         * @param contentType content type of the context, may be {@code null}
+         * @param acceptedTypes accepted types of the context
+         */
+        SelectionKey(GenericType<?> type, MediaType contentType, List<MediaType> acceptedTypes) {
+            this.type = type;
+            this.contentType = contentType;
+            this.acceptedTypes = acceptedTypes;
+            this.hashCode = Objects.hash(type, contentType, acceptedTypes);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof SelectionKey)) {
+                return false;
+            }
+            SelectionKey other = (SelectionKey) o;
+            return hashCode == other.hashCode
+                    && type.equals(other.type)
+                    && Objects.equals(contentType, other.contentType)
+                    && acceptedTypes.equals(other.acceptedTypes);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    private static final class Selection<T> {
+        private final T operator;
+        private final MessageBodyOperator.PredicateResult result;
+        private final long chainVersion;
+
+        private Selection(T operator, MessageBodyOperator.PredicateResult result, long chainVersion) {
+            this.operator = operator;
+            this.result = result;
+            this.chainVersion = chainVersion;
         }
     }
 
     /**
-     * A thread-safe iterator implementation to iterate over a registry
-     * hierarchy.
+     * An iterator over the operators of a registry hierarchy.
+     * Each registry is iterated using the snapshot of its operators taken when the iteration reaches it.
      * @param <T> Operator type
      */
     private static final class ParentedIterator<T extends MessageBodyOperator<?>> implements Iterator<T> {
 
-        private final Iterator<T> iterator;
-        private final Lock readLock;
-        private final Iterator<T> parent;
-        private final AtomicBoolean locked;
-        private final AtomicBoolean hasNext;
+        private Iterator<T> iterator;
+        private MessageBodyOperators<T> parent;
 
         ParentedIterator(MessageBodyOperators<T> registry) {
             iterator = registry.operators.iterator();
-            readLock = registry.lock.readLock();
-            if (registry.parent != null) {
-                parent = registry.parent.iterator();
-            } else {
-                parent = null;
-            }
-            locked = registry.readLocked;
-            hasNext = new AtomicBoolean(true);
+            parent = registry.parent;
         }
 
         @Override
         public boolean hasNext() {
-            if (!hasNext.get()) {
-                if (parent != null) {
-                    return parent.hasNext();
+            while (!iterator.hasNext()) {
+                if (parent == null) {
+                    return false;
                 }
-                return false;
-            }
-            if (locked.compareAndSet(false, true)) {
-                readLock.lock();
-            }
-            if (iterator.hasNext()) {
-                return true;
-            }
-            if (locked.compareAndSet(true, false)) {
-                readLock.unlock();
+                iterator = parent.operators.iterator();
+                parent = parent.parent;
             }
-            hasNext.set(false);
-            return false;
+            return true;
         }
 
         @Override
         public T next() {
-            if (hasNext.get()) {
+            if (hasNext()) {
                 return iterator.next();
-            } else if (parent != null) {
-                return parent.next();
             }
             throw new NoSuchElementException();
         }
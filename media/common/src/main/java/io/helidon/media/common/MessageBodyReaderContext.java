@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ import java.nio.charset.Charset;
 import java.nio.charset.IllegalCharsetNameException;
 import java.nio.charset.StandardCharsets;
 import java.nio.charset.UnsupportedCharsetException;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.Flow;
@@ -283,6 +284,11 @@ public final class MessageBodyReaderContext extends MessageBodyContext implement
         return DEFAULT_CHARSET;
     }
 
+    @Override
+    MessageBodyOperators.SelectionKey selectionKey(GenericType<?> type) {
+        return new MessageBodyOperators.SelectionKey(type, contentType.orElse(null), List.of());
+    }
+
     /**
      * Creates a new parented reader context.
      *
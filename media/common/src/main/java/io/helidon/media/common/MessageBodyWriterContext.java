@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -527,6 +527,15 @@ public final class MessageBodyWriterContext extends MessageBodyContext implement
         return charsetCache;
     }
 
+    @Override
+    MessageBodyOperators.SelectionKey selectionKey(GenericType<?> type) {
+        // do not cache the content type here, operators may still set it
+        MediaType contentType = contentTypeCached
+                ? contentTypeCache.orElse(null)
+                : headers.first(Http.Header.CONTENT_TYPE).map(MediaType::parse).orElse(null);
+        return new MessageBodyOperators.SelectionKey(type, contentType, acceptedTypes);
+    }
+
     /**
      * Message body writer adapter for the old deprecated writer.
      * @param <T> writer type
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.media.common;
+
+import java.util.List;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.helidon.common.GenericType;
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.HashParameters;
+import io.helidon.common.http.MediaType;
+import io.helidon.common.reactive.Single;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit test for {@link MessageBodyOperators}.
+ */
+class MessageBodyOperatorsTest {
+    private static final GenericType<String> STRING = GenericType.create(String.class);
+    private static final GenericType<Integer> INTEGER = GenericType.create(Integer.class);
+
+    @Test
+    void testSelectionCached() {
+        MessageBodyWriterContext parent = MessageBodyWriterContext.create();
+        TestWriter compatible = new TestWriter(MessageBodyOperator.PredicateResult.COMPATIBLE);
+        TestWriter supported = new TestWriter(MessageBodyOperator.PredicateResult.SUPPORTED);
+        MessageBodyOperators<MessageBodyWriter<?>> operators = new MessageBodyOperators<>();
+        operators.registerLast(compatible);
+        operators.registerLast(supported);
+
+        assertThat(operators.select(STRING, request(parent, List.of())), sameInstance(supported));
+        assertThat(compatible.accepted.get(), is(1));
+        assertThat(supported.accepted.get(), is(1));
+        assertThat(operators.cacheSize(), is(1));
+
+        // only the cached operator is tested
+        assertThat(operators.select(STRING, request(parent, List.of())), sameInstance(supported));
+        assertThat(compatible.accepted.get(), is(1));
+        assertThat(supported.accepted.get(), is(2));
+
+        // different accepted types are a different selection
+        operators.select(STRING, request(parent, List.of(MediaType.APPLICATION_JSON)));
+        assertThat(compatible.accepted.get(), is(2));
+        assertThat(operators.cacheSize(), is(2));
+    }
+
+    @Test
+    void testChildRegistryUsesParentCache() {
+        MessageBodyWriterContext parent = MessageBodyWriterContext.create();
+        TestWriter writer = new TestWriter(MessageBodyOperator.PredicateResult.SUPPORTED);
+        MessageBodyOperators<MessageBodyWriter<?>> parentOperators = new MessageBodyOperators<>();
+        parentOperators.registerLast(writer);
+
+        new MessageBodyOperators<>(parentOperators).select(STRING, request(parent, List.of()));
+        new MessageBodyOperators<>(parentOperators).select(STRING, request(parent, List.of()));
+        assertThat(parentOperators.cacheSize(), is(1));
+        assertThat(writer.accepted.get(), is(2));
+    }
+
+    @Test
+    void testRegistrationInvalidatesCache() {
+        MessageBodyWriterContext parent = MessageBodyWriterContext.create();
+        MessageBodyOperators<MessageBodyWriter<?>> parentOperators = new MessageBodyOperators<>();
+        MessageBodyOperators<MessageBodyWriter<?>> operators = new MessageBodyOperators<>(parentOperators);
+        TestWriter first = new TestWriter(MessageBodyOperator.PredicateResult.COMPATIBLE);
+        operators.registerLast(first);
+
+        assertThat(operators.select(STRING, request(parent, List.of())), sameInstance(first));
+
+        TestWriter second = new TestWriter(MessageBodyOperator.PredicateResult.SUPPORTED);
+        parentOperators.registerLast(second);
+        assertThat(operators.select(STRING, request(parent, List.of())), sameInstance(second));
+    }
+
+    @Test
+    void testNotFoundNotCached() {
+        MessageBodyWriterContext parent = MessageBodyWriterContext.create();
+        MessageBodyOperators<MessageBodyWriter<?>> operators = new MessageBodyOperators<>();
+        operators.registerLast(new TestWriter(MessageBodyOperator.PredicateResult.NOT_SUPPORTED));
+
+        assertThat(operators.select(INTEGER, request(parent, List.of())), is(nullValue()));
+        assertThat(operators.cacheSize(), is(0));
+    }
+
+    private static MessageBodyWriterContext request(MessageBodyWriterContext parent, List<MediaType> acceptedTypes) {
+        return MessageBodyWriterContext.create(parent, null, HashParameters.create(), acceptedTypes);
+    }
+
+    private static final class TestWriter implements MessageBodyWriter<Object> {
+        private final AtomicInteger accepted = new AtomicInteger();
+        private final PredicateResult result;
+
+        private TestWriter(PredicateResult result) {
+            this.result = result;
+        }
+
+        @Override
+        public PredicateResult accept(GenericType<?> type, MessageBodyWriterContext context) {
+            accepted.incrementAndGet();
+            return result;
+        }
+
+        @Override
+        public Publisher<DataChunk> write(Single<?> single,
+                                          GenericType<?> type,
+                                          MessageBodyWriterContext context) {
+            return Single.empty();
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.media.jsonb.jmh;
+
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.common.GenericType;
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.HashParameters;
+import io.helidon.common.http.MediaType;
+import io.helidon.common.reactive.Single;
+import io.helidon.media.common.ContentReaders;
+import io.helidon.media.common.MediaContext;
+import io.helidon.media.common.MessageBodyWriter;
+import io.helidon.media.common.MessageBodyWriterContext;
+import io.helidon.media.jsonb.JsonbSupport;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Latency of sending a POJO as done by {@code ServerResponse.send(pojo)}: selection of the writer in a media context
+ * with JSON-B, the default writers and additional writers, and serialization.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class SendPojoJMH {
+    private static final GenericType<Pojo> POJO_TYPE = GenericType.create(Pojo.class);
+    private static final List<MediaType> ACCEPTED = List.of(MediaType.APPLICATION_JSON, MediaType.WILDCARD);
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(SendPojoJMH.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    /**
+     * Number of writers registered in addition to JSON-B and the defaults (such as by other media supports).
+     */
+    @Param({"0", "20"})
+    int additionalWriters;
+
+    private MediaContext mediaContext;
+    private Pojo pojo;
+
+    @Setup
+    public void setup() {
+        MediaContext.Builder builder = MediaContext.builder()
+                .addMediaSupport(JsonbSupport.create());
+        for (int i = 0; i < additionalWriters; i++) {
+            builder.addWriter(new OtherWriter());
+        }
+        mediaContext = builder.build();
+        pojo = new Pojo();
+        pojo.setName("helidon");
+        pojo.setCount(42);
+    }
+
+    @Benchmark
+    public byte[] sendPojo() {
+        MessageBodyWriterContext context = MessageBodyWriterContext.create(mediaContext,
+                                                                           null,
+                                                                           HashParameters.create(),
+                                                                           ACCEPTED);
+        return ContentReaders.readBytes(context.marshall(Single.just(pojo), POJO_TYPE)).await();
+    }
+
+    /**
+     * Writer of another media type, not matching the POJO.
+     */
+    private static final class OtherWriter implements MessageBodyWriter<CharSequence> {
+        @Override
+        public PredicateResult accept(GenericType<?> type, MessageBodyWriterContext context) {
+            return PredicateResult.supports(CharSequence.class, type);
+        }
+
+        @Override
+        public Flow.Publisher<DataChunk> write(Single<? extends CharSequence> single,
+                                               GenericType<? extends CharSequence> type,
+                                               MessageBodyWriterContext context) {
+            return Single.empty();
+        }
+    }
+
+    /**
+     * A simple POJO.
+     */
+    public static class Pojo {
+        private String name;
+        private int count;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+}
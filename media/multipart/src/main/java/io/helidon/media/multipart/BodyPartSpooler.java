@@ -0,0 +1,494 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.media.multipart;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow.Publisher;
+import java.util.concurrent.Flow.Subscriber;
+import java.util.concurrent.Flow.Subscription;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.helidon.common.LazyValue;
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.reactive.Multi;
+import io.helidon.common.reactive.Single;
+
+/**
+ * Reads the content of body parts to temporary files, or to channels of the application, so that large uploads
+ * are not held in memory.
+ * <p>
+ * The content is written as it is decoded, from the slices of the request buffers, without copying.
+ * A part is kept in memory until it exceeds the {@link Builder#memoryThreshold(int) memory threshold}.
+ * Writes are done in the {@link Builder#executor(java.util.concurrent.ExecutorService) executor}, so that
+ * blocking writes do not hold the thread that delivers the content (such as the event loop of the request).
+ * As the buffers of a part are only valid until they are released, the next chunk of a part is only requested
+ * once the previous one is written and released.
+ * </p>
+ * <pre>{@code
+ * BodyPartSpooler spooler = BodyPartSpooler.builder()
+ *         .maxPartSize(1024 * 1024 * 1024)
+ *         .build();
+ *
+ * spooler.spool(request.content().asStream(ReadableBodyPart.class))
+ *         .forEach(part -> ...);
+ * }</pre>
+ * Temporary files are not deleted by the spooler once a part is emitted, see {@link SpooledBodyPart#delete()}.
+ * This also applies to the parts emitted before {@link #spool(Publisher)} fails or is cancelled; the consumer owns
+ * the files of the parts it received. The file of the part being spooled when it fails or is cancelled is deleted.
+ */
+public final class BodyPartSpooler {
+
+    private static final Logger LOGGER = Logger.getLogger(BodyPartSpooler.class.getName());
+    private static final int DEFAULT_MEMORY_THRESHOLD = 16 * 1024;
+    private static final String FILE_PREFIX = "helidon-part-";
+    private static final String FILE_SUFFIX = ".tmp";
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    private static final LazyValue<ExecutorService> DEFAULT_EXECUTOR =
+            LazyValue.create(() -> Executors.newCachedThreadPool(BodyPartSpooler::spoolerThread));
+
+    private final Path directory;
+    private final int memoryThreshold;
+    private final long maxPartSize;
+    private final long maxTotalSize;
+    private final Function<? super ReadableBodyPart, ? extends WritableByteChannel> channels;
+    private final LazyValue<ExecutorService> executor;
+
+    private BodyPartSpooler(Builder builder) {
+        this.directory = builder.directory;
+        this.memoryThreshold = builder.memoryThreshold;
+        this.maxPartSize = builder.maxPartSize;
+        this.maxTotalSize = builder.maxTotalSize;
+        this.channels = builder.channels;
+        this.executor = builder.executor == null ? DEFAULT_EXECUTOR : LazyValue.create(builder.executor);
+    }
+
+    /**
+     * Create a new spooler with default settings.
+     *
+     * @return spooler
+     */
+    public static BodyPartSpooler create() {
+        return builder().build();
+    }
+
+    /**
+     * Create a new builder.
+     *
+     * @return builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Spool the parts of a multipart message, one after the other.
+     * The maximum total size applies to the sum of the parts.
+     *
+     * @param parts publisher of the parts
+     * @return publisher of the spooled parts
+     */
+    public Multi<SpooledBodyPart> spool(Publisher<ReadableBodyPart> parts) {
+        AtomicLong total = new AtomicLong();
+        return Multi.create(parts)
+                .flatMap(part -> spool(part, total), 1, false, 1);
+    }
+
+    /**
+     * Spool the content of a single part.
+     *
+     * @param part part to spool
+     * @return single of the spooled part
+     */
+    public Single<SpooledBodyPart> spool(ReadableBodyPart part) {
+        return spool(part, new AtomicLong());
+    }
+
+    private Single<SpooledBodyPart> spool(ReadableBodyPart part, AtomicLong total) {
+        PartSubscriber subscriber = new PartSubscriber(part, total);
+        part.content().subscribe(subscriber);
+        return Single.create(subscriber.result)
+                .onCancel(subscriber::cancel);
+    }
+
+    private static Thread spoolerThread(Runnable runnable) {
+        Thread thread = new Thread(runnable, "helidon-part-spooler-" + THREAD_COUNTER.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Reads the content of a part, in memory and then to a channel.
+     * A single chunk is requested at a time, so that a chunk written in the executor is released before the next one
+     * is delivered.
+     */
+    private final class PartSubscriber implements Subscriber<DataChunk> {
+
+        private final CompletableFuture<SpooledBodyPart> result = new CompletableFuture<>();
+        private final ReadableBodyPart part;
+        private final AtomicLong total;
+        private volatile Subscription subscription;
+        private byte[] memory;
+        private int memoryLength;
+        private WritableByteChannel channel;
+        private Path file;
+        private long size;
+        private volatile boolean done;
+        // guarded by this, termination signalled while a chunk is written is handled once it is written
+        private boolean writing;
+        private boolean completed;
+        private Throwable error;
+
+        private PartSubscriber(ReadableBodyPart part, AtomicLong total) {
+            this.part = part;
+            this.total = total;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            subscription.request(1);
+        }
+
+        @Override
+        public void onNext(DataChunk chunk) {
+            if (done) {
+                chunk.release();
+                return;
+            }
+            if (channel == null && channels == null && fitsInMemory(chunk)) {
+                try {
+                    for (ByteBuffer data : chunk.data()) {
+                        write(data);
+                    }
+                } catch (IOException | MultiPartLimitException ex) {
+                    subscription.cancel();
+                    fail(ex);
+                    return;
+                } finally {
+                    chunk.release();
+                }
+                subscription.request(1);
+                return;
+            }
+            synchronized (this) {
+                writing = true;
+            }
+            try {
+                executor.get().execute(() -> writeChunk(chunk));
+            } catch (RejectedExecutionException ex) {
+                chunk.release();
+                subscription.cancel();
+                fail(ex);
+                written();
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            synchronized (this) {
+                if (writing) {
+                    error = throwable;
+                    return;
+                }
+            }
+            fail(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                if (writing) {
+                    completed = true;
+                    return;
+                }
+            }
+            if (channel == null && channels == null) {
+                complete();
+            } else {
+                // closing the channel may block as well
+                try {
+                    executor.get().execute(this::complete);
+                } catch (RejectedExecutionException ex) {
+                    fail(ex);
+                }
+            }
+        }
+
+        private void cancel() {
+            Subscription s = subscription;
+            if (s != null) {
+                s.cancel();
+            }
+            onError(new CancellationException("Spooling of the part was cancelled"));
+        }
+
+        private void writeChunk(DataChunk chunk) {
+            try {
+                if (!done) {
+                    for (ByteBuffer data : chunk.data()) {
+                        write(data);
+                    }
+                }
+            } catch (IOException | RuntimeException ex) {
+                // also failures of the channel of the application, the part must not wait for this chunk forever
+                subscription.cancel();
+                fail(ex);
+            } finally {
+                chunk.release();
+            }
+            if (written()) {
+                subscription.request(1);
+            }
+        }
+
+        // returns whether to request the next chunk
+        private boolean written() {
+            boolean complete;
+            Throwable failure;
+            synchronized (this) {
+                writing = false;
+                complete = completed;
+                failure = error;
+            }
+            if (failure != null) {
+                fail(failure);
+            } else if (complete) {
+                complete();
+            } else {
+                return !done;
+            }
+            return false;
+        }
+
+        private void complete() {
+            if (done) {
+                return;
+            }
+            try {
+                if (channel == null && channels != null) {
+                    open();
+                }
+                if (channel != null) {
+                    channel.close();
+                }
+            } catch (IOException ex) {
+                fail(ex);
+                return;
+            }
+            done = true;
+            byte[] content = channel == null
+                    ? (memory == null ? new byte[0] : Arrays.copyOf(memory, memoryLength))
+                    : null;
+            result.complete(new SpooledBodyPart(part.headers(), size, content, file));
+        }
+
+        private boolean fitsInMemory(DataChunk chunk) {
+            long length = memoryLength;
+            for (ByteBuffer data : chunk.data()) {
+                length += data.remaining();
+            }
+            return length <= memoryThreshold;
+        }
+
+        private void write(ByteBuffer data) throws IOException {
+            int length = data.remaining();
+            size += length;
+            if (maxPartSize >= 0 && size > maxPartSize) {
+                throw new MultiPartLimitException("Part exceeds the maximum size of " + maxPartSize + " bytes",
+                                                  maxPartSize);
+            }
+            if (maxTotalSize >= 0 && total.addAndGet(length) > maxTotalSize) {
+                throw new MultiPartLimitException("Message exceeds the maximum size of " + maxTotalSize + " bytes",
+                                                  maxTotalSize);
+            }
+            if (channel == null) {
+                if (channels == null && memoryLength + length <= memoryThreshold) {
+                    buffer(data, length);
+                    return;
+                }
+                open();
+            }
+            // the slice is written as is, a duplicate keeps the position of the buffer untouched
+            writeFully(data.duplicate());
+        }
+
+        private void buffer(ByteBuffer data, int length) {
+            if (memory == null || memory.length < memoryLength + length) {
+                int capacity = Math.min(memoryThreshold, Math.max(memoryLength + length, memoryLength * 2));
+                memory = memory == null ? new byte[capacity] : Arrays.copyOf(memory, capacity);
+            }
+            data.duplicate().get(memory, memoryLength, length);
+            memoryLength += length;
+        }
+
+        private void open() throws IOException {
+            if (channels != null) {
+                channel = Objects.requireNonNull(channels.apply(part), "channel");
+            } else {
+                file = directory == null
+                        ? Files.createTempFile(FILE_PREFIX, FILE_SUFFIX)
+                        : Files.createTempFile(directory, FILE_PREFIX, FILE_SUFFIX);
+                channel = FileChannel.open(file, StandardOpenOption.WRITE);
+            }
+            if (memoryLength > 0) {
+                writeFully(ByteBuffer.wrap(memory, 0, memoryLength));
+            }
+            memory = null;
+            memoryLength = 0;
+        }
+
+        private void writeFully(ByteBuffer buffer) throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        private void fail(Throwable throwable) {
+            if (done) {
+                return;
+            }
+            done = true;
+            memory = null;
+            try {
+                if (channel != null) {
+                    channel.close();
+                }
+                if (file != null) {
+                    Files.deleteIfExists(file);
+                }
+            } catch (IOException ex) {
+                LOGGER.log(Level.FINE, "Failed to clean up spooled part " + file, ex);
+            }
+            result.completeExceptionally(throwable);
+        }
+    }
+
+    /**
+     * Fluent API builder for {@link BodyPartSpooler}.
+     */
+    public static final class Builder implements io.helidon.common.Builder<Builder, BodyPartSpooler> {
+
+        private Path directory;
+        private int memoryThreshold = DEFAULT_MEMORY_THRESHOLD;
+        private long maxPartSize = -1;
+        private long maxTotalSize = -1;
+        private Function<? super ReadableBodyPart, ? extends WritableByteChannel> channels;
+        private ExecutorService executor;
+
+        private Builder() {
+        }
+
+        @Override
+        public BodyPartSpooler build() {
+            return new BodyPartSpooler(this);
+        }
+
+        /**
+         * Directory of the temporary files.
+         * Defaults to the default temporary-file directory of the JVM.
+         *
+         * @param directory directory
+         * @return updated builder instance
+         */
+        public Builder directory(Path directory) {
+            this.directory = Objects.requireNonNull(directory, "directory");
+            return this;
+        }
+
+        /**
+         * Size of the content of a part kept in memory. A part larger than this is written to a file.
+         * Defaults to {@code 16 KiB}, {@code 0} writes all parts to files.
+         *
+         * @param memoryThreshold threshold in bytes
+         * @return updated builder instance
+         */
+        public Builder memoryThreshold(int memoryThreshold) {
+            if (memoryThreshold < 0) {
+                throw new IllegalArgumentException("Memory threshold cannot be negative: " + memoryThreshold);
+            }
+            this.memoryThreshold = memoryThreshold;
+            return this;
+        }
+
+        /**
+         * Maximum size of the content of a part. A larger part fails with {@link MultiPartLimitException}.
+         * Defaults to {@code -1}, unlimited.
+         *
+         * @param maxPartSize maximum size in bytes, negative for unlimited
+         * @return updated builder instance
+         */
+        public Builder maxPartSize(long maxPartSize) {
+            this.maxPartSize = maxPartSize;
+            return this;
+        }
+
+        /**
+         * Maximum size of the content of all parts of a message.
+         * A larger message fails with {@link MultiPartLimitException}.
+         * Defaults to {@code -1}, unlimited.
+         *
+         * @param maxTotalSize maximum size in bytes, negative for unlimited
+         * @return updated builder instance
+         */
+        public Builder maxTotalSize(long maxTotalSize) {
+            this.maxTotalSize = maxTotalSize;
+            return this;
+        }
+
+        /**
+         * Write the content of each part to a channel of the application, instead of temporary files.
+         * The channel is obtained with the first content of the part, and closed once the part is written.
+         * The content is not kept in memory, regardless of the memory threshold.
+         *
+         * @param channels function to obtain the channel of a part
+         * @return updated builder instance
+         */
+        public Builder channel(Function<? super ReadableBodyPart, ? extends WritableByteChannel> channels) {
+            this.channels = Objects.requireNonNull(channels, "channels");
+            return this;
+        }
+
+        /**
+         * Executor service to write the content of the parts to the files or channels.
+         * Defaults to a shared pool of daemon threads, created when first used.
+         *
+         * @param executor executor service
+         * @return updated builder instance
+         */
+        public Builder executor(ExecutorService executor) {
+            this.executor = Objects.requireNonNull(executor, "executor");
+            return this;
+        }
+    }
+}
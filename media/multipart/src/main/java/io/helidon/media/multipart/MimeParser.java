@@ -794,6 +794,9 @@ final class MimeParser {
     /**
      * Finds the boundary in the given buffer using Boyer-Moore algorithm.
      * Copied from {@link java.util.regex.Pattern}
+     * <p>
+     * Each probe skips up to the boundary length, and the bytes are read in place from the underlying buffers,
+     * see {@link VirtualBuffer#getByte(int)}.
      *
      * @return -1 if there is no match or index where the match starts
      */
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.media.multipart;
+
+/**
+ * Signals that the content of a multipart message exceeds a size limit, see {@link BodyPartSpooler}.
+ */
+public class MultiPartLimitException extends RuntimeException {
+
+    private final long limit;
+
+    /**
+     * Create a new exception.
+     *
+     * @param message exception message
+     * @param limit the exceeded limit in bytes
+     */
+    public MultiPartLimitException(String message, long limit) {
+        super(message);
+        this.limit = limit;
+    }
+
+    /**
+     * The exceeded limit.
+     *
+     * @return limit in bytes
+     */
+    public long limit() {
+        return limit;
+    }
+}
@@ -34,10 +34,10 @@ public final class MultiPartSupport implements MediaSupport {
     private final Collection<MessageBodyStreamReader<?>> streamReaders;
     private final Collection<MessageBodyStreamWriter<?>> streamWriters;
 
-    private MultiPartSupport(){
+    private MultiPartSupport(BodyPartSpooler spooler){
         readers = List.of();
         writers = List.of(MultiPartBodyWriter.create());
-        streamReaders = List.of(BodyPartBodyStreamReader.create());
+        streamReaders = List.of(BodyPartBodyStreamReader.create(), SpooledBodyPartStreamReader.create(spooler));
         streamWriters = List.of(BodyPartBodyStreamWriter.create());
     }
 
@@ -66,6 +66,16 @@ public final class MultiPartSupport implements MediaSupport {
      * @return MultiPartSupport
      */
     public static MultiPartSupport create(){
-        return new MultiPartSupport();
+        return new MultiPartSupport(BodyPartSpooler.create());
+    }
+
+    /**
+     * Create a new instance of {@link MultiPartSupport}, reading {@link SpooledBodyPart} with the given spooler.
+     *
+     * @param spooler spooler of the parts
+     * @return MultiPartSupport
+     */
+    public static MultiPartSupport create(BodyPartSpooler spooler){
+        return new MultiPartSupport(spooler);
     }
 }
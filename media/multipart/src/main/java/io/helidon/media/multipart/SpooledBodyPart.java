@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.media.multipart;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Body part which content has been read by a {@link BodyPartSpooler}.
+ * The content is either in memory, in a temporary file, or was written to a channel of the application.
+ */
+public final class SpooledBodyPart {
+
+    private final ReadableBodyPartHeaders headers;
+    private final long size;
+    private final byte[] content;
+    private final Path file;
+
+    SpooledBodyPart(ReadableBodyPartHeaders headers, long size, byte[] content, Path file) {
+        this.headers = headers;
+        this.size = size;
+        this.content = content;
+        this.file = file;
+    }
+
+    /**
+     * Returns HTTP part headers.
+     *
+     * @return headers, never {@code null}
+     */
+    public ReadableBodyPartHeaders headers() {
+        return headers;
+    }
+
+    /**
+     * Get the control name.
+     *
+     * @return the {@code name} parameter of the {@code Content-Disposition}
+     * header, or {@code null} if not present.
+     */
+    public String name() {
+        return headers.contentDisposition().name().orElse(null);
+    }
+
+    /**
+     * Get the file name.
+     *
+     * @return the {@code filename} parameter of the {@code Content-Disposition}
+     * header, or {@code null} if not present.
+     */
+    public String filename() {
+        return headers.contentDisposition().filename().orElse(null);
+    }
+
+    /**
+     * Size of the content.
+     *
+     * @return size in bytes
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Indicate if the content is in memory, as it did not exceed the memory threshold of the spooler.
+     *
+     * @return {@code true} if in memory, {@code false} otherwise
+     */
+    public boolean isInMemory() {
+        return content != null;
+    }
+
+    /**
+     * The temporary file with the content.
+     * The file is not deleted by Helidon, see {@link #delete()}.
+     *
+     * @return the file, or empty if the content is in memory or was written to a channel of the application
+     */
+    public Optional<Path> file() {
+        return Optional.ofNullable(file);
+    }
+
+    /**
+     * The content, if in memory.
+     *
+     * @return content bytes
+     * @throws IllegalStateException if the content is not in memory
+     */
+    public byte[] bytes() {
+        if (content == null) {
+            throw new IllegalStateException("The content of this part is not in memory");
+        }
+        return content.clone();
+    }
+
+    /**
+     * Open an input stream over the content, in memory or in the temporary file.
+     *
+     * @return input stream
+     * @throws IOException if the temporary file cannot be opened
+     * @throws IllegalStateException if the content was written to a channel of the application
+     */
+    public InputStream inputStream() throws IOException {
+        if (content != null) {
+            return new ByteArrayInputStream(content);
+        }
+        if (file == null) {
+            throw new IllegalStateException("The content of this part was written to an application channel");
+        }
+        return Files.newInputStream(file);
+    }
+
+    /**
+     * Delete the temporary file, if any.
+     *
+     * @throws IOException if the file cannot be deleted
+     */
+    public void delete() throws IOException {
+        if (file != null) {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SpooledBodyPart{"
+                + "name=" + name()
+                + ", size=" + size
+                + ", file=" + file
+                + '}';
+    }
+}
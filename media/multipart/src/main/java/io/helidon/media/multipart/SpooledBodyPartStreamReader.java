@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.media.multipart;
+
+import java.util.concurrent.Flow.Publisher;
+
+import io.helidon.common.GenericType;
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.http.MediaType;
+import io.helidon.media.common.MessageBodyReaderContext;
+import io.helidon.media.common.MessageBodyStreamReader;
+
+/**
+ * {@link SpooledBodyPart} stream reader.
+ */
+public final class SpooledBodyPartStreamReader implements MessageBodyStreamReader<SpooledBodyPart> {
+
+    private final BodyPartSpooler spooler;
+
+    private SpooledBodyPartStreamReader(BodyPartSpooler spooler) {
+        this.spooler = spooler;
+    }
+
+    @Override
+    public PredicateResult accept(GenericType<?> type, MessageBodyReaderContext context) {
+        return PredicateResult.supports(SpooledBodyPart.class, type);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <U extends SpooledBodyPart> Publisher<U> read(Publisher<DataChunk> publisher, GenericType<U> type,
+            MessageBodyReaderContext context) {
+
+        String boundary = context.contentType()
+                .map(MediaType::parameters)
+                .map(parameters -> parameters.get("boundary"))
+                .orElseThrow(() -> new IllegalStateException("boundary header is missing"));
+        MultiPartDecoder decoder = MultiPartDecoder.create(boundary, context);
+        publisher.subscribe(decoder);
+        return (Publisher<U>) spooler.spool(decoder);
+    }
+
+    /**
+     * Create a new instance of {@link SpooledBodyPartStreamReader}.
+     *
+     * @param spooler spooler of the parts
+     * @return SpooledBodyPartStreamReader
+     */
+    public static SpooledBodyPartStreamReader create(BodyPartSpooler spooler) {
+        return new SpooledBodyPartStreamReader(spooler);
+    }
+}
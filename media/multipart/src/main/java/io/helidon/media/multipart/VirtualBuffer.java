@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -44,6 +44,9 @@ final class VirtualBuffer {
     private int voffset;
     private int vlength;
     private int nextId;
+    // buffer index and absolute position of the buffer last read by getByte, -1 if not set
+    private int cursorIndex;
+    private int cursorPos;
 
     /**
      * Create a new virtual buffer.
@@ -58,6 +61,7 @@ final class VirtualBuffer {
         count = 0;
         startIndex = 0;
         endIndex = 0;
+        cursorIndex = -1;
     }
 
     /**
@@ -95,6 +99,7 @@ final class VirtualBuffer {
         count = 0;
         startIndex = 0;
         endIndex = 0;
+        cursorIndex = -1;
     }
 
     /**
@@ -111,6 +116,8 @@ final class VirtualBuffer {
         if (newOffset < 0) {
             throw new IllegalArgumentException("Negative offset: " + newOffset);
         }
+        // buffers are discarded or moved, the absolute positions change
+        cursorIndex = -1;
         if (buffers.length == count) {
             doubleCapacity();
         }
@@ -147,6 +154,8 @@ final class VirtualBuffer {
 
     /**
      * Get a single byte.
+     * Consecutive reads in the same buffer (or in the following buffers) resume from the buffer of the previous read,
+     * so that scanning the virtual buffer does not walk the underlying buffers for each byte.
      *
      * @param index virtual index
      * @return byte
@@ -157,12 +166,22 @@ final class VirtualBuffer {
         if (index < 0 || index >= vlength) {
             throw new IndexOutOfBoundsException("Invalid index: " + index);
         }
-        int pos = 0; // absolute position for current buffer start
         int off = voffset + index; // actual offset
-        for (int i = startIndex; isBufferIndex(i); i = nextBufferIndex(i)) {
+        int pos; // absolute position for current buffer start
+        int i;
+        if (cursorIndex >= 0 && off >= cursorPos) {
+            i = cursorIndex;
+            pos = cursorPos;
+        } else {
+            i = startIndex;
+            pos = 0;
+        }
+        for (; isBufferIndex(i); i = nextBufferIndex(i)) {
             ByteBuffer buffer = buffers[i];
             int nextPos = pos + buffer.limit();
             if (nextPos > off) {
+                cursorIndex = i;
+                cursorPos = pos;
                 return buffer.get(off - pos);
             }
             pos = nextPos;
@@ -0,0 +1,212 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.media.multipart;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Tests {@link BodyPartSpooler}.
+ */
+public class BodyPartSpoolerTest {
+
+    private static final String BOUNDARY = "boundary";
+
+    @Test
+    public void testSmallPartInMemory(@TempDir Path directory) {
+        BodyPartSpooler spooler = BodyPartSpooler.builder()
+                .directory(directory)
+                .build();
+
+        List<SpooledBodyPart> parts = spool(spooler, List.of(message(part("field", null, "value"))));
+
+        assertThat(parts.size(), is(1));
+        SpooledBodyPart part = parts.get(0);
+        assertThat(part.name(), is("field"));
+        assertThat(part.isInMemory(), is(true));
+        assertThat(part.file().isPresent(), is(false));
+        assertThat(new String(part.bytes(), StandardCharsets.UTF_8), is("value"));
+        assertThat(directory.toFile().list().length, is(0));
+    }
+
+    @Test
+    public void testLargePartSpooled(@TempDir Path directory) throws Exception {
+        BodyPartSpooler spooler = BodyPartSpooler.builder()
+                .directory(directory)
+                .memoryThreshold(16)
+                .build();
+        String content = "0123456789".repeat(100);
+
+        // the message is delivered in several chunks, the part spans all of them
+        List<SpooledBodyPart> parts = spool(spooler, split(message(part("field", null, "value"),
+                                                                   part("file", "file.txt", content)), 64));
+
+        assertThat(parts.size(), is(2));
+        assertThat(parts.get(0).isInMemory(), is(true));
+        SpooledBodyPart file = parts.get(1);
+        assertThat(file.filename(), is("file.txt"));
+        assertThat(file.isInMemory(), is(false));
+        assertThat(file.size(), is((long) content.length()));
+        assertThat(file.file().isPresent(), is(true));
+        assertThat(Files.readString(file.file().get()), is(content));
+        try (InputStream is = file.inputStream()) {
+            assertThat(new String(is.readAllBytes(), StandardCharsets.UTF_8), is(content));
+        }
+
+        file.delete();
+        assertThat(directory.toFile().list().length, is(0));
+    }
+
+    @Test
+    public void testMaxPartSize(@TempDir Path directory) {
+        BodyPartSpooler spooler = BodyPartSpooler.builder()
+                .directory(directory)
+                .memoryThreshold(16)
+                .maxPartSize(100)
+                .build();
+
+        CompletionException ex = assertThrows(CompletionException.class, () -> spool(spooler, split(
+                message(part("file", "file.txt", "x".repeat(200))), 32)));
+
+        assertThat(ex.getCause(), is(instanceOf(MultiPartLimitException.class)));
+        assertThat(((MultiPartLimitException) ex.getCause()).limit(), is(100L));
+        // the partially written file is deleted
+        assertThat(directory.toFile().list().length, is(0));
+    }
+
+    @Test
+    public void testMaxTotalSize() {
+        BodyPartSpooler spooler = BodyPartSpooler.builder()
+                .maxPartSize(100)
+                .maxTotalSize(150)
+                .build();
+
+        CompletionException ex = assertThrows(CompletionException.class, () -> spool(spooler, List.of(
+                message(part("first", null, "x".repeat(100)), part("second", null, "x".repeat(100))))));
+
+        assertThat(ex.getCause(), is(instanceOf(MultiPartLimitException.class)));
+        assertThat(((MultiPartLimitException) ex.getCause()).limit(), is(150L));
+    }
+
+    @Test
+    public void testApplicationChannel() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BodyPartSpooler spooler = BodyPartSpooler.builder()
+                .channel(part -> Channels.newChannel(out))
+                .build();
+
+        List<SpooledBodyPart> parts = spool(spooler, split(message(part("file", "file.txt", "content")), 8));
+
+        assertThat(parts.size(), is(1));
+        SpooledBodyPart part = parts.get(0);
+        assertThat(part.isInMemory(), is(false));
+        assertThat(part.file().isPresent(), is(false));
+        assertThat(part.size(), is(7L));
+        assertThat(out.toString(StandardCharsets.UTF_8), is(equalTo("content")));
+        assertThrows(IllegalStateException.class, part::inputStream);
+    }
+
+    @Test
+    public void testWritesInExecutor() {
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "spooler-test"));
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        WritableByteChannel channel = Channels.newChannel(out);
+        BodyPartSpooler spooler = BodyPartSpooler.builder()
+                .executor(executor)
+                .channel(part -> new WritableByteChannel() {
+                    @Override
+                    public int write(ByteBuffer src) throws IOException {
+                        threads.add(Thread.currentThread().getName());
+                        return channel.write(src);
+                    }
+
+                    @Override
+                    public boolean isOpen() {
+                        return channel.isOpen();
+                    }
+
+                    @Override
+                    public void close() throws IOException {
+                        channel.close();
+                    }
+                })
+                .build();
+        try {
+            List<SpooledBodyPart> parts = spool(spooler, split(message(part("file", "file.txt", "x".repeat(100))), 16));
+
+            assertThat(parts.get(0).size(), is(100L));
+            assertThat(out.toString(StandardCharsets.UTF_8), is("x".repeat(100)));
+            assertThat(threads, is(Set.of("spooler-test")));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static List<SpooledBodyPart> spool(BodyPartSpooler spooler, List<byte[]> chunks) {
+        MultiPartDecoder decoder = MultiPartDecoder.create(BOUNDARY, BodyPartTest.MEDIA_CONTEXT.readerContext());
+        MultiPartDecoderTest.chunksPublisher(chunks).subscribe(decoder);
+        return spooler.spool(decoder)
+                .collectList()
+                .await(5, TimeUnit.SECONDS);
+    }
+
+    private static String part(String name, String filename, String content) {
+        return "--" + BOUNDARY + "\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\""
+                + (filename == null ? "" : "; filename=\"" + filename + "\"") + "\n"
+                + "\n"
+                + content + "\n";
+    }
+
+    private static byte[] message(String... parts) {
+        return (String.join("", parts) + "--" + BOUNDARY + "--").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<byte[]> split(byte[] message, int size) {
+        List<byte[]> chunks = new ArrayList<>();
+        for (int i = 0; i < message.length; i += size) {
+            chunks.add(Arrays.copyOfRange(message, i, Math.min(message.length, i + size)));
+        }
+        return chunks;
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -212,4 +212,22 @@ public class VirtualBufferTest {
         assertThat(new String(Utils.toByteArray(bb7)), is(equalTo(" is the 2nd")));
         assertThat(new String(Utils.toByteArray(bb8)), is(equalTo(" body.")));
     }
+
+    @Test
+    public void getByteAfterOfferTest() {
+        VirtualBuffer buf = new VirtualBuffer();
+        buf.offer(ByteBuffer.wrap("foo".getBytes()), 0);
+        buf.offer(ByteBuffer.wrap("bar".getBytes()), 0);
+        // reads forward and backward across buffers
+        assertThat((char) buf.getByte(4), is(equalTo('a')));
+        assertThat((char) buf.getByte(1), is(equalTo('o')));
+        assertThat((char) buf.getByte(5), is(equalTo('r')));
+
+        // the first buffer is discarded, virtual indexes are shifted
+        buf.offer(ByteBuffer.wrap("baz".getBytes()), 4);
+        assertThat(buf.length(), is(equalTo(5)));
+        assertThat((char) buf.getByte(0), is(equalTo('a')));
+        assertThat((char) buf.getByte(4), is(equalTo('z')));
+        assertThat((char) buf.getByte(1), is(equalTo('r')));
+    }
 }
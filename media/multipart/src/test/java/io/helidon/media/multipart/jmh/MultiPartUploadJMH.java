@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.media.multipart.jmh;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import io.helidon.common.http.DataChunk;
+import io.helidon.common.reactive.Multi;
+import io.helidon.media.common.ContentReaders;
+import io.helidon.media.common.MediaContext;
+import io.helidon.media.multipart.BodyPartSpooler;
+import io.helidon.media.multipart.MultiPartDecoder;
+import io.helidon.media.multipart.ReadableBodyPart;
+import io.helidon.media.multipart.SpooledBodyPart;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Reading a large multipart upload (a small field and a file), delivered as direct buffers of the size of the
+ * request chunks: decoding only, reading the parts in memory, and spooling them with {@link BodyPartSpooler}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MultiPartUploadJMH {
+    private static final String BOUNDARY = "----WebKitFormBoundary7MA4YWxkTrZu0gW";
+    private static final int CHUNK_SIZE = 16 * 1024;
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(MultiPartUploadJMH.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    /**
+     * Size of the uploaded file in MiB.
+     */
+    @Param({"8", "64"})
+    int fileSize;
+
+    private MediaContext mediaContext;
+    private ByteBuffer[] buffers;
+    private Path directory;
+    private BodyPartSpooler spooler;
+
+    @Setup
+    public void setup() throws IOException {
+        mediaContext = MediaContext.create();
+        byte[] head = ("--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"description\"\r\n"
+                + "\r\n"
+                + "large upload\r\n"
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"upload.bin\"\r\n"
+                + "Content-Type: application/octet-stream\r\n"
+                + "\r\n").getBytes(StandardCharsets.US_ASCII);
+        byte[] tail = ("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        int length = head.length + fileSize * 1024 * 1024 + tail.length;
+
+        ByteBuffer message = ByteBuffer.allocateDirect(length);
+        message.put(head);
+        for (int i = 0; i < fileSize * 1024 * 1024; i++) {
+            // binary content, with bytes of the boundary
+            message.put((byte) (i * 31 + (i >>> 7)));
+        }
+        message.put(tail);
+        message.flip();
+
+        buffers = new ByteBuffer[(length + CHUNK_SIZE - 1) / CHUNK_SIZE];
+        for (int i = 0; i < buffers.length; i++) {
+            int position = i * CHUNK_SIZE;
+            buffers[i] = message.duplicate()
+                    .position(position)
+                    .limit(Math.min(length, position + CHUNK_SIZE))
+                    .slice();
+        }
+
+        directory = Files.createTempDirectory("multipart-jmh");
+        spooler = BodyPartSpooler.builder()
+                .directory(directory)
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(file -> file.toFile().delete());
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public long decode() {
+        return parts()
+                .flatMap(ReadableBodyPart::content, 1, false, 32)
+                .map(chunk -> {
+                    long size = chunk.remaining();
+                    chunk.release();
+                    return size;
+                })
+                .reduce(Long::sum)
+                .await();
+    }
+
+    @Benchmark
+    public long readInMemory() {
+        return parts()
+                .flatMap(part -> ContentReaders.readBytes(part.content()), 1, false, 1)
+                .map(bytes -> (long) bytes.length)
+                .reduce(Long::sum)
+                .await();
+    }
+
+    @Benchmark
+    public long spool() {
+        return spooler.spool(parts())
+                .map(MultiPartUploadJMH::delete)
+                .reduce(Long::sum)
+                .await();
+    }
+
+    private Multi<ReadableBodyPart> parts() {
+        DataChunk[] chunks = new DataChunk[buffers.length];
+        for (int i = 0; i < buffers.length; i++) {
+            chunks[i] = DataChunk.create(buffers[i]);
+        }
+        MultiPartDecoder decoder = MultiPartDecoder.create(BOUNDARY, mediaContext.readerContext());
+        Multi.just(chunks).subscribe(decoder);
+        return Multi.create(decoder);
+    }
+
+    private static long delete(SpooledBodyPart part) {
+        try {
+            part.delete();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return part.size();
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.metrics.api;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.eclipse.microprofile.metrics.ConcurrentGauge;
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.Histogram;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.Meter;
+import org.eclipse.microprofile.metrics.Metric;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.SimpleTimer;
+import org.eclipse.microprofile.metrics.Tag;
+import org.eclipse.microprofile.metrics.Timer;
+
+/**
+ * A metric bound to a registry, metadata, and fixed tags.
+ * <p>
+ *     The metric is resolved from the registry once, when the handle is created. Code on a hot path can then record
+ *     directly to the metric returned by {@link #get()}, without looking it up by name and tags on each invocation.
+ *     If the metric is removed from the registry, the next invocation of {@link #get()} registers it again, so a
+ *     handle can be kept for the lifetime of the component that records to it.
+ * </p>
+ * <pre>{@code
+ * MetricHandle<Counter> requests = MetricHandle.counter(registry, metadata, new Tag("method", "GET"));
+ * ...
+ * requests.get().inc();
+ * }</pre>
+ *
+ * @param <T> type of the metric
+ */
+public final class MetricHandle<T extends Metric> implements Supplier<T> {
+
+    private final MetricRegistry registry;
+    private final Metadata metadata;
+    private final Tag[] tags;
+    private final Resolver<T> resolver;
+    private volatile T metric;
+
+    private MetricHandle(MetricRegistry registry, Metadata metadata, Tag[] tags, Resolver<T> resolver) {
+        this.registry = Objects.requireNonNull(registry, "registry");
+        this.metadata = Objects.requireNonNull(metadata, "metadata");
+        this.tags = tags == null ? new Tag[0] : tags.clone();
+        this.resolver = resolver;
+        this.metric = resolver.resolve(this.registry, this.metadata, this.tags);
+    }
+
+    /**
+     * Create a handle for a counter.
+     *
+     * @param registry registry to register the counter with
+     * @param metadata metadata of the counter
+     * @param tags tags of the counter
+     * @return a new handle
+     */
+    public static MetricHandle<Counter> counter(MetricRegistry registry, Metadata metadata, Tag... tags) {
+        return new MetricHandle<>(registry, metadata, tags, MetricRegistry::counter);
+    }
+
+    /**
+     * Create a handle for a concurrent gauge.
+     *
+     * @param registry registry to register the concurrent gauge with
+     * @param metadata metadata of the concurrent gauge
+     * @param tags tags of the concurrent gauge
+     * @return a new handle
+     */
+    public static MetricHandle<ConcurrentGauge> concurrentGauge(MetricRegistry registry, Metadata metadata, Tag... tags) {
+        return new MetricHandle<>(registry, metadata, tags, MetricRegistry::concurrentGauge);
+    }
+
+    /**
+     * Create a handle for a histogram.
+     *
+     * @param registry registry to register the histogram with
+     * @param metadata metadata of the histogram
+     * @param tags tags of the histogram
+     * @return a new handle
+     */
+    public static MetricHandle<Histogram> histogram(MetricRegistry registry, Metadata metadata, Tag... tags) {
+        return new MetricHandle<>(registry, metadata, tags, MetricRegistry::histogram);
+    }
+
+    /**
+     * Create a handle for a meter.
+     *
+     * @param registry registry to register the meter with
+     * @param metadata metadata of the meter
+     * @param tags tags of the meter
+     * @return a new handle
+     */
+    public static MetricHandle<Meter> meter(MetricRegistry registry, Metadata metadata, Tag... tags) {
+        return new MetricHandle<>(registry, metadata, tags, MetricRegistry::meter);
+    }
+
+    /**
+     * Create a handle for a simple timer.
+     *
+     * @param registry registry to register the simple timer with
+     * @param metadata metadata of the simple timer
+     * @param tags tags of the simple timer
+     * @return a new handle
+     */
+    public static MetricHandle<SimpleTimer> simpleTimer(MetricRegistry registry, Metadata metadata, Tag... tags) {
+        return new MetricHandle<>(registry, metadata, tags, MetricRegistry::simpleTimer);
+    }
+
+    /**
+     * Create a handle for a timer.
+     *
+     * @param registry registry to register the timer with
+     * @param metadata metadata of the timer
+     * @param tags tags of the timer
+     * @return a new handle
+     */
+    public static MetricHandle<Timer> timer(MetricRegistry registry, Metadata metadata, Tag... tags) {
+        return new MetricHandle<>(registry, metadata, tags, MetricRegistry::timer);
+    }
+
+    /**
+     * The bound metric. Registers the metric again if it was removed from the registry since it was last resolved.
+     *
+     * @return the metric
+     */
+    @Override
+    public T get() {
+        T current = metric;
+        if (HelidonMetric.isMarkedAsDeleted(current)) {
+            current = resolver.resolve(registry, metadata, tags);
+            metric = current;
+        }
+        return current;
+    }
+
+    /**
+     * Metadata this handle registers the metric with.
+     *
+     * @return metadata of the metric
+     */
+    public Metadata metadata() {
+        return metadata;
+    }
+
+    @Override
+    public String toString() {
+        return "MetricHandle{" + metadata.getName() + "}";
+    }
+
+    @FunctionalInterface
+    private interface Resolver<T extends Metric> {
+        T resolve(MetricRegistry registry, Metadata metadata, Tag... tags);
+    }
+}
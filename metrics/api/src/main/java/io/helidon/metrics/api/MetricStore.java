@@ -32,6 +32,7 @@ import java.util.TreeMap;
 import java.util.TreeSet;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -58,13 +59,21 @@ import org.eclipse.microprofile.metrics.Tag;
  *     metrics, and metric IDs, there is a bewildering set of method signatures that can update or query the data structures
  *     holding all this information. That, plus the type generality, makes for quite the class here.
  * </p>
+ * <p>
+ *     Updates are guarded by a read/write lock. Looking up a metric which is already registered does not take the lock:
+ *     each metric name maps to an immutable array of registrations (replaced on each update under the write lock) which
+ *     readers scan without allocating.
+ * </p>
  */
 class MetricStore<M extends HelidonMetric> {
 
-    private final ReadWriteLock lock = new ReentrantReadWriteLock(true);
+    private static final Tag[] NO_TAGS = new Tag[0];
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
 
     private final Map<MetricID, M> allMetrics = new ConcurrentHashMap<>();
     private final Map<String, List<MetricID>> allMetricIDsByName = new ConcurrentHashMap<>();
+    private final Map<String, Registration[]> registrationsByName = new ConcurrentHashMap<>(); // lock-free lookups
     private final Map<String, Metadata> allMetadata = new ConcurrentHashMap<>(); // metric name -> metadata
 
     private volatile RegistrySettings registrySettings;
@@ -113,6 +122,10 @@ class MetricStore<M extends HelidonMetric> {
     }
 
     <U extends Metric> U getOrRegisterMetric(MetricID metricID, Class<U> clazz) {
+        M existing = allMetrics.get(metricID);
+        if (clazz.isInstance(existing)) {
+            return clazz.cast(existing);
+        }
         return getOrRegisterMetric(metricID.getName(),
                                    clazz,
                                    () -> allMetrics.get(metricID),
@@ -121,16 +134,25 @@ class MetricStore<M extends HelidonMetric> {
     }
 
     <U extends Metric> U getOrRegisterMetric(String metricName, Class<U> clazz, Tag... tags) {
+        M existing = findMetric(metricName, tags);
+        if (clazz.isInstance(existing)) {
+            return clazz.cast(existing);
+        }
         return getOrRegisterMetric(metricName,
                                    clazz,
-                                   () -> getMetricLocked(metricName, tags),
+                                   () -> findMetric(metricName, tags),
                                    () -> new MetricID(metricName, tags),
                                    () -> getConsistentMetadataLocked(metricName, MetricType.from(clazz)));
     }
 
     <U extends Metric> U getOrRegisterMetric(Metadata newMetadata, Class<U> clazz, Tag... tags) {
+        M existing = findMetric(newMetadata.getName(), tags);
+        if (clazz.isInstance(existing)) {
+            enforceConsistentMetadata(existing.metadata(), newMetadata);
+            return clazz.cast(existing);
+        }
         return writeAccess(() -> {
-            M metric = getMetricLocked(newMetadata.getName(), tags);
+            M metric = findMetric(newMetadata.getName(), tags);
             if (metric == null) {
                 Metadata metadataToUse = newMetadata.getTypeRaw().equals(MetricType.INVALID)
                         ? Metadata.builder(newMetadata).withType(MetricType.from(clazz)).build()
@@ -146,7 +168,7 @@ class MetricStore<M extends HelidonMetric> {
     }
 
     <T, R extends Number> Gauge<R> getOrRegisterGauge(String name, T object, Function<T, R> func, Tag... tags) {
-        return getOrRegisterGauge(() -> getMetricLocked(name, tags),
+        return getOrRegisterGauge(() -> findMetric(name, tags),
                                   () -> getConsistentMetadataLocked(name, MetricType.GAUGE),
                                   () -> new MetricID(name, tags),
                                   (Metadata metadata) -> functionBasedGaugeFactory.createGauge(metadata,
@@ -155,7 +177,7 @@ class MetricStore<M extends HelidonMetric> {
     }
 
     <R extends Number> Gauge<R> getOrRegisterGauge(String name, Supplier<R> valueSupplier, Tag... tags) {
-        return getOrRegisterGauge(() -> getMetricLocked(name, tags),
+        return getOrRegisterGauge(() -> findMetric(name, tags),
                                   () -> getConsistentMetadataLocked(name, MetricType.GAUGE),
                                   () -> new MetricID(name, tags),
                                   (Metadata metadata) -> supplierBasedGaugeFactory.createGauge(metadata,
@@ -166,7 +188,7 @@ class MetricStore<M extends HelidonMetric> {
                                                       T object,
                                                       Function<T, R> valueFunction,
                                                       Tag... tags) {
-        return getOrRegisterGauge(() -> getMetricLocked(newMetadata.getName(), tags),
+        return getOrRegisterGauge(() -> findMetric(newMetadata.getName(), tags),
                                   () -> getConsistentMetadataLocked(newMetadata),
                                   () -> new MetricID(newMetadata.getName(), tags),
                                   (Metadata metadata) -> functionBasedGaugeFactory.createGauge(metadata,
@@ -178,7 +200,7 @@ class MetricStore<M extends HelidonMetric> {
                                                    Supplier<R> valueSupplier,
                                                    Tag... tags) {
         String metricName = newMetadata.getName();
-        return getOrRegisterGauge(() -> getMetricLocked(metricName, tags),
+        return getOrRegisterGauge(() -> findMetric(metricName, tags),
                                   () -> getConsistentMetadataLocked(newMetadata),
                                   () -> new MetricID(metricName, tags),
                                   (Metadata metadata) -> supplierBasedGaugeFactory.createGauge(metadata,
@@ -206,6 +228,10 @@ class MetricStore<M extends HelidonMetric> {
                                                            Supplier<Metadata> metadataFinder,
                                                            Supplier<MetricID> metricIDSupplier,
                                                            Function<Metadata, Gauge<R>> gaugeFactory) {
+        M existing = metricFinder.get();
+        if (existing != null) {
+            return (Gauge<R>) existing;
+        }
         return writeAccess(() -> {
             M metric = metricFinder.get();
             if (metric == null) {
@@ -243,7 +269,10 @@ class MetricStore<M extends HelidonMetric> {
                 metricIDsForName.remove(metricID);
                 if (metricIDsForName.isEmpty()) {
                     allMetricIDsByName.remove(metricID.getName());
+                    registrationsByName.remove(metricID.getName());
                     allMetadata.remove(metricID.getName());
+                } else {
+                    removeRegistrationLocked(metricID);
                 }
                 M doomedMetric = allMetrics.remove(metricID);
                 if (doomedMetric != null) {
@@ -269,6 +298,7 @@ class MetricStore<M extends HelidonMetric> {
                 }
             }
             allMetricIDsByName.remove(name);
+            registrationsByName.remove(name);
             allMetadata.remove(name);
 
             return result;
@@ -408,27 +438,63 @@ class MetricStore<M extends HelidonMetric> {
         });
     }
 
-    private M getMetricLocked(String metricName, Tag... tags) {
-        List<MetricID> metricIDsForName = allMetricIDsByName.get(metricName);
-        if (metricIDsForName == null) {
+    // Does not need the lock: registration arrays are never modified once published.
+    private M findMetric(String metricName, Tag... tags) {
+        Registration[] registrations = registrationsByName.get(metricName);
+        if (registrations == null) {
             return null;
         }
-        for (MetricID metricID : metricIDsForName) {
-            if (metricID.getName().equals(metricName) && Arrays.equals(metricID.getTagsAsArray(), tags)) {
-                return allMetrics.get(metricID);
+        Tag[] tagsToMatch = tags == null ? NO_TAGS : tags;
+        for (Registration registration : registrations) {
+            if (registration.matches(tagsToMatch)) {
+                return metricClass.cast(registration.metric);
             }
         }
         return null;
     }
 
     private <T extends M> T registerMetricLocked(MetricID metricID, T metric) {
-        allMetrics.put(metricID, metric);
-        allMetricIDsByName
-                .computeIfAbsent(metricID.getName(), k -> new ArrayList<>())
-                .add(metricID);
+        M previous = allMetrics.put(metricID, metric);
+        if (previous == null) {
+            allMetricIDsByName
+                    .computeIfAbsent(metricID.getName(), k -> new CopyOnWriteArrayList<>())
+                    .add(metricID);
+        }
+        Registration[] registrations = registrationsByName.get(metricID.getName());
+        Registration registration = new Registration(metricID, metric);
+        if (registrations == null) {
+            registrationsByName.put(metricID.getName(), new Registration[] {registration});
+            return metric;
+        }
+        for (int i = 0; i < registrations.length; i++) {
+            if (registrations[i].metricID.equals(metricID)) {
+                Registration[] updated = registrations.clone();
+                updated[i] = registration;
+                registrationsByName.put(metricID.getName(), updated);
+                return metric;
+            }
+        }
+        Registration[] updated = Arrays.copyOf(registrations, registrations.length + 1);
+        updated[registrations.length] = registration;
+        registrationsByName.put(metricID.getName(), updated);
         return metric;
     }
 
+    private void removeRegistrationLocked(MetricID metricID) {
+        Registration[] registrations = registrationsByName.get(metricID.getName());
+        if (registrations == null) {
+            return;
+        }
+        Registration[] updated = Arrays.stream(registrations)
+                .filter(registration -> !registration.metricID.equals(metricID))
+                .toArray(Registration[]::new);
+        if (updated.length == 0) {
+            registrationsByName.remove(metricID.getName());
+        } else {
+            registrationsByName.put(metricID.getName(), updated);
+        }
+    }
+
     private Metadata getConsistentMetadataLocked(String metricName, MetricType metricType) {
         Metadata result = allMetadata.get(metricName);
         if (result != null) {
@@ -489,6 +555,43 @@ class MetricStore<M extends HelidonMetric> {
                                                 new DisabledMetricInvocationHandler(MetricType.GAUGE, metricName, metadata)));
     }
 
+    /**
+     * A registered metric with the tags of its ID, so lookups can compare tags without creating arrays.
+     */
+    private static final class Registration {
+        private final MetricID metricID;
+        private final Tag[] tags;
+        private final HelidonMetric metric;
+
+        private Registration(MetricID metricID, HelidonMetric metric) {
+            this.metricID = metricID;
+            this.tags = metricID.getTagsAsArray();
+            this.metric = metric;
+        }
+
+        // tags may be provided in any order, the ID keeps them sorted by name
+        private boolean matches(Tag[] requested) {
+            if (requested.length != tags.length) {
+                return false;
+            }
+            for (Tag tag : requested) {
+                if (!contains(tag)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean contains(Tag tag) {
+            for (Tag candidate : tags) {
+                if (candidate.equals(tag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
     private static class DisabledMetricInvocationHandler implements InvocationHandler {
 
         private final NoOpMetric delegate;
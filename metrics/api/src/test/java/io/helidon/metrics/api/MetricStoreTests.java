@@ -17,11 +17,17 @@ package io.helidon.metrics.api;
 
 import org.eclipse.microprofile.metrics.Counter;
 import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricID;
 import org.eclipse.microprofile.metrics.MetricRegistry;
 import org.eclipse.microprofile.metrics.MetricType;
 import org.eclipse.microprofile.metrics.SimpleTimer;
 import org.eclipse.microprofile.metrics.Tag;
 import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class MetricStoreTests {
@@ -41,19 +47,59 @@ class MetricStoreTests {
                 .withType(MetricType.COUNTER)
                 .build();
 
-        NoOpMetricRegistry registry = NoOpMetricRegistry.create(MetricRegistry.Type.APPLICATION);
-
-        MetricStore<NoOpMetric> store = MetricStore.create(REGISTRY_SETTINGS,
-                                                           NoOpMetricRegistry.NO_OP_METRIC_FACTORIES,
-                                                           null,
-                                                           null,
-                                                           MetricRegistry.Type.APPLICATION,
-                                                           NoOpMetric.class,
-                                                           registry::toImpl);
+        MetricStore<NoOpMetric> store = createStore();
 
         store.getOrRegisterMetric(meta1, SimpleTimer.class, NO_TAGS);
 
         assertThrows(IllegalArgumentException.class, () ->
                 store.getOrRegisterMetric(meta2, Counter.class, NO_TAGS));
     }
+
+    @Test
+    void testExistingMetricLookup() {
+        MetricStore<NoOpMetric> store = createStore();
+        Tag tagA = new Tag("a", "1");
+        Tag tagB = new Tag("b", "2");
+
+        Counter counter = store.getOrRegisterMetric("c", Counter.class, tagA, tagB);
+        assertThat(store.getOrRegisterMetric("c", Counter.class, tagA, tagB), sameInstance(counter));
+        assertThat("Tags in a different order", store.getOrRegisterMetric("c", Counter.class, tagB, tagA),
+                   sameInstance(counter));
+        assertThat(store.getOrRegisterMetric(new MetricID("c", tagA, tagB), Counter.class), sameInstance(counter));
+
+        Counter other = store.getOrRegisterMetric("c", Counter.class, tagA);
+        assertThat(other, not(sameInstance(counter)));
+        assertThat(store.metricIDs("c").size(), is(2));
+
+        assertThrows(IllegalArgumentException.class, () -> store.getOrRegisterMetric("c", SimpleTimer.class, tagA));
+    }
+
+    @Test
+    void testLookupAfterRemove() {
+        MetricStore<NoOpMetric> store = createStore();
+        Tag tag = new Tag("a", "1");
+
+        Counter counter = store.getOrRegisterMetric("c", Counter.class, tag);
+        Counter untagged = store.getOrRegisterMetric("c", Counter.class, NO_TAGS);
+        store.remove(new MetricID("c", tag));
+
+        assertThat(HelidonMetric.isMarkedAsDeleted(counter), is(true));
+        assertThat(store.getOrRegisterMetric("c", Counter.class, NO_TAGS), sameInstance(untagged));
+        assertThat(store.getOrRegisterMetric("c", Counter.class, tag), not(sameInstance(counter)));
+
+        store.remove("c");
+        assertThat(store.getOrRegisterMetric("c", Counter.class, NO_TAGS), not(sameInstance(untagged)));
+    }
+
+    private static MetricStore<NoOpMetric> createStore() {
+        NoOpMetricRegistry registry = NoOpMetricRegistry.create(MetricRegistry.Type.APPLICATION);
+
+        return MetricStore.create(REGISTRY_SETTINGS,
+                                  NoOpMetricRegistry.NO_OP_METRIC_FACTORIES,
+                                  null,
+                                  null,
+                                  MetricRegistry.Type.APPLICATION,
+                                  NoOpMetric.class,
+                                  registry::toImpl);
+    }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.metrics.api;
+
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricType;
+import org.eclipse.microprofile.metrics.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+class TestMetricHandle {
+
+    private static final Metadata METADATA = Metadata.builder()
+            .withName("handled")
+            .withType(MetricType.COUNTER)
+            .build();
+
+    @Test
+    void testHandleResolvesOnce() {
+        MetricRegistry registry = NoOpMetricRegistry.create(MetricRegistry.Type.APPLICATION);
+        Tag tag = new Tag("method", "GET");
+
+        MetricHandle<Counter> handle = MetricHandle.counter(registry, METADATA, tag);
+        Counter counter = handle.get();
+
+        assertThat(registry.getCounter(new MetricID("handled", tag)), sameInstance(counter));
+        assertThat(handle.get(), sameInstance(counter));
+    }
+
+    @Test
+    void testHandleReregistersRemovedMetric() {
+        MetricRegistry registry = NoOpMetricRegistry.create(MetricRegistry.Type.APPLICATION);
+        Tag tag = new Tag("method", "GET");
+
+        MetricHandle<Counter> handle = MetricHandle.counter(registry, METADATA, tag);
+        Counter counter = handle.get();
+        registry.remove("handled");
+
+        Counter reregistered = handle.get();
+        assertThat(reregistered, not(sameInstance(counter)));
+        assertThat(HelidonMetric.isMarkedAsDeleted(reregistered), is(false));
+        assertThat(registry.getCounter(new MetricID("handled", tag)), sameInstance(reregistered));
+    }
+}
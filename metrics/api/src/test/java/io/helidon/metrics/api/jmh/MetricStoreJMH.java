@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.metrics.api.jmh;
+
+import io.helidon.metrics.api.MetricHandle;
+import io.helidon.metrics.api.RegistryFactory;
+
+import org.eclipse.microprofile.metrics.Counter;
+import org.eclipse.microprofile.metrics.Metadata;
+import org.eclipse.microprofile.metrics.MetricID;
+import org.eclipse.microprofile.metrics.MetricRegistry;
+import org.eclipse.microprofile.metrics.MetricType;
+import org.eclipse.microprofile.metrics.Tag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Lookup of existing metrics in a registry (as done by code that records metrics for each request), compared
+ * with recording through a {@link MetricHandle}.
+ * Run with increasing number of threads to see lock contention (if any).
+ */
+@State(Scope.Benchmark)
+public class MetricStoreJMH {
+
+    private static final Metadata METADATA = Metadata.builder()
+            .withName("requests")
+            .withType(MetricType.COUNTER)
+            .build();
+
+    public static void main(String[] args) throws Throwable {
+        for (int threads : new int[] {1, 32, 64}) {
+            Options opt = new OptionsBuilder()
+                    .include(MetricStoreJMH.class.getSimpleName())
+                    .forks(1)
+                    .threads(threads)
+                    .warmupIterations(5)
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(5)
+                    .measurementTime(TimeValue.seconds(1))
+                    .build();
+
+            new Runner(opt).run();
+        }
+    }
+
+    private final Tag methodTag = new Tag("method", "GET");
+    private final Tag pathTag = new Tag("path", "/greet");
+    private MetricRegistry registry;
+    private MetricID metricID;
+    private MetricHandle<Counter> handle;
+
+    @Setup
+    public void setup() {
+        registry = RegistryFactory.create().getRegistry(MetricRegistry.Type.APPLICATION);
+        // other metrics with the same name, so lookups have to compare tags
+        for (int i = 0; i < 10; i++) {
+            registry.counter(METADATA, new Tag("method", "GET"), new Tag("path", "/other/" + i));
+        }
+        metricID = new MetricID(METADATA.getName(), methodTag, pathTag);
+        handle = MetricHandle.counter(registry, METADATA, methodTag, pathTag);
+    }
+
+    @Benchmark
+    public void byName() {
+        registry.counter(METADATA.getName(), methodTag, pathTag).inc();
+    }
+
+    @Benchmark
+    public void byMetadata() {
+        registry.counter(METADATA, methodTag, pathTag).inc();
+    }
+
+    @Benchmark
+    public void byMetricId() {
+        registry.counter(metricID).inc();
+    }
+
+    @Benchmark
+    public void boundHandle() {
+        handle.get().inc();
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -145,6 +145,12 @@ public class FaultToleranceExtension implements Extension {
         discovery.addInterceptorBinding(
                 new AnnotatedTypeWrapper<>(bm.createAnnotatedType(Fallback.class),
                         LiteralCommandBinding.getInstance()));
+        discovery.addInterceptorBinding(
+                new AnnotatedTypeWrapper<>(bm.createAnnotatedType(Hedge.class),
+                        LiteralCommandBinding.getInstance()));
+        discovery.addInterceptorBinding(
+                new AnnotatedTypeWrapper<>(bm.createAnnotatedType(Coalesce.class),
+                        LiteralCommandBinding.getInstance()));
 
         discovery.addAnnotatedType(bm.createAnnotatedType(CommandInterceptor.class),
                 CommandInterceptor.class.getName());
@@ -240,6 +246,9 @@ public class FaultToleranceExtension implements Extension {
                 if (MethodAntn.isAnnotationPresent(annotatedMethod, Asynchronous.class, bm)) {
                     new AsynchronousAntn(annotatedMethod).validate();
                 }
+                if (MethodAntn.isAnnotationPresent(annotatedMethod, Hedge.class, bm)) {
+                    new HedgeAntn(annotatedMethod).validate();
+                }
             });
         }
     }
@@ -307,7 +316,9 @@ public class FaultToleranceExtension implements Extension {
                 || MethodAntn.isAnnotationPresent(annotatedMethod, Bulkhead.class, bm)
                 || MethodAntn.isAnnotationPresent(annotatedMethod, Timeout.class, bm)
                 || MethodAntn.isAnnotationPresent(annotatedMethod, Asynchronous.class, bm)
-                || MethodAntn.isAnnotationPresent(annotatedMethod, Fallback.class, bm);
+                || MethodAntn.isAnnotationPresent(annotatedMethod, Fallback.class, bm)
+                || MethodAntn.isAnnotationPresent(annotatedMethod, Hedge.class, bm)
+                || MethodAntn.isAnnotationPresent(annotatedMethod, Coalesce.class, bm);
     }
 
     /**
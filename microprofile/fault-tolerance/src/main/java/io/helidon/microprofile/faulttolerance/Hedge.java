@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.microprofile.faulttolerance;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+import java.time.temporal.ChronoUnit;
+
+import jakarta.interceptor.InterceptorBinding;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+/**
+ * Issue a backup invocation of the method when the original invocation takes longer than usual.
+ * The first invocation that completes successfully provides the result, the other one is cancelled.
+ * <p>
+ * The delay before a backup invocation is the {@link #percentile()} of latency observed for recent invocations,
+ * or {@link #delay()} until enough invocations were observed.
+ * The method must be idempotent and annotated with
+ * {@link org.eclipse.microprofile.faulttolerance.Asynchronous}, as a synchronous invocation blocks the caller
+ * until it completes.
+ *
+ * @see io.helidon.faulttolerance.Hedge
+ */
+@Inherited
+@Documented
+@Retention(RUNTIME)
+@Target({METHOD, TYPE})
+@InterceptorBinding
+public @interface Hedge {
+    /**
+     * Delay before a backup invocation until enough invocations were observed.
+     *
+     * @return initial delay
+     */
+    long delay() default 100;
+
+    /**
+     * Unit of {@link #delay()}.
+     *
+     * @return delay unit
+     */
+    ChronoUnit delayUnit() default ChronoUnit.MILLIS;
+
+    /**
+     * Percentile of observed latency to wait for before a backup invocation.
+     *
+     * @return percentile between 0 (exclusive) and 100 (inclusive)
+     */
+    double percentile() default 95;
+
+    /**
+     * Maximal number of backup invocations.
+     *
+     * @return number of backup invocations
+     */
+    int maxHedges() default 1;
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.microprofile.faulttolerance;
+
+import java.time.temporal.ChronoUnit;
+
+import jakarta.enterprise.inject.spi.AnnotatedMethod;
+import org.eclipse.microprofile.faulttolerance.Asynchronous;
+import org.eclipse.microprofile.faulttolerance.exceptions.FaultToleranceDefinitionException;
+
+class HedgeAntn extends MethodAntn implements Hedge {
+
+    /**
+     * Constructor.
+     *
+     * @param annotatedMethod The annotated method.
+     */
+    HedgeAntn(AnnotatedMethod<?> annotatedMethod) {
+        super(annotatedMethod);
+    }
+
+    @Override
+    public void validate() {
+        if (delay() < 0) {
+            throw new FaultToleranceDefinitionException("Invalid @Hedge annotation, "
+                                                        + "delay must be >= 0");
+        }
+        if (percentile() <= 0 || percentile() > 100) {
+            throw new FaultToleranceDefinitionException("Invalid @Hedge annotation, "
+                                                        + "percentile must be > 0 and <= 100");
+        }
+        if (maxHedges() < 0) {
+            throw new FaultToleranceDefinitionException("Invalid @Hedge annotation, "
+                                                        + "maxHedges must be >= 0");
+        }
+        if (lookupAnnotation(Asynchronous.class) == null) {
+            throw new FaultToleranceDefinitionException("Invalid @Hedge annotation, "
+                                                        + "method must be @Asynchronous");
+        }
+    }
+
+    @Override
+    public long delay() {
+        LookupResult<Hedge> lookupResult = lookupAnnotation(Hedge.class);
+        final String override = getParamOverride("delay", lookupResult.getType());
+        return override != null ? Long.parseLong(override) : lookupResult.getAnnotation().delay();
+    }
+
+    @Override
+    public ChronoUnit delayUnit() {
+        LookupResult<Hedge> lookupResult = lookupAnnotation(Hedge.class);
+        final String override = getParamOverride("delayUnit", lookupResult.getType());
+        return override != null ? ChronoUnit.valueOf(override) : lookupResult.getAnnotation().delayUnit();
+    }
+
+    @Override
+    public double percentile() {
+        LookupResult<Hedge> lookupResult = lookupAnnotation(Hedge.class);
+        final String override = getParamOverride("percentile", lookupResult.getType());
+        return override != null ? Double.parseDouble(override) : lookupResult.getAnnotation().percentile();
+    }
+
+    @Override
+    public int maxHedges() {
+        LookupResult<Hedge> lookupResult = lookupAnnotation(Hedge.class);
+        final String override = getParamOverride("maxHedges", lookupResult.getType());
+        return override != null ? Integer.parseInt(override) : lookupResult.getAnnotation().maxHedges();
+    }
+}
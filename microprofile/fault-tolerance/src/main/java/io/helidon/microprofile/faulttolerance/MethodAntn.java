@@ -40,6 +40,8 @@ abstract class MethodAntn {
 
     private static final AnnotationFinder ANNOTATION_FINDER = AnnotationFinder.create(Retry.class.getPackage());
 
+    private static final AnnotationFinder HELIDON_ANNOTATION_FINDER = AnnotationFinder.create(Hedge.class.getPackage());
+
     private final AnnotatedType<?> annotatedType;
 
     private final AnnotatedMethod<?> annotatedMethod;
@@ -235,7 +237,7 @@ abstract class MethodAntn {
     private static Annotation getMethodAnnotation(AnnotatedMethod<?> m,
                                                   Class<? extends Annotation> annotClass,
                                                   BeanManager beanManager) {
-        Set<? extends Annotation> set = ANNOTATION_FINDER.findAnnotations(m.getAnnotations(), beanManager);
+        Set<? extends Annotation> set = finder(annotClass).findAnnotations(m.getAnnotations(), beanManager);
         return set.stream()
                 .filter(a -> a.annotationType().equals(annotClass))
                 .findFirst()
@@ -245,7 +247,7 @@ abstract class MethodAntn {
     private static Annotation getClassAnnotation(Class<?> c,
                                                  Class<? extends Annotation> annotClass,
                                                  BeanManager beanManager) {
-        Set<? extends Annotation> set = ANNOTATION_FINDER.findAnnotations(Set.of(c.getAnnotations()), beanManager);
+        Set<? extends Annotation> set = finder(annotClass).findAnnotations(Set.of(c.getAnnotations()), beanManager);
         return set.stream()
                 .filter(a -> a.annotationType().equals(annotClass))
                 .findFirst()
@@ -255,10 +257,20 @@ abstract class MethodAntn {
     private static Annotation getClassAnnotation(AnnotatedType<?> type,
                                                  Class<? extends Annotation> annotClass,
                                                  BeanManager beanManager) {
-        Set<? extends Annotation> set = ANNOTATION_FINDER.findAnnotations(type.getAnnotations(), beanManager);
+        Set<? extends Annotation> set = finder(annotClass).findAnnotations(type.getAnnotations(), beanManager);
         return set.stream()
                 .filter(a -> a.annotationType().equals(annotClass))
                 .findFirst()
                 .orElse(null);
     }
+
+    /**
+     * Helidon specific annotations, such as {@link Hedge}, are not in the MP package.
+     *
+     * @param annotClass annotation class
+     * @return finder for the package of the annotation
+     */
+    private static AnnotationFinder finder(Class<? extends Annotation> annotClass) {
+        return annotClass.getPackage().equals(Hedge.class.getPackage()) ? HELIDON_ANNOTATION_FINDER : ANNOTATION_FINDER;
+    }
 }
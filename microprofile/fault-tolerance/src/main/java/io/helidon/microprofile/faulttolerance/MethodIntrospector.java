@@ -54,6 +54,10 @@ class MethodIntrospector {
 
     private final Bulkhead bulkhead;
 
+    private final Hedge hedge;
+
+    private final boolean coalesce;
+
     private Tag methodNameTag;
 
     /**
@@ -78,6 +82,8 @@ class MethodIntrospector {
         this.timeout = isAnnotationEnabled(Timeout.class) ? new TimeoutAntn(annotatedMethod) : null;
         this.bulkhead = isAnnotationEnabled(Bulkhead.class) ? new BulkheadAntn(annotatedMethod) : null;
         this.fallback = isAnnotationEnabled(Fallback.class) ? new FallbackAntn(annotatedMethod) : null;
+        this.hedge = isAnnotationEnabled(Hedge.class) ? new HedgeAntn(annotatedMethod) : null;
+        this.coalesce = isAnnotationEnabled(Coalesce.class);
     }
 
     /**
@@ -149,6 +155,28 @@ class MethodIntrospector {
         return bulkhead;
     }
 
+    /**
+     * Checks if {@code @Hedge} is present.
+     *
+     * @return Outcome of test.
+     */
+    boolean hasHedge() {
+        return hedge != null;
+    }
+
+    Hedge getHedge() {
+        return hedge;
+    }
+
+    /**
+     * Checks if {@code @Coalesce} is present.
+     *
+     * @return Outcome of test.
+     */
+    boolean hasCoalesce() {
+        return coalesce;
+    }
+
     /**
      * Returns a metric's tag with the fully qualified method name.
      *
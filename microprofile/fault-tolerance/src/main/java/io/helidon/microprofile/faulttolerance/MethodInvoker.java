@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -37,9 +37,11 @@ import io.helidon.faulttolerance.Async;
 import io.helidon.faulttolerance.Bulkhead;
 import io.helidon.faulttolerance.CircuitBreaker;
 import io.helidon.faulttolerance.CircuitBreaker.State;
+import io.helidon.faulttolerance.Coalesce;
 import io.helidon.faulttolerance.Fallback;
 import io.helidon.faulttolerance.FaultTolerance;
 import io.helidon.faulttolerance.FtHandlerTyped;
+import io.helidon.faulttolerance.Hedge;
 import io.helidon.faulttolerance.Retry;
 import io.helidon.faulttolerance.RetryTimeoutException;
 import io.helidon.faulttolerance.Timeout;
@@ -147,6 +149,8 @@ class MethodInvoker implements FtSupplier<Object> {
         private Bulkhead bulkhead;
         private CircuitBreaker breaker;
         private Timeout timeout;
+        private Hedge hedge;
+        private Coalesce coalesce;
         private State lastBreakerState;
         private long breakerTimerOpen;
         private long breakerTimerClosed;
@@ -484,12 +488,24 @@ class MethodInvoker implements FtSupplier<Object> {
                     .skipOn(mapTypes(introspector.getCircuitBreaker().skipOn()))
                     .build();
         }
+
+        if (introspector.hasHedge()) {
+            methodState.hedge = Hedge.builder()
+                    .delay(Duration.of(introspector.getHedge().delay(), introspector.getHedge().delayUnit()))
+                    .percentile(introspector.getHedge().percentile())
+                    .maxHedges(introspector.getHedge().maxHedges())
+                    .build();
+        }
+
+        if (introspector.hasCoalesce()) {
+            methodState.coalesce = Coalesce.create();
+        }
     }
 
     /**
      * Creates a FT handler for this invocation. Handlers are composed as follows:
      *
-     *  fallback(retry(circuitbreaker(timeout(bulkhead(method)))))
+     *  fallback(coalesce(retry(circuitbreaker(hedge(timeout(bulkhead(method)))))))
      *
      * Uses the cached handlers defined in the method state for this invocation's
      * method, except for fallback.
@@ -507,6 +523,10 @@ class MethodInvoker implements FtSupplier<Object> {
             builder.addTimeout(methodState.timeout);
         }
 
+        if (methodState.hedge != null) {
+            builder.addHedge(methodState.hedge);
+        }
+
         if (methodState.breaker != null) {
             builder.addBreaker(methodState.breaker);
         }
@@ -535,6 +555,11 @@ class MethodInvoker implements FtSupplier<Object> {
             builder.addRetry(methodState.retry);
         }
 
+        // Invocations of this method with equal parameters share a single invocation
+        if (methodState.coalesce != null) {
+            builder.add(methodState.coalesce.forKey(Arrays.asList(context.getParameters())));
+        }
+
         // Create and add fallback handler for this invocation
         if (introspector.hasFallback()) {
             Fallback<Object> fallback = Fallback.builder()
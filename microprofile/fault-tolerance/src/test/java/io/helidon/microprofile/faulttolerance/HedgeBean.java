@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.microprofile.faulttolerance;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.microprofile.faulttolerance.Asynchronous;
+
+/**
+ * A stateful bean that defines hedged and coalesced methods.
+ */
+class HedgeBean {
+
+    private final AtomicInteger hedgedCalls = new AtomicInteger();
+    private final AtomicInteger coalescedCalls = new AtomicInteger();
+
+    int hedgedCalls() {
+        return hedgedCalls.get();
+    }
+
+    int coalescedCalls() {
+        return coalescedCalls.get();
+    }
+
+    void reset() {
+        hedgedCalls.set(0);
+        coalescedCalls.set(0);
+    }
+
+    /**
+     * First invocation is slow, the backup invocation completes immediately.
+     *
+     * @return A future.
+     */
+    @Asynchronous
+    @Hedge(delay = 50)
+    CompletionStage<String> hedged() throws InterruptedException {
+        int call = hedgedCalls.incrementAndGet();
+        FaultToleranceTest.printStatus("HedgeBean::hedged", "call " + call);
+        if (call == 1) {
+            Thread.sleep(5000);
+        }
+        return CompletableFuture.completedFuture("call " + call);
+    }
+
+    /**
+     * Completes when the latch is released.
+     *
+     * @param key value to return
+     * @param latch latch to wait for
+     * @return A future.
+     */
+    @Asynchronous
+    @Coalesce
+    CompletionStage<String> coalesced(String key, CountDownLatch latch) throws InterruptedException {
+        coalescedCalls.incrementAndGet();
+        FaultToleranceTest.printStatus("HedgeBean::coalesced", key);
+        latch.await();
+        return CompletableFuture.completedFuture(key);
+    }
+}
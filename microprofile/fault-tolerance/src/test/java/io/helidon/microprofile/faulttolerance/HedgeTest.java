@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.microprofile.faulttolerance;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.microprofile.tests.junit5.AddBean;
+
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Tests for {@link Hedge} and {@link Coalesce}.
+ */
+@AddBean(HedgeBean.class)
+class HedgeTest extends FaultToleranceTest {
+
+    @Inject
+    private HedgeBean bean;
+
+    @Override
+    void reset() {
+        bean.reset();
+    }
+
+    @Test
+    void testHedge() throws Exception {
+        String value = bean.hedged().toCompletableFuture().get(2, TimeUnit.SECONDS);
+        assertThat(value, is("call 2"));
+        assertThat(bean.hedgedCalls(), is(2));
+    }
+
+    @Test
+    void testCoalesce() throws Exception {
+        CountDownLatch latch = new CountDownLatch(1);
+        CompletionStage<String> first = bean.coalesced("key", latch);
+        CompletionStage<String> second = bean.coalesced("key", latch);
+        Thread.sleep(200);
+        latch.countDown();
+
+        assertThat(first.toCompletableFuture().get(2, TimeUnit.SECONDS), is("key"));
+        assertThat(second.toCompletableFuture().get(2, TimeUnit.SECONDS), is("key"));
+        assertThat(bean.coalescedCalls(), is(1));
+    }
+}
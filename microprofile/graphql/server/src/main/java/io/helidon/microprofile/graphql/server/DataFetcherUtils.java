@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -33,14 +33,19 @@ import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.TemporalAccessor;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.logging.Logger;
 
 import io.helidon.graphql.server.ExecutionContext;
@@ -51,6 +56,8 @@ import graphql.schema.DataFetchingEnvironment;
 import graphql.schema.PropertyDataFetcher;
 import graphql.schema.PropertyDataFetcherHelper;
 import jakarta.enterprise.inject.spi.CDI;
+import org.dataloader.BatchLoader;
+import org.dataloader.DataLoader;
 
 import static io.helidon.microprofile.graphql.server.FormattingHelper.formatDate;
 import static io.helidon.microprofile.graphql.server.FormattingHelper.formatNumber;
@@ -120,39 +127,7 @@ class DataFetcherUtils {
                 }
             }
 
-            ExecutionContext executionContext;
-            // check for a single DataFetchingEnvironment parameter as args will be zero
-            Parameter[] parameters = method.getParameters();
-            if (parameters.length == 1 && parameters[0].getType().equals(DataFetchingEnvironment.class)) {
-                listArgumentValues.add(environment);
-            } else if (args.length > 0) {
-                for (SchemaArgument argument : args) {
-                    if (argument.isDataFetchingEnvironment()) {
-                         listArgumentValues.add(environment);
-                    } else {
-                        // ensure a Map is not used as an input type
-                        Class<?> originalType = argument.originalType();
-                        if (originalType != null && Map.class.isAssignableFrom(originalType)) {
-                            ensureRuntimeException(LOGGER, MAP_MESSAGE);
-                        }
-
-                        if (argument.isArrayReturnType() && argument.arrayLevels() > 1
-                                && SchemaGeneratorHelper.isPrimitiveArray(argument.originalType())) {
-                            throw new GraphQlConfigurationException("This implementation does not currently support "
-                                                                  + "multi-level primitive arrays as arguments. Please use "
-                                                                  + "List or Collection of Object equivalent. E.g. "
-                                                                  + "In place of method(int [][] value) use "
-                                                                  + " method(List<List<Integer>> value)");
-                        }
-
-                        listArgumentValues.add(generateArgumentValue(schema, argument.argumentType(),
-                                                                     argument.originalType(),
-                                                                     argument.originalArrayType(),
-                                                                     environment.getArgument(argument.argumentName()),
-                                                                     argument.format()));
-                    }
-                }
-            }
+            listArgumentValues.addAll(argumentValues(schema, method, environment, args));
 
             try {
                 // this is the right place to validate security
@@ -173,6 +148,41 @@ class DataFetcherUtils {
         };
     }
 
+    /**
+     * Create a new {@link DataFetcher} for a {@link Method} with a {@link List} of sources as its first parameter.
+     * <p>
+     * The {@link DataFetcher} only requests the value for its source from a {@link DataLoader} registered with the
+     * {@link Schema}. The sources requested at the same level of a query are then resolved by one invocation of
+     * the method, instead of one invocation per source. If the {@link DataLoader} is not available in the request,
+     * the method is invoked with the single source.
+     *
+     * @param schema {@link Schema} that created this {@link DataFetcher}
+     * @param clazz  {@link Class} to call
+     * @param method {@link Method} to call
+     * @param args   optional {@link SchemaArgument}s, excluding the source argument
+     * @param <V>    value type
+     * @return a new {@link DataFetcher}
+     */
+    static <V> DataFetcher<CompletionStage<V>> newBatchMethodDataFetcher(Schema schema, Class<?> clazz, Method method,
+                                                                         SchemaArgument... args) {
+
+        // this is an application scoped bean
+        GraphQlBean bean = CDI.current().select(GraphQlBean.class).get();
+
+        BatchLoader<BatchKey, V> batchLoader = keys -> batch(schema, bean, clazz, method, args, keys);
+        String dataLoaderName = method.toString();
+        schema.addDataLoader(dataLoaderName, () -> DataLoader.newDataLoader(batchLoader));
+
+        return environment -> {
+            BatchKey key = new BatchKey(environment);
+            DataLoader<BatchKey, V> dataLoader = environment.getDataLoader(dataLoaderName);
+            if (dataLoader == null) {
+                return batchLoader.load(List.of(key)).thenApply(values -> values.get(0));
+            }
+            return dataLoader.load(key);
+        };
+    }
+
     /**
      * Return a {@link DataFetcher} which converts a {@link Map} to a {@link Collection} of V.
      * This assumes that the key for the {@link Map} is contained within the V
@@ -624,4 +634,137 @@ class DataFetcherUtils {
             return null;
         }
     }
+
+    /**
+     * Return the values of the arguments, other than the source, to invoke a {@link Method} with.
+     *
+     * @param schema      {@link Schema} that created the {@link DataFetcher}
+     * @param method      {@link Method} to call
+     * @param environment {@link DataFetchingEnvironment} of the field
+     * @param args        {@link SchemaArgument}s of the field
+     * @return the values of the arguments
+     * @throws Exception if any errors converting the arguments
+     */
+    private static List<Object> argumentValues(Schema schema, Method method, DataFetchingEnvironment environment,
+                                               SchemaArgument[] args) throws Exception {
+        List<Object> listArgumentValues = new ArrayList<>();
+        // check for a single DataFetchingEnvironment parameter as args will be zero
+        Parameter[] parameters = method.getParameters();
+        if (parameters.length == 1 && parameters[0].getType().equals(DataFetchingEnvironment.class)) {
+            listArgumentValues.add(environment);
+        } else if (args.length > 0) {
+            for (SchemaArgument argument : args) {
+                if (argument.isDataFetchingEnvironment()) {
+                    listArgumentValues.add(environment);
+                } else {
+                    // ensure a Map is not used as an input type
+                    Class<?> originalType = argument.originalType();
+                    if (originalType != null && Map.class.isAssignableFrom(originalType)) {
+                        ensureRuntimeException(LOGGER, MAP_MESSAGE);
+                    }
+
+                    if (argument.isArrayReturnType() && argument.arrayLevels() > 1
+                            && SchemaGeneratorHelper.isPrimitiveArray(argument.originalType())) {
+                        throw new GraphQlConfigurationException("This implementation does not currently support "
+                                                              + "multi-level primitive arrays as arguments. Please use "
+                                                              + "List or Collection of Object equivalent. E.g. "
+                                                              + "In place of method(int [][] value) use "
+                                                              + " method(List<List<Integer>> value)");
+                    }
+
+                    listArgumentValues.add(generateArgumentValue(schema, argument.argumentType(),
+                                                                 argument.originalType(),
+                                                                 argument.originalArrayType(),
+                                                                 environment.getArgument(argument.argumentName()),
+                                                                 argument.format()));
+                }
+            }
+        }
+
+        return listArgumentValues;
+    }
+
+    /**
+     * Resolve a batch of {@link BatchKey}s by invoking the {@link Method} once for each distinct set of arguments.
+     *
+     * @param schema {@link Schema} that created the {@link DataFetcher}
+     * @param bean   {@link GraphQlBean} to invoke the method with
+     * @param clazz  {@link Class} to call
+     * @param method {@link Method} to call
+     * @param args   {@link SchemaArgument}s, excluding the source argument
+     * @param keys   keys to resolve
+     * @param <V>    value type
+     * @return a {@link CompletionStage} of the values, in the order of the keys
+     */
+    @SuppressWarnings("unchecked")
+    private static <V> CompletionStage<List<V>> batch(Schema schema, GraphQlBean bean, Class<?> clazz, Method method,
+                                                      SchemaArgument[] args, List<BatchKey> keys) {
+        // sources requested with the same arguments are resolved by a single invocation
+        Map<Map<String, Object>, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < keys.size(); i++) {
+            groups.computeIfAbsent(keys.get(i).arguments, k -> new ArrayList<>()).add(i);
+        }
+
+        Object[] values = new Object[keys.size()];
+        try {
+            for (List<Integer> group : groups.values()) {
+                List<Object> sources = new ArrayList<>(group.size());
+                group.forEach(i -> sources.add(keys.get(i).source));
+
+                List<Object> listArgumentValues = new ArrayList<>();
+                listArgumentValues.add(sources);
+                listArgumentValues.addAll(argumentValues(schema, method, keys.get(group.get(0)).environment, args));
+
+                // this is the right place to validate security
+                List<?> results = (List<?>) bean.runGraphQl(clazz, method, listArgumentValues.toArray());
+                if (results == null || results.size() != sources.size()) {
+                    throw new GraphQLException("Method '" + method.getName() + "' on class " + clazz.getName()
+                                                       + " must return a value for each of the " + sources.size()
+                                                       + " sources");
+                }
+                for (int i = 0; i < results.size(); i++) {
+                    values[group.get(i)] = results.get(i);
+                }
+            }
+        } catch (InvocationTargetException e) {
+            return CompletableFuture.failedFuture(new GraphQLException(e.getTargetException()));
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return CompletableFuture.completedFuture((List<V>) (List<?>) Arrays.asList(values));
+    }
+
+    /**
+     * Key of a field resolved by a {@link DataLoader}. Keys are equal if the sources and the arguments of the field
+     * are equal, so each source is only resolved once per request for the same arguments.
+     */
+    private static final class BatchKey {
+        private final Object source;
+        private final Map<String, Object> arguments;
+        private final DataFetchingEnvironment environment;
+
+        private BatchKey(DataFetchingEnvironment environment) {
+            this.source = environment.getSource();
+            this.arguments = environment.getArguments();
+            this.environment = environment;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            BatchKey that = (BatchKey) o;
+            return Objects.equals(source, that.source)
+                    && Objects.equals(arguments, that.arguments);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(source, arguments);
+        }
+    }
 }
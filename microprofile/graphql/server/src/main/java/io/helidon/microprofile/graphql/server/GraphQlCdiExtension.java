@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -109,9 +109,13 @@ public class GraphQlCdiExtension implements Extension {
         // this works for Helidon MP config
         io.helidon.config.Config graphQlConfig = ((io.helidon.config.Config) config).get("graphql");
 
+        Schema schema = createSchema();
         InvocationHandler.Builder handlerBuilder = InvocationHandler.builder()
                 .config(graphQlConfig)
-                .schema(createSchema());
+                .schema(createGraphQlSchema(schema));
+        if (schema.hasDataLoaders()) {
+            handlerBuilder.dataLoaderRegistry(schema::newDataLoaderRegistry);
+        }
 
         config.getOptionalValue(ConfigKey.DEFAULT_ERROR_MESSAGE, String.class)
                 .ifPresent(handlerBuilder::defaultErrorMessage);
@@ -146,13 +150,20 @@ public class GraphQlCdiExtension implements Extension {
         return collectedApis;
     }
 
-    private GraphQLSchema createSchema() {
+    private Schema createSchema() {
         try {
             return SchemaGenerator.builder()
                     .classes(collectedApis)
                     .build()
-                    .generateSchema()
-                    .generateGraphQLSchema();
+                    .generateSchema();
+        } catch (Exception e) {
+            throw new DeploymentException("Failed to set up graphQL", e);
+        }
+    }
+
+    private GraphQLSchema createGraphQlSchema(Schema schema) {
+        try {
+            return schema.generateGraphQLSchema();
         } catch (Exception e) {
             throw new DeploymentException("Failed to set up graphQL", e);
         }
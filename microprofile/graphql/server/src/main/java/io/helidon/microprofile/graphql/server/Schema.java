@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,9 +18,11 @@ package io.helidon.microprofile.graphql.server;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
@@ -32,6 +34,8 @@ import graphql.schema.idl.RuntimeWiring;
 import graphql.schema.idl.SchemaParser;
 import graphql.schema.idl.TypeDefinitionRegistry;
 import graphql.schema.idl.TypeRuntimeWiring;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
 
 import static graphql.schema.idl.RuntimeWiring.newRuntimeWiring;
 import static graphql.schema.idl.TypeRuntimeWiring.newTypeWiring;
@@ -99,6 +103,11 @@ class Schema implements ElementGenerator {
      */
     private final List<SchemaEnum> listSchemaEnums;
 
+    /**
+     * Factories of the {@link DataLoader}s used by the data fetchers of this schema, keyed by name.
+     */
+    private final Map<String, Supplier<DataLoader<?, ?>>> dataLoaders;
+
     /**
      * Construct a {@link Schema}.
      *
@@ -110,6 +119,7 @@ class Schema implements ElementGenerator {
         this.listSchemaDirectives = new ArrayList<>();
         this.listInputTypes = new ArrayList<>();
         this.listSchemaEnums = new ArrayList<>();
+        this.dataLoaders = new LinkedHashMap<>();
         this.queryName = builder.queryName;
         this.subscriptionName = builder.subscriptionName;
         this.mutationName = builder.mutationName;
@@ -441,6 +451,37 @@ class Schema implements ElementGenerator {
         listSchemaEnums.add(schemaEnumToAdd);
     }
 
+    /**
+     * Add a factory of a {@link DataLoader} used by a data fetcher of this schema.
+     *
+     * @param name       name of the {@link DataLoader}
+     * @param dataLoader factory of the {@link DataLoader}, invoked once per request
+     */
+    public void addDataLoader(String name, Supplier<DataLoader<?, ?>> dataLoader) {
+        dataLoaders.put(name, dataLoader);
+    }
+
+    /**
+     * Indicates if any data fetcher of this schema uses a {@link DataLoader}.
+     *
+     * @return true if there are {@link DataLoader}s
+     */
+    public boolean hasDataLoaders() {
+        return !dataLoaders.isEmpty();
+    }
+
+    /**
+     * Create a new {@link DataLoaderRegistry} with new instances of the {@link DataLoader}s of this schema.
+     * A new registry is needed for each request, so that values are only batched and cached within the request.
+     *
+     * @return a new {@link DataLoaderRegistry}
+     */
+    public DataLoaderRegistry newDataLoaderRegistry() {
+        DataLoaderRegistry registry = new DataLoaderRegistry();
+        dataLoaders.forEach((name, dataLoader) -> registry.register(name, dataLoader.get()));
+        return registry;
+    }
+
     /**
      * Return the {@link List} of {@link SchemaType}s.
      *
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -316,9 +316,13 @@ class SchemaGenerator {
                 }
 
                 // check for existing DataFetcher
-                fd.dataFetcher(DataFetcherUtils.newMethodDataFetcher(
-                        schema, dm.method().getDeclaringClass(), dm.method(),
-                        dm.source(), fd.arguments().toArray(new SchemaArgument[0])));
+                SchemaArgument[] args = fd.arguments().toArray(new SchemaArgument[0]);
+                fd.dataFetcher(dm.isBatchSource()
+                                       ? DataFetcherUtils.newBatchMethodDataFetcher(
+                                               schema, dm.method().getDeclaringClass(), dm.method(), args)
+                                       : DataFetcherUtils.newMethodDataFetcher(
+                                               schema, dm.method().getDeclaringClass(), dm.method(),
+                                               dm.source(), args));
                 type.addFieldDefinition(fd);
 
                 // we are creating this as a type so ignore any Input annotation
@@ -1136,6 +1140,9 @@ class SchemaGenerator {
         processMethodParameters(method, discoveredMethod, annotatedName);
         ReturnType realReturnType = getReturnType(returnClazz, method.getGenericReturnType(), -1, method);
         processReturnType(discoveredMethod, realReturnType, returnClazzName, isInputType, varName, method);
+        if (discoveredMethod.isBatchSource()) {
+            processBatchReturnType(discoveredMethod, method);
+        }
 
         discoveredMethod.returnTypeMandatory(isReturnTypeMandatory);
         discoveredMethod.arrayReturnTypeMandatory(isArrayReturnTypeMandatory
@@ -1200,6 +1207,27 @@ class SchemaGenerator {
         discoveredMethod.arrayLevels(realReturnType.arrayLevels());
     }
 
+    /**
+     * Update the return type of a method with a {@link List} of sources to be the type of the field it resolves
+     * for each source, which is the type of the elements of the returned {@link List}.
+     *
+     * @param discoveredMethod {@link DiscoveredMethod} to update
+     * @param method           {@link Method} being processed
+     */
+    private void processBatchReturnType(DiscoveredMethod discoveredMethod, Method method) {
+        if (!List.class.equals(method.getReturnType()) || discoveredMethod.arrayLevels() < 1) {
+            ensureConfigurationException(LOGGER, "Method '" + method.getName() + "' on class "
+                    + method.getDeclaringClass().getName()
+                    + " has a List of sources and must return a List with a value for each source");
+        }
+        int arrayLevels = discoveredMethod.arrayLevels() - 1;
+        discoveredMethod.arrayLevels(arrayLevels);
+        if (arrayLevels == 0) {
+            discoveredMethod.arrayReturnType(false);
+            discoveredMethod.collectionType(null);
+        }
+    }
+
     /**
      * Process parameters for the given method.
      *
@@ -1265,6 +1293,10 @@ class SchemaGenerator {
                     discoveredMethod.name(annotatedName != null ? annotatedName : stripMethodName(method, false));
                     discoveredMethod.source(returnType.returnClass());
                     discoveredMethod.queryAnnotated(method.getAnnotation(Query.class) != null);
+                    // a List of sources resolves the field for all the sources of a request in one invocation
+                    discoveredMethod.batchSource(!discoveredMethod.isQueryAnnotated()
+                                                         && List.class.equals(paramType)
+                                                         && returnType.arrayLevels() == 1);
                     argument.sourceArgument(true);
                 }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -1219,6 +1219,12 @@ final class SchemaGeneratorHelper {
          */
         private boolean isQueryAnnotated = false;
 
+        /**
+         * Indicates if the {@link Source} parameter is a {@link List} of sources, so that the method resolves the field
+         * for a batch of sources at once.
+         */
+        private boolean isBatchSource = false;
+
         /**
          * Defines the format for a number or date.
          */
@@ -1520,6 +1526,24 @@ final class SchemaGeneratorHelper {
             isQueryAnnotated = queryAnnotated;
         }
 
+        /**
+         * Indicates if the {@link Source} parameter is a {@link List} of sources.
+         *
+         * @return true if the method resolves the field for a batch of sources
+         */
+        public boolean isBatchSource() {
+            return isBatchSource;
+        }
+
+        /**
+         * Set if the {@link Source} parameter is a {@link List} of sources.
+         *
+         * @param batchSource true if the method resolves the field for a batch of sources
+         */
+        public void batchSource(boolean batchSource) {
+            isBatchSource = batchSource;
+        }
+
         /**
          * Return the format for a number or date.
          *
@@ -1687,6 +1711,7 @@ final class SchemaGeneratorHelper {
                     + ", arrayLevels=" + arrayLevels
                     + ", source=" + source
                     + ", isQueryAnnotated=" + isQueryAnnotated
+                    + ", isBatchSource=" + isBatchSource
                     + ", isReturnTypeMandatory=" + isReturnTypeMandatory
                     + ", isArrayReturnTypeMandatory=" + isArrayReturnTypeMandatory
                     + ", description=" + description
@@ -1714,6 +1739,7 @@ final class SchemaGeneratorHelper {
                     && Objects.equals(returnType, that.returnType)
                     && Objects.equals(source, that.source)
                     && Objects.equals(isQueryAnnotated, that.isQueryAnnotated)
+                    && isBatchSource == that.isBatchSource
                     && Objects.equals(method, that.method)
                     && Objects.equals(description, that.description)
                     && Objects.equals(isReturnTypeMandatory, that.isReturnTypeMandatory)
@@ -1725,7 +1751,7 @@ final class SchemaGeneratorHelper {
 
         @Override
         public int hashCode() {
-            return Objects.hash(name, returnType, methodType, method, arrayLevels, isQueryAnnotated,
+            return Objects.hash(name, returnType, methodType, method, arrayLevels, isQueryAnnotated, isBatchSource,
                                 collectionType, isArrayReturnType, isMap, source, description,
                                 isReturnTypeMandatory, defaultValue, isArrayReturnTypeMandatory, isJsonbFormat,
                                 isJsonbProperty);
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.microprofile.graphql.server.test.queries;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import io.helidon.microprofile.graphql.server.test.db.TestDB;
+import io.helidon.microprofile.graphql.server.test.types.Address;
+import io.helidon.microprofile.graphql.server.test.types.SimpleContact;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.graphql.GraphQLApi;
+import org.eclipse.microprofile.graphql.Name;
+import org.eclipse.microprofile.graphql.Query;
+import org.eclipse.microprofile.graphql.Source;
+
+/**
+ * Class that holds queries with a {@link List} of sources, counting the number of invocations.
+ */
+@GraphQLApi
+@ApplicationScoped
+public class BatchedSourceQueries {
+
+    private final AtomicInteger invocations = new AtomicInteger();
+
+    @Inject
+    private TestDB testDB;
+
+    public BatchedSourceQueries() {
+    }
+
+    @Query
+    @Name("contacts")
+    public List<SimpleContact> findContacts(@Name("count") int count) {
+        invocations.incrementAndGet();
+        return IntStream.range(0, count)
+                .mapToObj(i -> testDB.createContactWithName("Contact " + i))
+                .collect(Collectors.toList());
+    }
+
+    // the following should add a "workAddress" field of type Address on the SimpleContact type,
+    // resolved for all the contacts of a query by a single invocation
+    @Name("workAddress")
+    public List<Address> workAddresses(@Source List<SimpleContact> contacts) {
+        invocations.incrementAndGet();
+        return contacts.stream()
+                .map(contact -> testDB.generateWorkAddress())
+                .collect(Collectors.toList());
+    }
+
+    @Name("label")
+    public List<String> labels(@Source List<SimpleContact> contacts, @Name("prefix") String prefix) {
+        invocations.incrementAndGet();
+        return contacts.stream()
+                .map(contact -> prefix + " " + contact.getName())
+                .collect(Collectors.toList());
+    }
+
+    public int invocations() {
+        return invocations.get();
+    }
+}
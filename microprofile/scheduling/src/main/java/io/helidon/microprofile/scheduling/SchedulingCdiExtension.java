@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -35,6 +35,7 @@ import io.helidon.config.Config;
 import io.helidon.microprofile.cdi.RuntimeStart;
 import io.helidon.scheduling.Invocation;
 import io.helidon.scheduling.Scheduling;
+import io.helidon.scheduling.SchedulingEngine;
 import io.helidon.scheduling.Task;
 
 import jakarta.annotation.Priority;
@@ -65,6 +66,7 @@ public class SchedulingCdiExtension implements Extension {
     private final Queue<ScheduledExecutorService> executors = new LinkedList<>();
     private Config config;
     private Config schedulingConfig;
+    private SchedulingEngine engine;
 
     void registerMethods(
             @Observes
@@ -100,12 +102,23 @@ public class SchedulingCdiExtension implements Extension {
                 .config(schedulingConfig)
                 .build();
 
+        // a single timer and worker pool for all scheduled methods, instead of a pool for each method
+        Config engineConfig = schedulingConfig.get("engine");
+        if (engineConfig.get("enabled").asBoolean().orElse(false)) {
+            engine = SchedulingEngine.create(engineConfig);
+        }
+
         for (AnnotatedMethod<?> am : methods) {
             Class<?> aClass = am.getDeclaringType().getJavaClass();
             Bean<?> bean = beans.get(am);
             Object beanInstance = lookup(bean, beanManager);
-            ScheduledExecutorService executorService = scheduledThreadPoolSupplier.get();
-            executors.add(executorService);
+            ScheduledExecutorService executorService;
+            if (engine == null) {
+                executorService = scheduledThreadPoolSupplier.get();
+                executors.add(executorService);
+            } else {
+                executorService = engine.executor();
+            }
             Method method = am.getJavaMember();
 
             if (!method.trySetAccessible()) {
@@ -171,6 +184,9 @@ public class SchedulingCdiExtension implements Extension {
 
     void terminate(@Observes @BeforeDestroyed(ApplicationScoped.class) Object event) {
         executors.forEach(ExecutorService::shutdownNow);
+        if (engine != null) {
+            engine.shutdown();
+        }
     }
 
     @SuppressWarnings("unchecked")
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,15 +21,17 @@ import java.time.ZonedDateTime;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import io.helidon.common.configurable.LruCache;
+
 import com.cronutils.descriptor.CronDescriptor;
 import com.cronutils.model.Cron;
-import com.cronutils.model.definition.CronDefinition;
 import com.cronutils.model.definition.CronDefinitionBuilder;
 import com.cronutils.model.time.ExecutionTime;
 import com.cronutils.parser.CronParser;
@@ -39,15 +41,20 @@ import static com.cronutils.model.CronType.QUARTZ;
 class CronTask implements Task {
 
     private static final Logger LOGGER = Logger.getLogger(CronTask.class.getName());
+    private static final CronParser CRON_PARSER = new CronParser(CronDefinitionBuilder.instanceDefinitionFor(QUARTZ));
+    // many tasks (such as a job per tenant) usually share a few expressions
+    private static final LruCache<String, Cron> CRON_CACHE = LruCache.create();
 
     private final AtomicLong iteration = new AtomicLong(0);
-    private final ExecutionTime executionTime;
+    private final NextExecutionTable nextExecutions;
     private final boolean concurrentExecution;
     private final ScheduledConsumer<CronInvocation> actualTask;
     private final ScheduledExecutorService executorService;
     private final Cron cron;
     private final ReentrantLock scheduleNextLock = new ReentrantLock();
-    private ZonedDateTime lastNext = null;
+    // guarded by scheduleNextLock
+    private ScheduledFuture<?> next;
+    private boolean cancelled;
 
     CronTask(ScheduledExecutorService executorService,
              String cronExpression,
@@ -57,10 +64,9 @@ class CronTask implements Task {
         this.concurrentExecution = concurrentExecution;
         this.actualTask = actualTask;
 
-        CronDefinition cronDefinition = CronDefinitionBuilder.instanceDefinitionFor(QUARTZ);
-        CronParser parser = new CronParser(cronDefinition);
-        cron = parser.parse(cronExpression);
-        executionTime = ExecutionTime.forCron(cron);
+        cron = CRON_CACHE.computeValue(cronExpression, () -> Optional.of(CRON_PARSER.parse(cronExpression)))
+                .orElseThrow();
+        nextExecutions = new NextExecutionTable(ExecutionTime.forCron(cron), NextExecutionTable.DEFAULT_SIZE);
 
         scheduleNext();
     }
@@ -110,32 +116,34 @@ class CronTask implements Task {
         return this.executorService;
     }
 
+    @Override
+    public void cancel() {
+        try {
+            scheduleNextLock.lock();
+            cancelled = true;
+            if (next != null) {
+                next.cancel(false);
+            }
+        } finally {
+            scheduleNextLock.unlock();
+        }
+    }
+
     private void scheduleNext() {
         try {
             scheduleNextLock.lock();
+            if (cancelled) {
+                return;
+            }
 
             ZonedDateTime now = ZonedDateTime.now();
-            Optional<ZonedDateTime> nextExecution = executionTime.nextExecution(now);
+            Optional<ZonedDateTime> nextExecution = nextExecutions.next(now);
             if (nextExecution.isEmpty()) {
                 return;
             }
 
-            ZonedDateTime next = nextExecution.get();
-
-            Optional<Duration> time;
-            if (lastNext != null && lastNext.isEqual(next)) {
-                lastNext = executionTime.nextExecution(now).orElse(null);
-                time = executionTime.timeToNextExecution(next);
-            } else {
-                lastNext = next;
-                time = executionTime.timeToNextExecution(now);
-            }
-
-            time.ifPresent(t -> {
-                        executorService.schedule(this::run, t.toMillis(), TimeUnit.MILLISECONDS);
-                    }
-            );
-
+            long delay = Duration.between(now, nextExecution.get()).toNanos();
+            next = executorService.schedule(this::run, delay, TimeUnit.NANOSECONDS);
         } finally {
             scheduleNextLock.unlock();
         }
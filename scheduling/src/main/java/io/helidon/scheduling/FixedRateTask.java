@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package io.helidon.scheduling;
 
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
@@ -32,6 +33,7 @@ class FixedRateTask implements Task {
     private final long delay;
     private final TimeUnit timeUnit;
     private final ScheduledConsumer actualTask;
+    private final ScheduledFuture<?> future;
 
     FixedRateTask(ScheduledExecutorService executorService,
                   long initialDelay,
@@ -43,7 +45,7 @@ class FixedRateTask implements Task {
         this.delay = delay;
         this.timeUnit = timeUnit;
         this.actualTask = actualTask;
-        executorService.scheduleAtFixedRate(this::run, initialDelay, delay, timeUnit);
+        this.future = executorService.scheduleAtFixedRate(this::run, initialDelay, delay, timeUnit);
     }
 
     @Override
@@ -61,6 +63,11 @@ class FixedRateTask implements Task {
         return this.executorService;
     }
 
+    @Override
+    public void cancel() {
+        future.cancel(false);
+    }
+
     void run() {
         try {
             long it = iteration.incrementAndGet();
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.scheduling;
+
+import java.time.ZonedDateTime;
+import java.util.Optional;
+
+import com.cronutils.model.time.ExecutionTime;
+
+/**
+ * Upcoming execution times of a cron expression, computed in batches.
+ * Computing the next execution time of a cron expression costs much more than scheduling a task,
+ * so the times are computed {@value #DEFAULT_SIZE} at a time and then consumed one by one.
+ * Not thread safe, guarded by the lock of the owning task.
+ */
+class NextExecutionTable {
+
+    static final int DEFAULT_SIZE = 16;
+
+    private final ExecutionTime executionTime;
+    private final ZonedDateTime[] times;
+    private int size;
+    private int index;
+
+    NextExecutionTable(ExecutionTime executionTime, int size) {
+        this.executionTime = executionTime;
+        this.times = new ZonedDateTime[size];
+    }
+
+    /**
+     * Next execution time after {@code now}. Each execution time is returned only once, so an invocation
+     * that starts slightly before its scheduled time does not get the same time again.
+     *
+     * @param now current time
+     * @return next execution time, empty if the expression has no more executions
+     */
+    Optional<ZonedDateTime> next(ZonedDateTime now) {
+        while (true) {
+            if (index == size) {
+                refill(now);
+                if (size == 0) {
+                    return Optional.empty();
+                }
+            }
+            ZonedDateTime candidate = times[index++];
+            // times in the past were missed (such as a long running invocation without concurrent execution)
+            if (candidate.isAfter(now)) {
+                return Optional.of(candidate);
+            }
+        }
+    }
+
+    private void refill(ZonedDateTime now) {
+        ZonedDateTime from = now;
+        if (size > 0 && times[size - 1].isAfter(now)) {
+            from = times[size - 1];
+        }
+        size = 0;
+        index = 0;
+        while (size < times.length) {
+            Optional<ZonedDateTime> next = executionTime.nextExecution(from);
+            if (next.isEmpty()) {
+                return;
+            }
+            from = next.get();
+            times[size++] = from;
+        }
+    }
+}
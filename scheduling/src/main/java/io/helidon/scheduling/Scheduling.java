@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -37,6 +37,8 @@ import io.helidon.common.configurable.ScheduledThreadPoolSupplier;
  *      .task(inv -> System.out.println("Executed every day at 9:45"))
  *      .build()
  * }</pre>
+ *
+ * Applications with many tasks should share a {@link io.helidon.scheduling.SchedulingEngine}.
  */
 public class Scheduling {
 
@@ -88,6 +90,18 @@ public class Scheduling {
             return this;
         }
 
+        /**
+         * Schedule the task with a {@link SchedulingEngine} shared with other tasks, instead of
+         * a {@link ScheduledExecutorService ScheduledExecutorService} used by this task only.
+         *
+         * @param engine scheduling engine
+         * @return this builder
+         */
+        public FixedRateBuilder engine(SchedulingEngine engine) {
+            this.executorService = engine.executor();
+            return this;
+        }
+
         /**
          * Initial delay of the first invocation. Time unit is by default {@link TimeUnit#SECONDS},
          * can be specified with {@link FixedRateBuilder#timeUnit(java.util.concurrent.TimeUnit) timeUnit()}.
@@ -183,6 +197,18 @@ public class Scheduling {
             return this;
         }
 
+        /**
+         * Schedule the task with a {@link SchedulingEngine} shared with other tasks, instead of
+         * a {@link ScheduledExecutorService ScheduledExecutorService} used by this task only.
+         *
+         * @param engine scheduling engine
+         * @return this builder
+         */
+        public CronBuilder engine(SchedulingEngine engine) {
+            this.executorService = engine.executor();
+            return this;
+        }
+
         /**
          * Cron expression for specifying period of execution.
          * <p>
@@ -0,0 +1,359 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.scheduling;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import io.helidon.common.configurable.HashedWheelTimer;
+import io.helidon.common.configurable.ThreadPool;
+import io.helidon.common.configurable.ThreadPoolSupplier;
+import io.helidon.config.Config;
+
+/**
+ * Scheduling engine shared by many tasks.
+ * <p>
+ * Each task built by {@link io.helidon.scheduling.Scheduling} uses its own scheduled thread pool by default.
+ * Tasks bound to an engine instead share a single timer thread (a {@link HashedWheelTimer timing wheel}) that
+ * dispatches invocations to a worker executor, which can use virtual threads.
+ * Scheduling a task is a constant time operation, so applications can register thousands of tasks.
+ * <p>
+ * The engine records the lag between the scheduled and the actual start of each invocation, see
+ * {@link #maxLag()}, {@link #averageLag()} and {@link Builder#addLagListener(HashedWheelTimer.LagListener)}.
+ *
+ * <pre>{@code
+ * SchedulingEngine engine = SchedulingEngine.create();
+ * engine.cronBuilder()
+ *      .expression("0/2 * * * * ? *")
+ *      .task(inv -> System.out.println("Executed every 2 seconds"))
+ *      .build();
+ * }</pre>
+ */
+public final class SchedulingEngine {
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder totalLag = new LongAdder();
+    private final LongAccumulator maxLag = new LongAccumulator(Math::max, 0);
+    private final ExecutorService workers;
+    private final boolean shutdownWorkers;
+    private final HashedWheelTimer timer;
+
+    private SchedulingEngine(Builder builder) {
+        if (builder.executor == null) {
+            this.workers = ThreadPoolSupplier.builder()
+                    .threadNamePrefix(builder.threadNamePrefix)
+                    .config(builder.executorConfig)
+                    .virtualIfAvailable(builder.virtualThreads)
+                    .build()
+                    .get();
+            // only a platform thread pool is owned by this engine, the virtual thread executor is shared
+            this.shutdownWorkers = ThreadPool.asThreadPool(workers).isPresent();
+        } else {
+            this.workers = builder.executor;
+            this.shutdownWorkers = false;
+        }
+
+        HashedWheelTimer.Builder timerBuilder = HashedWheelTimer.builder()
+                .tickDuration(builder.tickDuration)
+                .ticksPerWheel(builder.ticksPerWheel)
+                .threadNamePrefix(builder.threadNamePrefix + "timer-")
+                .executor(workers)
+                .addLagListener(this::lag);
+        builder.lagListeners.forEach(timerBuilder::addLagListener);
+        this.timer = timerBuilder.build();
+    }
+
+    /**
+     * A new builder for {@link io.helidon.scheduling.SchedulingEngine}.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Create an engine with default configuration.
+     *
+     * @return a new engine
+     */
+    public static SchedulingEngine create() {
+        return builder().build();
+    }
+
+    /**
+     * Create an engine from configuration.
+     *
+     * @param config configuration of the engine
+     * @return a new engine
+     * @see io.helidon.scheduling.SchedulingEngine.Builder#config(io.helidon.config.Config)
+     */
+    public static SchedulingEngine create(Config config) {
+        return builder().config(config).build();
+    }
+
+    /**
+     * Build a task executed periodically at a fixed rate by this engine.
+     *
+     * @return a new builder
+     */
+    public Scheduling.FixedRateBuilder fixedRateBuilder() {
+        return Scheduling.fixedRateBuilder().engine(this);
+    }
+
+    /**
+     * Build a task executed periodically according to a cron expression by this engine.
+     *
+     * @return a new builder
+     */
+    public Scheduling.CronBuilder cronBuilder() {
+        return Scheduling.cronBuilder().engine(this);
+    }
+
+    /**
+     * Build and schedule tasks in bulk.
+     * Builders created by {@link io.helidon.scheduling.Scheduling} are bound to this engine.
+     * The first execution time of all tasks is computed on the calling thread, and the tasks
+     * are handed over to the timer thread in a single batch on its next tick.
+     *
+     * @param builders builders of the tasks
+     * @return scheduled tasks, in the order of the builders
+     */
+    public List<Task> registerAll(Collection<? extends Supplier<? extends Task>> builders) {
+        List<Task> tasks = new ArrayList<>(builders.size());
+        for (Supplier<? extends Task> builder : builders) {
+            if (builder instanceof Scheduling.FixedRateBuilder) {
+                ((Scheduling.FixedRateBuilder) builder).engine(this);
+            } else if (builder instanceof Scheduling.CronBuilder) {
+                ((Scheduling.CronBuilder) builder).engine(this);
+            }
+            tasks.add(builder.get());
+        }
+        return tasks;
+    }
+
+    /**
+     * Executor used by tasks of this engine to schedule invocations.
+     * Invocations run on the worker executor of this engine.
+     *
+     * @return scheduled executor service backed by the timer of this engine
+     */
+    public ScheduledExecutorService executor() {
+        return timer;
+    }
+
+    /**
+     * Number of invocations started by this engine.
+     *
+     * @return number of invocations
+     */
+    public long executions() {
+        return executions.sum();
+    }
+
+    /**
+     * Maximal lag between the scheduled and the actual start of an invocation.
+     *
+     * @return maximal lag
+     */
+    public Duration maxLag() {
+        return Duration.ofNanos(maxLag.get());
+    }
+
+    /**
+     * Average lag between the scheduled and the actual start of an invocation.
+     *
+     * @return average lag, zero if there was no invocation yet
+     */
+    public Duration averageLag() {
+        long count = executions.sum();
+        return count == 0 ? Duration.ZERO : Duration.ofNanos(totalLag.sum() / count);
+    }
+
+    /**
+     * Number of invocations scheduled and not yet started or cancelled.
+     *
+     * @return number of pending invocations
+     */
+    public int pendingTasks() {
+        return timer.pendingTasks();
+    }
+
+    /**
+     * Cancel all scheduled invocations and stop the timer thread.
+     * Worker threads created by this engine are stopped as well.
+     */
+    public void shutdown() {
+        timer.shutdownNow();
+        if (shutdownWorkers) {
+            workers.shutdownNow();
+        }
+    }
+
+    private void lag(long lagNanos) {
+        executions.increment();
+        totalLag.add(lagNanos);
+        maxLag.accumulate(lagNanos);
+    }
+
+    /**
+     * Fluent API builder for {@link io.helidon.scheduling.SchedulingEngine}.
+     */
+    public static final class Builder implements io.helidon.common.Builder<Builder, SchedulingEngine> {
+
+        private static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+        private final List<HashedWheelTimer.LagListener> lagListeners = new ArrayList<>();
+        private Duration tickDuration = Duration.ofMillis(10);
+        private int ticksPerWheel = DEFAULT_TICKS_PER_WHEEL;
+        private String threadNamePrefix = "scheduled-";
+        private boolean virtualThreads;
+        private ExecutorService executor;
+        private Config executorConfig = Config.empty();
+
+        private Builder() {
+            //hidden constructor
+        }
+
+        @Override
+        public SchedulingEngine build() {
+            return new SchedulingEngine(this);
+        }
+
+        /**
+         * Update builder from configuration.
+         * <p>
+         * <table class="config">
+         * <caption>Optional configuration parameters</caption>
+         * <tr>
+         *     <th>key</th>
+         *     <th>default value</th>
+         *     <th>description</th>
+         * </tr>
+         * <tr>
+         *     <td>tick-duration</td>
+         *     <td>PT0.01S</td>
+         *     <td>Resolution of the timer, see {@link #tickDuration(java.time.Duration)}</td>
+         * </tr>
+         * <tr>
+         *     <td>ticks-per-wheel</td>
+         *     <td>{@value DEFAULT_TICKS_PER_WHEEL}</td>
+         *     <td>Number of buckets of the timing wheel</td>
+         * </tr>
+         * <tr>
+         *     <td>thread-name-prefix</td>
+         *     <td>scheduled-</td>
+         *     <td>Name prefix of the timer and worker threads</td>
+         * </tr>
+         * <tr>
+         *     <td>executor</td>
+         *     <td>&nbsp;</td>
+         *     <td>Configuration of the worker executor, see
+         *     {@link io.helidon.common.configurable.ThreadPoolSupplier.Builder#config(io.helidon.config.Config)},
+         *     including {@code virtual-threads}</td>
+         * </tr>
+         * </table>
+         *
+         * @param config configuration of the engine
+         * @return updated builder instance
+         */
+        public Builder config(Config config) {
+            config.get("tick-duration").as(Duration.class).ifPresent(this::tickDuration);
+            config.get("ticks-per-wheel").asInt().ifPresent(this::ticksPerWheel);
+            config.get("thread-name-prefix").asString().ifPresent(this::threadNamePrefix);
+            Config executor = config.get("executor");
+            this.executorConfig = executor;
+            executor.get("virtual-threads").asBoolean().ifPresent(this::virtualThreads);
+            return this;
+        }
+
+        /**
+         * Resolution of the timer. Invocations start up to one tick after their scheduled time.
+         *
+         * @param tickDuration duration of a tick, defaults to 10 milliseconds
+         * @return updated builder instance
+         */
+        public Builder tickDuration(Duration tickDuration) {
+            this.tickDuration = Objects.requireNonNull(tickDuration);
+            return this;
+        }
+
+        /**
+         * Number of buckets of the timing wheel.
+         *
+         * @param ticksPerWheel number of buckets, defaults to {@value DEFAULT_TICKS_PER_WHEEL}
+         * @return updated builder instance
+         */
+        public Builder ticksPerWheel(int ticksPerWheel) {
+            this.ticksPerWheel = ticksPerWheel;
+            return this;
+        }
+
+        /**
+         * Name prefix of the timer and worker threads.
+         *
+         * @param threadNamePrefix thread name prefix
+         * @return updated builder instance
+         */
+        public Builder threadNamePrefix(String threadNamePrefix) {
+            this.threadNamePrefix = Objects.requireNonNull(threadNamePrefix);
+            return this;
+        }
+
+        /**
+         * Run invocations on virtual threads if available.
+         *
+         * @param virtualThreads whether to use virtual threads, defaults to {@code false}
+         * @return updated builder instance
+         */
+        public Builder virtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        /**
+         * Custom executor to run invocations.
+         * The executor is not shut down by {@link SchedulingEngine#shutdown()}.
+         *
+         * @param executor worker executor
+         * @return updated builder instance
+         */
+        public Builder executor(ExecutorService executor) {
+            this.executor = Objects.requireNonNull(executor);
+            return this;
+        }
+
+        /**
+         * Add a listener notified with the lag of each invocation.
+         *
+         * @param listener listener to add
+         * @return updated builder instance
+         */
+        public Builder addLagListener(HashedWheelTimer.LagListener listener) {
+            this.lagListeners.add(Objects.requireNonNull(listener));
+            return this;
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,9 +32,17 @@ public interface Task {
 
     /**
      * {@link java.util.concurrent.ScheduledExecutorService Executor} used for invocation of scheduled tasks.
+     * Tasks built with a {@link io.helidon.scheduling.SchedulingEngine} share the executor of the engine,
+     * use {@link #cancel()} to stop a single task.
      *
      * @return used executor
      */
     ScheduledExecutorService executor();
 
+    /**
+     * Cancel further invocations of this task. An invocation that is already running is not interrupted.
+     * The {@link #executor() executor} is not shut down.
+     */
+    void cancel();
+
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.scheduling;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.cronutils.model.definition.CronDefinitionBuilder;
+import com.cronutils.model.time.ExecutionTime;
+import com.cronutils.parser.CronParser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static com.cronutils.model.CronType.QUARTZ;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+class SchedulingEngineTest {
+
+    private SchedulingEngine engine;
+
+    @BeforeEach
+    void createEngine() {
+        engine = SchedulingEngine.create();
+    }
+
+    @AfterEach
+    void shutdownEngine() {
+        engine.shutdown();
+    }
+
+    @Test
+    void testFixedRate() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(3);
+        engine.fixedRateBuilder()
+                .delay(50)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .task(inv -> latch.countDown())
+                .build();
+
+        assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(engine.executions(), is(greaterThan(2L)));
+    }
+
+    @Test
+    void testRegisterAll() throws InterruptedException {
+        AtomicInteger invocations = new AtomicInteger();
+        CountDownLatch latch = new CountDownLatch(10);
+        List<Task> tasks = engine.registerAll(List.of(
+                Scheduling.cronBuilder()
+                        .expression("* * * * * ? *")
+                        .task(inv -> {
+                            invocations.incrementAndGet();
+                            latch.countDown();
+                        }),
+                Scheduling.fixedRateBuilder()
+                        .delay(100)
+                        .timeUnit(TimeUnit.MILLISECONDS)
+                        .task(inv -> latch.countDown())));
+
+        assertThat(tasks.size(), is(2));
+        assertThat(tasks.get(0).executor(), is(engine.executor()));
+        assertThat(tasks.get(1).executor(), is(engine.executor()));
+        assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(invocations.get(), is(greaterThan(0)));
+    }
+
+    @Test
+    void testCancelTask() throws InterruptedException {
+        AtomicInteger cancelledInvocations = new AtomicInteger();
+        Task fixedRate = engine.fixedRateBuilder()
+                .delay(10)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .task(inv -> cancelledInvocations.incrementAndGet())
+                .build();
+        Task cron = engine.cronBuilder()
+                .expression("* * * * * ? *")
+                .task(inv -> cancelledInvocations.incrementAndGet())
+                .build();
+        CountDownLatch first = new CountDownLatch(1);
+        CountDownLatch latch = new CountDownLatch(25);
+        engine.fixedRateBuilder()
+                .delay(50)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .task(inv -> {
+                    first.countDown();
+                    latch.countDown();
+                })
+                .build();
+
+        fixedRate.cancel();
+        cron.cancel();
+        assertThat(first.await(5, TimeUnit.SECONDS), is(true));
+        // an invocation started before cancel may still be running
+        TimeUnit.MILLISECONDS.sleep(20);
+        int invocations = cancelledInvocations.get();
+
+        // the sibling task keeps firing on the shared executor for longer than the cron period
+        assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+        assertThat(engine.executor().isShutdown(), is(false));
+        assertThat(cancelledInvocations.get(), is(invocations));
+    }
+
+    @Test
+    void testShutdownWorkersWithoutVirtualThreads() throws InterruptedException {
+        // falls back to a platform thread pool when virtual threads are not available, which must be stopped
+        SchedulingEngine virtualEngine = SchedulingEngine.builder()
+                .threadNamePrefix("engine-test-")
+                .virtualThreads(true)
+                .build();
+        CountDownLatch latch = new CountDownLatch(1);
+        virtualEngine.fixedRateBuilder()
+                .delay(10)
+                .timeUnit(TimeUnit.MILLISECONDS)
+                .task(inv -> latch.countDown())
+                .build();
+        assertThat(latch.await(5, TimeUnit.SECONDS), is(true));
+
+        virtualEngine.shutdown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (engineThreads() > 0 && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+        assertThat(engineThreads(), is(0L));
+    }
+
+    @Test
+    void testNextExecutionTable() {
+        ExecutionTime executionTime = ExecutionTime.forCron(
+                new CronParser(CronDefinitionBuilder.instanceDefinitionFor(QUARTZ)).parse("0/10 * * * * ? *"));
+        NextExecutionTable table = new NextExecutionTable(executionTime, 4);
+        ZonedDateTime now = ZonedDateTime.of(2022, 1, 1, 10, 0, 5, 0, ZoneId.of("UTC"));
+
+        // each time is returned once, also when the invocation starts early
+        assertThat(table.next(now).orElseThrow(), is(now.withSecond(10)));
+        assertThat(table.next(now.withSecond(9)).orElseThrow(), is(now.withSecond(20)));
+
+        // times missed by a long invocation are skipped, also across refills of the table
+        ZonedDateTime later = now.plusMinutes(5);
+        assertThat(table.next(later).orElseThrow(), is(later.withSecond(10)));
+    }
+
+    private static long engineThreads() {
+        return Thread.getAllStackTraces()
+                .keySet()
+                .stream()
+                .filter(Thread::isAlive)
+                .filter(thread -> thread.getName().startsWith("engine-test-"))
+                .count();
+    }
+}
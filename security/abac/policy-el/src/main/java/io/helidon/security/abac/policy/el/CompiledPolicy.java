@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.security.abac.policy.el;
+
+import io.helidon.security.ProviderRequest;
+
+/**
+ * A policy statement compiled into an executable form.
+ * Compiled policies are cached by {@link JavaxElPolicyExecutor} and evaluated for each request, so
+ * implementations must be thread safe and should not keep per-request state.
+ */
+@FunctionalInterface
+public interface CompiledPolicy {
+    /**
+     * Evaluate this policy for a request.
+     *
+     * @param request provider request with subject, service, environment and object
+     * @return {@code true} if the policy permits the request, {@code false} otherwise
+     */
+    boolean evaluate(ProviderRequest request);
+}
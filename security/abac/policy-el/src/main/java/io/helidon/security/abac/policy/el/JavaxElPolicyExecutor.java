@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,40 +19,57 @@ package io.helidon.security.abac.policy.el;
 import java.lang.reflect.Method;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import io.helidon.common.Errors;
 import io.helidon.config.Config;
 import io.helidon.security.ProviderRequest;
-import io.helidon.security.SecurityContext;
-import io.helidon.security.SecurityEnvironment;
 import io.helidon.security.Subject;
 import io.helidon.security.abac.policy.spi.PolicyExecutor;
 
 import jakarta.el.ELException;
+import jakarta.el.ELResolver;
 import jakarta.el.ExpressionFactory;
 import jakarta.el.FunctionMapper;
 import jakarta.el.StandardELContext;
 import jakarta.el.ValueExpression;
-import jakarta.el.VariableMapper;
 
 /**
  * {@link PolicyExecutor} for Java EE Expression Language (EL).
  *
  * See tutorial for details of the EL: <a href="https://docs.oracle.com/javaee/7/tutorial/jsf-el005.htm#BNAIK">https://docs
  * .oracle.com/javaee/7/tutorial/jsf-el005.htm#BNAIK</a>
+ * <p>
+ * Policy statements are parsed once and cached (see {@link Builder#cacheSize(int)}). Statements may also be
+ * compiled by a custom {@link PolicyCompiler} to be evaluated without the expression language interpreter.
  */
 public final class JavaxElPolicyExecutor implements PolicyExecutor {
+    /**
+     * Default number of cached compiled policy statements: {@value}.
+     */
+    public static final int DEFAULT_CACHE_SIZE = 1000;
+
     private static final Logger LOGGER = Logger.getLogger(JavaxElPolicyExecutor.class.getName());
     private static final AttributeResolver ATTRIBUTE_RESOLVER = new AttributeResolver();
 
     private final ExpressionFactory ef;
     private final List<CustomFunction> customMethods = new LinkedList<>();
+    private final List<PolicyCompiler> compilers = new LinkedList<>();
+    private final ConcurrentHashMap<String, CompiledPolicy> policyCache = new ConcurrentHashMap<>();
+    private final int cacheSize;
+    private final ELResolver resolver;
+    private final ThreadLocal<PolicyEvaluationContext> evaluationContext;
 
     private JavaxElPolicyExecutor(Builder builder) {
         this.ef = builder.expressionFactory;
         this.customMethods.addAll(builder.customMethods);
+        this.compilers.addAll(builder.compilers);
+        this.cacheSize = builder.cacheSize;
+        this.resolver = PolicyEvaluationContext.createResolver(ef, ATTRIBUTE_RESOLVER);
+        this.evaluationContext = ThreadLocal.withInitial(() -> PolicyEvaluationContext.create(ef, resolver));
     }
 
     /**
@@ -85,48 +102,90 @@ public final class JavaxElPolicyExecutor implements PolicyExecutor {
 
     @Override
     public void executePolicy(String policyStatement, Errors.Collector collector, ProviderRequest request) {
-        StandardELContext context = new StandardELContext(ef);
-        context.addELResolver(ATTRIBUTE_RESOLVER);
+        boolean value;
+        try {
+            value = compiledPolicy(policyStatement).evaluate(request);
+        } catch (Exception e) {
+            LOGGER.log(Level.FINEST, e, () -> "Statement " + policyStatement + " evaluation failed");
+            throw new SecurityException("Policy statement \"" + policyStatement + "\" evaluated to an exception", e);
+        }
+        if (!value) {
+            collector.fatal(this, "Policy statement \"" + policyStatement + "\" evaluated to false");
+        }
+    }
 
-        FunctionMapper functions = context.getFunctionMapper();
-        VariableMapper variables = context.getVariableMapper();
+    // for unit testing
+    int cachedPolicies() {
+        return policyCache.size();
+    }
 
+    private CompiledPolicy compiledPolicy(String policyStatement) {
+        CompiledPolicy policy = policyCache.get(policyStatement);
+        if (policy != null) {
+            return policy;
+        }
+        policy = compile(policyStatement);
+        if (policyCache.size() < cacheSize) {
+            CompiledPolicy existing = policyCache.putIfAbsent(policyStatement, policy);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        return policy;
+    }
+
+    private CompiledPolicy compile(String policyStatement) {
+        for (PolicyCompiler compiler : compilers) {
+            Optional<CompiledPolicy> compiled = compiler.compile(policyStatement);
+            if (compiled.isPresent()) {
+                return compiled.get();
+            }
+        }
+        return compileEl(policyStatement);
+    }
+
+    private CompiledPolicy compileEl(String policyStatement) {
+        // functions are bound when the expression is parsed, variables are resolved when it is evaluated
+        StandardELContext context = new StandardELContext(ef);
+        FunctionMapper functions = context.getFunctionMapper();
         customMethods.forEach(customFunction -> functions.mapFunction(customFunction.prefix,
                                                                       customFunction.localName,
                                                                       customFunction.method));
 
-        Subject userSubject = request.subject().orElse(SecurityContext.ANONYMOUS);
-
-        variable(variables, "user", userSubject, Subject.class);
-        variable(variables, "subject", userSubject, Subject.class);
-        variable(variables, "service", request.service().orElse(SecurityContext.ANONYMOUS), Subject.class);
-        variable(variables, "env", request.env(), SecurityEnvironment.class);
-        variable(variables, "object", request.getObject().orElse(null), Object.class);
-        variable(variables, "request", request, ProviderRequest.class);
+        ValueExpression expression = ef.createValueExpression(context, policyStatement, boolean.class);
+        return new ElPolicy(expression);
+    }
 
+    private boolean evaluate(ValueExpression expression, ProviderRequest request) {
+        PolicyEvaluationContext context = evaluationContext.get();
+        boolean threadContext = !context.inUse();
+        if (!threadContext) {
+            // re-entrant evaluation (e.g. from a custom function), do not reuse the thread's context
+            context = PolicyEvaluationContext.create(ef, resolver);
+        }
+        boolean completed = false;
+        context.bind(request);
         try {
-            ValueExpression expression = ef.createValueExpression(context, policyStatement, boolean.class);
-            boolean value = (boolean) expression.getValue(context);
-            if (!value) {
-                collector.fatal(this, "Policy statement \"" + policyStatement + "\" evaluated to false");
+            boolean result = (boolean) expression.getValue(context);
+            completed = true;
+            return result;
+        } finally {
+            context.release();
+            if (threadContext && !completed) {
+                // a failed evaluation may leave state (such as lambda arguments) in the context, do not reuse it
+                evaluationContext.remove();
             }
-        } catch (Exception e) {
-            LOGGER.log(Level.FINEST, e, () -> "Statement " + policyStatement + " evaluation failed");
-            throw new SecurityException("Policy statement \"" + policyStatement + "\" evaluated to an exception", e);
         }
     }
 
-    private <T> void variable(VariableMapper variables, String varName, T object, Class<T> objectClass) {
-        ValueExpression variable = ef.createValueExpression(object, objectClass);
-        variables.setVariable(varName, variable);
-    }
-
     /**
      * A fluent API builder for {@link JavaxElPolicyExecutor}.
      */
     public static final class Builder implements io.helidon.common.Builder<Builder, JavaxElPolicyExecutor> {
         private final List<CustomFunction> customMethods = new LinkedList<>();
+        private final List<PolicyCompiler> compilers = new LinkedList<>();
         private ExpressionFactory expressionFactory;
+        private int cacheSize = DEFAULT_CACHE_SIZE;
 
         private Builder() {
             // configure built-in methods
@@ -209,6 +268,34 @@ public final class JavaxElPolicyExecutor implements PolicyExecutor {
             return this;
         }
 
+        /**
+         * Add a compiler of policy statements. Compilers are consulted in the order they were added, before the
+         * statement is parsed by the expression language.
+         *
+         * @param compiler compiler to add
+         * @return updated builder instance
+         */
+        public Builder addCompiler(PolicyCompiler compiler) {
+            compilers.add(compiler);
+            return this;
+        }
+
+        /**
+         * Maximal number of compiled policy statements to cache.
+         * Statements compiled once the cache is full are evaluated, but not cached.
+         * Set to {@code 0} to disable caching.
+         *
+         * @param cacheSize cache size, defaults to {@link JavaxElPolicyExecutor#DEFAULT_CACHE_SIZE}
+         * @return updated builder instance
+         */
+        public Builder cacheSize(int cacheSize) {
+            if (cacheSize < 0) {
+                throw new IllegalArgumentException("Cache size must not be negative, but is " + cacheSize);
+            }
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
         /**
          * Updated builder from configuration.
          *
@@ -216,11 +303,24 @@ public final class JavaxElPolicyExecutor implements PolicyExecutor {
          * @return updated builder instance
          */
         public Builder config(Config config) {
-            // currently no configurable options exist
+            config.get("cache-size").asInt().ifPresent(this::cacheSize);
             return this;
         }
     }
 
+    private final class ElPolicy implements CompiledPolicy {
+        private final ValueExpression expression;
+
+        private ElPolicy(ValueExpression expression) {
+            this.expression = expression;
+        }
+
+        @Override
+        public boolean evaluate(ProviderRequest request) {
+            return JavaxElPolicyExecutor.this.evaluate(expression, request);
+        }
+    }
+
     private static final class CustomFunction {
         private final String prefix;
         private final String localName;
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.security.abac.policy.el;
+
+import java.util.Optional;
+
+/**
+ * A pluggable compiler of policy statements.
+ * Compilers registered through {@link JavaxElPolicyExecutor.Builder#addCompiler(PolicyCompiler)} are consulted in
+ * order before the statement is parsed by the expression language; the first compiler that returns a
+ * {@link CompiledPolicy} wins. This allows known statements to be evaluated without the EL interpreter.
+ */
+@FunctionalInterface
+public interface PolicyCompiler {
+    /**
+     * Compile a policy statement.
+     *
+     * @param policyStatement statement as configured (e.g. {@code ${env.time.year >= 2017}})
+     * @return compiled policy, or empty if this compiler does not support the statement
+     */
+    Optional<CompiledPolicy> compile(String policyStatement);
+}
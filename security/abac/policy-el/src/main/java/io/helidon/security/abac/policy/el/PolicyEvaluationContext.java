@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.security.abac.policy.el;
+
+import java.beans.FeatureDescriptor;
+import java.lang.reflect.Method;
+import java.util.Iterator;
+
+import io.helidon.security.ProviderRequest;
+import io.helidon.security.SecurityContext;
+import io.helidon.security.SecurityEnvironment;
+import io.helidon.security.Subject;
+
+import jakarta.el.ArrayELResolver;
+import jakarta.el.BeanELResolver;
+import jakarta.el.CompositeELResolver;
+import jakarta.el.ELContext;
+import jakarta.el.ELResolver;
+import jakarta.el.ExpressionFactory;
+import jakarta.el.FunctionMapper;
+import jakarta.el.ListELResolver;
+import jakarta.el.MapELResolver;
+import jakarta.el.PropertyNotWritableException;
+import jakarta.el.ResourceBundleELResolver;
+import jakarta.el.StaticFieldELResolver;
+import jakarta.el.ValueExpression;
+import jakarta.el.VariableMapper;
+
+/**
+ * EL context used to evaluate pre-compiled policy expressions.
+ * Policy variables ({@code user}, {@code subject}, {@code service}, {@code env}, {@code object} and {@code request})
+ * are resolved lazily from the current request by an {@link ELResolver}, rather than bound through a
+ * {@link VariableMapper} when the expression is parsed. This allows a parsed expression to be reused across requests
+ * and a single context instance to be reused by a thread.
+ * <p>
+ * Instances are not thread safe.
+ */
+final class PolicyEvaluationContext extends ELContext {
+    private static final FunctionMapper NO_FUNCTIONS = new FunctionMapper() {
+        @Override
+        public Method resolveFunction(String prefix, String localName) {
+            return null;
+        }
+    };
+    private static final VariableMapper NO_VARIABLES = new VariableMapper() {
+        @Override
+        public ValueExpression resolveVariable(String variable) {
+            return null;
+        }
+
+        @Override
+        public ValueExpression setVariable(String variable, ValueExpression expression) {
+            // policy variables are resolved from the request, there is no previous value to return
+            return null;
+        }
+    };
+
+    private final ELResolver resolver;
+    private ProviderRequest request;
+
+    private PolicyEvaluationContext(ELResolver resolver) {
+        this.resolver = resolver;
+    }
+
+    /**
+     * Create a resolver chain shared by all evaluation contexts of a single executor.
+     * The chain mirrors the resolvers of {@link jakarta.el.StandardELContext}, with the request variable resolver
+     * and {@link AttributeResolver} first.
+     *
+     * @param ef expression factory
+     * @param attributeResolver resolver of ABAC attributes
+     * @return resolver chain
+     */
+    static ELResolver createResolver(ExpressionFactory ef, ELResolver attributeResolver) {
+        CompositeELResolver resolver = new CompositeELResolver();
+        resolver.add(new RequestVariableResolver());
+        resolver.add(attributeResolver);
+        ELResolver streamResolver = ef.getStreamELResolver();
+        if (streamResolver != null) {
+            resolver.add(streamResolver);
+        }
+        resolver.add(new StaticFieldELResolver());
+        resolver.add(new MapELResolver());
+        resolver.add(new ResourceBundleELResolver());
+        resolver.add(new ListELResolver());
+        resolver.add(new ArrayELResolver());
+        resolver.add(new BeanELResolver());
+        return resolver;
+    }
+
+    static PolicyEvaluationContext create(ExpressionFactory ef, ELResolver resolver) {
+        PolicyEvaluationContext context = new PolicyEvaluationContext(resolver);
+        context.putContext(ExpressionFactory.class, ef);
+        return context;
+    }
+
+    /**
+     * Whether this context is currently evaluating a policy.
+     *
+     * @return {@code true} if bound to a request
+     */
+    boolean inUse() {
+        return request != null;
+    }
+
+    void bind(ProviderRequest request) {
+        this.request = request;
+    }
+
+    /**
+     * Release the request bound to this context, so a context kept by a pooled thread does not retain it.
+     */
+    void release() {
+        this.request = null;
+        setPropertyResolved(false);
+    }
+
+    @Override
+    public ELResolver getELResolver() {
+        return resolver;
+    }
+
+    @Override
+    public FunctionMapper getFunctionMapper() {
+        return NO_FUNCTIONS;
+    }
+
+    @Override
+    public VariableMapper getVariableMapper() {
+        return NO_VARIABLES;
+    }
+
+    private static final class RequestVariableResolver extends ELResolver {
+        @Override
+        public Object getValue(ELContext context, Object base, Object property) {
+            if (base != null || !(context instanceof PolicyEvaluationContext)) {
+                return null;
+            }
+            ProviderRequest request = ((PolicyEvaluationContext) context).request;
+            if (request == null) {
+                return null;
+            }
+            String name = String.valueOf(property);
+            switch (name) {
+            case "user":
+            case "subject":
+                context.setPropertyResolved(true);
+                return request.subject().orElse(SecurityContext.ANONYMOUS);
+            case "service":
+                context.setPropertyResolved(true);
+                return request.service().orElse(SecurityContext.ANONYMOUS);
+            case "env":
+                context.setPropertyResolved(true);
+                return request.env();
+            case "object":
+                context.setPropertyResolved(true);
+                return request.getObject().orElse(null);
+            case "request":
+                context.setPropertyResolved(true);
+                return request;
+            default:
+                return null;
+            }
+        }
+
+        @Override
+        public Class<?> getType(ELContext context, Object base, Object property) {
+            if (base != null || !(context instanceof PolicyEvaluationContext)) {
+                return null;
+            }
+            Class<?> type = variableType(String.valueOf(property));
+            if (type != null) {
+                context.setPropertyResolved(true);
+            }
+            return type;
+        }
+
+        @Override
+        public void setValue(ELContext context, Object base, Object property, Object value) {
+            if (base == null && variableType(String.valueOf(property)) != null) {
+                throw new PropertyNotWritableException("Cannot write: " + property
+                                                               + ", as security expressions are read-only");
+            }
+        }
+
+        @Override
+        public boolean isReadOnly(ELContext context, Object base, Object property) {
+            if (base == null && variableType(String.valueOf(property)) != null) {
+                context.setPropertyResolved(true);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public Iterator<FeatureDescriptor> getFeatureDescriptors(ELContext context, Object base) {
+            return null;
+        }
+
+        @Override
+        public Class<?> getCommonPropertyType(ELContext context, Object base) {
+            return (base == null) ? String.class : null;
+        }
+
+        private static Class<?> variableType(String name) {
+            switch (name) {
+            case "user":
+            case "subject":
+            case "service":
+                return Subject.class;
+            case "env":
+                return SecurityEnvironment.class;
+            case "object":
+                return Object.class;
+            case "request":
+                return ProviderRequest.class;
+            default:
+                return null;
+            }
+        }
+    }
+}
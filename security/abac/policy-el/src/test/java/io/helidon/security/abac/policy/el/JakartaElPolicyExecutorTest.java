@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package io.helidon.security.abac.policy.el;
 
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import io.helidon.common.Errors;
 import io.helidon.security.Principal;
@@ -25,8 +26,13 @@ import io.helidon.security.Role;
 import io.helidon.security.SecurityEnvironment;
 import io.helidon.security.Subject;
 
+import jakarta.el.ExpressionFactory;
 import org.junit.jupiter.api.Test;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.fail;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -83,6 +89,129 @@ public class JakartaElPolicyExecutorTest {
         collector.collect().checkValid();
     }
 
+    @Test
+    public void testCachedExpression() {
+        JavaxElPolicyExecutor ex = JavaxElPolicyExecutor.create();
+        ProviderRequest request = request("unit-test-user", new MyResource("unit-test-user"));
+
+        for (int i = 0; i < 3; i++) {
+            Errors.Collector collector = Errors.collector();
+            ex.executePolicy("${user.principal.id == object.owner}", collector, request);
+            collector.collect().checkValid();
+        }
+        assertThat(ex.cachedPolicies(), is(1));
+
+        // the cached expression must be evaluated against the current request
+        ProviderRequest otherRequest = request("other-user", new MyResource("unit-test-user"));
+        Errors.Collector collector = Errors.collector();
+        ex.executePolicy("${user.principal.id == object.owner}", collector, otherRequest);
+        if (collector.collect().isValid()) {
+            fail("Should have failed, as other user is not the owner of the object");
+        }
+
+        // object may be null
+        collector = Errors.collector();
+        ex.executePolicy("${object == null}", collector, request("unit-test-user", null));
+        collector.collect().checkValid();
+        assertThat(ex.cachedPolicies(), is(2));
+    }
+
+    @Test
+    public void testCacheDisabled() {
+        JavaxElPolicyExecutor ex = JavaxElPolicyExecutor.builder()
+                .cacheSize(0)
+                .build();
+
+        Errors.Collector collector = Errors.collector();
+        ex.executePolicy("${inRole(user, 'unit-test-user-role')}", collector, request("unit-test-user", null));
+        collector.collect().checkValid();
+        assertThat(ex.cachedPolicies(), is(0));
+    }
+
+    @Test
+    public void testInvalidExpression() {
+        JavaxElPolicyExecutor ex = JavaxElPolicyExecutor.create();
+
+        assertThrows(SecurityException.class,
+                     () -> ex.executePolicy("${user.principal.id ==}", Errors.collector(), request("unit-test-user", null)));
+        assertThat(ex.cachedPolicies(), is(0));
+    }
+
+    @Test
+    public void testCustomCompiler() {
+        AtomicInteger compiled = new AtomicInteger();
+        JavaxElPolicyExecutor ex = JavaxElPolicyExecutor.builder()
+                .addCompiler(statement -> {
+                    if ("owner-only".equals(statement)) {
+                        compiled.incrementAndGet();
+                        return Optional.of(req -> req.getObject()
+                                .map(MyResource.class::cast)
+                                .map(MyResource::getOwner)
+                                .flatMap(owner -> req.subject().map(it -> it.principal().id().equals(owner)))
+                                .orElse(false));
+                    }
+                    return Optional.empty();
+                })
+                .build();
+
+        ProviderRequest request = request("unit-test-user", new MyResource("unit-test-user"));
+        Errors.Collector collector = Errors.collector();
+        ex.executePolicy("owner-only", collector, request);
+        ex.executePolicy("owner-only", collector, request);
+        // statements not supported by the compiler are still handled by EL
+        ex.executePolicy("${env.time.year >= 2017}", collector, request);
+        collector.collect().checkValid();
+        assertThat(compiled.get(), is(1));
+
+        collector = Errors.collector();
+        ex.executePolicy("owner-only", collector, request("other-user", new MyResource("unit-test-user")));
+        if (collector.collect().isValid()) {
+            fail("Should have failed, as other user is not the owner of the object");
+        }
+    }
+
+    @Test
+    public void testEvaluationContextReleased() {
+        ExpressionFactory ef = ExpressionFactory.newInstance();
+        PolicyEvaluationContext context = PolicyEvaluationContext.create(
+                ef, PolicyEvaluationContext.createResolver(ef, new AttributeResolver()));
+
+        context.bind(request("unit-test-user", null));
+        assertThat(context.inUse(), is(true));
+        context.release();
+        assertThat(context.inUse(), is(false));
+        // variables are not supported, but setting one is not an error
+        assertThat(context.getVariableMapper().setVariable("user", null), is(nullValue()));
+    }
+
+    @Test
+    public void testFailedEvaluation() {
+        JavaxElPolicyExecutor ex = JavaxElPolicyExecutor.create();
+        ProviderRequest request = request("unit-test-user", new MyResource("unit-test-user"));
+
+        assertThrows(SecurityException.class,
+                     () -> ex.executePolicy("${object.owner.unknown}", Errors.collector(), request));
+
+        // the thread can evaluate other policies after a failure
+        Errors.Collector collector = Errors.collector();
+        ex.executePolicy("${object.owner == user.principal.id}", collector, request);
+        collector.collect().checkValid();
+    }
+
+    private static ProviderRequest request(String userName, MyResource object) {
+        Subject user = Subject.builder()
+                .principal(Principal.create(userName))
+                .addGrant(Role.create(userName + "-role"))
+                .build();
+
+        ProviderRequest request = mock(ProviderRequest.class);
+        when(request.service()).thenReturn(Optional.empty());
+        when(request.subject()).thenReturn(Optional.of(user));
+        when(request.env()).thenReturn(SecurityEnvironment.create());
+        when(request.getObject()).thenReturn(Optional.ofNullable(object));
+        return request;
+    }
+
     // bean must be public, as otherwise EL cannot access properties
     public static class MyResource {
         private String owner;
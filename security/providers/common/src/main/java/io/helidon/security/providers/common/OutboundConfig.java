@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import java.util.IdentityHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
@@ -57,7 +58,11 @@ public final class OutboundConfig {
      */
     public static final String PROPERTY_DISABLE_OUTBOUND = "io.helidon.security.client.disable";
 
+    // maximal number of cached target resolutions, paths may be unbounded
+    private static final int TARGET_CACHE_MAX_SIZE = 1000;
+
     private final Map<Class<?>, Map<OutboundTarget, Object>> configTypeToConfigCache = new ConcurrentHashMap<>();
+    private final Map<TargetKey, Optional<OutboundTarget>> targetCache = new ConcurrentHashMap<>();
     private final LinkedList<OutboundTarget> targets = new LinkedList<>();
 
     /**
@@ -120,22 +125,28 @@ public final class OutboundConfig {
      * return (null != outboundTargets) && outboundTargets.findTarget(request).isPresent();
      * }
      *
+     * The resolved target is cached for the combination of transport, host, path and method, so repeated calls
+     * to the same endpoint do not evaluate the target patterns again.
+     *
      * @param env request we are processing
      * @return TargetConfig wrapped in {@link Optional} valid for the request
      */
     public Optional<OutboundTarget> findTarget(SecurityEnvironment env) {
-        String transport = env.transport();
-        String host = env.targetUri().getHost();
-        String path = env.path().orElse(null);
-        String method = env.method();
+        TargetKey key = new TargetKey(env.transport(),
+                                      env.targetUri().getHost(),
+                                      env.path().orElse(null),
+                                      env.method());
 
-        for (OutboundTarget outboundTarget : targets) {
-            if (outboundTarget.matches(transport, host, path, method)) {
-                return Optional.of(outboundTarget);
-            }
+        Optional<OutboundTarget> cached = targetCache.get(key);
+        if (null != cached) {
+            return cached;
         }
 
-        return Optional.empty();
+        Optional<OutboundTarget> result = doFindTarget(key);
+        if (targetCache.size() < TARGET_CACHE_MAX_SIZE) {
+            targetCache.put(key, result);
+        }
+        return result;
     }
 
     /**
@@ -191,6 +202,52 @@ public final class OutboundConfig {
         return targets;
     }
 
+    private Optional<OutboundTarget> doFindTarget(TargetKey key) {
+        for (OutboundTarget outboundTarget : targets) {
+            if (outboundTarget.matches(key.transport, key.host, key.path, key.method)) {
+                return Optional.of(outboundTarget);
+            }
+        }
+
+        return Optional.empty();
+    }
+
+    private static final class TargetKey {
+        private final String transport;
+        private final String host;
+        private final String path;
+        private final String method;
+        private final int hashCode;
+
+        private TargetKey(String transport, String host, String path, String method) {
+            this.transport = transport;
+            this.host = host;
+            this.path = path;
+            this.method = method;
+            this.hashCode = Objects.hash(transport, host, path, method);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TargetKey)) {
+                return false;
+            }
+            TargetKey targetKey = (TargetKey) o;
+            return Objects.equals(transport, targetKey.transport)
+                    && Objects.equals(host, targetKey.host)
+                    && Objects.equals(path, targetKey.path)
+                    && Objects.equals(method, targetKey.method);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
     /**
      * {@link OutboundConfig} builder when not reading it from configuration.
      */
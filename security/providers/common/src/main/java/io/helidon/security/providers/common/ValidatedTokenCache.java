@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.security.providers.common;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.config.Config;
+import io.helidon.security.Subject;
+
+/**
+ * Cache of inbound tokens that were already validated, mapping a token to the {@link Subject} created from it.
+ * <p>
+ * Providers use this cache to skip parsing and signature verification (or a remote introspection call) of tokens
+ * that clients send repeatedly. Tokens are keyed by their SHA-256 hash, so the cache does not keep the raw token
+ * as a key. A cached record is valid for at most {@link Builder#ttl(java.time.Duration)} and never beyond the
+ * expiration time of the token (as obtained from the subject's {@link TokenCredential}).
+ * <p>
+ * Cache hits and misses are reported to {@link Builder#addListener(Listener) listeners}, such as to update metrics.
+ * <p>
+ * Only successful validations should be cached. Validations that depend on the request (such as required scopes)
+ * must still be done for each request using the cached subject.
+ */
+public final class ValidatedTokenCache {
+    /**
+     * Default time to live of a cached token: 5 minutes.
+     */
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+    /**
+     * Default maximal number of cached tokens: {@value}.
+     */
+    public static final long DEFAULT_MAX_SIZE = 10_000;
+
+    private final EvictableCache<String, CachedSubject> cache;
+    private final long ttlMillis;
+    private final String name;
+    private final Listener[] listeners;
+
+    private ValidatedTokenCache(Builder builder) {
+        this.ttlMillis = builder.ttl.toMillis();
+        this.cache = builder.cacheBuilder
+                .overallTimeout(ttlMillis, TimeUnit.MILLISECONDS)
+                .timeout(ttlMillis, TimeUnit.MILLISECONDS)
+                .maxSize(builder.maxSize)
+                .evictor((key, value) -> value.expired(System.currentTimeMillis()))
+                .build();
+        this.name = builder.name;
+        this.listeners = builder.listeners.toArray(new Listener[0]);
+    }
+
+    /**
+     * A new fluent API builder.
+     *
+     * @return builder to configure a new cache
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Create a new cache from configuration.
+     *
+     * @param config configuration of the cache, see {@link Builder#config(io.helidon.config.Config)}
+     * @return a new cache
+     */
+    public static ValidatedTokenCache create(Config config) {
+        return builder().config(config).build();
+    }
+
+    /**
+     * Get the subject of a previously validated token.
+     *
+     * @param token token as received from the client
+     * @return subject if the token was validated and is not expired, empty otherwise
+     */
+    public Optional<Subject> get(String token) {
+        Optional<Subject> result = cache.get(hash(token)).map(CachedSubject::subject);
+        boolean hit = result.isPresent();
+        for (Listener listener : listeners) {
+            listener.lookup(name, hit);
+        }
+        return result;
+    }
+
+    /**
+     * Cache a subject created from a successfully validated token.
+     * Tokens that are already expired are not cached.
+     *
+     * @param token token as received from the client
+     * @param subject subject created from the token
+     */
+    public void put(String token, Subject subject) {
+        long now = System.currentTimeMillis();
+        long expiresAt = subject.publicCredential(TokenCredential.class)
+                .flatMap(TokenCredential::expTime)
+                .map(Instant::toEpochMilli)
+                .map(exp -> Math.min(exp, now + ttlMillis))
+                .orElse(now + ttlMillis);
+
+        if (expiresAt <= now) {
+            return;
+        }
+        CachedSubject cached = new CachedSubject(subject, expiresAt);
+        cache.computeValue(hash(token), () -> Optional.of(cached));
+    }
+
+    /**
+     * Remove a token from the cache, for example when it is known to be revoked.
+     *
+     * @param token token to remove
+     */
+    public void remove(String token) {
+        cache.remove(hash(token));
+    }
+
+    /**
+     * Current number of cached tokens (including expired tokens not yet evicted).
+     *
+     * @return number of cached tokens
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Close this cache and release its eviction resources.
+     */
+    public void close() {
+        cache.close();
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new SecurityException("SHA-256 is not available, cannot hash tokens", e);
+        }
+    }
+
+    /**
+     * Fluent API builder for {@link ValidatedTokenCache}.
+     */
+    public static final class Builder implements io.helidon.common.Builder<Builder, ValidatedTokenCache> {
+        private final EvictableCache.Builder<String, CachedSubject> cacheBuilder = EvictableCache.builder();
+        private final List<Listener> listeners = new ArrayList<>();
+        private Duration ttl = DEFAULT_TTL;
+        private long maxSize = DEFAULT_MAX_SIZE;
+        private String name = "default";
+
+        private Builder() {
+        }
+
+        @Override
+        public ValidatedTokenCache build() {
+            return new ValidatedTokenCache(this);
+        }
+
+        /**
+         * Update this builder from configuration.
+         * <table class="config">
+         * <caption>Configuration parameters</caption>
+         * <tr><th>key</th><th>default value</th><th>description</th></tr>
+         * <tr><td>ttl</td><td>PT5M</td><td>Maximal time a validated token is cached, never exceeds its
+         * expiration time</td></tr>
+         * <tr><td>max-size</td><td>{@value #DEFAULT_MAX_SIZE}</td><td>Maximal number of cached tokens</td></tr>
+         * <tr><td>cache-evict-delay-millis</td><td>1 minute</td><td>How long to wait with eviction after
+         * the cache is created</td></tr>
+         * <tr><td>cache-evict-period-millis</td><td>5 minutes</td><td>How often to evict expired tokens</td></tr>
+         * </table>
+         *
+         * @param config configuration of the cache
+         * @return updated builder instance
+         */
+        public Builder config(Config config) {
+            config.get("ttl").as(Duration.class).ifPresent(this::ttl);
+            config.get("max-size").asLong().ifPresent(this::maxSize);
+            long evictDelay = config.get("cache-evict-delay-millis").asLong()
+                    .orElse(TimeUnit.MINUTES.toMillis(EvictableCache.CACHE_EVICT_DELAY_MINUTES));
+            long evictPeriod = config.get("cache-evict-period-millis").asLong()
+                    .orElse(TimeUnit.MINUTES.toMillis(EvictableCache.CACHE_EVICT_PERIOD_MINUTES));
+            cacheBuilder.evictSchedule(evictDelay, evictPeriod, TimeUnit.MILLISECONDS);
+            return this;
+        }
+
+        /**
+         * Maximal time a validated token is cached.
+         * A token is never cached beyond its own expiration time.
+         *
+         * @param ttl time to live of cached tokens
+         * @return updated builder instance
+         */
+        public Builder ttl(Duration ttl) {
+            this.ttl = ttl;
+            return this;
+        }
+
+        /**
+         * Maximal number of cached tokens. When the cache is full, tokens are validated but not cached.
+         *
+         * @param maxSize maximal number of tokens
+         * @return updated builder instance
+         */
+        public Builder maxSize(long maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * Name of this cache, passed to {@link Listener listeners} (usually the provider name).
+         *
+         * @param name name of the cache
+         * @return updated builder instance
+         */
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        /**
+         * Add a listener notified of each lookup in the cache, such as to count hits and misses in metrics.
+         *
+         * @param listener listener to add
+         * @return updated builder instance
+         */
+        public Builder addListener(Listener listener) {
+            this.listeners.add(Objects.requireNonNull(listener));
+            return this;
+        }
+    }
+
+    /**
+     * Listener of cache lookups.
+     * Listeners are invoked on the thread that authenticates the request and should be fast.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * A token was looked up in the cache.
+         *
+         * @param cacheName name of the cache
+         * @param hit {@code true} if the token was found, {@code false} if it has to be validated
+         */
+        void lookup(String cacheName, boolean hit);
+    }
+
+    private static final class CachedSubject {
+        private final Subject subject;
+        private final long expiresAt;
+
+        private CachedSubject(Subject subject, long expiresAt) {
+            this.subject = subject;
+            this.expiresAt = expiresAt;
+        }
+
+        private Subject subject() {
+            return subject;
+        }
+
+        private boolean expired(long now) {
+            return now >= expiresAt;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.security.providers.common;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.security.Principal;
+import io.helidon.security.Subject;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit test for {@link io.helidon.security.providers.common.ValidatedTokenCache}.
+ */
+class ValidatedTokenCacheTest {
+    @Test
+    void testCaching() {
+        ValidatedTokenCache cache = ValidatedTokenCache.builder().build();
+        Subject subject = subject("token", Instant.now().plusSeconds(60));
+
+        assertThat(cache.get("token"), is(Optional.empty()));
+        cache.put("token", subject);
+        assertThat(cache.get("token").orElseThrow(), sameInstance(subject));
+        assertThat(cache.get("other-token"), is(Optional.empty()));
+
+        cache.remove("token");
+        assertThat(cache.get("token"), is(Optional.empty()));
+
+        cache.close();
+    }
+
+    @Test
+    void testExpiredTokenNotCached() {
+        ValidatedTokenCache cache = ValidatedTokenCache.builder().build();
+
+        cache.put("token", subject("token", Instant.now().minusSeconds(1)));
+        assertThat(cache.size(), is(0));
+        assertThat(cache.get("token"), is(Optional.empty()));
+
+        cache.close();
+    }
+
+    @Test
+    void testTtlCappedByExpiration() throws InterruptedException {
+        ValidatedTokenCache cache = ValidatedTokenCache.builder()
+                .ttl(Duration.ofMinutes(10))
+                .build();
+
+        cache.put("token", subject("token", Instant.now().plusMillis(100)));
+        assertThat(cache.get("token").isPresent(), is(true));
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertThat(cache.get("token"), is(Optional.empty()));
+
+        cache.close();
+    }
+
+    @Test
+    void testTtl() throws InterruptedException {
+        ValidatedTokenCache cache = ValidatedTokenCache.builder()
+                .ttl(Duration.ofMillis(100))
+                .build();
+
+        cache.put("token", subject("token", Instant.now().plusSeconds(60)));
+        assertThat(cache.get("token").isPresent(), is(true));
+        TimeUnit.MILLISECONDS.sleep(200);
+        assertThat(cache.get("token"), is(Optional.empty()));
+
+        cache.close();
+    }
+
+    @Test
+    void testListener() {
+        List<String> lookups = new CopyOnWriteArrayList<>();
+        ValidatedTokenCache cache = ValidatedTokenCache.builder()
+                .name("jwt")
+                .addListener((name, hit) -> lookups.add(name + ":" + hit))
+                .build();
+
+        cache.get("token");
+        cache.put("token", subject("token", Instant.now().plusSeconds(60)));
+        cache.get("token");
+        assertThat(lookups, is(List.of("jwt:false", "jwt:true")));
+
+        cache.close();
+    }
+
+    private static Subject subject(String token, Instant expiration) {
+        return Subject.builder()
+                .principal(Principal.create("user"))
+                .addPublicCredential(TokenCredential.class, TokenCredential.builder()
+                        .token(token)
+                        .expTime(expiration)
+                        .build())
+                .build();
+    }
+}
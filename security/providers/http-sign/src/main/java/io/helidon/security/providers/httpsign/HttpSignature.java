@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -152,30 +152,37 @@ class HttpSignature {
                                                     backwardCompatibleEol);
 
         // validate algorithm is OK
-        //let's try to validate the signature
+        byte[] secret = null;
+        KeyConfig keyConfig = null;
         switch (signature.getAlgorithm()) {
         case HttpSignProvider.ALGORITHM_RSA:
-            signature.signatureBytes = signature.signRsaSha256(env,
-                                                               outboundDefinition.keyConfig()
-                                                                       .orElseThrow(() -> new HttpSignatureException(
-                                                                               "Private key configuration must be present to use "
-                                                                                       + HttpSignProvider.ALGORITHM_RSA + " "
-                                                                                       + "algorithm")),
-                                                               newHeaders);
+            keyConfig = outboundDefinition.keyConfig()
+                    .orElseThrow(() -> new HttpSignatureException("Private key configuration must be present to use "
+                                                                          + HttpSignProvider.ALGORITHM_RSA + " "
+                                                                          + "algorithm"));
             break;
         case HttpSignProvider.ALGORITHM_HMAC:
-            signature.signatureBytes = signature.signHmacSha256(env,
-                                                                outboundDefinition.hmacSharedSecret()
-                                                                        .orElseThrow(() -> new HttpSignatureException(
-                                                                                "HMAC shared secret must be configured to use "
-                                                                                        + HttpSignProvider.ALGORITHM_HMAC
-                                                                                        + " algorithm")),
-                                                                newHeaders);
+            secret = outboundDefinition.hmacSharedSecret()
+                    .orElseThrow(() -> new HttpSignatureException("HMAC shared secret must be configured to use "
+                                                                          + HttpSignProvider.ALGORITHM_HMAC
+                                                                          + " algorithm"));
             break;
         default:
             throw new HttpSignatureException("Unsupported signature algorithm: " + signature.getAlgorithm());
         }
 
+        // this also adds required headers (date, host) to the new headers, so it must be done for each request
+        String signedString = signature.getSignedString(newHeaders, env);
+        KeyConfig rsaKey = keyConfig;
+        byte[] hmacSecret = secret;
+        signature.signatureBytes = outboundDefinition.signature(signedString, toSign -> {
+            byte[] bytesToSign = toSign.getBytes(StandardCharsets.UTF_8);
+            if (null == rsaKey) {
+                return signHmacSha256(hmacSecret, bytesToSign);
+            }
+            return signRsaSha256(rsaKey, bytesToSign);
+        });
+
         signature.base64Signature = Base64.getEncoder().encodeToString(signature.signatureBytes);
         return signature;
     }
@@ -264,14 +271,14 @@ class HttpSignature {
         }
     }
 
-    private byte[] signRsaSha256(SecurityEnvironment env, KeyConfig keyConfig, Map<String, List<String>> newHeaders) {
+    private static byte[] signRsaSha256(KeyConfig keyConfig, byte[] bytesToSign) {
         try {
             Signature signature = Signature.getInstance("SHA256withRSA");
             signature.initSign(keyConfig.privateKey().orElseThrow(() ->
                                                                           new HttpSignatureException(
                                                                                   "Private key is required, yet not "
                                                                                           + "configured")));
-            signature.update(getBytesToSign(env, newHeaders));
+            signature.update(bytesToSign);
             return signature.sign();
         } catch (NoSuchAlgorithmException | InvalidKeyException | SignatureException e) {
             throw new HttpSignatureException(e);
@@ -308,6 +315,10 @@ class HttpSignature {
     }
 
     private byte[] signHmacSha256(SecurityEnvironment env, byte[] secret, Map<String, List<String>> newHeaders) {
+        return signHmacSha256(secret, getBytesToSign(env, newHeaders));
+    }
+
+    private static byte[] signHmacSha256(byte[] secret, byte[] bytesToSign) {
         try {
             String algorithm = "HmacSHA256";
             Mac mac = Mac.getInstance(algorithm);
@@ -315,7 +326,7 @@ class HttpSignature {
             SecretKeySpec secretKey = new SecretKeySpec(secret, algorithm);
             mac.init(secretKey);
 
-            return mac.doFinal(getBytesToSign(env, newHeaders));
+            return mac.doFinal(bytesToSign);
         } catch (NoSuchAlgorithmException | InvalidKeyException e) {
             throw new HttpSignatureException(e);
         }
@@ -18,8 +18,11 @@ package io.helidon.security.providers.httpsign;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 import java.util.logging.Logger;
 
 import io.helidon.common.pki.KeyConfig;
@@ -30,6 +33,8 @@ import io.helidon.security.util.TokenHandler;
  * Configuration of outbound target to sign outgoing requests.
  */
 public final class OutboundTargetDefinition {
+    private static final int SIGNATURE_CACHE_SIZE = 256;
+
     private final String keyId;
     private final String algorithm;
     private final KeyConfig keyConfig;
@@ -38,6 +43,9 @@ public final class OutboundTargetDefinition {
     private final SignedHeadersConfig signedHeadersConfig;
     private final TokenHandler tokenHandler;
     private final boolean backwardCompatibleEol;
+    // signatures of the most recent signed strings - both supported algorithms are deterministic, and the signed string
+    // contains the date header (with a precision of seconds), so identical requests within a second share a signature
+    private final Map<String, byte[]> signatureCache = new ConcurrentHashMap<>();
 
     private OutboundTargetDefinition(Builder builder) {
         this.keyId = builder.keyId;
@@ -174,6 +182,20 @@ public final class OutboundTargetDefinition {
         return backwardCompatibleEol;
     }
 
+    byte[] signature(String signedString, Function<String, byte[]> signer) {
+        byte[] cached = signatureCache.get(signedString);
+        if (null != cached) {
+            return cached;
+        }
+        byte[] signature = signer.apply(signedString);
+        if (signatureCache.size() >= SIGNATURE_CACHE_SIZE) {
+            // previous entries are for older dates and will not be needed again
+            signatureCache.clear();
+        }
+        signatureCache.put(signedString, signature);
+        return signature;
+    }
+
     /**
      * Fluent API builder to build {@link OutboundTargetDefinition} instances.
      * Call {@link #build()} to create a new instance.
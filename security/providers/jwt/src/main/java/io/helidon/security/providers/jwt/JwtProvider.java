@@ -16,13 +16,20 @@
 
 package io.helidon.security.providers.jwt;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.Collection;
 import java.util.HashMap;
-import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.logging.Logger;
 
 import io.helidon.common.Errors;
@@ -48,6 +55,7 @@ import io.helidon.security.jwt.jwk.JwkKeys;
 import io.helidon.security.providers.common.OutboundConfig;
 import io.helidon.security.providers.common.OutboundTarget;
 import io.helidon.security.providers.common.TokenCredential;
+import io.helidon.security.providers.common.ValidatedTokenCache;
 import io.helidon.security.spi.AuthenticationProvider;
 import io.helidon.security.spi.OutboundSecurityProvider;
 import io.helidon.security.spi.SynchronousProvider;
@@ -82,9 +90,11 @@ public final class JwtProvider extends SynchronousProvider implements Authentica
     private final JwkKeys signKeys;
     private final OutboundConfig outboundConfig;
     private final String issuer;
-    private final Map<OutboundTarget, JwtOutboundTarget> targetToJwtConfig = new IdentityHashMap<>();
+    private final Map<OutboundTarget, JwtOutboundTarget> targetToJwtConfig = new ConcurrentHashMap<>();
     private final Jwk defaultJwk;
     private final boolean useJwtGroups;
+    private final ValidatedTokenCache tokenCache;
+    private final OutboundTokenCache outboundTokenCache;
 
     private JwtProvider(Builder builder) {
         this.optional = builder.optional;
@@ -100,6 +110,8 @@ public final class JwtProvider extends SynchronousProvider implements Authentica
         this.expectedAudience = builder.expectedAudience;
         this.verifySignature = builder.verifySignature;
         this.useJwtGroups = builder.useJwtGroups;
+        this.tokenCache = builder.tokenCache;
+        this.outboundTokenCache = builder.outboundTokenCache;
 
         if (null == atnTokenHandler) {
             defaultTokenHandler = TokenHandler.builder()
@@ -158,6 +170,12 @@ public final class JwtProvider extends SynchronousProvider implements Authentica
     }
 
     private AuthenticationResponse authenticateToken(String token) {
+        if (null != tokenCache) {
+            Optional<Subject> cached = tokenCache.get(token);
+            if (cached.isPresent()) {
+                return AuthenticationResponse.success(cached.get());
+            }
+        }
         SignedJwt signedJwt;
         try {
             signedJwt = SignedJwt.parseToken(token);
@@ -172,7 +190,7 @@ public final class JwtProvider extends SynchronousProvider implements Authentica
                 // perform all validations, including expected audience verification
                 Errors validate = jwt.validate(null, expectedAudience);
                 if (validate.isValid()) {
-                    return AuthenticationResponse.success(buildSubject(jwt, signedJwt));
+                    return AuthenticationResponse.success(cacheSubject(token, buildSubject(jwt, signedJwt)));
                 } else {
                     return failOrAbstain(validate.toString());
                 }
@@ -180,8 +198,15 @@ public final class JwtProvider extends SynchronousProvider implements Authentica
                 return failOrAbstain(errors.toString());
             }
         } else {
-            return AuthenticationResponse.success(buildSubject(signedJwt.getJwt(), signedJwt));
+            return AuthenticationResponse.success(cacheSubject(token, buildSubject(signedJwt.getJwt(), signedJwt)));
+        }
+    }
+
+    private Subject cacheSubject(String token, Subject subject) {
+        if (null != tokenCache) {
+            tokenCache.put(token, subject);
         }
+        return subject;
     }
 
     private AuthenticationResponse failOrAbstain(String message) {
@@ -336,7 +361,69 @@ public final class JwtProvider extends SynchronousProvider implements Authentica
     }
 
     private OutboundSecurityResponse propagate(JwtOutboundTarget ot, Subject subject) {
-        Map<String, List<String>> headers = new HashMap<>();
+        return signed(ot, subjectKey(subject.principal()), () -> sign(ot, subject));
+    }
+
+    /*
+     * Key of the claims sign(...) creates from the principal, so subjects that share an id but differ in name or
+     * attributes never share a token. Null if an attribute value cannot be compared reliably, the token is then
+     * signed for each request.
+     */
+    private static String subjectKey(Principal principal) {
+        StringBuilder key = new StringBuilder();
+        appendKey(key, principal.id());
+        appendKey(key, principal.getName());
+        List<String> names = principal.abacAttributeNames()
+                .stream()
+                .sorted()
+                .collect(Collectors.toList());
+        for (String name : names) {
+            appendKey(key, name);
+            if (!appendValue(key, principal.abacAttribute(name).orElse(null))) {
+                return null;
+            }
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder()
+                    .withoutPadding()
+                    .encodeToString(digest.digest(key.toString().getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+    }
+
+    private static boolean appendValue(StringBuilder key, Object value) {
+        if (value == null) {
+            appendKey(key, "null");
+            return true;
+        }
+        if (value instanceof CharSequence || value instanceof Number || value instanceof Boolean) {
+            // the type is part of the key, as it is part of the claim ("1" and 1 are different claims)
+            appendKey(key, value.getClass().getName());
+            appendKey(key, value.toString());
+            return true;
+        }
+        if (value instanceof Collection) {
+            Collection<?> values = (Collection<?>) value;
+            appendKey(key, "collection");
+            appendKey(key, String.valueOf(values.size()));
+            for (Object element : values) {
+                if (!appendValue(key, element)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private static void appendKey(StringBuilder key, String value) {
+        // length prefixed, so values cannot be combined into the same key
+        key.append(value.length()).append(':').append(value);
+    }
+
+    private SignedJwt sign(JwtOutboundTarget ot, Subject subject) {
         Jwk jwk = signKeys.forKeyId(ot.jwkKid)
                 .orElseThrow(() -> new JwtException("Signing JWK with kid: " + ot.jwkKid + " is not defined."));
 
@@ -360,14 +447,14 @@ public final class JwtProvider extends SynchronousProvider implements Authentica
         ot.update(builder);
 
         Jwt jwt = builder.build();
-        SignedJwt signed = SignedJwt.sign(jwt, jwk);
-        ot.outboundHandler.header(headers, signed.tokenContent());
-
-        return OutboundSecurityResponse.withHeaders(headers);
+        return SignedJwt.sign(jwt, jwk);
     }
 
     private OutboundSecurityResponse impersonate(JwtOutboundTarget ot, String username) {
-        Map<String, List<String>> headers = new HashMap<>();
+        return signed(ot, "impersonate\n" + username, () -> impersonationJwt(ot, username));
+    }
+
+    private SignedJwt impersonationJwt(JwtOutboundTarget ot, String username) {
         Jwk jwk = signKeys.forKeyId(ot.jwkKid)
                 .orElseThrow(() -> new JwtException("Signing JWK with kid: " + ot.jwkKid + " is not defined."));
 
@@ -383,9 +470,19 @@ public final class JwtProvider extends SynchronousProvider implements Authentica
         ot.update(builder);
 
         Jwt jwt = builder.build();
-        SignedJwt signed = SignedJwt.sign(jwt, jwk);
-        ot.outboundHandler.header(headers, signed.tokenContent());
+        return SignedJwt.sign(jwt, jwk);
+    }
+
+    private OutboundSecurityResponse signed(JwtOutboundTarget ot, String subjectKey, Supplier<SignedJwt> signer) {
+        String token;
+        if (null == outboundTokenCache || null == subjectKey) {
+            token = signer.get().tokenContent();
+        } else {
+            token = outboundTokenCache.token(ot, subjectKey, signer);
+        }
 
+        Map<String, List<String>> headers = new HashMap<>();
+        ot.outboundHandler.header(headers, token);
         return OutboundSecurityResponse.withHeaders(headers);
     }
 
@@ -610,6 +707,8 @@ public final class JwtProvider extends SynchronousProvider implements Authentica
         private String issuer;
         private String expectedAudience;
         private boolean useJwtGroups = true;
+        private ValidatedTokenCache tokenCache;
+        private OutboundTokenCache outboundTokenCache;
 
         private Builder() {
         }
@@ -797,8 +896,13 @@ public final class JwtProvider extends SynchronousProvider implements Authentica
             config.get("atn-token").ifExists(this::verifyKeys);
             config.get("atn-token.jwt-audience").asString().ifPresent(this::expectedAudience);
             config.get("atn-token.verify-signature").asBoolean().ifPresent(this::verifySignature);
+            config.get("atn-token.cache").ifExists(cacheConfig -> atnTokenCache(ValidatedTokenCache.builder()
+                                                                                     .name("jwt")
+                                                                                     .config(cacheConfig)
+                                                                                     .build()));
             config.get("sign-token").ifExists(outbound -> outboundConfig(OutboundConfig.create(outbound)));
             config.get("sign-token").ifExists(this::outbound);
+            config.get("sign-token.cache").ifExists(cacheConfig -> outboundTokenCache(OutboundTokenCache.create(cacheConfig)));
             config.get("allow-unsigned").asBoolean().ifPresent(this::allowUnsigned);
             config.get("use-jwt-groups").asBoolean().ifPresent(this::useJwtGroups);
 
@@ -826,6 +930,34 @@ public final class JwtProvider extends SynchronousProvider implements Authentica
             return this;
         }
 
+        /**
+         * Cache of validated inbound tokens.
+         * When configured, a token that was already validated is not parsed and its signature is not verified again
+         * until it expires (or its time to live in the cache passes).
+         * Caching is disabled by default.
+         *
+         * @param tokenCache cache to use
+         * @return updated builder instance
+         */
+        public Builder atnTokenCache(ValidatedTokenCache tokenCache) {
+            this.tokenCache = tokenCache;
+            return this;
+        }
+
+        /**
+         * Cache of signed outbound tokens.
+         * When configured, a token signed for a subject and an outbound target is reused for further calls
+         * until it is close to its expiration.
+         * Caching is disabled by default.
+         *
+         * @param outboundTokenCache cache to use
+         * @return updated builder instance
+         */
+        public Builder outboundTokenCache(OutboundTokenCache outboundTokenCache) {
+            this.outboundTokenCache = outboundTokenCache;
+            return this;
+        }
+
         private void verifyKeys(Config config) {
             config.get("jwk.resource").as(Resource::create).ifPresent(this::verifyJwk);
 
@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.security.providers.jwt;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.helidon.config.Config;
+import io.helidon.security.jwt.SignedJwt;
+
+/**
+ * Cache of signed outbound tokens created by {@link JwtProvider}.
+ * <p>
+ * A token signed for a subject and an outbound target is reused for further outbound calls with the same subject
+ * to the same target, until its remaining validity drops below {@link Builder#renewBefore(java.time.Duration)}.
+ * The subject is identified by a digest of every principal value the token claims are created from (id, name and
+ * attributes). Subjects with attribute values that cannot be compared reliably are signed for each call.
+ * <p>
+ * When {@link Builder#backgroundRefresh(boolean) background refresh} is enabled, tokens that were used since the
+ * last refresh are re-signed in the background before they need to be renewed, so outbound calls do not pay the
+ * signature cost. Tokens that were not used are evicted.
+ */
+public final class OutboundTokenCache {
+    /**
+     * Default maximal number of cached tokens: {@value}.
+     */
+    public static final int DEFAULT_MAX_SIZE = 10_000;
+    /**
+     * Default time before expiration when a token is no longer reused: 1 minute.
+     */
+    public static final Duration DEFAULT_RENEW_BEFORE = Duration.ofMinutes(1);
+    /**
+     * Default period of background refresh: 30 seconds.
+     */
+    public static final Duration DEFAULT_REFRESH_PERIOD = Duration.ofSeconds(30);
+
+    private static final Logger LOGGER = Logger.getLogger(OutboundTokenCache.class.getName());
+
+    private final ConcurrentHashMap<Key, CachedToken> tokens = new ConcurrentHashMap<>();
+    private final int maxSize;
+    private final long renewBeforeMillis;
+    private final long refreshPeriodMillis;
+    private final ScheduledFuture<?> refreshFuture;
+
+    private OutboundTokenCache(Builder builder) {
+        this.maxSize = builder.maxSize;
+        this.renewBeforeMillis = builder.renewBefore.toMillis();
+        this.refreshPeriodMillis = builder.refreshPeriod.toMillis();
+        if (builder.backgroundRefresh) {
+            this.refreshFuture = RefreshExecutor.EXECUTOR.scheduleAtFixedRate(this::refresh,
+                                                                              refreshPeriodMillis,
+                                                                              refreshPeriodMillis,
+                                                                              TimeUnit.MILLISECONDS);
+        } else {
+            this.refreshFuture = null;
+        }
+    }
+
+    /**
+     * A new fluent API builder.
+     *
+     * @return builder to configure a new cache
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Create a new cache from configuration.
+     *
+     * @param config configuration of the cache, see {@link Builder#config(io.helidon.config.Config)}
+     * @return a new cache
+     */
+    public static OutboundTokenCache create(Config config) {
+        return builder().config(config).build();
+    }
+
+    /**
+     * Current number of cached tokens.
+     *
+     * @return number of cached tokens
+     */
+    public int size() {
+        return tokens.size();
+    }
+
+    /**
+     * Close this cache, stop background refresh (if enabled) and remove all tokens.
+     */
+    public void close() {
+        if (null != refreshFuture) {
+            refreshFuture.cancel(false);
+        }
+        tokens.clear();
+    }
+
+    /**
+     * Get a cached token, or sign a new one.
+     *
+     * @param target outbound target the token is created for
+     * @param subjectKey identification of the subject the token is created for
+     * @param signer signer to create a new token
+     * @return signed token content
+     */
+    String token(Object target, String subjectKey, Supplier<SignedJwt> signer) {
+        Key key = new Key(target, subjectKey);
+        long now = System.currentTimeMillis();
+
+        CachedToken cached = tokens.get(key);
+        if (null != cached && cached.usableAt(now, renewBeforeMillis)) {
+            cached.accessed = true;
+            return cached.token;
+        }
+
+        CachedToken created = CachedToken.create(signer, now);
+        if (tokens.size() >= maxSize) {
+            evictExpired(now);
+        }
+        if (tokens.size() < maxSize || null != cached) {
+            tokens.put(key, created);
+        }
+        return created.token;
+    }
+
+    // visible for testing
+    void refresh() {
+        long now = System.currentTimeMillis();
+        // tokens that would need renewal before the next refresh are re-signed now
+        long threshold = renewBeforeMillis + refreshPeriodMillis;
+
+        tokens.forEach((key, cached) -> {
+            if (!cached.accessed) {
+                // not used since last refresh
+                tokens.remove(key, cached);
+                return;
+            }
+            if (cached.usableAt(now, threshold)) {
+                cached.accessed = false;
+                return;
+            }
+            try {
+                CachedToken refreshed = CachedToken.create(cached.signer, now);
+                tokens.replace(key, cached, refreshed);
+            } catch (Exception e) {
+                LOGGER.log(Level.FINE, "Failed to re-sign outbound token, it will be signed on next use", e);
+                tokens.remove(key, cached);
+            }
+        });
+    }
+
+    private void evictExpired(long now) {
+        tokens.values().removeIf(cached -> !cached.usableAt(now, renewBeforeMillis));
+    }
+
+    /**
+     * Fluent API builder for {@link OutboundTokenCache}.
+     */
+    public static final class Builder implements io.helidon.common.Builder<Builder, OutboundTokenCache> {
+        private int maxSize = DEFAULT_MAX_SIZE;
+        private Duration renewBefore = DEFAULT_RENEW_BEFORE;
+        private Duration refreshPeriod = DEFAULT_REFRESH_PERIOD;
+        private boolean backgroundRefresh = false;
+
+        private Builder() {
+        }
+
+        @Override
+        public OutboundTokenCache build() {
+            return new OutboundTokenCache(this);
+        }
+
+        /**
+         * Update this builder from configuration.
+         * <table class="config">
+         * <caption>Configuration parameters</caption>
+         * <tr><th>key</th><th>default value</th><th>description</th></tr>
+         * <tr><td>max-size</td><td>{@value #DEFAULT_MAX_SIZE}</td><td>Maximal number of cached tokens</td></tr>
+         * <tr><td>renew-before</td><td>PT1M</td><td>Tokens expiring sooner than this are not reused</td></tr>
+         * <tr><td>background-refresh</td><td>false</td><td>Whether to re-sign used tokens in the background</td></tr>
+         * <tr><td>refresh-period</td><td>PT30S</td><td>Period of background refresh</td></tr>
+         * </table>
+         *
+         * @param config configuration of the cache
+         * @return updated builder instance
+         */
+        public Builder config(Config config) {
+            config.get("max-size").asInt().ifPresent(this::maxSize);
+            config.get("renew-before").as(Duration.class).ifPresent(this::renewBefore);
+            config.get("background-refresh").asBoolean().ifPresent(this::backgroundRefresh);
+            config.get("refresh-period").as(Duration.class).ifPresent(this::refreshPeriod);
+            return this;
+        }
+
+        /**
+         * Maximal number of cached tokens. When the cache is full, new tokens are signed for each call.
+         *
+         * @param maxSize maximal number of tokens
+         * @return updated builder instance
+         */
+        public Builder maxSize(int maxSize) {
+            this.maxSize = maxSize;
+            return this;
+        }
+
+        /**
+         * A cached token is not reused when it expires sooner than this duration.
+         * This should be long enough for the target service to accept the token.
+         *
+         * @param renewBefore duration before expiration to renew a token
+         * @return updated builder instance
+         */
+        public Builder renewBefore(Duration renewBefore) {
+            this.renewBefore = renewBefore;
+            return this;
+        }
+
+        /**
+         * Whether to re-sign tokens in the background before they need to be renewed.
+         * Only tokens used since the previous refresh are re-signed, other tokens are evicted.
+         *
+         * @param backgroundRefresh whether to refresh tokens in the background
+         * @return updated builder instance
+         */
+        public Builder backgroundRefresh(boolean backgroundRefresh) {
+            this.backgroundRefresh = backgroundRefresh;
+            return this;
+        }
+
+        /**
+         * Period of background refresh.
+         *
+         * @param refreshPeriod period between two refreshes
+         * @return updated builder instance
+         * @see #backgroundRefresh(boolean)
+         */
+        public Builder refreshPeriod(Duration refreshPeriod) {
+            this.refreshPeriod = refreshPeriod;
+            return this;
+        }
+    }
+
+    private static final class CachedToken {
+        private final String token;
+        private final long expiresAt;
+        private final Supplier<SignedJwt> signer;
+        private volatile boolean accessed = true;
+
+        private CachedToken(String token, long expiresAt, Supplier<SignedJwt> signer) {
+            this.token = token;
+            this.expiresAt = expiresAt;
+            this.signer = signer;
+        }
+
+        private static CachedToken create(Supplier<SignedJwt> signer, long now) {
+            SignedJwt signed = signer.get();
+            long expiresAt = signed.getJwt()
+                    .expirationTime()
+                    .map(Instant::toEpochMilli)
+                    // tokens without expiration are not reused
+                    .orElse(now);
+            return new CachedToken(signed.tokenContent(), expiresAt, signer);
+        }
+
+        private boolean usableAt(long now, long renewBeforeMillis) {
+            return now < expiresAt - renewBeforeMillis;
+        }
+    }
+
+    private static final class Key {
+        private final Object target;
+        private final String subjectKey;
+
+        private Key(Object target, String subjectKey) {
+            this.target = target;
+            this.subjectKey = subjectKey;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return target == other.target && subjectKey.equals(other.subjectKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(target), subjectKey);
+        }
+    }
+
+    private static final class RefreshExecutor {
+        private static final ScheduledThreadPoolExecutor EXECUTOR;
+
+        static {
+            AtomicInteger counter = new AtomicInteger(1);
+            EXECUTOR = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread thread = new Thread(r, "jwt-outbound-token-refresh-" + counter.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+            EXECUTOR.setRemoveOnCancelPolicy(true);
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package io.helidon.security.providers.jwt;
 
 import java.net.URI;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.Base64;
@@ -92,6 +93,146 @@ public class JwtProviderTest {
         assertThat(authenticationResponse.status(), is(SecurityResponse.SecurityStatus.FAILURE));
     }
 
+    @Test
+    public void testOutboundTokenCache() {
+        OutboundTokenCache cache = OutboundTokenCache.builder().build();
+        JwtProvider provider = JwtProvider.builder()
+                .config(providersConfig.get("jwt"))
+                .outboundTokenCache(cache)
+                .build();
+
+        SecurityEnvironment outboundEnv = SecurityEnvironment.builder()
+                .path("/ec")
+                .transport("http")
+                .targetUri(URI.create("http://localhost:8080/ec"))
+                .build();
+        EndpointConfig outboundEp = EndpointConfig.create();
+
+        ProviderRequest first = outboundRequest("user1");
+        String token = outboundToken(provider.syncOutbound(first, outboundEnv, outboundEp));
+        // same subject and target, token is reused
+        assertThat(outboundToken(provider.syncOutbound(first, outboundEnv, outboundEp)), is(token));
+        assertThat(outboundToken(provider.syncOutbound(outboundRequest("user1"), outboundEnv, outboundEp)), is(token));
+        assertThat(cache.size(), is(1));
+
+        // another subject
+        String otherToken = outboundToken(provider.syncOutbound(outboundRequest("user2"), outboundEnv, outboundEp));
+        assertThat(otherToken, not(token));
+        SignedJwt.parseToken(otherToken).verifySignature(verifyKeys).checkValid();
+        assertThat(cache.size(), is(2));
+
+        // refresh keeps used tokens that are far from expiration
+        cache.refresh();
+        assertThat(cache.size(), is(2));
+        // and evicts tokens not used since the last refresh
+        cache.refresh();
+        assertThat(cache.size(), is(0));
+
+        cache.close();
+    }
+
+    @Test
+    public void testOutboundTokenCacheRenew() {
+        // renew-before longer than token validity (1 day), so tokens are never reused
+        OutboundTokenCache cache = OutboundTokenCache.builder()
+                .renewBefore(Duration.ofDays(2))
+                .build();
+        JwtProvider provider = JwtProvider.builder()
+                .config(providersConfig.get("jwt"))
+                .outboundTokenCache(cache)
+                .build();
+
+        SecurityEnvironment outboundEnv = SecurityEnvironment.builder()
+                .path("/ec")
+                .transport("http")
+                .targetUri(URI.create("http://localhost:8080/ec"))
+                .build();
+        EndpointConfig outboundEp = EndpointConfig.create();
+
+        ProviderRequest request = outboundRequest("user1");
+        String token = outboundToken(provider.syncOutbound(request, outboundEnv, outboundEp));
+        SignedJwt.parseToken(token).verifySignature(verifyKeys).checkValid();
+        // EC signatures are randomized, a new signature means a new token was signed
+        assertThat(outboundToken(provider.syncOutbound(request, outboundEnv, outboundEp)), not(token));
+
+        cache.close();
+    }
+
+    @Test
+    public void testOutboundTokenCacheSubjectClaims() {
+        OutboundTokenCache cache = OutboundTokenCache.builder().build();
+        JwtProvider provider = JwtProvider.builder()
+                .config(providersConfig.get("jwt"))
+                .outboundTokenCache(cache)
+                .build();
+
+        SecurityEnvironment outboundEnv = SecurityEnvironment.builder()
+                .path("/ec")
+                .transport("http")
+                .targetUri(URI.create("http://localhost:8080/ec"))
+                .build();
+        EndpointConfig outboundEp = EndpointConfig.create();
+
+        // same id, but different name and attributes (such as from basic or header authentication)
+        Principal first = Principal.builder()
+                .id("user-id")
+                .name("first")
+                .addAttribute("email", "first@example.com")
+                .build();
+        Principal second = Principal.builder()
+                .id("user-id")
+                .name("second")
+                .addAttribute("email", "second@example.com")
+                .build();
+
+        Jwt firstJwt = SignedJwt.parseToken(outboundToken(provider.syncOutbound(outboundRequest(first),
+                                                                                 outboundEnv,
+                                                                                 outboundEp)))
+                .getJwt();
+        Jwt secondJwt = SignedJwt.parseToken(outboundToken(provider.syncOutbound(outboundRequest(second),
+                                                                                  outboundEnv,
+                                                                                  outboundEp)))
+                .getJwt();
+
+        assertThat(firstJwt.preferredUsername(), is(Optional.of("first")));
+        assertThat(firstJwt.email(), is(Optional.of("first@example.com")));
+        assertThat(secondJwt.preferredUsername(), is(Optional.of("second")));
+        assertThat(secondJwt.email(), is(Optional.of("second@example.com")));
+        assertThat(cache.size(), is(2));
+
+        // attributes that cannot be compared are never cached
+        Principal custom = Principal.builder()
+                .id("user-id")
+                .name("first")
+                .addAttribute("custom", new Object())
+                .build();
+        provider.syncOutbound(outboundRequest(custom), outboundEnv, outboundEp);
+        assertThat(cache.size(), is(2));
+
+        cache.close();
+    }
+
+    private static ProviderRequest outboundRequest(String userId) {
+        return outboundRequest(Principal.builder()
+                                       .name(userId)
+                                       .id(userId)
+                                       .build());
+    }
+
+    private static ProviderRequest outboundRequest(Principal principal) {
+        Subject subject = Subject.create(principal);
+        SecurityContext context = Mockito.mock(SecurityContext.class);
+        when(context.user()).thenReturn(Optional.of(subject));
+
+        ProviderRequest request = mock(ProviderRequest.class);
+        when(request.securityContext()).thenReturn(context);
+        return request;
+    }
+
+    private static String outboundToken(OutboundSecurityResponse response) {
+        return response.requestHeaders().get("Authorization").get(0).substring("bearer ".length());
+    }
+
     @Test
     public void testEcBothWays() {
         String username = "user1";
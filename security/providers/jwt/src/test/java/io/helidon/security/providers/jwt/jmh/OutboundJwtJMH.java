@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.security.providers.jwt.jmh;
+
+import java.net.URI;
+import java.util.Optional;
+
+import io.helidon.config.Config;
+import io.helidon.security.EndpointConfig;
+import io.helidon.security.OutboundSecurityResponse;
+import io.helidon.security.Principal;
+import io.helidon.security.ProviderRequest;
+import io.helidon.security.SecurityContext;
+import io.helidon.security.SecurityEnvironment;
+import io.helidon.security.Subject;
+import io.helidon.security.providers.jwt.JwtProvider;
+import io.helidon.security.providers.jwt.OutboundTokenCache;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Outbound security overhead of {@link JwtProvider} with and without {@link OutboundTokenCache}.
+ */
+@State(Scope.Benchmark)
+public class OutboundJwtJMH {
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(OutboundJwtJMH.class.getSimpleName())
+                .forks(1)
+                .threads(4)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({"/ec", "/rsa", "/oct"})
+    String path;
+
+    @Param({"false", "true"})
+    boolean cached;
+
+    private OutboundTokenCache cache;
+    private JwtProvider provider;
+    private ProviderRequest request;
+    private SecurityEnvironment env;
+    private EndpointConfig endpointConfig;
+
+    @Setup
+    public void setup() {
+        JwtProvider.Builder builder = JwtProvider.builder()
+                .config(Config.create().get("jwt"));
+        if (cached) {
+            cache = OutboundTokenCache.builder().build();
+            builder.outboundTokenCache(cache);
+        }
+        provider = builder.build();
+
+        Subject subject = Subject.create(Principal.builder()
+                                                 .name("user")
+                                                 .id("user-id")
+                                                 .build());
+        SecurityContext context = mock(SecurityContext.class);
+        when(context.user()).thenReturn(Optional.of(subject));
+        request = mock(ProviderRequest.class);
+        when(request.securityContext()).thenReturn(context);
+
+        env = SecurityEnvironment.builder()
+                .path(path)
+                .transport("http")
+                .targetUri(URI.create("http://localhost:8080" + path))
+                .build();
+        endpointConfig = EndpointConfig.create();
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (null != cache) {
+            cache.close();
+        }
+    }
+
+    @Benchmark
+    public OutboundSecurityResponse outbound() {
+        return provider.outboundSecurity(request, env, endpointConfig)
+                .toCompletableFuture()
+                .join();
+    }
+}
@@ -69,6 +69,7 @@ import io.helidon.security.jwt.jwk.JwkKeys;
 import io.helidon.security.providers.common.OutboundConfig;
 import io.helidon.security.providers.common.OutboundTarget;
 import io.helidon.security.providers.common.TokenCredential;
+import io.helidon.security.providers.common.ValidatedTokenCache;
 import io.helidon.security.providers.oidc.common.OidcConfig;
 import io.helidon.security.providers.oidc.common.OidcCookieHandler;
 import io.helidon.security.spi.AuthenticationProvider;
@@ -106,6 +107,7 @@ public final class OidcProvider implements AuthenticationProvider, OutboundSecur
     private final boolean useJwtGroups;
     private final BiConsumer<StringBuilder, String> scopeAppender;
     private final OidcCookieHandler cookieHandler;
+    private final ValidatedTokenCache tokenCache;
 
     private OidcProvider(Builder builder, OidcOutboundConfig oidcOutboundConfig) {
         this.optional = builder.optional;
@@ -114,6 +116,7 @@ public final class OidcProvider implements AuthenticationProvider, OutboundSecur
         this.useJwtGroups = builder.useJwtGroups;
         this.outboundConfig = oidcOutboundConfig;
         this.cookieHandler = oidcConfig.tokenCookieHandler();
+        this.tokenCache = builder.tokenCache;
 
         attemptPattern = Pattern.compile(".*?" + oidcConfig.redirectAttemptParam() + "=(\\d+).*");
 
@@ -464,6 +467,12 @@ public final class OidcProvider implements AuthenticationProvider, OutboundSecur
     }
 
     private Single<AuthenticationResponse> validateToken(ProviderRequest providerRequest, String token) {
+        if (null != tokenCache) {
+            Optional<Subject> cached = tokenCache.get(token);
+            if (cached.isPresent()) {
+                return Single.just(checkScopes(providerRequest, cached.get()));
+            }
+        }
         SignedJwt signedJwt;
         try {
             signedJwt = SignedJwt.parseToken(token);
@@ -494,29 +503,12 @@ public final class OidcProvider implements AuthenticationProvider, OutboundSecur
 
             errors.log(LOGGER);
             Subject subject = buildSubject(jwt, signedJwt);
-
-            Set<String> scopes = subject.grantsByType("scope")
-                    .stream()
-                    .map(Grant::getName)
-                    .collect(Collectors.toSet());
-
-            // make sure we have the correct scopes
-            Set<String> expectedScopes = expectedScopes(providerRequest);
-            List<String> missingScopes = new LinkedList<>();
-            for (String expectedScope : expectedScopes) {
-                if (!scopes.contains(expectedScope)) {
-                    missingScopes.add(expectedScope);
-                }
+            if (null != tokenCache) {
+                // scopes are request specific, cache the subject before they are checked
+                tokenCache.put(signedJwt.tokenContent(), subject);
             }
 
-            if (missingScopes.isEmpty()) {
-                return AuthenticationResponse.success(subject);
-            } else {
-                return errorResponse(providerRequest,
-                                     Http.Status.FORBIDDEN_403,
-                                     "insufficient_scope",
-                                     "Scopes " + missingScopes + " are missing");
-            }
+            return checkScopes(providerRequest, subject);
         } else {
             if (LOGGER.isLoggable(Level.FINEST)) {
                 // only log errors when details requested
@@ -527,6 +519,31 @@ public final class OidcProvider implements AuthenticationProvider, OutboundSecur
         }
     }
 
+    private AuthenticationResponse checkScopes(ProviderRequest providerRequest, Subject subject) {
+        Set<String> scopes = subject.grantsByType("scope")
+                .stream()
+                .map(Grant::getName)
+                .collect(Collectors.toSet());
+
+        // make sure we have the correct scopes
+        Set<String> expectedScopes = expectedScopes(providerRequest);
+        List<String> missingScopes = new LinkedList<>();
+        for (String expectedScope : expectedScopes) {
+            if (!scopes.contains(expectedScope)) {
+                missingScopes.add(expectedScope);
+            }
+        }
+
+        if (missingScopes.isEmpty()) {
+            return AuthenticationResponse.success(subject);
+        } else {
+            return errorResponse(providerRequest,
+                                 Http.Status.FORBIDDEN_403,
+                                 "insufficient_scope",
+                                 "Scopes " + missingScopes + " are missing");
+        }
+    }
+
     @Override
     public boolean isOutboundSupported(ProviderRequest providerRequest,
                                        SecurityEnvironment outboundEnv,
@@ -640,6 +657,7 @@ public final class OidcProvider implements AuthenticationProvider, OutboundSecur
                 .tokenHeader("Authorization")
                 .tokenPrefix("Bearer ")
                 .build();
+        private ValidatedTokenCache tokenCache;
 
         @Override
         public OidcProvider build() {
@@ -706,6 +724,12 @@ public final class OidcProvider implements AuthenticationProvider, OutboundSecur
                 config.get("outbound").ifExists(outbound -> outboundConfig(OutboundConfig.create(config)));
             }
             config.get("use-jwt-groups").asBoolean().ifPresent(this::useJwtGroups);
+            if (null == tokenCache) {
+                config.get("token-cache").ifExists(cacheConfig -> tokenCache(ValidatedTokenCache.builder()
+                                                                                     .name("oidc")
+                                                                                     .config(cacheConfig)
+                                                                                     .build()));
+            }
 
             return this;
         }
@@ -774,6 +798,21 @@ public final class OidcProvider implements AuthenticationProvider, OutboundSecur
             this.useJwtGroups = useJwtGroups;
             return this;
         }
+
+        /**
+         * Cache of validated tokens.
+         * When configured, a token that was already validated (either using JWK, or through the introspection endpoint)
+         * is not validated again until it expires, or until its time to live in the cache passes.
+         * Required scopes are still checked for each request.
+         * Caching is disabled by default.
+         *
+         * @param tokenCache cache to use
+         * @return updated builder instance
+         */
+        public Builder tokenCache(ValidatedTokenCache tokenCache) {
+            this.tokenCache = tokenCache;
+            return this;
+        }
     }
 
     private static final class OidcOutboundConfig {
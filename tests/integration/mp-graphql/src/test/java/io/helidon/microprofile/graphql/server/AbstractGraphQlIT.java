@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -118,8 +118,13 @@ class AbstractGraphQlIT extends AbstractGraphQLTest {
                 .flatMap(Arrays::stream)
                 .forEach(builder::addBlacklistedException);
 
+        Schema schema = createSchema();
+        if (schema.hasDataLoaders()) {
+            builder.dataLoaderRegistry(schema::newDataLoaderRegistry);
+        }
+
         return builder
-                .schema(createSchema().generateGraphQLSchema())
+                .schema(schema.generateGraphQLSchema())
                 .build();
     }
 }
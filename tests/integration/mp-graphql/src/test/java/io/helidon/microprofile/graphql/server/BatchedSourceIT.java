@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.microprofile.graphql.server;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+
+import io.helidon.graphql.server.InvocationHandler;
+import io.helidon.microprofile.graphql.server.test.db.TestDB;
+import io.helidon.microprofile.graphql.server.test.queries.BatchedSourceQueries;
+import io.helidon.microprofile.graphql.server.test.types.Address;
+import io.helidon.microprofile.graphql.server.test.types.SimpleContact;
+import io.helidon.microprofile.tests.junit5.AddBean;
+
+import jakarta.inject.Inject;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests for Source annotation on a List of sources.
+ */
+@AddBean(BatchedSourceQueries.class)
+@AddBean(TestDB.class)
+class BatchedSourceIT extends AbstractGraphQlCdiIT {
+
+    private final BatchedSourceQueries queries;
+
+    @Inject
+    BatchedSourceIT(GraphQlCdiExtension graphQlCdiExtension, BatchedSourceQueries queries) {
+        super(graphQlCdiExtension);
+        this.queries = queries;
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSourcesResolvedInBatch() throws IOException {
+        setupIndex(indexFileName, BatchedSourceQueries.class, SimpleContact.class, Address.class);
+        InvocationHandler executionContext = createInvocationHandler();
+
+        // the field is of the type of the elements of the returned List
+        assertThat(executionContext.schemaString(), containsString("workAddress: Address"));
+
+        int invocations = queries.invocations();
+        Map<String, Object> mapResults = getAndAssertResult(
+                executionContext.execute("query { contacts(count: 10) { id workAddress { city } } }"));
+
+        List<Map<String, Object>> contacts = (List<Map<String, Object>>) mapResults.get("contacts");
+        assertThat(contacts.size(), is(10));
+        for (Map<String, Object> contact : contacts) {
+            Map<String, Object> address = (Map<String, Object>) contact.get("workAddress");
+            assertThat(address, is(notNullValue()));
+            assertThat(address.get("city"), is(notNullValue()));
+        }
+        // one invocation for the contacts and one for all their addresses, instead of one per contact
+        assertThat(queries.invocations() - invocations, is(2));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testSourcesBatchedByArguments() throws IOException {
+        setupIndex(indexFileName, BatchedSourceQueries.class, SimpleContact.class, Address.class);
+        InvocationHandler executionContext = createInvocationHandler();
+
+        int invocations = queries.invocations();
+        Map<String, Object> mapResults = getAndAssertResult(executionContext.execute(
+                "query { contacts(count: 5) { name first: label(prefix: \"a\") second: label(prefix: \"b\") "
+                        + "again: label(prefix: \"a\") } }"));
+
+        List<Map<String, Object>> contacts = (List<Map<String, Object>>) mapResults.get("contacts");
+        assertThat(contacts.size(), is(5));
+        for (Map<String, Object> contact : contacts) {
+            assertThat(contact.get("first"), is("a " + contact.get("name")));
+            assertThat(contact.get("second"), is("b " + contact.get("name")));
+            assertThat(contact.get("again"), is("a " + contact.get("name")));
+        }
+        // one invocation for the contacts and one for each distinct prefix, the repeated field is cached
+        assertThat(queries.invocations() - invocations, is(3));
+    }
+}
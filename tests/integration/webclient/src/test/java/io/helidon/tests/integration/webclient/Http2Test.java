@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.tests.integration.webclient;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import io.helidon.common.http.Http;
+import io.helidon.common.reactive.Single;
+import io.helidon.webclient.WebClient;
+import io.helidon.webclient.WebClientResponse;
+import io.helidon.webserver.ExperimentalConfiguration;
+import io.helidon.webserver.Http2Configuration;
+import io.helidon.webserver.Routing;
+import io.helidon.webserver.WebServer;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Tests of HTTP/2 requests, and of proxying requests on the server event loops.
+ */
+class Http2Test {
+
+    private static WebServer backend;
+    private static WebServer proxy;
+
+    @BeforeAll
+    static void startServers() {
+        backend = WebServer.builder()
+                .host("localhost")
+                .experimental(ExperimentalConfiguration.builder()
+                                      .http2(Http2Configuration.builder().enable(true).build())
+                                      .build())
+                .routing(Routing.builder()
+                                 .get("/hello", (req, res) -> res.send("Hello " + req.queryParams().first("n").orElse(""))))
+                .build()
+                .start()
+                .await(10, TimeUnit.SECONDS);
+
+        WebClient client = WebClient.builder()
+                .baseUri("http://localhost:" + backend.port())
+                .httpVersion(Http.Version.V2_0)
+                .useServerEventLoops(true)
+                .build();
+
+        proxy = WebServer.builder()
+                .host("localhost")
+                .routing(Routing.builder()
+                                 .get("/proxy", (req, res) -> {
+                                     Thread inbound = Thread.currentThread();
+                                     client.get()
+                                             .path("/hello")
+                                             .queryParam("n", "proxy")
+                                             .request(String.class)
+                                             .onError(res::send)
+                                             .forSingle(it -> res.send(it + " " + (Thread.currentThread() == inbound)));
+                                 }))
+                .build()
+                .start()
+                .await(10, TimeUnit.SECONDS);
+    }
+
+    @AfterAll
+    static void stopServers() {
+        if (proxy != null) {
+            proxy.shutdown().await(10, TimeUnit.SECONDS);
+        }
+        if (backend != null) {
+            backend.shutdown().await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void testPriorKnowledge() {
+        WebClientResponse response = WebClient.builder()
+                .baseUri("http://localhost:" + backend.port())
+                .httpVersion(Http.Version.V2_0)
+                .build()
+                .get()
+                .path("/hello")
+                .submit()
+                .await(10, TimeUnit.SECONDS);
+
+        assertThat(response.status(), is(Http.Status.OK_200));
+        assertThat(response.version(), is(Http.Version.V2_0));
+        assertThat(response.content().as(String.class).await(10, TimeUnit.SECONDS), is("Hello "));
+    }
+
+    @Test
+    void testMultiplexedRequests() {
+        WebClient client = WebClient.builder()
+                .baseUri("http://localhost:" + backend.port())
+                .httpVersion(Http.Version.V2_0)
+                .build();
+
+        // all the requests are sent before any response is awaited
+        List<Single<String>> requests = IntStream.range(0, 10)
+                .mapToObj(i -> client.get()
+                        .path("/hello")
+                        .queryParam("n", String.valueOf(i))
+                        .request(String.class))
+                .collect(Collectors.toList());
+        List<String> responses = requests.stream()
+                .map(it -> it.await(10, TimeUnit.SECONDS))
+                .collect(Collectors.toList());
+
+        assertThat(responses, is(IntStream.range(0, 10)
+                                          .mapToObj(i -> "Hello " + i)
+                                          .collect(Collectors.toList())));
+    }
+
+    @Test
+    void testProxyStaysOnEventLoop() {
+        String response = WebClient.builder()
+                .baseUri("http://localhost:" + proxy.port())
+                .build()
+                .get()
+                .path("/proxy")
+                .request(String.class)
+                .await(10, TimeUnit.SECONDS);
+
+        assertThat(response, is("Hello proxy true"));
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,10 +15,14 @@
  */
 package io.helidon.tracing.jaeger;
 
+import java.util.Optional;
+
 import io.helidon.common.Prioritized;
 import io.helidon.tracing.TracerBuilder;
 import io.helidon.tracing.spi.TracerProvider;
 
+import io.jaegertracing.internal.JaegerSpanContext;
+import io.opentracing.SpanContext;
 import jakarta.annotation.Priority;
 
 /**
@@ -30,4 +34,12 @@ public class JaegerTracerProvider implements TracerProvider {
     public TracerBuilder<?> createBuilder() {
         return JaegerTracerBuilder.create();
     }
+
+    @Override
+    public Optional<Boolean> sampled(SpanContext spanContext) {
+        if (spanContext instanceof JaegerSpanContext) {
+            return Optional.of(((JaegerSpanContext) spanContext).isSampled());
+        }
+        return Optional.empty();
+    }
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,11 +16,22 @@
 
 package io.helidon.tracing.jaeger;
 
+import java.util.Map;
+import java.util.Optional;
+
 import io.helidon.tracing.TracerBuilder;
 
+import io.jaegertracing.internal.JaegerTracer;
+import io.jaegertracing.internal.reporters.InMemoryReporter;
+import io.jaegertracing.internal.samplers.ConstSampler;
+import io.opentracing.SpanContext;
+import io.opentracing.mock.MockTracer;
+import io.opentracing.propagation.Format;
+import io.opentracing.propagation.TextMapAdapter;
 import org.junit.jupiter.api.Test;
 
 import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 
 /**
@@ -32,4 +43,32 @@ class JaegerTracerProviderTest {
         TracerBuilder<?> builder = TracerBuilder.create("myService");
         assertThat(builder, instanceOf(JaegerTracerBuilder.class));
     }
+
+    @Test
+    void testSampled() {
+        JaegerTracerProvider provider = new JaegerTracerProvider();
+        JaegerTracer sampling = tracer(true);
+        JaegerTracer notSampling = tracer(false);
+
+        assertThat(provider.sampled(sampling.buildSpan("sampled").start().context()), is(Optional.of(true)));
+        assertThat(provider.sampled(notSampling.buildSpan("unsampled").start().context()), is(Optional.of(false)));
+
+        // decision propagated by the caller
+        SpanContext extracted = sampling.extract(Format.Builtin.HTTP_HEADERS,
+                                                 new TextMapAdapter(Map.of("uber-trace-id", "1:2:0:0")));
+        assertThat(provider.sampled(extracted), is(Optional.of(false)));
+
+        // not a jaeger span context
+        assertThat(provider.sampled(new MockTracer().buildSpan("mock").start().context()), is(Optional.empty()));
+
+        sampling.close();
+        notSampling.close();
+    }
+
+    private static JaegerTracer tracer(boolean sampled) {
+        return new JaegerTracer.Builder("test-sampling")
+                .withSampler(new ConstSampler(sampled))
+                .withReporter(new InMemoryReporter())
+                .build();
+    }
 }
\ No newline at end of file
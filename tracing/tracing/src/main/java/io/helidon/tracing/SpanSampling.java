@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.tracing;
+
+import java.util.List;
+import java.util.Optional;
+
+import io.helidon.tracing.spi.TracerProvider;
+
+import io.opentracing.SpanContext;
+
+/**
+ * Sampling decision of traces, as made by the tracer implementations.
+ * <p>
+ * A trace that is not sampled is not reported, so integrations can check the decision of the (inbound or parent)
+ * span context first, and skip the creation of spans, and the evaluation of their tags and logs. Such integrations
+ * propagate the span context they check, so the trace (and its decision) is still carried downstream.
+ * <p>
+ * The decision is provided by {@link TracerProvider#sampled(SpanContext)}; if no provider knows the span context,
+ * the trace is considered sampled.
+ */
+public final class SpanSampling {
+    private static final List<TracerProvider> PROVIDERS = TracerProviderHelper.providers();
+
+    private SpanSampling() {
+    }
+
+    /**
+     * Whether the trace of the span context is known not to be sampled.
+     *
+     * @param spanContext span context, may be {@code null}
+     * @return {@code true} if a tracer provider reports the trace as not sampled, {@code false} otherwise
+     */
+    public static boolean isUnsampled(SpanContext spanContext) {
+        if (spanContext == null) {
+            return false;
+        }
+        for (TracerProvider provider : PROVIDERS) {
+            Optional<Boolean> sampled = provider.sampled(spanContext);
+            if (sampled.isPresent()) {
+                return !sampled.get();
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.tracing;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import io.opentracing.Span;
+import io.opentracing.SpanContext;
+import io.opentracing.tag.Tag;
+
+/**
+ * Span of {@link TailSamplingTracer}, finishes the span of the tracer it wraps only if its trace is exported.
+ */
+final class TailSampledSpan implements Span, TailSamplingRule.FinishedSpan {
+    // microsecond clock, start and finish timestamps are passed to the wrapped spans
+    private static final long BASE_MICROS = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+    private static final long BASE_NANOS = System.nanoTime();
+
+    private final Span span;
+    private final TailSamplingBuffer buffer;
+    private final TailSamplingBuffer.Trace trace;
+    private final List<TailSamplingRule> rules;
+    private final long startMicros;
+    private Map<String, Object> tags;
+    private String operationName;
+    private long durationMicros;
+    private boolean finished;
+
+    TailSampledSpan(Span span,
+                    TailSamplingBuffer buffer,
+                    TailSamplingBuffer.Trace trace,
+                    List<TailSamplingRule> rules,
+                    String operationName,
+                    long startMicros,
+                    Map<String, Object> tags) {
+        this.span = span;
+        this.buffer = buffer;
+        this.trace = trace;
+        this.rules = rules;
+        this.operationName = operationName;
+        this.startMicros = startMicros;
+        this.tags = tags;
+    }
+
+    static long nowMicros() {
+        return BASE_MICROS + TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - BASE_NANOS);
+    }
+
+    @Override
+    public SpanContext context() {
+        return span.context();
+    }
+
+    @Override
+    public Span setTag(String key, String value) {
+        span.setTag(key, value);
+        tag(key, value);
+        return this;
+    }
+
+    @Override
+    public Span setTag(String key, boolean value) {
+        span.setTag(key, value);
+        tag(key, value);
+        return this;
+    }
+
+    @Override
+    public Span setTag(String key, Number value) {
+        span.setTag(key, value);
+        tag(key, value);
+        return this;
+    }
+
+    @Override
+    public <T> Span setTag(Tag<T> tag, T value) {
+        span.setTag(tag, value);
+        tag(tag.getKey(), value);
+        return this;
+    }
+
+    @Override
+    public Span log(Map<String, ?> fields) {
+        span.log(fields);
+        return this;
+    }
+
+    @Override
+    public Span log(long timestampMicroseconds, Map<String, ?> fields) {
+        span.log(timestampMicroseconds, fields);
+        return this;
+    }
+
+    @Override
+    public Span log(String event) {
+        span.log(event);
+        return this;
+    }
+
+    @Override
+    public Span log(long timestampMicroseconds, String event) {
+        span.log(timestampMicroseconds, event);
+        return this;
+    }
+
+    @Override
+    public Span setBaggageItem(String key, String value) {
+        span.setBaggageItem(key, value);
+        return this;
+    }
+
+    @Override
+    public String getBaggageItem(String key) {
+        return span.getBaggageItem(key);
+    }
+
+    @Override
+    public Span setOperationName(String operationName) {
+        span.setOperationName(operationName);
+        synchronized (this) {
+            this.operationName = operationName;
+        }
+        return this;
+    }
+
+    @Override
+    public void finish() {
+        finish(nowMicros());
+    }
+
+    @Override
+    public void finish(long finishMicros) {
+        synchronized (this) {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            durationMicros = finishMicros - startMicros;
+        }
+        boolean matches = false;
+        for (TailSamplingRule rule : rules) {
+            if (rule.matches(this)) {
+                matches = true;
+                break;
+            }
+        }
+        buffer.finished(trace, span, finishMicros, matches);
+    }
+
+    @Override
+    public synchronized String operationName() {
+        return operationName;
+    }
+
+    @Override
+    public synchronized long durationMicros() {
+        return durationMicros;
+    }
+
+    @Override
+    public synchronized Optional<Object> tag(String key) {
+        return (tags == null) ? Optional.empty() : Optional.ofNullable(tags.get(key));
+    }
+
+    Span unwrap() {
+        return span;
+    }
+
+    private synchronized void tag(String key, Object value) {
+        if (tags == null) {
+            tags = new HashMap<>();
+        }
+        tags.put(key, value);
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.tracing;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.opentracing.ScopeManager;
+import io.opentracing.Span;
+import io.opentracing.SpanContext;
+import io.opentracing.Tracer;
+import io.opentracing.tag.Tag;
+
+/**
+ * Span builder of {@link TailSamplingTracer}.
+ */
+final class TailSampledSpanBuilder implements Tracer.SpanBuilder {
+    private final Tracer.SpanBuilder spanBuilder;
+    private final ScopeManager scopeManager;
+    private final TailSamplingBuffer buffer;
+    private final List<TailSamplingRule> rules;
+    private final String operationName;
+    private Map<String, Object> tags;
+    private boolean hasParent;
+    private boolean ignoreActiveSpan;
+    private long startMicros;
+
+    TailSampledSpanBuilder(Tracer.SpanBuilder spanBuilder,
+                           ScopeManager scopeManager,
+                           TailSamplingBuffer buffer,
+                           List<TailSamplingRule> rules,
+                           String operationName) {
+        this.spanBuilder = spanBuilder;
+        this.scopeManager = scopeManager;
+        this.buffer = buffer;
+        this.rules = rules;
+        this.operationName = operationName;
+    }
+
+    @Override
+    public Tracer.SpanBuilder asChildOf(SpanContext parent) {
+        if (parent != null) {
+            hasParent = true;
+            spanBuilder.asChildOf(parent);
+        }
+        return this;
+    }
+
+    @Override
+    public Tracer.SpanBuilder asChildOf(Span parent) {
+        if (parent != null) {
+            hasParent = true;
+            spanBuilder.asChildOf(unwrap(parent));
+        }
+        return this;
+    }
+
+    @Override
+    public Tracer.SpanBuilder addReference(String referenceType, SpanContext referencedContext) {
+        if (referencedContext != null) {
+            hasParent = true;
+            spanBuilder.addReference(referenceType, referencedContext);
+        }
+        return this;
+    }
+
+    @Override
+    public Tracer.SpanBuilder ignoreActiveSpan() {
+        ignoreActiveSpan = true;
+        return this;
+    }
+
+    @Override
+    public Tracer.SpanBuilder withTag(String key, String value) {
+        spanBuilder.withTag(key, value);
+        tag(key, value);
+        return this;
+    }
+
+    @Override
+    public Tracer.SpanBuilder withTag(String key, boolean value) {
+        spanBuilder.withTag(key, value);
+        tag(key, value);
+        return this;
+    }
+
+    @Override
+    public Tracer.SpanBuilder withTag(String key, Number value) {
+        spanBuilder.withTag(key, value);
+        tag(key, value);
+        return this;
+    }
+
+    @Override
+    public <T> Tracer.SpanBuilder withTag(Tag<T> tag, T value) {
+        spanBuilder.withTag(tag, value);
+        tag(tag.getKey(), value);
+        return this;
+    }
+
+    @Override
+    public Tracer.SpanBuilder withStartTimestamp(long microseconds) {
+        this.startMicros = microseconds;
+        return this;
+    }
+
+    @Override
+    public Span start() {
+        if (!hasParent && !ignoreActiveSpan) {
+            Span active = scopeManager.activeSpan();
+            if (active != null) {
+                spanBuilder.asChildOf(unwrap(active));
+            }
+        }
+        // active spans are managed by the scope manager of the tail sampling tracer
+        spanBuilder.ignoreActiveSpan();
+
+        long start = (startMicros == 0) ? TailSampledSpan.nowMicros() : startMicros;
+        Span span = spanBuilder.withStartTimestamp(start).start();
+        TailSamplingBuffer.Trace trace = buffer.started(span.context().toTraceId());
+        return new TailSampledSpan(span, buffer, trace, rules, operationName, start, tags);
+    }
+
+    private void tag(String key, Object value) {
+        if (tags == null) {
+            tags = new HashMap<>();
+        }
+        tags.put(key, value);
+    }
+
+    private static Span unwrap(Span span) {
+        return (span instanceof TailSampledSpan) ? ((TailSampledSpan) span).unwrap() : span;
+    }
+}
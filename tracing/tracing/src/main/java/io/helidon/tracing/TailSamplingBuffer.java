@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.tracing;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.opentracing.Span;
+
+/**
+ * Finished spans of traces waiting for the decision of {@link TailSamplingTracer}.
+ * <p>
+ * Spans are kept in a ring of preallocated slots, chained per trace, so the number of buffered spans never exceeds
+ * the configured maximum. A trace is decided:
+ * <ul>
+ *     <li>exported, as soon as one of its spans matches a rule; its buffered spans are finished with their original
+ *     timestamps, and its next spans are finished when they finish</li>
+ *     <li>dropped, when all its started spans finished without a match</li>
+ *     <li>dropped, when it is buffered for longer than the window (its remaining spans never finished)</li>
+ *     <li>dropped, when it is the oldest trace and the slots (or the number of traces) are exhausted</li>
+ * </ul>
+ * Decisions are final. Spans of an exported trace started later in this process (such as another inbound request
+ * of the same trace) are exported as long as the trace is among the last exported ones.
+ */
+final class TailSamplingBuffer {
+    private static final int NONE = -1;
+
+    private final int maxTraces;
+    private final long windowNanos;
+    private final Span[] spans;
+    private final long[] finishMicros;
+    private final int[] next;
+    private final Map<String, Trace> traces;
+    private final Map<String, Boolean> exported;
+
+    private int free;
+    private long exportedTraces;
+    private long droppedTraces;
+    private long evictedTraces;
+
+    TailSamplingBuffer(int maxSpans, int maxTraces, long windowNanos) {
+        this.maxTraces = maxTraces;
+        this.windowNanos = windowNanos;
+        this.spans = new Span[maxSpans];
+        this.finishMicros = new long[maxSpans];
+        this.next = new int[maxSpans];
+        for (int i = 0; i < maxSpans; i++) {
+            next[i] = i + 1;
+        }
+        if (maxSpans > 0) {
+            next[maxSpans - 1] = NONE;
+        }
+        this.free = (maxSpans > 0) ? 0 : NONE;
+        // insertion order is the order of the traces to expire or evict
+        this.traces = new LinkedHashMap<>();
+        this.exported = new LinkedHashMap<>(16, 0.75f, false) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Boolean> eldest) {
+                return size() > maxTraces;
+            }
+        };
+    }
+
+    /**
+     * A span of the trace is started.
+     *
+     * @param traceId trace ID
+     * @return trace to pass to {@link #finished(Trace, Span, long, boolean)}
+     */
+    synchronized Trace started(String traceId) {
+        long now = System.nanoTime();
+        expire(now);
+        Trace trace = traces.get(traceId);
+        if (trace == null) {
+            trace = new Trace(traceId, now);
+            if (exported.containsKey(traceId)) {
+                trace.decided = true;
+                trace.exported = true;
+            } else {
+                while (traces.size() >= maxTraces && !traces.isEmpty()) {
+                    evictOldest();
+                }
+                traces.put(traceId, trace);
+            }
+        }
+        trace.openSpans++;
+        return trace;
+    }
+
+    /**
+     * A span of the trace is finished.
+     *
+     * @param trace trace of the span
+     * @param span span to finish when the trace is exported
+     * @param finishMicros finish timestamp of the span
+     * @param matches whether the span matches a rule
+     */
+    void finished(Trace trace, Span span, long finishMicros, boolean matches) {
+        List<Span> toFinish = null;
+        long[] toFinishMicros = null;
+        synchronized (this) {
+            trace.openSpans--;
+            if (trace.decided) {
+                if (trace.exported) {
+                    toFinish = List.of(span);
+                    toFinishMicros = new long[] {finishMicros};
+                }
+            } else if (matches) {
+                toFinish = new ArrayList<>(trace.count + 1);
+                toFinishMicros = new long[trace.count + 1];
+                int i = 0;
+                for (int slot = trace.head; slot != NONE; slot = next[slot]) {
+                    toFinish.add(spans[slot]);
+                    toFinishMicros[i++] = this.finishMicros[slot];
+                }
+                toFinish.add(span);
+                toFinishMicros[i] = finishMicros;
+                decide(trace, true);
+            } else {
+                buffer(trace, span, finishMicros);
+                if (!trace.decided && trace.openSpans == 0) {
+                    decide(trace, false);
+                }
+            }
+            expire(System.nanoTime());
+        }
+        if (toFinish != null) {
+            // outside of the lock, reporters of the tracers may block
+            for (int i = 0; i < toFinish.size(); i++) {
+                toFinish.get(i).finish(toFinishMicros[i]);
+            }
+        }
+    }
+
+    synchronized long exportedTraces() {
+        return exportedTraces;
+    }
+
+    synchronized long droppedTraces() {
+        return droppedTraces;
+    }
+
+    synchronized long evictedTraces() {
+        return evictedTraces;
+    }
+
+    synchronized int bufferedSpans() {
+        int count = 0;
+        for (Trace trace : traces.values()) {
+            count += trace.count;
+        }
+        return count;
+    }
+
+    private void buffer(Trace trace, Span span, long finishMicros) {
+        while (free == NONE && !traces.isEmpty()) {
+            // the oldest trace may be this one, its span is then dropped with it
+            evictOldest();
+        }
+        if (trace.decided || free == NONE) {
+            return;
+        }
+        int slot = free;
+        free = next[slot];
+        spans[slot] = span;
+        this.finishMicros[slot] = finishMicros;
+        next[slot] = NONE;
+        if (trace.tail == NONE) {
+            trace.head = slot;
+        } else {
+            next[trace.tail] = slot;
+        }
+        trace.tail = slot;
+        trace.count++;
+    }
+
+    private void expire(long now) {
+        Iterator<Trace> it = traces.values().iterator();
+        while (it.hasNext()) {
+            Trace oldest = it.next();
+            if (now - oldest.createdNanos < windowNanos) {
+                return;
+            }
+            it.remove();
+            release(oldest);
+            oldest.decided = true;
+            droppedTraces++;
+        }
+    }
+
+    private void evictOldest() {
+        Iterator<Trace> it = traces.values().iterator();
+        Trace oldest = it.next();
+        it.remove();
+        release(oldest);
+        oldest.decided = true;
+        droppedTraces++;
+        evictedTraces++;
+    }
+
+    private void decide(Trace trace, boolean export) {
+        traces.remove(trace.traceId);
+        release(trace);
+        trace.decided = true;
+        trace.exported = export;
+        if (export) {
+            exported.put(trace.traceId, Boolean.TRUE);
+            exportedTraces++;
+        } else {
+            droppedTraces++;
+        }
+    }
+
+    private void release(Trace trace) {
+        int slot = trace.head;
+        while (slot != NONE) {
+            int nextSlot = next[slot];
+            spans[slot] = null;
+            next[slot] = free;
+            free = slot;
+            slot = nextSlot;
+        }
+        trace.head = NONE;
+        trace.tail = NONE;
+        trace.count = 0;
+    }
+
+    /**
+     * Trace waiting for a decision, state guarded by the buffer.
+     */
+    static final class Trace {
+        private final String traceId;
+        private final long createdNanos;
+        private int openSpans;
+        private int head = NONE;
+        private int tail = NONE;
+        private int count;
+        private boolean decided;
+        private boolean exported;
+
+        private Trace(String traceId, long createdNanos) {
+            this.traceId = traceId;
+            this.createdNanos = createdNanos;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.tracing;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.Optional;
+
+import io.opentracing.tag.Tags;
+
+/**
+ * Rule of {@link TailSamplingTracer}, a trace is exported if any of its spans matches any of the rules.
+ * Rules are evaluated once per span, when it finishes.
+ */
+@FunctionalInterface
+public interface TailSamplingRule {
+
+    /**
+     * Whether the span matches this rule.
+     *
+     * @param span finished span
+     * @return {@code true} to export the trace of the span
+     */
+    boolean matches(FinishedSpan span);
+
+    /**
+     * Rule matching spans tagged with {@code error=true}.
+     *
+     * @return rule
+     */
+    static TailSamplingRule error() {
+        return span -> Boolean.TRUE.equals(span.tag(Tags.ERROR.getKey()).orElse(null));
+    }
+
+    /**
+     * Rule matching spans that took at least the threshold.
+     *
+     * @param threshold minimal duration of matching spans
+     * @return rule
+     */
+    static TailSamplingRule latency(Duration threshold) {
+        long thresholdMicros = Objects.requireNonNull(threshold, "threshold").toNanos() / 1000;
+        return span -> span.durationMicros() >= thresholdMicros;
+    }
+
+    /**
+     * Rule matching spans of a route, when the path of their {@code http.url} tag starts with the prefix.
+     *
+     * @param pathPrefix path prefix, such as {@code /orders}
+     * @return rule
+     */
+    static TailSamplingRule route(String pathPrefix) {
+        Objects.requireNonNull(pathPrefix, "pathPrefix");
+        return span -> span.tag(Tags.HTTP_URL.getKey())
+                .map(url -> path(url.toString()).startsWith(pathPrefix))
+                .orElse(false);
+    }
+
+    private static String path(String url) {
+        int start = url.indexOf("://");
+        start = (start < 0) ? 0 : url.indexOf('/', start + 3);
+        if (start < 0) {
+            return "/";
+        }
+        int end = url.indexOf('?', start);
+        return (end < 0) ? url.substring(start) : url.substring(start, end);
+    }
+
+    /**
+     * A finished span, as seen by the rules.
+     */
+    interface FinishedSpan {
+        /**
+         * Operation name of the span.
+         *
+         * @return operation name
+         */
+        String operationName();
+
+        /**
+         * Duration of the span.
+         *
+         * @return duration in microseconds
+         */
+        long durationMicros();
+
+        /**
+         * Value of a tag of the span.
+         *
+         * @param key tag key
+         * @return tag value, or empty if the tag is not set
+         */
+        Optional<Object> tag(String key);
+    }
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.tracing;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import io.helidon.config.Config;
+import io.helidon.config.metadata.Configured;
+import io.helidon.config.metadata.ConfiguredOption;
+
+import io.opentracing.Scope;
+import io.opentracing.ScopeManager;
+import io.opentracing.Span;
+import io.opentracing.SpanContext;
+import io.opentracing.Tracer;
+import io.opentracing.propagation.Format;
+import io.opentracing.util.ThreadLocalScopeManager;
+
+/**
+ * Tracer that decides whether to export a trace after its spans finished (tail-based sampling).
+ * <p>
+ * Finished spans are buffered per trace, and the spans of the wrapped tracer are finished (and so reported)
+ * only if one of the spans of the trace matches one of the {@link TailSamplingRule rules}, such as an error,
+ * a latency above a threshold, or a specific route. The wrapped tracer must sample all traces (such as with
+ * a constant sampler), the sampling happens here.
+ * <p>
+ * The buffer holds at most {@link Builder#maxSpans(int)} spans of at most {@link Builder#maxTraces(int)} traces.
+ * A trace that is not exported is dropped when all its spans finished, when it is buffered for longer
+ * than {@link Builder#window(Duration)}, or when it is the oldest trace and the buffer is full. Spans of dropped
+ * traces are never finished in the wrapped tracer.
+ * <pre>{@code
+ * Tracer tracer = TailSamplingTracer.builder()
+ *         .tracer(TracerBuilder.create(config.get("tracing")).build())
+ *         .addRule(TailSamplingRule.error())
+ *         .addRule(TailSamplingRule.latency(Duration.ofMillis(500)))
+ *         .build();
+ * }</pre>
+ */
+public final class TailSamplingTracer implements Tracer {
+    private final Tracer tracer;
+    private final List<TailSamplingRule> rules;
+    private final TailSamplingBuffer buffer;
+    private final ScopeManager scopeManager = new ThreadLocalScopeManager();
+
+    private TailSamplingTracer(Builder builder) {
+        this.tracer = builder.tracer;
+        this.rules = List.copyOf(builder.rules);
+        this.buffer = new TailSamplingBuffer(builder.maxSpans, builder.maxTraces, builder.window.toNanos());
+    }
+
+    /**
+     * A new fluent API builder.
+     *
+     * @return a new builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public SpanBuilder buildSpan(String operationName) {
+        return new TailSampledSpanBuilder(tracer.buildSpan(operationName), scopeManager, buffer, rules, operationName);
+    }
+
+    @Override
+    public <C> void inject(SpanContext spanContext, Format<C> format, C carrier) {
+        tracer.inject(spanContext, format, carrier);
+    }
+
+    @Override
+    public <C> SpanContext extract(Format<C> format, C carrier) {
+        return tracer.extract(format, carrier);
+    }
+
+    @Override
+    public ScopeManager scopeManager() {
+        return scopeManager;
+    }
+
+    @Override
+    public Span activeSpan() {
+        return scopeManager.activeSpan();
+    }
+
+    @Override
+    public Scope activateSpan(Span span) {
+        return scopeManager.activate(span);
+    }
+
+    @Override
+    public void close() {
+        tracer.close();
+    }
+
+    /**
+     * Number of traces exported so far.
+     *
+     * @return exported traces
+     */
+    public long exportedTraces() {
+        return buffer.exportedTraces();
+    }
+
+    /**
+     * Number of traces dropped so far, including the evicted ones.
+     *
+     * @return dropped traces
+     */
+    public long droppedTraces() {
+        return buffer.droppedTraces();
+    }
+
+    /**
+     * Number of traces dropped before they completed, because the buffer was full.
+     *
+     * @return evicted traces
+     */
+    public long evictedTraces() {
+        return buffer.evictedTraces();
+    }
+
+    int bufferedSpans() {
+        return buffer.bufferedSpans();
+    }
+
+    /**
+     * Fluent API builder for {@link TailSamplingTracer}.
+     */
+    @Configured
+    public static final class Builder implements io.helidon.common.Builder<Builder, TailSamplingTracer> {
+        private final List<TailSamplingRule> rules = new ArrayList<>();
+        private Tracer tracer;
+        private int maxSpans = 10000;
+        private int maxTraces = 1000;
+        private Duration window = Duration.ofSeconds(5);
+
+        private Builder() {
+        }
+
+        @Override
+        public TailSamplingTracer build() {
+            if (tracer == null) {
+                throw new IllegalStateException("Tracer to wrap must be configured");
+            }
+            return new TailSamplingTracer(this);
+        }
+
+        /**
+         * Update builder from configuration.
+         * <p>
+         * <table class="config">
+         * <caption>Optional configuration parameters</caption>
+         * <tr>
+         *     <th>key</th>
+         *     <th>default value</th>
+         *     <th>description</th>
+         * </tr>
+         * <tr>
+         *     <td>max-spans</td>
+         *     <td>10000</td>
+         *     <td>Maximal number of buffered spans, see {@link #maxSpans(int)}</td>
+         * </tr>
+         * <tr>
+         *     <td>max-traces</td>
+         *     <td>1000</td>
+         *     <td>Maximal number of buffered traces, see {@link #maxTraces(int)}</td>
+         * </tr>
+         * <tr>
+         *     <td>window</td>
+         *     <td>PT5S</td>
+         *     <td>Maximal time to buffer a trace, see {@link #window(Duration)}</td>
+         * </tr>
+         * <tr>
+         *     <td>errors</td>
+         *     <td>true</td>
+         *     <td>Whether to export traces with errors, see {@link TailSamplingRule#error()}</td>
+         * </tr>
+         * <tr>
+         *     <td>latency</td>
+         *     <td>&nbsp;</td>
+         *     <td>Export traces with a span that took at least this duration, see
+         *     {@link TailSamplingRule#latency(Duration)}</td>
+         * </tr>
+         * <tr>
+         *     <td>routes</td>
+         *     <td>&nbsp;</td>
+         *     <td>Export traces of these path prefixes, see {@link TailSamplingRule#route(String)}</td>
+         * </tr>
+         * </table>
+         *
+         * @param config configuration of tail sampling
+         * @return updated builder instance
+         */
+        public Builder config(Config config) {
+            config.get("max-spans").asInt().ifPresent(this::maxSpans);
+            config.get("max-traces").asInt().ifPresent(this::maxTraces);
+            config.get("window").as(Duration.class).ifPresent(this::window);
+            if (config.get("errors").asBoolean().orElse(true)) {
+                addRule(TailSamplingRule.error());
+            }
+            config.get("latency").as(Duration.class).ifPresent(it -> addRule(TailSamplingRule.latency(it)));
+            config.get("routes").asList(String.class)
+                    .ifPresent(it -> it.forEach(route -> addRule(TailSamplingRule.route(route))));
+            return this;
+        }
+
+        /**
+         * Tracer to wrap, its spans are finished if their trace is exported.
+         *
+         * @param tracer tracer, sampling all traces
+         * @return updated builder instance
+         */
+        public Builder tracer(Tracer tracer) {
+            this.tracer = Objects.requireNonNull(tracer);
+            return this;
+        }
+
+        /**
+         * Add a rule, traces with a span matching any of the rules are exported.
+         *
+         * @param rule rule
+         * @return updated builder instance
+         */
+        public Builder addRule(TailSamplingRule rule) {
+            this.rules.add(Objects.requireNonNull(rule));
+            return this;
+        }
+
+        /**
+         * Maximal number of buffered spans, the memory of the buffer is allocated up front.
+         * When it is full, the oldest traces are dropped.
+         *
+         * @param maxSpans maximal number of spans, defaults to 10000
+         * @return updated builder instance
+         */
+        @ConfiguredOption("10000")
+        public Builder maxSpans(int maxSpans) {
+            if (maxSpans <= 0) {
+                throw new IllegalArgumentException("Max spans must be positive, but is " + maxSpans);
+            }
+            this.maxSpans = maxSpans;
+            return this;
+        }
+
+        /**
+         * Maximal number of buffered traces. When reached, the oldest trace is dropped.
+         * This is also the number of exported trace IDs remembered to export the spans of the same trace started later.
+         *
+         * @param maxTraces maximal number of traces, defaults to 1000
+         * @return updated builder instance
+         */
+        @ConfiguredOption("1000")
+        public Builder maxTraces(int maxTraces) {
+            if (maxTraces <= 0) {
+                throw new IllegalArgumentException("Max traces must be positive, but is " + maxTraces);
+            }
+            this.maxTraces = maxTraces;
+            return this;
+        }
+
+        /**
+         * Maximal time a trace is buffered, waiting for its spans to finish.
+         *
+         * @param window duration, defaults to 5 seconds
+         * @return updated builder instance
+         */
+        @ConfiguredOption("PT5S")
+        public Builder window(Duration window) {
+            this.window = Objects.requireNonNull(window);
+            return this;
+        }
+    }
+}
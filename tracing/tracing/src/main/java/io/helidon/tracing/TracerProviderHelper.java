@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package io.helidon.tracing;
 
 import java.util.Iterator;
+import java.util.List;
 import java.util.ServiceLoader;
 
 import io.helidon.common.serviceloader.HelidonServiceLoader;
@@ -40,4 +41,8 @@ final class TracerProviderHelper {
             return NoOpBuilder.create();
         }
     }
+
+    static List<TracerProvider> providers() {
+        return SERVICE_LOADER.asList();
+    }
 }
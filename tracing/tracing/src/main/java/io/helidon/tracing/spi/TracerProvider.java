@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@ package io.helidon.tracing.spi;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import io.helidon.tracing.TracerBuilder;
 
@@ -59,4 +60,17 @@ public interface TracerProvider {
 
         return outboundHeaders;
     }
+
+    /**
+     * Sampling decision of a span context created (or extracted) by the tracer of this provider.
+     * Integrations use the decision to skip the creation of spans, tags and logs of traces that are not reported.
+     *
+     * @param spanContext span context
+     * @return {@code true} if the trace is sampled, {@code false} if it is not, empty if the span context is not
+     *      created by this tracer, or the decision is not known
+     * @see io.helidon.tracing.SpanSampling
+     */
+    default Optional<Boolean> sampled(SpanContext spanContext) {
+        return Optional.empty();
+    }
 }
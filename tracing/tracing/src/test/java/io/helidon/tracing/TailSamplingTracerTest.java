@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.tracing;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import io.helidon.config.Config;
+import io.helidon.config.ConfigSources;
+
+import io.opentracing.Scope;
+import io.opentracing.Span;
+import io.opentracing.Tracer;
+import io.opentracing.mock.MockSpan;
+import io.opentracing.mock.MockTracer;
+import io.opentracing.tag.Tags;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Unit test for {@link TailSamplingTracer}.
+ */
+class TailSamplingTracerTest {
+
+    @Test
+    void testTraceDroppedWithoutMatch() {
+        MockTracer mockTracer = new MockTracer();
+        TailSamplingTracer tracer = tracer(mockTracer, 100);
+
+        Span root = tracer.buildSpan("root").start();
+        tracer.buildSpan("child").asChildOf(root).start().finish();
+        assertThat(tracer.bufferedSpans(), is(1));
+        root.finish();
+
+        assertThat(mockTracer.finishedSpans().size(), is(0));
+        assertThat(tracer.bufferedSpans(), is(0));
+        assertThat(tracer.droppedTraces(), is(1L));
+    }
+
+    @Test
+    void testTraceExportedOnError() {
+        MockTracer mockTracer = new MockTracer();
+        TailSamplingTracer tracer = tracer(mockTracer, 100);
+
+        Span root = tracer.buildSpan("root").start();
+        tracer.buildSpan("first").asChildOf(root).start().finish();
+        Span failed = tracer.buildSpan("failed").asChildOf(root).start();
+        Tags.ERROR.set(failed, true);
+        failed.finish();
+        // buffered span and the matching one are reported when the rule matches
+        assertThat(names(mockTracer), hasItems("first", "failed"));
+
+        root.finish();
+        assertThat(names(mockTracer), hasItems("first", "failed", "root"));
+        assertThat(tracer.exportedTraces(), is(1L));
+        assertThat(tracer.bufferedSpans(), is(0));
+    }
+
+    @Test
+    void testTraceExportedOnLatency() {
+        MockTracer mockTracer = new MockTracer();
+        TailSamplingTracer tracer = tracer(mockTracer, 100);
+
+        long start = TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis());
+        Span slow = tracer.buildSpan("slow").withStartTimestamp(start).start();
+        slow.finish(start + TimeUnit.SECONDS.toMicros(2));
+
+        List<MockSpan> finished = mockTracer.finishedSpans();
+        assertThat(finished.size(), is(1));
+        // reported with the original timestamps
+        assertThat(finished.get(0).startMicros(), is(start));
+        assertThat(finished.get(0).finishMicros(), is(start + TimeUnit.SECONDS.toMicros(2)));
+    }
+
+    @Test
+    void testTraceExportedOnRoute() {
+        MockTracer mockTracer = new MockTracer();
+        TailSamplingTracer tracer = tracer(mockTracer, 100);
+
+        tracer.buildSpan("greet")
+                .withTag(Tags.HTTP_URL.getKey(), "http://localhost:8080/greet/joe")
+                .start()
+                .finish();
+        tracer.buildSpan("orders")
+                .withTag(Tags.HTTP_URL.getKey(), "http://localhost:8080/orders/42?expand=true")
+                .start()
+                .finish();
+
+        assertThat(names(mockTracer), is(List.of("orders")));
+    }
+
+    @Test
+    void testLaterSpansOfExportedTrace() {
+        MockTracer mockTracer = new MockTracer();
+        TailSamplingTracer tracer = tracer(mockTracer, 100);
+
+        Span root = tracer.buildSpan("root").start();
+        Span failed = tracer.buildSpan("failed").asChildOf(root).start();
+        failed.setTag(Tags.ERROR.getKey(), true);
+        failed.finish();
+        root.finish();
+
+        // same trace, started after the decision
+        tracer.buildSpan("late").asChildOf(root.context()).start().finish();
+        assertThat(names(mockTracer), hasItems("failed", "root", "late"));
+    }
+
+    @Test
+    void testOverflowDropsOldestTrace() {
+        MockTracer mockTracer = new MockTracer();
+        TailSamplingTracer tracer = tracer(mockTracer, 2);
+
+        Span first = tracer.buildSpan("first").start();
+        tracer.buildSpan("first-child").asChildOf(first).start().finish();
+        tracer.buildSpan("first-child").asChildOf(first).start().finish();
+        Span second = tracer.buildSpan("second").start();
+        tracer.buildSpan("second-child").asChildOf(second).start().finish();
+
+        assertThat(tracer.bufferedSpans(), is(1));
+        assertThat(tracer.evictedTraces(), is(1L));
+
+        // evicted trace is dropped, even if it matches later
+        Tags.ERROR.set(first, true);
+        first.finish();
+        assertThat(mockTracer.finishedSpans().size(), is(0));
+    }
+
+    @Test
+    void testWindowExpiry() throws InterruptedException {
+        MockTracer mockTracer = new MockTracer();
+        TailSamplingTracer tracer = TailSamplingTracer.builder()
+                .tracer(mockTracer)
+                .addRule(TailSamplingRule.error())
+                .window(Duration.ofMillis(10))
+                .build();
+
+        Span leaked = tracer.buildSpan("leaked").start();
+        tracer.buildSpan("child").asChildOf(leaked).start().finish();
+        assertThat(tracer.bufferedSpans(), is(1));
+
+        TimeUnit.MILLISECONDS.sleep(20);
+        tracer.buildSpan("other").start().finish();
+        assertThat(tracer.bufferedSpans(), is(0));
+        assertThat(tracer.droppedTraces(), is(2L));
+    }
+
+    @Test
+    void testActiveSpanIsParent() {
+        MockTracer mockTracer = new MockTracer();
+        TailSamplingTracer tracer = tracer(mockTracer, 100);
+
+        Span root = tracer.buildSpan("root").start();
+        try (Scope ignored = tracer.activateSpan(root)) {
+            assertThat(tracer.activeSpan(), is(root));
+            Span child = tracer.buildSpan("child").start();
+            assertThat(child.context().toTraceId(), is(root.context().toTraceId()));
+            Tags.ERROR.set(child, true);
+            child.finish();
+        }
+        root.finish();
+
+        List<MockSpan> finished = mockTracer.finishedSpans();
+        assertThat(finished.size(), is(2));
+        assertThat(finished.get(0).parentId(), is(finished.get(1).context().spanId()));
+    }
+
+    @Test
+    void testConfig() {
+        Config config = Config.builder()
+                .sources(ConfigSources.create(Map.of("tail-sampling.max-spans", "1",
+                                                     "tail-sampling.errors", "false",
+                                                     "tail-sampling.latency", "PT1S",
+                                                     "tail-sampling.routes.0", "/orders")))
+                .disableEnvironmentVariablesSource()
+                .disableSystemPropertiesSource()
+                .build();
+        MockTracer mockTracer = new MockTracer();
+        TailSamplingTracer tracer = TailSamplingTracer.builder()
+                .tracer(mockTracer)
+                .config(config.get("tail-sampling"))
+                .build();
+
+        Span failed = tracer.buildSpan("failed").start();
+        Tags.ERROR.set(failed, true);
+        failed.finish();
+        tracer.buildSpan("orders")
+                .withTag(Tags.HTTP_URL.getKey(), "http://localhost/orders")
+                .start()
+                .finish();
+
+        assertThat(names(mockTracer), is(List.of("orders")));
+        assertThat(tracer.droppedTraces(), is(1L));
+    }
+
+    private static TailSamplingTracer tracer(Tracer mockTracer, int maxSpans) {
+        return TailSamplingTracer.builder()
+                .tracer(mockTracer)
+                .maxSpans(maxSpans)
+                .addRule(TailSamplingRule.error())
+                .addRule(TailSamplingRule.latency(Duration.ofSeconds(1)))
+                .addRule(TailSamplingRule.route("/orders"))
+                .build();
+    }
+
+    private static List<String> names(MockTracer mockTracer) {
+        return mockTracer.finishedSpans()
+                .stream()
+                .map(MockSpan::operationName)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.tracing.jmh;
+
+import java.time.Duration;
+
+import io.helidon.tracing.TailSamplingRule;
+import io.helidon.tracing.TailSamplingTracer;
+
+import io.opentracing.Span;
+import io.opentracing.Tracer;
+import io.opentracing.mock.MockSpan;
+import io.opentracing.mock.MockTracer;
+import io.opentracing.tag.Tags;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Overhead of tail sampling for a trace of a root span and three child spans, compared with reporting all spans
+ * to the wrapped tracer directly.
+ */
+@State(Scope.Benchmark)
+public class TailSamplingJMH {
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(TailSamplingJMH.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    private Tracer reporting;
+    private TailSamplingTracer tailSampling;
+
+    @Setup
+    public void setup() {
+        reporting = new DiscardingTracer();
+        tailSampling = TailSamplingTracer.builder()
+                .tracer(new DiscardingTracer())
+                .addRule(TailSamplingRule.error())
+                .addRule(TailSamplingRule.latency(Duration.ofSeconds(1)))
+                .build();
+    }
+
+    @Benchmark
+    public void reported() {
+        trace(reporting, false);
+    }
+
+    @Benchmark
+    public void dropped() {
+        trace(tailSampling, false);
+    }
+
+    @Benchmark
+    public void exported() {
+        trace(tailSampling, true);
+    }
+
+    private static void trace(Tracer tracer, boolean error) {
+        Span root = tracer.buildSpan("root")
+                .withTag(Tags.HTTP_URL.getKey(), "http://localhost:8080/greet")
+                .start();
+        for (int i = 0; i < 3; i++) {
+            Span child = tracer.buildSpan("child").asChildOf(root).start();
+            if (error && i == 2) {
+                Tags.ERROR.set(child, true);
+            }
+            child.finish();
+        }
+        root.finish();
+    }
+
+    /**
+     * Mock tracer that does not keep all finished spans in memory.
+     */
+    private static final class DiscardingTracer extends MockTracer {
+        private int finished;
+
+        @Override
+        protected void onSpanFinished(MockSpan mockSpan) {
+            super.onSpanFinished(mockSpan);
+            if (++finished % 1024 == 0) {
+                reset();
+            }
+        }
+    }
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,12 +18,15 @@ package io.helidon.tracing.zipkin;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.logging.Logger;
 
 import io.helidon.common.Prioritized;
 import io.helidon.tracing.TracerBuilder;
 import io.helidon.tracing.spi.TracerProvider;
 
+import brave.opentracing.BraveSpanContext;
+import brave.propagation.TraceContext;
 import io.opentracing.Span;
 import io.opentracing.SpanContext;
 import io.opentracing.Tracer;
@@ -75,6 +78,18 @@ public class ZipkinTracerProvider implements TracerProvider {
         return result;
     }
 
+    @Override
+    public Optional<Boolean> sampled(SpanContext spanContext) {
+        if (spanContext instanceof BraveSpanContext) {
+            // extracted contexts with sampling flags only (no IDs) have no trace context
+            TraceContext traceContext = ((BraveSpanContext) spanContext).unwrap();
+            if (traceContext != null) {
+                return Optional.ofNullable(traceContext.sampled());
+            }
+        }
+        return Optional.empty();
+    }
+
     /**
      * Updates the {@link #X_OT_SPAN_CONTEXT} with the current tracing context. This header
      * is used by the tracing proxy (e.g., Envoy) to correlate the tracing between services.
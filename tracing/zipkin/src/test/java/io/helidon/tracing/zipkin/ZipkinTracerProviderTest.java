@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,9 +18,13 @@ package io.helidon.tracing.zipkin;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 import io.helidon.tracing.TracerBuilder;
 
+import brave.Tracing;
+import brave.opentracing.BraveTracer;
+import brave.sampler.Sampler;
 import io.opentracing.mock.MockSpan;
 import io.opentracing.mock.MockTracer;
 import org.junit.jupiter.api.Test;
@@ -39,6 +43,23 @@ class ZipkinTracerProviderTest {
         assertThat(builder, instanceOf(ZipkinTracerBuilder.class));
     }
 
+    @Test
+    void testSampled() {
+        ZipkinTracerProvider provider = new ZipkinTracerProvider();
+        try (Tracing sampling = Tracing.newBuilder().sampler(Sampler.ALWAYS_SAMPLE).build();
+                Tracing notSampling = Tracing.newBuilder().sampler(Sampler.NEVER_SAMPLE).build()) {
+
+            BraveTracer sampled = BraveTracer.create(sampling);
+            BraveTracer unsampled = BraveTracer.create(notSampling);
+
+            assertThat(provider.sampled(sampled.buildSpan("sampled").start().context()), is(Optional.of(true)));
+            assertThat(provider.sampled(unsampled.buildSpan("unsampled").start().context()), is(Optional.of(false)));
+        }
+
+        // not a brave span context
+        assertThat(provider.sampled(new MockTracer().buildSpan("mock").start().context()), is(Optional.empty()));
+    }
+
     @Test
     void testContextInjection() {
         MockTracer mt = new MockTracer();
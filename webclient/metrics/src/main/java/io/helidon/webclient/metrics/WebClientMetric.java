@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -114,11 +114,19 @@ abstract class WebClientMetric implements WebClientService {
     }
 
     String createName(WebClientServiceRequest request, WebClientServiceResponse response) {
-        return String.format(nameFormat(), request.method().name(), request.uri().getHost(), response.status().code());
+        return String.format(nameFormat(),
+                             request.method().name(),
+                             request.uri().getHost(),
+                             response.status().code(),
+                             endpoint(request));
     }
 
     String createName(WebClientServiceRequest request) {
-        return String.format(nameFormat(), request.method().name(), request.uri().getHost());
+        return String.format(nameFormat(), request.method().name(), request.uri().getHost(), "", endpoint(request));
+    }
+
+    private static String endpoint(WebClientServiceRequest request) {
+        return request.properties().getOrDefault(WebClientServiceRequest.ENDPOINT_PROPERTY, "");
     }
 
     boolean handlesMethod(Http.RequestMethod method) {
@@ -243,8 +251,9 @@ abstract class WebClientMetric implements WebClientService {
          * <tr>
          *     <td>name-format</td>
          *     <td>{@code client.success.method.hostname.status}</td>
-         *     <td>A string format used to construct a metric name. The format gets three parameters: the method name,
-         *     the hostname and the response code (if applicable)</td>
+         *     <td>A string format used to construct a metric name. The format gets four parameters: the method name,
+         *     the hostname, the response code (if applicable) and the endpoint (resolved address and port the request
+         *     was sent to, if applicable)</td>
          * </tr>
          * <tr>
          *     <td>description</td>
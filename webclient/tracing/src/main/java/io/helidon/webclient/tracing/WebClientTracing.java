@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -20,6 +20,7 @@ import java.util.Map;
 import java.util.Optional;
 
 import io.helidon.common.reactive.Single;
+import io.helidon.tracing.SpanSampling;
 import io.helidon.webclient.WebClientServiceRequest;
 import io.helidon.webclient.spi.WebClientService;
 
@@ -55,25 +56,31 @@ public final class WebClientTracing implements WebClientService {
         String method = request.method().name().toUpperCase();
         Optional<Tracer> optionalTracer = request.context().get(Tracer.class);
         Tracer tracer = optionalTracer.orElseGet(GlobalTracer::get);
+        Optional<SpanContext> parentSpan = request.context().get(SpanContext.class);
+
+        if (parentSpan.isPresent() && SpanSampling.isUnsampled(parentSpan.get())) {
+            // not sampled, the parent context is propagated without creating a span
+            inject(tracer, parentSpan.get(), request);
+            return Single.just(request);
+        }
 
         Tracer.SpanBuilder spanBuilder = tracer.buildSpan(composeName(method, request));
 
-        request.context().get(SpanContext.class).ifPresent(spanBuilder::asChildOf);
+        parentSpan.ifPresent(spanBuilder::asChildOf);
 
         Span span = spanBuilder.start();
-        Tags.COMPONENT.set(span, "helidon-webclient");
-        Tags.HTTP_METHOD.set(span, method);
-        Tags.HTTP_URL.set(span, request.uri().toString());
-
         request.context().register(span.context());
+        inject(tracer, span.context(), request);
 
-        Map<String, String> tracerHeaders = new HashMap<>();
+        if (SpanSampling.isUnsampled(span.context())) {
+            // not reported, tags and logs are not evaluated
+            request.whenResponseReceived().thenAccept(response -> span.finish());
+            return Single.just(request);
+        }
 
-        tracer.inject(span.context(),
-                      Format.Builtin.HTTP_HEADERS,
-                      new TextMapAdapter(tracerHeaders));
-
-        tracerHeaders.forEach((name, value) -> request.headers().put(name, value));
+        Tags.COMPONENT.set(span, "helidon-webclient");
+        Tags.HTTP_METHOD.set(span, method);
+        Tags.HTTP_URL.set(span, request.uri().toString());
 
         request.whenResponseReceived().thenAccept(response -> {
             int status = response.status().code();
@@ -90,6 +97,16 @@ public final class WebClientTracing implements WebClientService {
         return Single.just(request);
     }
 
+    private static void inject(Tracer tracer, SpanContext spanContext, WebClientServiceRequest request) {
+        Map<String, String> tracerHeaders = new HashMap<>();
+
+        tracer.inject(spanContext,
+                      Format.Builtin.HTTP_HEADERS,
+                      new TextMapAdapter(tracerHeaders));
+
+        tracerHeaders.forEach((name, value) -> request.headers().put(name, value));
+    }
+
     private String composeName(String method, WebClientServiceRequest request) {
         return method
                 + "-"
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import io.helidon.webclient.tracing.WebClientTracingProvider;
 module io.helidon.webclient.tracing {
     requires io.helidon.webclient;
     requires io.helidon.common.context;
+    requires io.helidon.tracing;
     requires io.helidon.tracing.config;
 
     requires io.opentracing.api;
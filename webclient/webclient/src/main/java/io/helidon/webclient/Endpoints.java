@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webclient;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+
+/**
+ * Endpoints (resolved addresses) of the servers, and the requests in progress on each of them.
+ * Shared by all the clients, as are the pools of connections.
+ * <p>
+ * Requests in progress are only tracked for the load balancing strategies that use them, and an endpoint is
+ * removed as soon as it has no request in progress, so endpoints that are no longer resolved are not kept.
+ */
+final class Endpoints {
+
+    // maximal number of hosts with a round robin index, all indexes are reset when exceeded
+    private static final int MAX_HOSTS = 1024;
+    // requests in progress for each endpoint with at least one request in progress
+    private static final Map<InetSocketAddress, Integer> OUTSTANDING = new ConcurrentHashMap<>();
+    // next round robin index for each host and port
+    private static final Map<String, AtomicInteger> NEXT = new ConcurrentHashMap<>();
+
+    private Endpoints() {
+    }
+
+    /**
+     * Resolves the host of the request, and selects one of its addresses.
+     *
+     * @param resolver resolver of the host name
+     * @param loadBalancing selection of the address
+     * @param uri request URI
+     * @return future of the selected endpoint
+     */
+    static Future<InetSocketAddress> select(HostResolver resolver, LoadBalancing loadBalancing, URI uri) {
+        String host = uri.getHost();
+        int port = uri.getPort();
+        Promise<InetSocketAddress> result = ImmediateEventExecutor.INSTANCE.newPromise();
+        resolver.resolveAll(host).addListener((FutureListener<List<InetAddress>>) resolved -> {
+            if (!resolved.isSuccess()) {
+                result.setFailure(resolved.cause());
+            } else if (resolved.getNow().isEmpty()) {
+                result.setFailure(new UnknownHostException(host));
+            } else {
+                result.setSuccess(select(loadBalancing, host, port, resolved.getNow()));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Selects one of the addresses of a host.
+     *
+     * @param loadBalancing selection of the address
+     * @param host host name
+     * @param port port
+     * @param addresses resolved addresses
+     * @return selected endpoint
+     */
+    static InetSocketAddress select(LoadBalancing loadBalancing, String host, int port, List<InetAddress> addresses) {
+        int size = addresses.size();
+        if (size == 1 || loadBalancing == LoadBalancing.NONE) {
+            return new InetSocketAddress(addresses.get(0), port);
+        }
+        switch (loadBalancing) {
+        case LEAST_OUTSTANDING:
+            // start with the next round robin address, so that ties are spread
+            int start = next(host, port, size);
+            InetSocketAddress least = null;
+            int leastOutstanding = Integer.MAX_VALUE;
+            for (int i = 0; i < size; i++) {
+                InetSocketAddress endpoint = new InetSocketAddress(addresses.get((start + i) % size), port);
+                int outstanding = outstanding(endpoint);
+                if (outstanding < leastOutstanding) {
+                    least = endpoint;
+                    leastOutstanding = outstanding;
+                }
+            }
+            return least;
+        case POWER_OF_TWO_CHOICES:
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int first = random.nextInt(size);
+            int second = (first + 1 + random.nextInt(size - 1)) % size;
+            InetSocketAddress firstEndpoint = new InetSocketAddress(addresses.get(first), port);
+            InetSocketAddress secondEndpoint = new InetSocketAddress(addresses.get(second), port);
+            return outstanding(secondEndpoint) < outstanding(firstEndpoint) ? secondEndpoint : firstEndpoint;
+        case ROUND_ROBIN:
+        default:
+            return new InetSocketAddress(addresses.get(next(host, port, size)), port);
+        }
+    }
+
+    /**
+     * Whether the load balancing uses the number of requests in progress, see {@link #started(InetSocketAddress)}.
+     *
+     * @param loadBalancing selection of the address
+     * @return whether requests in progress should be tracked
+     */
+    static boolean tracksOutstanding(LoadBalancing loadBalancing) {
+        return loadBalancing == LoadBalancing.LEAST_OUTSTANDING || loadBalancing == LoadBalancing.POWER_OF_TWO_CHOICES;
+    }
+
+    /**
+     * A request was sent to the endpoint.
+     *
+     * @param endpoint endpoint
+     */
+    static void started(InetSocketAddress endpoint) {
+        OUTSTANDING.merge(endpoint, 1, Integer::sum);
+    }
+
+    /**
+     * A request to the endpoint has completed.
+     *
+     * @param endpoint endpoint
+     */
+    static void finished(InetSocketAddress endpoint) {
+        // the endpoint is removed with its last request in progress
+        OUTSTANDING.computeIfPresent(endpoint, (it, outstanding) -> outstanding == 1 ? null : outstanding - 1);
+    }
+
+    /**
+     * Number of requests in progress on the endpoint.
+     *
+     * @param endpoint endpoint
+     * @return requests in progress
+     */
+    static int outstanding(InetSocketAddress endpoint) {
+        return OUTSTANDING.getOrDefault(endpoint, 0);
+    }
+
+    /**
+     * Number of endpoints with requests in progress.
+     *
+     * @return tracked endpoints
+     */
+    static int tracked() {
+        return OUTSTANDING.size();
+    }
+
+    /**
+     * Name of the endpoint, as used in {@link WebClientServiceRequest#ENDPOINT_PROPERTY}.
+     *
+     * @param endpoint endpoint
+     * @return address and port of the endpoint
+     */
+    static String name(InetSocketAddress endpoint) {
+        InetAddress address = endpoint.getAddress();
+        return (address == null ? endpoint.getHostString() : address.getHostAddress()) + ":" + endpoint.getPort();
+    }
+
+    private static int next(String host, int port, int size) {
+        String key = host + ":" + port;
+        AtomicInteger next = NEXT.get(key);
+        if (next == null) {
+            if (NEXT.size() >= MAX_HOSTS) {
+                // only spreads the requests, resetting the indexes of hosts that may no longer be used is harmless
+                NEXT.clear();
+            }
+            next = NEXT.computeIfAbsent(key, it -> new AtomicInteger());
+        }
+        return Math.floorMod(next.getAndIncrement(), size);
+    }
+}
@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webclient;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import io.helidon.webclient.WebClientRequestBuilderImpl.ConnectionIdent;
+
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFuture;
+import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+import io.netty.handler.codec.http.HttpContentDecompressor;
+import io.netty.handler.codec.http2.Http2FrameCodec;
+import io.netty.handler.codec.http2.Http2FrameCodecBuilder;
+import io.netty.handler.codec.http2.Http2GoAwayFrame;
+import io.netty.handler.codec.http2.Http2MultiplexHandler;
+import io.netty.handler.codec.http2.Http2Settings;
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import io.netty.handler.codec.http2.Http2StreamChannelBootstrap;
+import io.netty.handler.codec.http2.Http2StreamFrameToHttpObjectCodec;
+import io.netty.handler.timeout.IdleStateEvent;
+import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.concurrent.PromiseNotifier;
+
+/**
+ * Pool of HTTP/2 connections.
+ * <p>
+ * There is a single connection for each {@link ConnectionIdent}, and each request is sent over its own stream
+ * of that connection. Over TLS, HTTP/2 is negotiated with ALPN; if the server selects HTTP/1.1, the connection
+ * is used for the request that opened it, and further requests to the same server use HTTP/1.1 connections
+ * for the next ten minutes.
+ * Over plain connections, HTTP/2 is used with prior knowledge (h2c).
+ */
+final class Http2Connections {
+
+    private static final Logger LOGGER = Logger.getLogger(Http2Connections.class.getName());
+
+    // servers that selected HTTP/1.1 are asked again once this expires, as they may have been upgraded
+    private static final long HTTP1_SERVER_TTL_NANOS = TimeUnit.MINUTES.toNanos(10);
+    // maximal number of servers known to select HTTP/1.1, expired entries are removed when exceeded
+    private static final int MAX_HTTP1_SERVERS = 1024;
+
+    private static final Map<ConnectionIdent, ChannelFuture> CONNECTIONS = new ConcurrentHashMap<>();
+    // servers that selected HTTP/1.1 with ALPN, with the time (in nanos) until which HTTP/1.1 is used
+    private static final Map<ConnectionIdent, Long> HTTP1_SERVERS = new ConcurrentHashMap<>();
+
+    private static final AttributeKey<Promise<Boolean>> HTTP2 = AttributeKey.valueOf("http2");
+    private static final AttributeKey<AtomicBoolean> CLAIMED = AttributeKey.valueOf("claimed");
+    private static final AttributeKey<ConnectionIdent> CONNECTION = AttributeKey.valueOf("http2Connection");
+
+    private static final ChannelHandler REJECT_INBOUND_STREAMS = new RejectInboundStreams();
+
+    private Http2Connections() {
+    }
+
+    /**
+     * Opens a new stream over a pooled connection, connecting it if needed.
+     *
+     * @param configuration request configuration
+     * @param endpoint resolved address to connect to, {@code null} to connect to the host of the request
+     * @param bootstrap bootstrap of a new connection
+     * @param http1 connects an HTTP/1.1 channel if the server does not support HTTP/2
+     * @return future of the stream channel, or of an HTTP/1.1 channel
+     */
+    static Future<Channel> openStream(RequestConfiguration configuration,
+                                      InetSocketAddress endpoint,
+                                      Bootstrap bootstrap,
+                                      Supplier<Future<Channel>> http1) {
+        ConnectionIdent ident = new ConnectionIdent(configuration, endpoint);
+        if (isHttp1Server(ident)) {
+            return http1.get();
+        }
+        ChannelFuture connection = CONNECTIONS.compute(ident, (key, existing) -> {
+            if (existing != null && (!existing.isDone() || existing.channel().isActive())) {
+                return existing;
+            }
+            return connect(key, bootstrap);
+        });
+
+        Promise<Channel> result = ImmediateEventExecutor.INSTANCE.newPromise();
+        connection.addListener((ChannelFutureListener) connected -> {
+            if (!connected.isSuccess()) {
+                remove(connected.channel());
+                result.setFailure(connected.cause());
+                return;
+            }
+            Channel parent = connected.channel();
+            parent.attr(HTTP2).get().addListener((FutureListener<Boolean>) negotiated -> {
+                if (!negotiated.isSuccess()) {
+                    remove(parent);
+                    result.setFailure(negotiated.cause());
+                } else if (negotiated.getNow()) {
+                    new Http2StreamChannelBootstrap(parent)
+                            .handler(new StreamInitializer(configuration))
+                            .open()
+                            .addListener((FutureListener<Http2StreamChannel>) opened -> {
+                                if (opened.isSuccess()) {
+                                    result.setSuccess(opened.getNow());
+                                } else {
+                                    result.setFailure(opened.cause());
+                                }
+                            });
+                } else {
+                    remove(parent);
+                    http1Server(ident);
+                    if (parent.attr(CLAIMED).get().compareAndSet(false, true)) {
+                        result.setSuccess(parent);
+                    } else {
+                        http1.get().addListener(new PromiseNotifier<>(result));
+                    }
+                }
+            });
+        });
+        return result;
+    }
+
+    /**
+     * Prepares a new connection for the protocol to be negotiated.
+     *
+     * @param channel connection
+     */
+    static void initProtocol(Channel channel) {
+        channel.attr(HTTP2).set(channel.eventLoop().newPromise());
+    }
+
+    /**
+     * Completes negotiation of the protocol of a connection.
+     *
+     * @param channel connection
+     * @param http2 whether HTTP/2 is used
+     */
+    static void protocolNegotiated(Channel channel, boolean http2) {
+        channel.attr(HTTP2).get().trySuccess(http2);
+    }
+
+    /**
+     * Fails negotiation of the protocol of a connection.
+     *
+     * @param channel connection
+     * @param cause cause of the failure
+     */
+    static void protocolFailed(Channel channel, Throwable cause) {
+        Promise<Boolean> http2 = channel.attr(HTTP2).get();
+        if (http2 != null) {
+            http2.tryFailure(cause);
+        }
+    }
+
+    /**
+     * Adds the handlers of an HTTP/2 connection, on which each request has its own stream channel.
+     *
+     * @param pipeline pipeline of the connection
+     */
+    static void addConnectionHandlers(ChannelPipeline pipeline) {
+        pipeline.addLast("http2Codec", Http2FrameCodecBuilder.forClient()
+                .initialSettings(Http2Settings.defaultSettings().pushEnabled(false))
+                .build());
+        pipeline.addLast("http2Multiplex", new Http2MultiplexHandler(REJECT_INBOUND_STREAMS));
+        pipeline.addLast("idleStateHandler", new IdleStateHandler(0, 0, 50));
+        pipeline.addLast("http2Connection", new ConnectionHandler());
+        protocolNegotiated(pipeline.channel(), true);
+    }
+
+    private static ChannelFuture connect(ConnectionIdent ident, Bootstrap bootstrap) {
+        if (LOGGER.isLoggable(Level.FINEST)) {
+            LOGGER.finest(() -> "New HTTP/2 connection to -> " + ident);
+        }
+        ChannelFuture connect = ident.connect(bootstrap);
+        Channel channel = connect.channel();
+        channel.attr(CLAIMED).set(new AtomicBoolean());
+        channel.attr(CONNECTION).set(ident);
+        channel.closeFuture().addListener(future -> remove(channel));
+        return connect;
+    }
+
+    private static boolean isHttp1Server(ConnectionIdent ident) {
+        Long until = HTTP1_SERVERS.get(ident);
+        if (until == null) {
+            return false;
+        }
+        if (until - System.nanoTime() > 0) {
+            return true;
+        }
+        HTTP1_SERVERS.remove(ident, until);
+        return false;
+    }
+
+    private static void http1Server(ConnectionIdent ident) {
+        long now = System.nanoTime();
+        if (HTTP1_SERVERS.size() >= MAX_HTTP1_SERVERS) {
+            HTTP1_SERVERS.values().removeIf(until -> until - now <= 0);
+            if (HTTP1_SERVERS.size() >= MAX_HTTP1_SERVERS) {
+                // servers that are no longer known negotiate the protocol again, which is harmless
+                HTTP1_SERVERS.clear();
+            }
+        }
+        HTTP1_SERVERS.put(ident, now + HTTP1_SERVER_TTL_NANOS);
+    }
+
+    private static void remove(Channel channel) {
+        ConnectionIdent ident = channel.attr(CONNECTION).get();
+        if (ident != null) {
+            CONNECTIONS.computeIfPresent(ident, (key, connection) -> connection.channel() == channel ? null : connection);
+        }
+    }
+
+    /**
+     * Closes idle connections, and removes connections from the pool once the server stops accepting new streams.
+     */
+    private static final class ConnectionHandler extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void channelRead(ChannelHandlerContext ctx, Object msg) {
+            if (msg instanceof Http2GoAwayFrame) {
+                LOGGER.finest(() -> "GOAWAY received -> " + ctx.channel().hashCode());
+                remove(ctx.channel());
+            }
+            ctx.fireChannelRead(msg);
+        }
+
+        @Override
+        public void userEventTriggered(ChannelHandlerContext ctx, Object evt) throws Exception {
+            if (evt instanceof IdleStateEvent
+                    && ctx.pipeline().get(Http2FrameCodec.class).connection().numActiveStreams() == 0) {
+                remove(ctx.channel());
+                ctx.close();
+            }
+            super.userEventTriggered(ctx, evt);
+        }
+
+        @Override
+        public void channelInactive(ChannelHandlerContext ctx) throws Exception {
+            protocolFailed(ctx.channel(), new WebClientException("Connection reset by the host"));
+            super.channelInactive(ctx);
+        }
+
+        @Override
+        public void exceptionCaught(ChannelHandlerContext ctx, Throwable cause) {
+            LOGGER.log(Level.FINEST, cause, () -> "HTTP/2 connection failed -> " + ctx.channel().hashCode());
+            protocolFailed(ctx.channel(), cause);
+            ctx.close();
+        }
+    }
+
+    /**
+     * Pipeline of a stream, which converts the frames of a request and its response to HTTP objects.
+     */
+    private static final class StreamInitializer extends ChannelInitializer<Http2StreamChannel> {
+
+        private final RequestConfiguration configuration;
+
+        private StreamInitializer(RequestConfiguration configuration) {
+            this.configuration = configuration;
+        }
+
+        @Override
+        protected void initChannel(Http2StreamChannel channel) {
+            ChannelPipeline pipeline = channel.pipeline();
+            Duration readTimeout = configuration.readTimout();
+            pipeline.addLast("readTimeout", new HelidonReadTimeoutHandler(readTimeout.toMillis(), TimeUnit.MILLISECONDS));
+            pipeline.addLast("http2StreamCodec", new Http2StreamFrameToHttpObjectCodec(false));
+            pipeline.addLast("httpDecompressor", new HttpContentDecompressor());
+            pipeline.addLast("idleConnectionHandler", new NettyClientInitializer.IdleConnectionHandler());
+            pipeline.addLast("helidonHandler", new NettyClientHandler());
+        }
+    }
+
+    /**
+     * Server push is disabled, streams initiated by the server are closed.
+     */
+    @ChannelHandler.Sharable
+    private static final class RejectInboundStreams extends ChannelInboundHandlerAdapter {
+
+        @Override
+        public void handlerAdded(ChannelHandlerContext ctx) {
+            ctx.close();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webclient;
+
+/**
+ * Selection of the address of a server, when its host name resolves to more than one address.
+ * Each address has its own pool of connections, and an address is selected for each request.
+ */
+public enum LoadBalancing {
+
+    /**
+     * No load balancing, the host name is resolved when a new connection is created.
+     */
+    NONE,
+
+    /**
+     * Each request goes to the next resolved address.
+     */
+    ROUND_ROBIN,
+
+    /**
+     * Each request goes to the resolved address with the least requests in progress.
+     */
+    LEAST_OUTSTANDING,
+
+    /**
+     * Each request goes to whichever of two randomly chosen resolved addresses has less requests in progress.
+     */
+    POWER_OF_TWO_CHOICES
+}
@@ -16,6 +16,7 @@
 package io.helidon.webclient;
 
 import java.time.Duration;
+import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ThreadFactory;
@@ -23,12 +24,24 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import io.helidon.common.LazyValue;
 import io.helidon.common.Version;
+import io.helidon.common.context.Context;
 import io.helidon.common.context.Contexts;
 import io.helidon.common.http.Http;
 import io.helidon.config.Config;
 import io.helidon.media.common.MediaContext;
 
+import io.netty.bootstrap.Bootstrap;
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
 import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioDatagramChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.resolver.dns.DefaultDnsCache;
+import io.netty.resolver.dns.DnsNameResolver;
+import io.netty.resolver.dns.DnsNameResolverBuilder;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.internal.ThreadExecutorMap;
 
 /*
  * This class must be:
@@ -99,6 +112,19 @@ final class NettyClient implements WebClient {
         return new NioEventLoopGroup(numberOfThreads, Contexts.wrap(executorService));
     });
 
+    // shared by all client instances, caches the resolved records for their TTL
+    private static final LazyValue<DnsNameResolver> DNS_RESOLVER = LazyValue.create(() -> {
+        Config dnsConfig = GLOBAL_CLIENT_CONFIG.get("dns");
+        int minTtl = dnsConfig.get("min-ttl-seconds").asInt().orElse(0);
+        int maxTtl = dnsConfig.get("max-ttl-seconds").asInt().orElse(Integer.MAX_VALUE);
+        int negativeTtl = dnsConfig.get("negative-ttl-seconds").asInt().orElse(0);
+
+        return new DnsNameResolverBuilder(EVENT_GROUP.get().next())
+                .channelType(NioDatagramChannel.class)
+                .resolveCache(new DefaultDnsCache(minTtl, maxTtl, negativeTtl))
+                .build();
+    });
+
     // this instance configuration
     private final WebClientConfiguration configuration;
 
@@ -115,8 +141,44 @@ final class NettyClient implements WebClient {
 //        configureDefaults(EMPTY_CONFIG);
     }
 
-    static NioEventLoopGroup eventGroup() {
-        return EVENT_GROUP.get();
+    /**
+     * Non-blocking resolver of host names, shared by all client instances.
+     *
+     * @return host resolver
+     */
+    static HostResolver dnsResolver() {
+        return host -> DNS_RESOLVER.get().resolveAll(host);
+    }
+
+    /**
+     * Configures the event loop and channel type of a new connection.
+     * <p>
+     * A web server registers its worker event loop group, and a factory of client channels of its transport,
+     * with the server context. If enabled, these are used instead of the client event loop group, and
+     * a connection created from a server event loop stays on that event loop.
+     *
+     * @param bootstrap bootstrap of the connection
+     * @param useServerEventLoops whether to use server event loops if available
+     * @param context context of the request
+     * @return updated bootstrap
+     */
+    @SuppressWarnings("unchecked")
+    static Bootstrap eventLoops(Bootstrap bootstrap, boolean useServerEventLoops, Context context) {
+        if (useServerEventLoops) {
+            Optional<EventLoopGroup> serverGroup = context.get(EventLoopGroup.class);
+            Optional<ChannelFactory> channelFactory = serverGroup.flatMap(group -> context.get(group, ChannelFactory.class));
+            if (channelFactory.isPresent()) {
+                EventLoopGroup group = serverGroup.get();
+                EventExecutor current = ThreadExecutorMap.currentExecutor();
+                if (current instanceof EventLoop && current.parent() == group) {
+                    group = (EventLoop) current;
+                }
+                return bootstrap.group(group)
+                        .channelFactory(channelFactory.get());
+            }
+        }
+        return bootstrap.group(EVENT_GROUP.get())
+                .channel(NioSocketChannel.class);
     }
 
     @Override
@@ -156,12 +218,12 @@ final class NettyClient implements WebClient {
 
     @Override
     public WebClientRequestBuilder method(String method) {
-        return WebClientRequestBuilderImpl.create(EVENT_GROUP.get(), configuration, Http.RequestMethod.create(method));
+        return WebClientRequestBuilderImpl.create(configuration, Http.RequestMethod.create(method));
     }
 
     @Override
     public WebClientRequestBuilder method(Http.RequestMethod method) {
-        return WebClientRequestBuilderImpl.create(EVENT_GROUP.get(), configuration, method);
+        return WebClientRequestBuilderImpl.create(configuration, method);
     }
 
 }
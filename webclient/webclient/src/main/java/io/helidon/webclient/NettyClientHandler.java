@@ -42,6 +42,7 @@ import io.netty.handler.codec.http.HttpObject;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.HttpResponseStatus;
 import io.netty.handler.codec.http.LastHttpContent;
+import io.netty.handler.codec.http2.Http2StreamChannel;
 import io.netty.util.AttributeKey;
 
 import static io.helidon.webclient.WebClientRequestBuilderImpl.COMPLETED;
@@ -121,7 +122,9 @@ class NettyClientHandler extends SimpleChannelInboundHandler<HttpObject> {
             responseBuilder.contentPublisher(publisher)
                     .readerContext(requestConfiguration.readerContext())
                     .status(helidonStatus(response.status()))
-                    .httpVersion(Http.Version.create(response.protocolVersion().toString()))
+                    .httpVersion(channel instanceof Http2StreamChannel
+                                         ? Http.Version.V2_0
+                                         : Http.Version.create(response.protocolVersion().toString()))
                     .responseCloser(responseCloser)
                     .lastEndpointURI(requestConfiguration.requestURI());
 
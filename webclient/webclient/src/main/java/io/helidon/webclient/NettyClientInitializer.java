@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -35,6 +35,8 @@ import io.netty.handler.codec.http.HttpContentDecompressor;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.proxy.ProxyHandler;
+import io.netty.handler.ssl.ApplicationProtocolNames;
+import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
 import io.netty.handler.ssl.SslHandler;
 import io.netty.handler.timeout.IdleStateEvent;
 import io.netty.handler.timeout.IdleStateHandler;
@@ -52,6 +54,7 @@ import static io.helidon.webclient.WebClientRequestBuilderImpl.RESULT;
 class NettyClientInitializer extends ChannelInitializer<SocketChannel> {
 
     private final RequestConfiguration configuration;
+    private final boolean http2;
 
     /**
      * Creates new instance.
@@ -59,7 +62,18 @@ class NettyClientInitializer extends ChannelInitializer<SocketChannel> {
      * @param configuration request configuration
      */
     NettyClientInitializer(RequestConfiguration configuration) {
+        this(configuration, false);
+    }
+
+    /**
+     * Creates new instance.
+     *
+     * @param configuration request configuration
+     * @param http2 whether to initialize an HTTP/2 connection (negotiated with ALPN over TLS)
+     */
+    NettyClientInitializer(RequestConfiguration configuration, boolean http2) {
         this.configuration = configuration;
+        this.http2 = http2;
     }
 
     @Override
@@ -81,9 +95,14 @@ class NettyClientInitializer extends ChannelInitializer<SocketChannel> {
                     pipeline.addLast(proxyHandler);
                 });
 
+        if (http2) {
+            Http2Connections.initProtocol(channel);
+        }
+
         // TLS configuration
-        if (address.toString().startsWith("https")) {
-            configuration.sslContext().ifPresent(ctx -> {
+        boolean tls = address.toString().startsWith("https");
+        if (tls) {
+            configuration.sslContext(http2).ifPresent(ctx -> {
                 SslHandler sslHandler = ctx.newHandler(channel.alloc(), address.getHost(), address.getPort());
 
                 //This is how to enable hostname verification in netty
@@ -99,7 +118,11 @@ class NettyClientInitializer extends ChannelInitializer<SocketChannel> {
                     //Check if ssl handshake has been successful. Without this check will this exception be replaced by
                     //netty and therefore it will be lost.
                     if (channelFuture.cause() != null) {
-                        channel.attr(RESULT).get().completeExceptionally(channelFuture.cause());
+                        if (http2) {
+                            Http2Connections.protocolFailed(channel, channelFuture.cause());
+                        } else {
+                            channel.attr(RESULT).get().completeExceptionally(channelFuture.cause());
+                        }
                         channel.close();
                     }
                 });
@@ -107,6 +130,17 @@ class NettyClientInitializer extends ChannelInitializer<SocketChannel> {
         }
 
         pipeline.addLast("logger", new LoggingHandler(ClientNettyLog.class, LogLevel.TRACE));
+        if (!http2) {
+            addHttp1Handlers(pipeline);
+        } else if (tls) {
+            pipeline.addLast("alpn", new Http2Negotiation());
+        } else {
+            // prior knowledge (h2c)
+            Http2Connections.addConnectionHandlers(pipeline);
+        }
+    }
+
+    private static void addHttp1Handlers(ChannelPipeline pipeline) {
         pipeline.addLast("httpCodec", new HttpClientCodec());
         pipeline.addLast("httpDecompressor", new HttpContentDecompressor());
         pipeline.addLast("idleStateHandler", new IdleStateHandler(0, 0, 50));
@@ -114,7 +148,33 @@ class NettyClientInitializer extends ChannelInitializer<SocketChannel> {
         pipeline.addLast("helidonHandler", new NettyClientHandler());
     }
 
-    private static class IdleConnectionHandler extends ChannelDuplexHandler {
+    /**
+     * Configures the pipeline for the protocol selected with ALPN.
+     */
+    private static final class Http2Negotiation extends ApplicationProtocolNegotiationHandler {
+
+        private Http2Negotiation() {
+            super(ApplicationProtocolNames.HTTP_1_1);
+        }
+
+        @Override
+        protected void configurePipeline(ChannelHandlerContext ctx, String protocol) {
+            if (ApplicationProtocolNames.HTTP_2.equals(protocol)) {
+                Http2Connections.addConnectionHandlers(ctx.pipeline());
+            } else {
+                addHttp1Handlers(ctx.pipeline());
+                Http2Connections.protocolNegotiated(ctx.channel(), false);
+            }
+        }
+
+        @Override
+        protected void handshakeFailure(ChannelHandlerContext ctx, Throwable cause) {
+            Http2Connections.protocolFailed(ctx.channel(), cause);
+            ctx.close();
+        }
+    }
+
+    static class IdleConnectionHandler extends ChannelDuplexHandler {
 
         private static final Logger LOGGER = Logger.getLogger(IdleConnectionHandler.class.getName());
 
@@ -139,7 +199,8 @@ class NettyClientInitializer extends ChannelInitializer<SocketChannel> {
                     WebClientRequestBuilderImpl.removeChannelFromCache(key, channel);
                 }
             }
-            if (!channel.attr(RESPONSE_RECEIVED).get()) {
+            // the request may not have been assigned to the channel yet
+            if (channel.hasAttr(RESULT) && !channel.attr(RESPONSE_RECEIVED).get()) {
                 CompletableFuture<WebClientServiceResponse> responseReceived = channel.attr(RECEIVED).get();
                 CompletableFuture<WebClientResponse> responseFuture = channel.attr(RESULT).get();
                 WebClientException exception = new WebClientException("Connection reset by the host");
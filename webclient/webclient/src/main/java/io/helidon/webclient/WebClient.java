@@ -403,6 +403,68 @@ public interface WebClient {
             return this;
         }
 
+        /**
+         * Default HTTP version of the requests.
+         * With {@link Http.Version#V2_0}, HTTP/2 is negotiated with ALPN over TLS, and used with prior knowledge
+         * over plain connections. Requests to the same host are multiplexed over a single connection.
+         * Defaults to {@link Http.Version#V1_1}.
+         *
+         * @param httpVersion HTTP version
+         * @return updated builder instance
+         */
+        public Builder httpVersion(Http.Version httpVersion) {
+            configuration.httpVersion(httpVersion);
+            return this;
+        }
+
+        /**
+         * Whether connections should run on the event loops (and transport) of the web server
+         * the request is invoked from. A request invoked from a server event loop keeps its connection
+         * on that event loop. Requests invoked outside of a server context use the client event loops.
+         * Defaults to {@code false}.
+         *
+         * @param useServerEventLoops whether to use server event loops
+         * @return updated builder instance
+         */
+        public Builder useServerEventLoops(boolean useServerEventLoops) {
+            configuration.useServerEventLoops(useServerEventLoops);
+            return this;
+        }
+
+        /**
+         * Selection of the address of a server, when its host name resolves to more than one address
+         * (such as a headless service in Kubernetes). Each address has its own pool of connections.
+         * Host names are then resolved with the non-blocking resolver, see {@link #asyncDns(boolean)}.
+         * Defaults to {@link LoadBalancing#NONE}.
+         *
+         * @param loadBalancing load balancing
+         * @return updated builder instance
+         */
+        public Builder loadBalancing(LoadBalancing loadBalancing) {
+            configuration.loadBalancing(loadBalancing);
+            return this;
+        }
+
+        /**
+         * Whether to resolve host names with a non-blocking resolver, which caches the records for their TTL,
+         * instead of the JDK resolver invoked when connecting.
+         * The cache is configured with {@code client.dns} in the global configuration
+         * ({@code min-ttl-seconds}, {@code max-ttl-seconds} and {@code negative-ttl-seconds}).
+         * Defaults to {@code false}.
+         *
+         * @param asyncDns whether to use the non-blocking resolver
+         * @return updated builder instance
+         */
+        public Builder asyncDns(boolean asyncDns) {
+            configuration.asyncDns(asyncDns);
+            return this;
+        }
+
+        Builder hostResolver(HostResolver hostResolver) {
+            configuration.hostResolver(hostResolver);
+            return this;
+        }
+
         WebClientConfiguration configuration() {
             configuration.clientServices(services());
             return configuration.build();
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2019, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2019, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -34,6 +34,7 @@ import javax.net.ssl.SSLException;
 
 import io.helidon.common.LazyValue;
 import io.helidon.common.context.Context;
+import io.helidon.common.http.Http;
 import io.helidon.config.Config;
 import io.helidon.config.DeprecatedConfig;
 import io.helidon.media.common.MediaContext;
@@ -48,6 +49,8 @@ import io.helidon.media.common.MessageBodyWriterContext;
 import io.helidon.media.common.ParentingMediaContextBuilder;
 import io.helidon.webclient.spi.WebClientService;
 
+import io.netty.handler.ssl.ApplicationProtocolConfig;
+import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.ClientAuth;
 import io.netty.handler.ssl.IdentityCipherSuiteFilter;
 import io.netty.handler.ssl.JdkSslContext;
@@ -61,6 +64,13 @@ import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
  */
 class WebClientConfiguration {
 
+    private static final ApplicationProtocolConfig ALPN_HTTP2 = new ApplicationProtocolConfig(
+            ApplicationProtocolConfig.Protocol.ALPN,
+            ApplicationProtocolConfig.SelectorFailureBehavior.NO_ADVERTISE,
+            ApplicationProtocolConfig.SelectedListenerFailureBehavior.ACCEPT,
+            ApplicationProtocolNames.HTTP_2,
+            ApplicationProtocolNames.HTTP_1_1);
+
     private final WebClientRequestHeaders clientHeaders;
     private final WebClientCookieManager cookieManager;
     private final CookiePolicy cookiePolicy;
@@ -81,6 +91,11 @@ class WebClientConfiguration {
     private final URI uri;
     private final boolean validateHeaders;
     private final boolean relativeUris;
+    private final Http.Version httpVersion;
+    private final boolean useServerEventLoops;
+    private final LoadBalancing loadBalancing;
+    private final boolean asyncDns;
+    private final HostResolver hostResolver;
 
     /**
      * Creates a new instance of client configuration.
@@ -111,6 +126,11 @@ class WebClientConfiguration {
         this.keepAlive = builder.keepAlive;
         this.validateHeaders = builder.validateHeaders;
         this.relativeUris = builder.relativeUris;
+        this.httpVersion = builder.httpVersion;
+        this.useServerEventLoops = builder.useServerEventLoops;
+        this.loadBalancing = builder.loadBalancing;
+        this.asyncDns = builder.asyncDns;
+        this.hostResolver = builder.hostResolver;
     }
 
     /**
@@ -132,14 +152,26 @@ class WebClientConfiguration {
     }
 
     Optional<SslContext> sslContext() {
+        return sslContext(false);
+    }
+
+    /**
+     * Creates the SSL context of this client.
+     *
+     * @param http2 whether to offer HTTP/2 with ALPN
+     * @return SSL context
+     */
+    Optional<SslContext> sslContext(boolean http2) {
+        ApplicationProtocolConfig alpn = http2 ? ALPN_HTTP2 : null;
         SslContext sslContext;
         try {
             if (webClientTls.sslContext().isPresent()) {
-                sslContext = nettySslFromJavaNet(webClientTls.sslContext().get());
+                sslContext = nettySslFromJavaNet(webClientTls.sslContext().get(), alpn);
             } else {
                 SslContextBuilder sslContextBuilder = SslContextBuilder
                         .forClient()
-                        .sslProvider(SslProvider.JDK);
+                        .sslProvider(SslProvider.JDK)
+                        .applicationProtocolConfig(alpn);
                 if (webClientTls.certificates().size() > 0) {
                     sslContextBuilder.trustManager(webClientTls.certificates().toArray(new X509Certificate[0]));
                 }
@@ -163,11 +195,11 @@ class WebClientConfiguration {
         return Optional.of(sslContext);
     }
 
-    private SslContext nettySslFromJavaNet(SSLContext javaNetContext) {
+    private SslContext nettySslFromJavaNet(SSLContext javaNetContext, ApplicationProtocolConfig alpn) {
         Set<String> allowedCipherSuite = webClientTls.allowedCipherSuite();
         return new JdkSslContext(
                 javaNetContext, true, allowedCipherSuite.isEmpty() ? null : allowedCipherSuite,
-                IdentityCipherSuiteFilter.INSTANCE, null,
+                IdentityCipherSuiteFilter.INSTANCE, alpn,
                 ClientAuth.OPTIONAL, null, false);
     }
 
@@ -283,6 +315,51 @@ class WebClientConfiguration {
         return relativeUris;
     }
 
+    /**
+     * Default HTTP version of the requests.
+     *
+     * @return HTTP version
+     */
+    Http.Version httpVersion() {
+        return httpVersion;
+    }
+
+    /**
+     * Whether connections should use the event loops of the server the request is invoked from.
+     *
+     * @return whether to use server event loops
+     */
+    boolean useServerEventLoops() {
+        return useServerEventLoops;
+    }
+
+    /**
+     * Selection of the address of a server with several addresses.
+     *
+     * @return load balancing
+     */
+    LoadBalancing loadBalancing() {
+        return loadBalancing;
+    }
+
+    /**
+     * Whether host names are resolved with the non-blocking resolver.
+     *
+     * @return whether to use the non-blocking resolver
+     */
+    boolean asyncDns() {
+        return asyncDns;
+    }
+
+    /**
+     * Non-blocking resolver of host names.
+     *
+     * @return host resolver
+     */
+    HostResolver hostResolver() {
+        return hostResolver == null ? NettyClient.dnsResolver() : hostResolver;
+    }
+
     /**
      * A fluent API builder for {@link WebClientConfiguration}.
      */
@@ -313,6 +390,11 @@ class WebClientConfiguration {
         private MessageBodyWriterContext writerContext;
         private boolean validateHeaders;
         private boolean relativeUris;
+        private Http.Version httpVersion = Http.Version.V1_1;
+        private boolean useServerEventLoops;
+        private LoadBalancing loadBalancing = LoadBalancing.NONE;
+        private boolean asyncDns;
+        private HostResolver hostResolver;
         @SuppressWarnings("unchecked")
         private B me = (B) this;
 
@@ -490,6 +572,61 @@ class WebClientConfiguration {
             return me;
         }
 
+        /**
+         * Sets the default HTTP version of the requests.
+         * With {@link Http.Version#V2_0}, HTTP/2 is negotiated with ALPN over TLS and used with prior knowledge
+         * (h2c) over plain connections. Requests to the same host are multiplexed over a single connection.
+         *
+         * @param httpVersion HTTP version
+         * @return updated builder instance
+         */
+        public B httpVersion(Http.Version httpVersion) {
+            this.httpVersion = Objects.requireNonNull(httpVersion);
+            return me;
+        }
+
+        /**
+         * Whether to run connections on the event loops of the web server the request is invoked from.
+         * If a request is invoked from a server event loop, the connection stays on that event loop.
+         * Connections use the client's own event loops if there is no server in the current context.
+         *
+         * @param useServerEventLoops whether to use server event loops
+         * @return updated builder instance
+         */
+        public B useServerEventLoops(boolean useServerEventLoops) {
+            this.useServerEventLoops = useServerEventLoops;
+            return me;
+        }
+
+        /**
+         * Sets the selection of the address of a server, when its host name resolves to more than one address.
+         * Host names are then resolved with the non-blocking resolver, see {@link #asyncDns(boolean)}.
+         *
+         * @param loadBalancing load balancing
+         * @return updated builder instance
+         */
+        public B loadBalancing(LoadBalancing loadBalancing) {
+            this.loadBalancing = Objects.requireNonNull(loadBalancing);
+            return me;
+        }
+
+        /**
+         * Whether to resolve host names with a non-blocking resolver, which caches the records for their TTL,
+         * instead of the JDK resolver invoked when connecting.
+         *
+         * @param asyncDns whether to use the non-blocking resolver
+         * @return updated builder instance
+         */
+        public B asyncDns(boolean asyncDns) {
+            this.asyncDns = asyncDns;
+            return me;
+        }
+
+        B hostResolver(HostResolver hostResolver) {
+            this.hostResolver = hostResolver;
+            return me;
+        }
+
         @Override
         public B mediaContext(MediaContext mediaContext) {
             writerContextParent(mediaContext.writerContext());
@@ -648,6 +785,22 @@ class WebClientConfiguration {
          *     <td>proxy</td>
          *     <td>Proxy configuration. See {@link Proxy.Builder#config(Config)}</td>
          * </tr>
+         * <tr>
+         *     <td>http-version</td>
+         *     <td>Default HTTP version of the requests, {@code HTTP/1.1} or {@code HTTP/2.0}</td>
+         * </tr>
+         * <tr>
+         *     <td>use-server-event-loops</td>
+         *     <td>Whether connections should use the event loops of the current web server</td>
+         * </tr>
+         * <tr>
+         *     <td>load-balancing</td>
+         *     <td>Selection of the address of a server with several addresses, see {@link LoadBalancing}</td>
+         * </tr>
+         * <tr>
+         *     <td>async-dns</td>
+         *     <td>Whether to resolve host names with the non-blocking, caching resolver</td>
+         * </tr>
          * </table>
          *
          * @param config config
@@ -675,6 +828,12 @@ class WebClientConfiguration {
                     .ifPresent(this::proxy);
             config.get("media-support").as(MediaContext::create).ifPresent(this::mediaContext);
             config.get("relative-uris").asBoolean().ifPresent(this::relativeUris);
+            config.get("http-version").asString().map(Http.Version::create).ifPresent(this::httpVersion);
+            config.get("use-server-event-loops").asBoolean().ifPresent(this::useServerEventLoops);
+            config.get("load-balancing").asString()
+                    .map(it -> LoadBalancing.valueOf(it.toUpperCase().replace('-', '_')))
+                    .ifPresent(this::loadBalancing);
+            config.get("async-dns").asBoolean().ifPresent(this::asyncDns);
             return me;
         }
 
@@ -702,6 +861,11 @@ class WebClientConfiguration {
             context(configuration.context);
             keepAlive(configuration.keepAlive);
             validateHeaders(configuration.validateHeaders);
+            httpVersion(configuration.httpVersion);
+            useServerEventLoops(configuration.useServerEventLoops);
+            loadBalancing(configuration.loadBalancing);
+            asyncDns(configuration.asyncDns);
+            hostResolver(configuration.hostResolver);
             configuration.cookieManager.defaultCookies().forEach(this::defaultCookie);
             config = configuration.config;
 
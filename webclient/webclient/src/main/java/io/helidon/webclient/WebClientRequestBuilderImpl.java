@@ -16,6 +16,7 @@
 package io.helidon.webclient;
 
 import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -65,8 +66,8 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.ChannelOption;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.channel.EventLoop;
+import io.netty.channel.EventLoopGroup;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
 import io.netty.handler.codec.http.DefaultHttpRequest;
 import io.netty.handler.codec.http.HttpHeaderNames;
@@ -77,6 +78,11 @@ import io.netty.handler.codec.http.HttpUtil;
 import io.netty.handler.codec.http.HttpVersion;
 import io.netty.util.AsciiString;
 import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.FutureListener;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import io.netty.util.concurrent.Promise;
+import io.netty.util.concurrent.PromiseNotifier;
 
 /**
  * Implementation of {@link WebClientRequestBuilder}.
@@ -115,7 +121,6 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
     }
 
     private final Map<String, String> properties;
-    private final NioEventLoopGroup eventGroup;
     private final WebClientConfiguration configuration;
     private final Http.RequestMethod method;
     private final WebClientRequestHeaders headers;
@@ -141,11 +146,9 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
     private Long requestId;
     private boolean allowChunkedEncoding;
 
-    private WebClientRequestBuilderImpl(NioEventLoopGroup eventGroup,
-                                        WebClientConfiguration configuration,
+    private WebClientRequestBuilderImpl(WebClientConfiguration configuration,
                                         Http.RequestMethod method) {
         this.properties = new HashMap<>();
-        this.eventGroup = eventGroup;
         this.configuration = configuration;
         this.method = method;
         this.uri = configuration.uri();
@@ -155,7 +158,7 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
         //Default headers added to the current headers of the request
         this.headers = new WebClientRequestHeadersImpl(this.configuration.headers());
         this.queryParams = new WebClientQueryParams();
-        this.httpVersion = Http.Version.V1_1;
+        this.httpVersion = configuration.httpVersion();
         this.redirectionCount = 0;
         this.services = configuration.clientServices();
         this.readerContext = MessageBodyReaderContext.create(configuration.readerContext());
@@ -172,10 +175,9 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
         this.keepAlive = configuration.keepAlive();
     }
 
-    static WebClientRequestBuilder create(NioEventLoopGroup eventGroup,
-                                          WebClientConfiguration configuration,
+    static WebClientRequestBuilder create(WebClientConfiguration configuration,
                                           Http.RequestMethod method) {
-        return new WebClientRequestBuilderImpl(eventGroup, configuration, method);
+        return new WebClientRequestBuilderImpl(configuration, method);
     }
 
     /**
@@ -185,8 +187,7 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
      * @return client request builder
      */
     static WebClientRequestBuilder create(WebClientRequestImpl clientRequest) {
-        WebClientRequestBuilderImpl builder = new WebClientRequestBuilderImpl(NettyClient.eventGroup(),
-                                                                              clientRequest.configuration(),
+        WebClientRequestBuilderImpl builder = new WebClientRequestBuilderImpl(clientRequest.configuration(),
                                                                               Http.Method.GET);
         builder.headers(clientRequest.headers());
         builder.queryParams(clientRequest.queryParams());
@@ -203,29 +204,37 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
     }
 
     private static ChannelFuture obtainChannelFuture(RequestConfiguration configuration,
+                                                     InetSocketAddress endpoint,
                                                      Bootstrap bootstrap) {
-        ConnectionIdent connectionIdent = new ConnectionIdent(configuration);
+        ConnectionIdent connectionIdent = new ConnectionIdent(configuration, endpoint);
         Set<ChannelRecord> channels = CHANNEL_CACHE.computeIfAbsent(connectionIdent,
                                                                     s -> Collections.synchronizedSet(new HashSet<>()));
+        // connections on the event loop of the request (if any) are preferred, so the I/O stays on that loop
+        EventLoopGroup group = bootstrap.config().group();
+        EventLoop preferred = group instanceof EventLoop ? (EventLoop) group : null;
         synchronized (channels) {
-            for (ChannelRecord channelRecord : channels) {
-                Channel channel = channelRecord.channel;
-                if (channel.isOpen() && channel.attr(IN_USE).get().compareAndSet(false, true)) {
+            for (int pass = (preferred == null ? 1 : 0); pass < 2; pass++) {
+                for (ChannelRecord channelRecord : channels) {
+                    Channel channel = channelRecord.channel;
+                    if (pass == 0 && channel.eventLoop() != preferred) {
+                        continue;
+                    }
+                    if (channel.isOpen() && channel.attr(IN_USE).get().compareAndSet(false, true)) {
+                        if (LOGGER.isLoggable(Level.FINEST)) {
+                            LOGGER.finest(() -> "Reusing -> " + channel.hashCode() + ", settting in use -> true");
+                        }
+                        return channelRecord.channelFuture;
+                    }
                     if (LOGGER.isLoggable(Level.FINEST)) {
-                        LOGGER.finest(() -> "Reusing -> " + channel.hashCode() + ", settting in use -> true");
+                        LOGGER.finest(() -> "Not accepted -> " + channel.hashCode() + ", open -> "
+                                + channel.isOpen() + ", in use -> " + channel.attr(IN_USE).get());
                     }
-                    return channelRecord.channelFuture;
-                }
-                if (LOGGER.isLoggable(Level.FINEST)) {
-                    LOGGER.finest(() -> "Not accepted -> " + channel.hashCode() + ", open -> "
-                            + channel.isOpen() + ", in use -> " + channel.attr(IN_USE).get());
                 }
             }
             if (LOGGER.isLoggable(Level.FINEST)) {
                 LOGGER.finest(() -> "New connection to -> " + connectionIdent);
             }
-            URI uri = connectionIdent.base;
-            ChannelFuture connect = bootstrap.connect(uri.getHost(), uri.getPort());
+            ChannelFuture connect = connectionIdent.connect(bootstrap);
             Channel channel = connect.channel();
             channel.attr(IN_USE).set(new AtomicBoolean(true));
             channel.attr(RETURN).set(new AtomicBoolean(false));
@@ -235,6 +244,33 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
         }
     }
 
+    /**
+     * Connects an HTTP/1.1 channel, reusing a pooled connection if keep alive is enabled.
+     *
+     * @param configuration request configuration
+     * @param endpoint resolved address to connect to, {@code null} to connect to the host of the request
+     * @param bootstrap bootstrap of a new connection
+     * @param keepAlive whether to keep the connection alive
+     * @return future of the connected channel
+     */
+    static Future<Channel> connectHttp1(RequestConfiguration configuration,
+                                        InetSocketAddress endpoint,
+                                        Bootstrap bootstrap,
+                                        boolean keepAlive) {
+        ChannelFuture channelFuture = keepAlive
+                ? obtainChannelFuture(configuration, endpoint, bootstrap)
+                : new ConnectionIdent(configuration, endpoint).connect(bootstrap);
+        Promise<Channel> promise = channelFuture.channel().eventLoop().newPromise();
+        channelFuture.addListener((ChannelFutureListener) future -> {
+            if (future.isSuccess()) {
+                promise.setSuccess(future.channel());
+            } else {
+                promise.setFailure(future.cause());
+            }
+        });
+        return promise;
+    }
+
     static void removeChannelFromCache(ConnectionIdent key, Channel channel) {
         if (LOGGER.isLoggable(Level.FINEST)) {
             LOGGER.finest(() -> "Removing from channel cache. Connection ident ->  " + key
@@ -554,7 +590,9 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
             URI requestUri = relativizeNoProxy(finalUri, proxy, configuration.relativeUris());
             requestId = serviceRequest.requestId();
             HttpHeaders headers = toNettyHttpHeaders();
-            DefaultHttpRequest request = new DefaultHttpRequest(toNettyHttpVersion(httpVersion),
+            // HTTP/2 requests are converted to frames by the stream codec, but may fall back to HTTP/1.1 with ALPN
+            boolean http2 = httpVersion == Http.Version.V2_0;
+            DefaultHttpRequest request = new DefaultHttpRequest(http2 ? HttpVersion.HTTP_1_1 : toNettyHttpVersion(httpVersion),
                                                                 toNettyMethod(method),
                                                                 requestUri.toASCIIString(),
                                                                 headers);
@@ -578,33 +616,55 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
 
             CompletableFuture<WebClientResponse> result = new CompletableFuture<>();
 
-            Bootstrap bootstrap = new Bootstrap();
-            bootstrap.group(eventGroup)
-                    .channel(NioSocketChannel.class)
-                    .handler(new NettyClientInitializer(requestConfiguration))
+            Bootstrap bootstrap = NettyClient.eventLoops(new Bootstrap(), configuration.useServerEventLoops(), context)
+                    .handler(new NettyClientInitializer(requestConfiguration, http2))
                     .option(ChannelOption.SO_KEEPALIVE, keepAlive)
                     .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis());
 
-            ChannelFuture channelFuture = keepAlive
-                    ? obtainChannelFuture(requestConfiguration, bootstrap)
-                    : bootstrap.connect(finalUri.getHost(), finalUri.getPort());
+            Future<Channel> channelFuture;
+            if ((configuration.loadBalancing() == LoadBalancing.NONE && !configuration.asyncDns())
+                    || proxy.handler(finalUri).isPresent()) {
+                // the host name is resolved when connecting (by the proxy if used)
+                channelFuture = connect(requestConfiguration, null, bootstrap, http2, keepAlive);
+            } else {
+                Promise<Channel> connected = ImmediateEventExecutor.INSTANCE.newPromise();
+                Endpoints.select(configuration.hostResolver(), configuration.loadBalancing(), finalUri)
+                        .addListener((FutureListener<InetSocketAddress>) selected -> {
+                            if (selected.isSuccess()) {
+                                connect(requestConfiguration, selected.getNow(), bootstrap, http2, keepAlive)
+                                        .addListener(new PromiseNotifier<>(connected));
+                            } else {
+                                connected.setFailure(selected.cause());
+                            }
+                        });
+                channelFuture = connected;
+            }
 
-            channelFuture.addListener((ChannelFutureListener) future -> {
-                if (LOGGER.isLoggable(Level.FINEST)) {
-                    LOGGER.finest(() -> "(client reqID: " + requestId + ") "
-                            + "Channel hashcode -> " + channelFuture.channel().hashCode());
-                }
-                channelFuture.channel().attr(REQUEST).set(clientRequest);
-                channelFuture.channel().attr(RESPONSE_RECEIVED).set(false);
-                channelFuture.channel().attr(RECEIVED).set(responseReceived);
-                channelFuture.channel().attr(COMPLETED).set(complete);
-                channelFuture.channel().attr(WILL_CLOSE).set(!keepAlive);
-                channelFuture.channel().attr(RESULT).set(result);
-                channelFuture.channel().attr(REQUEST_ID).set(requestId);
+            channelFuture.addListener((FutureListener<Channel>) future -> {
                 Throwable cause = future.cause();
                 if (null == cause) {
+                    Channel channel = future.getNow();
+                    if (LOGGER.isLoggable(Level.FINEST)) {
+                        LOGGER.finest(() -> "(client reqID: " + requestId + ") "
+                                + "Channel hashcode -> " + channel.hashCode());
+                    }
+                    if (channel.remoteAddress() instanceof InetSocketAddress) {
+                        InetSocketAddress endpoint = (InetSocketAddress) channel.remoteAddress();
+                        serviceRequest.properties().put(WebClientServiceRequest.ENDPOINT_PROPERTY, Endpoints.name(endpoint));
+                        if (Endpoints.tracksOutstanding(configuration.loadBalancing())) {
+                            Endpoints.started(endpoint);
+                            complete.whenComplete((response, throwable) -> Endpoints.finished(endpoint));
+                        }
+                    }
+                    channel.attr(REQUEST).set(clientRequest);
+                    channel.attr(RESPONSE_RECEIVED).set(false);
+                    channel.attr(RECEIVED).set(responseReceived);
+                    channel.attr(COMPLETED).set(complete);
+                    channel.attr(WILL_CLOSE).set(!keepAlive);
+                    channel.attr(RESULT).set(result);
+                    channel.attr(REQUEST_ID).set(requestId);
                     RequestContentSubscriber requestContentSubscriber = new RequestContentSubscriber(request,
-                                                                                                     channelFuture.channel(),
+                                                                                                     channel,
                                                                                                      result,
                                                                                                      sent,
                                                                                                      allowChunkedEncoding);
@@ -621,6 +681,21 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
         return wrapWithContext(single);
     }
 
+    private static Future<Channel> connect(RequestConfiguration requestConfiguration,
+                                           InetSocketAddress endpoint,
+                                           Bootstrap bootstrap,
+                                           boolean http2,
+                                           boolean keepAlive) {
+        if (http2) {
+            // streams are closed once the response is received, the connection stays open for other streams
+            return Http2Connections.openStream(requestConfiguration, endpoint, bootstrap, () -> {
+                Bootstrap http1 = bootstrap.clone().handler(new NettyClientInitializer(requestConfiguration));
+                return connectHttp1(requestConfiguration, endpoint, http1, keepAlive);
+            });
+        }
+        return connectHttp1(requestConfiguration, endpoint, bootstrap, keepAlive);
+    }
+
     @SuppressWarnings(value = "unchecked")
     private void runInContext(Map<Class<?>, Object> data, Runnable command) {
         PROPAGATION_PROVIDERS.forEach(provider -> provider.propagateData(data.get(provider.getClass())));
@@ -984,13 +1059,27 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
         private final Duration readTimeout;
         private final Proxy proxy;
         private final WebClientTls tls;
+        private final InetSocketAddress endpoint;
 
-        private ConnectionIdent(RequestConfiguration requestConfiguration) {
+        ConnectionIdent(RequestConfiguration requestConfiguration, InetSocketAddress endpoint) {
             URI uri = requestConfiguration.requestURI();
             this.base = URI.create(uri.getScheme() + "://" + uri.getAuthority());
             this.readTimeout = requestConfiguration.readTimout();
             this.proxy = requestConfiguration.proxy().orElse(null);
             this.tls = requestConfiguration.tls();
+            this.endpoint = endpoint;
+        }
+
+        /**
+         * Connects a new channel, to the resolved endpoint if selected by load balancing.
+         *
+         * @param bootstrap bootstrap of the channel
+         * @return future of the connection
+         */
+        ChannelFuture connect(Bootstrap bootstrap) {
+            return endpoint == null
+                    ? bootstrap.connect(base.getHost(), base.getPort())
+                    : bootstrap.connect(endpoint);
         }
 
         @Override
@@ -1005,12 +1094,13 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
             return Objects.equals(base, that.base)
                     && Objects.equals(readTimeout, that.readTimeout)
                     && Objects.equals(proxy, that.proxy)
-                    && Objects.equals(tls, that.tls);
+                    && Objects.equals(tls, that.tls)
+                    && Objects.equals(endpoint, that.endpoint);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(base, readTimeout, proxy, tls);
+            return Objects.hash(base, readTimeout, proxy, tls, endpoint);
         }
 
         @Override
@@ -1020,6 +1110,7 @@ class WebClientRequestBuilderImpl implements WebClientRequestBuilder {
                     + ", readTimeout=" + readTimeout
                     + ", proxy=" + proxy
                     + ", tls=" + tls
+                    + ", endpoint=" + endpoint
                     + '}';
         }
     }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2020, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -26,6 +26,13 @@ import io.helidon.webclient.spi.WebClientService;
  * Request to SPI {@link WebClientService} that supports modification of the outgoing request.
  */
 public interface WebClientServiceRequest extends HttpRequest {
+    /**
+     * Name of the {@link #properties() property} with the endpoint (address and port) the request was sent to.
+     * The property is set once the connection is obtained, and can be used when the response is received,
+     * for example to record metrics of each resolved address of a server.
+     */
+    String ENDPOINT_PROPERTY = "io.helidon.webclient.endpoint";
+
     /**
      * Configured request headers.
      *
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.helidon.webclient;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.netty.util.concurrent.Future;
+import io.netty.util.concurrent.ImmediateEventExecutor;
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test for {@link Endpoints}.
+ */
+class EndpointsTest {
+
+    private static final List<InetAddress> ADDRESSES = List.of(address(1), address(2), address(3));
+
+    @Test
+    void testRoundRobin() {
+        int port = 8001;
+        assertThat(Endpoints.select(LoadBalancing.ROUND_ROBIN, "service", port, ADDRESSES), is(endpoint(1, port)));
+        assertThat(Endpoints.select(LoadBalancing.ROUND_ROBIN, "service", port, ADDRESSES), is(endpoint(2, port)));
+        assertThat(Endpoints.select(LoadBalancing.ROUND_ROBIN, "service", port, ADDRESSES), is(endpoint(3, port)));
+        assertThat(Endpoints.select(LoadBalancing.ROUND_ROBIN, "service", port, ADDRESSES), is(endpoint(1, port)));
+    }
+
+    @Test
+    void testNoLoadBalancing() {
+        int port = 8002;
+        assertThat(Endpoints.select(LoadBalancing.NONE, "service", port, ADDRESSES), is(endpoint(1, port)));
+        assertThat(Endpoints.select(LoadBalancing.NONE, "service", port, ADDRESSES), is(endpoint(1, port)));
+    }
+
+    @Test
+    void testLeastOutstanding() {
+        int port = 8003;
+        Endpoints.started(endpoint(1, port));
+        Endpoints.started(endpoint(1, port));
+        Endpoints.started(endpoint(2, port));
+        Endpoints.started(endpoint(3, port));
+        Endpoints.finished(endpoint(3, port));
+
+        assertThat(Endpoints.select(LoadBalancing.LEAST_OUTSTANDING, "service", port, ADDRESSES), is(endpoint(3, port)));
+        assertThat(Endpoints.outstanding(endpoint(1, port)), is(2));
+    }
+
+    @Test
+    void testPowerOfTwoChoices() {
+        int port = 8004;
+        List<InetAddress> addresses = List.of(address(1), address(2));
+        Endpoints.started(endpoint(1, port));
+
+        // with two addresses, both are always compared
+        for (int i = 0; i < 10; i++) {
+            assertThat(Endpoints.select(LoadBalancing.POWER_OF_TWO_CHOICES, "service", port, addresses),
+                       is(endpoint(2, port)));
+        }
+    }
+
+    @Test
+    void testFinishedEndpointRemoved() {
+        int port = 8007;
+        int tracked = Endpoints.tracked();
+        Endpoints.started(endpoint(1, port));
+        Endpoints.started(endpoint(1, port));
+        assertThat(Endpoints.tracked(), is(tracked + 1));
+
+        Endpoints.finished(endpoint(1, port));
+        Endpoints.finished(endpoint(1, port));
+        assertThat(Endpoints.outstanding(endpoint(1, port)), is(0));
+        assertThat(Endpoints.tracked(), is(tracked));
+    }
+
+    @Test
+    void testTracksOutstanding() {
+        assertThat(Endpoints.tracksOutstanding(LoadBalancing.NONE), is(false));
+        assertThat(Endpoints.tracksOutstanding(LoadBalancing.ROUND_ROBIN), is(false));
+        assertThat(Endpoints.tracksOutstanding(LoadBalancing.LEAST_OUTSTANDING), is(true));
+        assertThat(Endpoints.tracksOutstanding(LoadBalancing.POWER_OF_TWO_CHOICES), is(true));
+    }
+
+    @Test
+    void testResolve() throws Exception {
+        AtomicInteger resolved = new AtomicInteger();
+        HostResolver resolver = host -> {
+            resolved.incrementAndGet();
+            return ImmediateEventExecutor.INSTANCE.newSucceededFuture(ADDRESSES);
+        };
+
+        Future<InetSocketAddress> endpoint = Endpoints.select(resolver,
+                                                              LoadBalancing.ROUND_ROBIN,
+                                                              URI.create("http://resolved:8005"));
+        assertThat(endpoint.get(), is(endpoint(1, 8005)));
+        assertThat(resolved.get(), is(1));
+    }
+
+    @Test
+    void testResolveNoAddress() {
+        HostResolver resolver = host -> ImmediateEventExecutor.INSTANCE.newSucceededFuture(List.of());
+
+        Future<InetSocketAddress> endpoint = Endpoints.select(resolver,
+                                                              LoadBalancing.ROUND_ROBIN,
+                                                              URI.create("http://unknown:8006"));
+        ExecutionException e = assertThrows(ExecutionException.class, endpoint::get);
+        assertThat(e.getCause(), instanceOf(UnknownHostException.class));
+    }
+
+    @Test
+    void testEndpointName() {
+        assertThat(Endpoints.name(endpoint(1, 8080)), is("10.0.0.1:8080"));
+    }
+
+    private static InetSocketAddress endpoint(int address, int port) {
+        return new InetSocketAddress(address(address), port);
+    }
+
+    private static InetAddress address(int last) {
+        try {
+            return InetAddress.getByAddress(new byte[] {10, 0, 0, (byte) last});
+        } catch (UnknownHostException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
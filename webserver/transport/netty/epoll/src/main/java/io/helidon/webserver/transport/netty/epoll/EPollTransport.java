@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2021, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,12 +22,14 @@ import io.helidon.webserver.ServerConfiguration;
 import io.helidon.webserver.Transport;
 import io.helidon.webserver.WebServer;
 
+import io.netty.channel.Channel;
 import io.netty.channel.ChannelFactory;
 import io.netty.channel.EventLoopGroup;
 import io.netty.channel.ServerChannel;
 import io.netty.channel.epoll.Epoll;
 import io.netty.channel.epoll.EpollEventLoopGroup;
 import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
 
 /**
  * A {@link Transport} implementation based upon Netty's <a
@@ -68,7 +70,8 @@ public final class EPollTransport implements Transport {
      *
      * <li>{@code artifactType} is a subtype of {@link ChannelFactory}
      * and {@code artifactName} is exactly {@linkplain
-     * String#equals(Object) equal} to {@code serverChannelFactory}</li>
+     * String#equals(Object) equal} to either {@code serverChannelFactory}
+     * or {@code clientChannelFactory}</li>
      *
      * </ul>
      *
@@ -76,7 +79,8 @@ public final class EPollTransport implements Transport {
      * artifact to be returned; must not be {@code null}; may usefully
      * only be a subtype of either {@link EventLoopGroup} or
      * {@linkplain ChannelFactory <code>ChannelFactory&lt;? extends
-     * ServerChannel&gt;</code>}
+     * ServerChannel&gt;</code>} or {@linkplain ChannelFactory
+     * <code>ChannelFactory&lt;? extends Channel&gt;</code>}
      *
      * @param artifactName a {@link String} indicating which of
      * possibly several artifacts of the same kind to be returned;
@@ -115,6 +119,9 @@ public final class EPollTransport implements Transport {
             case "serverChannelFactory":
                 ChannelFactory<? extends ServerChannel> cf = EpollServerSocketChannel::new;
                 return Optional.of((T) cf);
+            case "clientChannelFactory":
+                ChannelFactory<? extends Channel> ccf = EpollSocketChannel::new;
+                return Optional.of((T) ccf);
             default:
                 return Optional.empty();
             }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2017, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -19,11 +19,13 @@ package io.helidon.webserver;
 import java.net.URI;
 import java.time.ZonedDateTime;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import io.helidon.common.LazyList;
@@ -50,15 +52,25 @@ class HashRequestHeaders extends ReadOnlyParameters implements RequestHeaders {
     /**
      * Accepted types for {@link #HUC_ACCEPT_DEFAULT}.
      */
-    private static final List<MediaType> HUC_ACCEPT_DEFAULT_TYPES = List.of(
+    private static final AcceptedTypes HUC_ACCEPT_DEFAULT_TYPES = AcceptedTypes.create(List.of(
                 MediaType.TEXT_HTML,
                 MediaType.parse("image/gif"),
                 MediaType.parse("image/jpeg"),
-                MediaType.parse("*/*; q=.2"));
+                MediaType.parse("*/*; q=.2")));
+
+    /**
+     * Maximal number of cached {@code Accept} header values.
+     */
+    private static final int ACCEPT_CACHE_MAX_SIZE = 256;
+
+    /**
+     * Parsed {@code Accept} header values. Clients send only a few distinct values.
+     */
+    private static final Map<String, AcceptedTypes> ACCEPT_CACHE = new ConcurrentHashMap<>();
 
     private final Object internalLock = new Object();
     private volatile Parameters cookies;
-    private List<MediaType> acceptedtypesCache;
+    private AcceptedTypes acceptedTypesCache;
 
     /**
      * Creates a new instance.
@@ -112,25 +124,7 @@ class HashRequestHeaders extends ReadOnlyParameters implements RequestHeaders {
 
     @Override
     public List<MediaType> acceptedTypes() {
-        List<MediaType> result = this.acceptedtypesCache;
-        if (result == null) {
-            List<String> acceptValues = all(Http.Header.ACCEPT);
-
-            if (acceptValues.size() == 1 && HUC_ACCEPT_DEFAULT.equals(acceptValues.get(0))) {
-                result = HUC_ACCEPT_DEFAULT_TYPES;
-
-            } else {
-                result = LazyList.create(acceptValues.stream()
-                        .flatMap(h -> Utils.tokenize(',', "\"", false, h).stream())
-                        .map(String::trim)
-                        .map(s -> LazyValue.create(() -> MediaType.parse(s)))
-                        .collect(Collectors.toList()));
-            }
-
-            result = Collections.unmodifiableList(result);
-            this.acceptedtypesCache = result;
-        }
-        return result;
+        return accepted().types;
     }
 
     @Override
@@ -145,10 +139,14 @@ class HashRequestHeaders extends ReadOnlyParameters implements RequestHeaders {
         if (mediaTypes == null || mediaTypes.length == 0) {
             return Optional.empty();
         }
-        List<MediaType> accepts = acceptedTypes();
-        if (accepts == null || accepts.isEmpty()) {
+        AcceptedTypes accepted = accepted();
+        List<MediaType> accepts = accepted.types;
+        if (accepts.isEmpty()) {
             return Optional.ofNullable(mediaTypes[0]);
         }
+        if (accepted.byQuality != null) {
+            return accepted.bestAccepted(mediaTypes);
+        }
 
         double best = 0;
         MediaType result = null;
@@ -195,6 +193,110 @@ class HashRequestHeaders extends ReadOnlyParameters implements RequestHeaders {
         return first(Http.Header.REFERER).map(URI::create);
     }
 
+    private AcceptedTypes accepted() {
+        AcceptedTypes result = this.acceptedTypesCache;
+        if (result == null) {
+            List<String> acceptValues = all(Http.Header.ACCEPT);
+
+            if (acceptValues.isEmpty()) {
+                result = AcceptedTypes.EMPTY;
+            } else if (acceptValues.size() == 1 && HUC_ACCEPT_DEFAULT.equals(acceptValues.get(0))) {
+                result = HUC_ACCEPT_DEFAULT_TYPES;
+            } else {
+                String key = acceptValues.size() == 1 ? acceptValues.get(0) : String.join(",", acceptValues);
+                result = ACCEPT_CACHE.get(key);
+                if (result == null) {
+                    result = AcceptedTypes.parse(acceptValues);
+                    if (result.byQuality != null) {
+                        if (ACCEPT_CACHE.size() >= ACCEPT_CACHE_MAX_SIZE) {
+                            ACCEPT_CACHE.clear();
+                        }
+                        ACCEPT_CACHE.put(key, result);
+                    }
+                }
+            }
+            this.acceptedTypesCache = result;
+        }
+        return result;
+    }
+
+    /**
+     * Parsed {@code Accept} header, with the media types in the order of the header
+     * and also ordered by their quality factor for negotiation.
+     */
+    private static final class AcceptedTypes {
+        private static final AcceptedTypes EMPTY = create(List.of());
+
+        private final List<MediaType> types;
+        // null if the header could not be parsed, media types are then parsed lazily and not cached
+        private final MediaType[] byQuality;
+        private final double[] qualities;
+
+        private AcceptedTypes(List<MediaType> types, MediaType[] byQuality, double[] qualities) {
+            this.types = types;
+            this.byQuality = byQuality;
+            this.qualities = qualities;
+        }
+
+        private static AcceptedTypes create(List<MediaType> types) {
+            // stable sort, media types with the same quality keep the order of the header
+            MediaType[] byQuality = types.stream()
+                    .sorted(Comparator.comparingDouble(MediaType::qualityFactor).reversed())
+                    .toArray(MediaType[]::new);
+            double[] qualities = new double[byQuality.length];
+            for (int i = 0; i < byQuality.length; i++) {
+                qualities[i] = byQuality[i].qualityFactor();
+            }
+            return new AcceptedTypes(List.copyOf(types), byQuality, qualities);
+        }
+
+        private static AcceptedTypes parse(List<String> acceptValues) {
+            List<String> values = acceptValues.stream()
+                    .flatMap(h -> Utils.tokenize(',', "\"", false, h).stream())
+                    .map(String::trim)
+                    .collect(Collectors.toList());
+            try {
+                return create(values.stream()
+                                      .map(MediaType::parse)
+                                      .collect(Collectors.toList()));
+            } catch (IllegalArgumentException e) {
+                // invalid media types only fail when used, as they are parsed lazily
+                List<MediaType> lazy = LazyList.create(values.stream()
+                                                               .map(s -> LazyValue.create(() -> MediaType.parse(s)))
+                                                               .collect(Collectors.toList()));
+                return new AcceptedTypes(Collections.unmodifiableList(lazy), null, null);
+            }
+        }
+
+        /**
+         * The first of the media types accepted with the highest quality factor.
+         */
+        private Optional<MediaType> bestAccepted(MediaType... mediaTypes) {
+            int tierStart = 0;
+            while (tierStart < byQuality.length) {
+                double quality = qualities[tierStart];
+                if (quality <= 0) {
+                    break;
+                }
+                int tierEnd = tierStart + 1;
+                while (tierEnd < byQuality.length && qualities[tierEnd] == quality) {
+                    tierEnd++;
+                }
+                for (MediaType mt : mediaTypes) {
+                    if (mt != null) {
+                        for (int i = tierStart; i < tierEnd; i++) {
+                            if (byQuality[i].test(mt)) {
+                                return Optional.of(mt);
+                            }
+                        }
+                    }
+                }
+                tierStart = tierEnd;
+            }
+            return Optional.empty();
+        }
+    }
+
     /**
      * Parse cookies based on RFC6265 but it can accepts also older formats including RFC2965 but skips parameters.
      */
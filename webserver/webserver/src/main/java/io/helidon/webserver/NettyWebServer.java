@@ -58,6 +58,7 @@ import io.netty.channel.EventLoopGroup;
 import io.netty.channel.ServerChannel;
 import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.logging.LogLevel;
 import io.netty.handler.logging.LoggingHandler;
 import io.netty.handler.ssl.ApplicationProtocolConfig;
@@ -123,6 +124,7 @@ class NettyWebServer implements WebServer {
         this.transport = acquireTransport();
         this.bossGroup = bossGroup();
         this.workerGroup = workerGroup();
+        registerClientTransport();
         this.readerContext = MessageBodyReaderContext.create(readerContext);
         this.writerContext = MessageBodyWriterContext.create(writerContext);
 
@@ -516,6 +518,21 @@ class NettyWebServer implements WebServer {
             .orElseThrow(() -> noSuchTransportArtifact("serverChannelFactory"));
     }
 
+    /**
+     * Registers the worker group and the factory of client channels that run on it with the server context.
+     * Clients invoked from within the server context (such as {@code WebClient}) may use these to run their
+     * connections on the worker event loops, with the same transport as the server.
+     */
+    @SuppressWarnings("unchecked")
+    private void registerClientTransport() {
+        transport()
+            .createTransportArtifact(ChannelFactory.class, "clientChannelFactory", configuration)
+            .ifPresent(channelFactory -> {
+                contextualRegistry.register(workerGroup);
+                contextualRegistry.register(workerGroup, channelFactory);
+            });
+    }
+
     private NoSuchElementException noSuchTransportArtifact(String name) {
         return new NoSuchElementException("The current webserver transport, "
                                           + transport() + ", could not supply "
@@ -553,6 +570,9 @@ class NettyWebServer implements WebServer {
                 case "serverChannelFactory":
                     ChannelFactory<? extends ServerChannel> cf = NioServerSocketChannel::new;
                     return Optional.of((T) cf);
+                case "clientChannelFactory":
+                    ChannelFactory<? extends Channel> ccf = NioSocketChannel::new;
+                    return Optional.of((T) ccf);
                 default:
                     return Optional.empty();
                 }
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2017, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -37,6 +37,7 @@ import io.helidon.common.reactive.Single;
 import io.helidon.media.common.MessageBodyContext;
 import io.helidon.media.common.MessageBodyReadableContent;
 import io.helidon.media.common.MessageBodyReaderContext;
+import io.helidon.tracing.SpanSampling;
 import io.helidon.tracing.config.SpanTracingConfig;
 import io.helidon.tracing.config.TracingConfigUtil;
 
@@ -206,7 +207,7 @@ abstract class Request implements ServerRequest {
         private Span createReadSpan(GenericType<?> type) {
             // only create this span if we have a parent span
             Optional<SpanContext> parentSpan = spanContext();
-            if (parentSpan.isEmpty()) {
+            if (parentSpan.isEmpty() || SpanSampling.isUnsampled(parentSpan.get())) {
                 return null;
             }
 
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2017, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package io.helidon.webserver;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -32,11 +33,11 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import io.helidon.common.LazyValue;
+import io.helidon.common.context.Context;
 import io.helidon.common.context.Contexts;
 import io.helidon.common.http.AlreadyCompletedException;
 import io.helidon.common.http.Http;
 import io.helidon.common.http.MediaType;
-import io.helidon.tracing.config.SpanTracingConfig;
 import io.helidon.tracing.config.TracingConfigUtil;
 
 import io.opentracing.Span;
@@ -51,6 +52,7 @@ class RequestRouting implements Routing {
     private static final Logger LOGGER = Logger.getLogger(RequestRouting.class.getName());
 
     private final RouteList routes;
+    private final HandlerChains handlerChains;
     private final List<ErrorHandlerRecord<?>> errorHandlers;
     private final List<Consumer<WebServer>> newWebServerCallbacks;
 
@@ -62,8 +64,24 @@ class RequestRouting implements Routing {
      * @param newWebServerCallbacks a list of callback handlers for registration in new {@link WebServer}. It is copied.
      */
     RequestRouting(RouteList routes, List<ErrorHandlerRecord<?>> errorHandlers, List<Consumer<WebServer>> newWebServerCallbacks) {
+        this(routes, errorHandlers, newWebServerCallbacks, false);
+    }
+
+    /**
+     * Creates new instance.
+     *
+     * @param routes                effective route
+     * @param errorHandlers         a list of error handlers
+     * @param newWebServerCallbacks a list of callback handlers for registration in new {@link WebServer}. It is copied.
+     * @param precomputeChains      whether to flatten the routes into handler chains
+     */
+    RequestRouting(RouteList routes,
+                   List<ErrorHandlerRecord<?>> errorHandlers,
+                   List<Consumer<WebServer>> newWebServerCallbacks,
+                   boolean precomputeChains) {
         this.routes = routes;
-        this.errorHandlers = errorHandlers;
+        this.handlerChains = precomputeChains ? new HandlerChains(routes) : null;
+        this.errorHandlers = List.copyOf(errorHandlers);
         this.newWebServerCallbacks = new ArrayList<>(newWebServerCallbacks);
     }
 
@@ -82,7 +100,9 @@ class RequestRouting implements Routing {
             String path = canonicalize(bareRequest.uri().normalize().getPath());
             String rawPath = canonicalize(bareRequest.uri().normalize().getRawPath());
 
-            Crawler crawler = new Crawler(routes, path, rawPath, bareRequest.method());
+            RouteCrawler crawler = handlerChains == null
+                    ? new Crawler(routes, path, rawPath, bareRequest.method())
+                    : handlerChains.crawler(path, rawPath, bareRequest.method());
             RoutedRequest nextRequests = new RoutedRequest(bareRequest, response, webServer, crawler, errorHandlers,
                                                            requestHeaders);
             response.request(nextRequests);
@@ -119,10 +139,58 @@ class RequestRouting implements Routing {
         }
     }
 
+    /**
+     * Iterates over the {@link HandlerRoute handler routes} matching a request. Created for each request
+     * and shared by all {@link RoutedRequest routed requests} of the request.
+     */
+    private abstract static class RouteCrawler {
+
+        private volatile Boolean logHandlerClass;
+
+        /**
+         * Returns next {@link HandlerRoute} to execute or {@code null} if there are no more acceptable routes.
+         *
+         * @return a next item.
+         */
+        abstract Item next();
+
+        /**
+         * Whether to log the class of each handler to the request span. Resolved once per request,
+         * as the tracing configuration is registered in the context before the span is created.
+         *
+         * @param context request context
+         * @return {@code true} if the handler class should be logged
+         */
+        boolean logHandlerClass(Context context) {
+            Boolean result = logHandlerClass;
+            if (result == null) {
+                result = TracingConfigUtil.spanConfig("web-server", "HTTP Request", context)
+                        .spanLog("handler.class")
+                        .enabled();
+                logHandlerClass = result;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Represents single accepted {@link HandlerRoute} with resolved {@code path parameters}.
+     */
+    private static class Item {
+
+        private final HandlerRoute handlerRoute;
+        private final Request.Path path;
+
+        Item(HandlerRoute handlerRoute, Request.Path path) {
+            this.handlerRoute = handlerRoute;
+            this.path = path;
+        }
+    }
+
     /**
      * A deep 'iterator' without a {@code hasNext()} method for a tree of {@link Route routes} based on the routing criteria.
      */
-    private static class Crawler {
+    private static class Crawler extends RouteCrawler {
 
         private final List<Route> routes;
         private final Request.Path contextPath;
@@ -169,7 +237,8 @@ class RequestRouting implements Routing {
          *
          * @return a next item.
          */
-        public Item next() {
+        @Override
+        Item next() {
             while ((subCrawler != null) || (++index < routes.size())) {
                 if (subCrawler != null) {
                     Item result = subCrawler.next();
@@ -210,27 +279,188 @@ class RequestRouting implements Routing {
             }
             return null;
         }
+    }
 
-        /**
-         * Represents single accepted {@link HandlerRoute} with resolved {@code path parameters}.
-         */
-        private static class Item {
+    /**
+     * Handler routes flattened in routing order when the routing is built, for each standard HTTP method.
+     * Each handler route keeps the route lists it is nested in, so the path context of a route list
+     * is matched at most once per request.
+     */
+    private static final class HandlerChains {
+
+        private final ChainEntry[] all;
+        private final Map<Http.Method, ChainEntry[]> byMethod = new EnumMap<>(Http.Method.class);
+        private final int maxDepth;
+
+        private HandlerChains(RouteList routes) {
+            List<ChainEntry> entries = new ArrayList<>();
+            flatten(routes, new ArrayList<>(), entries);
+            this.all = entries.toArray(new ChainEntry[0]);
+            this.maxDepth = entries.stream()
+                    .mapToInt(entry -> entry.parents.length)
+                    .max()
+                    .orElse(0);
+            for (Http.Method method : Http.Method.values()) {
+                byMethod.put(method, entries.stream()
+                        .filter(entry -> entry.accepts(method))
+                        .toArray(ChainEntry[]::new));
+            }
+        }
 
-            private final HandlerRoute handlerRoute;
-            private final Request.Path path;
+        private static void flatten(List<Route> routes, List<RouteList> parents, List<ChainEntry> result) {
+            for (Route route : routes) {
+                if (route instanceof HandlerRoute) {
+                    result.add(new ChainEntry((HandlerRoute) route, parents.toArray(new RouteList[0])));
+                } else if (route instanceof RouteList) {
+                    parents.add((RouteList) route);
+                    flatten((RouteList) route, parents, result);
+                    parents.remove(parents.size() - 1);
+                }
+            }
+        }
 
-            Item(HandlerRoute handlerRoute, Request.Path path) {
-                this.handlerRoute = handlerRoute;
-                this.path = path;
+        private RouteCrawler crawler(String path, String rawPath, Http.RequestMethod method) {
+            if (method instanceof Http.Method) {
+                return new ChainCrawler(this, byMethod.get(method), false, path, rawPath, method);
             }
+            // custom methods are checked for each route
+            return new ChainCrawler(this, all, true, path, rawPath, method);
+        }
+    }
+
+    /**
+     * A handler route and the route lists it is nested in, outermost first.
+     */
+    private static final class ChainEntry {
+
+        private final HandlerRoute route;
+        private final RouteList[] parents;
+
+        private ChainEntry(HandlerRoute route, RouteList[] parents) {
+            this.route = route;
+            this.parents = parents;
+        }
+
+        private boolean accepts(Http.RequestMethod method) {
+            if (!route.accepts(method)) {
+                return false;
+            }
+            for (RouteList parent : parents) {
+                if (!parent.accepts(method)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Advances through a precomputed handler chain with an index. Matches the same routes in the same order as
+     * {@link Crawler}. Path contexts of route lists are matched once and kept by depth, as consecutive entries
+     * usually share the same route lists.
+     */
+    private static final class ChainCrawler extends RouteCrawler {
+
+        private final ChainEntry[] entries;
+        private final boolean checkMethod;
+        private final String path;
+        private final String rawPath;
+        private final Http.RequestMethod method;
+
+        // matched route lists by depth, valid up to matchedDepth
+        private final RouteList[] lists;
+        private final boolean[] matches;
+        private final Request.Path[] contextPaths;
+        private final String[] paths;
+        private final String[] rawPaths;
+        private int matchedDepth;
 
+        private volatile int index = -1;
+
+        private ChainCrawler(HandlerChains chains,
+                             ChainEntry[] entries,
+                             boolean checkMethod,
+                             String path,
+                             String rawPath,
+                             Http.RequestMethod method) {
+            this.entries = entries;
+            this.checkMethod = checkMethod;
+            this.path = path;
+            this.rawPath = rawPath;
+            this.method = method;
+            this.lists = new RouteList[chains.maxDepth];
+            this.matches = new boolean[chains.maxDepth];
+            this.contextPaths = new Request.Path[chains.maxDepth];
+            this.paths = new String[chains.maxDepth];
+            this.rawPaths = new String[chains.maxDepth];
+        }
+
+        @Override
+        Item next() {
+            int i = index;
+            while (++i < entries.length) {
+                ChainEntry entry = entries[i];
+                if (checkMethod && !entry.accepts(method)) {
+                    continue;
+                }
+                int depth = entry.parents.length;
+                if (!matchParents(entry.parents)) {
+                    continue;
+                }
+                String currentPath = depth == 0 ? path : paths[depth - 1];
+                PathMatcher.Result match = entry.route.match(currentPath);
+                if (match.matches()) {
+                    index = i;
+                    return new Item(entry.route, Request.Path.create(depth == 0 ? null : contextPaths[depth - 1],
+                                                                     currentPath,
+                                                                     depth == 0 ? rawPath : rawPaths[depth - 1],
+                                                                     match.params()));
+                }
+                LOGGER.finest(() -> "Route candidate '" + entry.route + "' doesn't match path: " + currentPath);
+            }
+            index = i;
+            return null;
+        }
+
+        private boolean matchParents(RouteList[] parents) {
+            int depth = 0;
+            // reuse the levels shared with the previous entry
+            while (depth < parents.length && depth < matchedDepth && lists[depth] == parents[depth]) {
+                if (!matches[depth]) {
+                    return false;
+                }
+                depth++;
+            }
+            for (; depth < parents.length; depth++) {
+                RouteList list = parents[depth];
+                String parentPath = depth == 0 ? path : paths[depth - 1];
+                String parentRawPath = depth == 0 ? rawPath : rawPaths[depth - 1];
+                PathMatcher.PrefixResult prefixMatch = list.prefixMatch(parentPath);
+                lists[depth] = list;
+                matchedDepth = depth + 1;
+                if (!prefixMatch.matches()) {
+                    matches[depth] = false;
+                    LOGGER.finest(() -> "Route candidate '" + list + "' doesn't match path: " + parentPath);
+                    return false;
+                }
+                matches[depth] = true;
+                contextPaths[depth] = Request.Path.create(depth == 0 ? null : contextPaths[depth - 1],
+                                                          parentPath,
+                                                          parentRawPath,
+                                                          prefixMatch.params());
+                paths[depth] = prefixMatch.remainingPart();
+                rawPaths[depth] = list.prefixMatch(parentRawPath).remainingPart();
+            }
+            return true;
         }
     }
 
     private static class RoutedRequest extends Request {
 
-        private final Crawler crawler;
-        private final LinkedList<ErrorHandlerRecord<? extends Throwable>> errorHandlers;
+        private final RouteCrawler crawler;
+        // not modified, copied to errorHandlers when handling the first error
+        private final List<ErrorHandlerRecord<?>> errorHandlerRecords;
+        private LinkedList<ErrorHandlerRecord<? extends Throwable>> errorHandlers;
         private final Path path;
         private final RoutedResponse response;
 
@@ -249,12 +479,12 @@ class RequestRouting implements Routing {
         RoutedRequest(BareRequest req,
                       RoutedResponse response,
                       WebServer webServer,
-                      Crawler crawler,
+                      RouteCrawler crawler,
                       List<ErrorHandlerRecord<?>> errorHandlers,
                       HashRequestHeaders headers) {
             super(req, webServer, headers);
             this.crawler = crawler;
-            this.errorHandlers = new LinkedList<>(errorHandlers);
+            this.errorHandlerRecords = errorHandlers;
             this.path = null;
             this.response = response;
         }
@@ -275,7 +505,7 @@ class RequestRouting implements Routing {
             this.crawler = request.crawler;
             this.response = response;
             this.path = path;
-            this.errorHandlers = new LinkedList<>(errorHandlers);
+            this.errorHandlerRecords = errorHandlers;
         }
 
         Span span() {
@@ -299,29 +529,24 @@ class RequestRouting implements Routing {
         @Override
         public void next() {
             checkNexted();
-            Crawler.Item nextItem = crawler.next();
+            Item nextItem = crawler.next();
             if (nextItem == null) {
                 // 404 error
                 nextNoCheck(new NotFoundException("No handler found for path: "
                         + HtmlEncoder.encode(path().toString())));
             } else {
                 try {
-                    RoutedResponse nextResponse = new RoutedResponse(response);
-                    RoutedRequest nextRequest = new RoutedRequest(this, nextResponse, nextItem.path, errorHandlers);
+                    // all routed responses of a request share the same state, no need for a new one
+                    RoutedRequest nextRequest = new RoutedRequest(this, response, nextItem.path, errorHandlerRecords);
                     LOGGER.finest(() -> "(reqID: " + requestId() + ") Routing next: " + nextItem.path);
                     Span span = span();
-                    if (null != span) {
-                        SpanTracingConfig spanConfig = TracingConfigUtil.spanConfig("web-server",
-                                                                                    "HTTP Request",
-                                                                                    context());
-                        if (spanConfig.spanLog("handler.class").enabled()) {
-                            span.log(nextItem.handlerRoute.diagnosticEvent());
-                        }
+                    if (null != span && crawler.logHandlerClass(context())) {
+                        span.log(nextItem.handlerRoute.diagnosticEvent());
                     }
 
                     nextItem.handlerRoute
                             .handler()
-                            .accept(nextRequest, nextResponse);
+                            .accept(nextRequest, response);
                 } catch (RuntimeException re) {
                     nextNoCheck(re);
                 }
@@ -348,6 +573,9 @@ class RequestRouting implements Routing {
 
             LOGGER.finest(() -> "(reqID: " + requestId() + ") Routing error: " + t.getClass());
 
+            if (errorHandlers == null) {
+                errorHandlers = new LinkedList<>(errorHandlerRecords);
+            }
             for (ErrorHandlerRecord<?> record = errorHandlers.pollFirst(); record != null; record = errorHandlers.pollFirst()) {
                 if (record.exceptionClass.isAssignableFrom(t.getClass())) {
                     ErrorRoutedRequest nextErrorRequest = new ErrorRoutedRequest(errorHandlers, t);
@@ -440,7 +668,7 @@ class RequestRouting implements Routing {
             private final Throwable t;
 
             ErrorRoutedRequest(LinkedList<ErrorHandlerRecord<?>> errorHandlers, Throwable t) {
-                super(RoutedRequest.this, new RoutedResponse(response), path, errorHandlers);
+                super(RoutedRequest.this, new RoutedResponse(response), path, new LinkedList<>(errorHandlers));
                 this.t = t;
             }
 
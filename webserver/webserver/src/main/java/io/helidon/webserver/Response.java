@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2017, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -34,6 +34,7 @@ import io.helidon.media.common.MessageBodyFilter;
 import io.helidon.media.common.MessageBodyStreamWriter;
 import io.helidon.media.common.MessageBodyWriter;
 import io.helidon.media.common.MessageBodyWriterContext;
+import io.helidon.tracing.SpanSampling;
 import io.helidon.tracing.config.SpanTracingConfig;
 import io.helidon.tracing.config.TracingConfigUtil;
 
@@ -141,6 +142,10 @@ abstract class Response implements ServerResponse {
             // from request
             return null;
         }
+        if (SpanSampling.isUnsampled(parentSpan.get())) {
+            // children of a trace that is not sampled are not reported either
+            return null;
+        }
 
         SpanTracingConfig spanConfig = TracingConfigUtil.spanConfig(
                 NettyWebServer.TRACING_COMPONENT, TRACING_CONTENT_WRITE);
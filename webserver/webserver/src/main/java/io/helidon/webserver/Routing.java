@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2017, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -439,6 +439,7 @@ public interface Routing {
         private final RouteListRoutingRules delegate = new RouteListRoutingRules();
         private final List<RequestRouting.ErrorHandlerRecord<?>> errorHandlerRecords = new ArrayList<>();
         private boolean tracingRegistered;
+        private boolean precomputeHandlerChains;
 
         /**
          * Creates new instance.
@@ -689,6 +690,22 @@ public interface Routing {
             return this;
         }
 
+        /**
+         * Whether to flatten the registered routes into a handler chain for each HTTP method when the routing is built.
+         * Requests are then routed by advancing an index through the chain of their method, and the path context
+         * of a nested routing is matched once per request instead of once per handler.
+         * <p>
+         * Routes cannot be changed after the routing is built, so the result is the same either way.
+         * Defaults to {@code false}.
+         *
+         * @param precompute whether to precompute the handler chains
+         * @return an updated builder
+         */
+        public Builder precomputeHandlerChains(boolean precompute) {
+            this.precomputeHandlerChains = precompute;
+            return this;
+        }
+
         // --------------- BUILD API
 
         /**
@@ -701,7 +718,10 @@ public interface Routing {
                 register(WebTracingConfig.create());
             }
             RouteListRoutingRules.Aggregation aggregate = delegate.aggregate();
-            return new RequestRouting(aggregate.routeList(), errorHandlerRecords, aggregate.newWebServerCallbacks());
+            return new RequestRouting(aggregate.routeList(),
+                                      errorHandlerRecords,
+                                      aggregate.newWebServerCallbacks(),
+                                      precomputeHandlerChains);
         }
 
         /**
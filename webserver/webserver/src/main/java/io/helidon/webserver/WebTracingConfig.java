@@ -27,6 +27,7 @@ import io.helidon.common.context.Context;
 import io.helidon.common.context.Contexts;
 import io.helidon.common.http.Http;
 import io.helidon.config.Config;
+import io.helidon.tracing.SpanSampling;
 import io.helidon.tracing.config.SpanTracingConfig;
 import io.helidon.tracing.config.TracingConfig;
 import io.helidon.tracing.config.TracingConfigUtil;
@@ -286,9 +287,6 @@ public abstract class WebTracingConfig {
             // must run in context
             Context context = req.context();
 
-            SpanTracingConfig spanConfig = TracingConfigUtil
-                    .spanConfig(NettyWebServer.TRACING_COMPONENT, TRACING_SPAN_HTTP_REQUEST, context);
-
             // convert to a simple map
             Map<String, List<String>> multiMap = req.headers().toMap();
             Map<String, String> headersMap = new HashMap<>();
@@ -311,8 +309,16 @@ public abstract class WebTracingConfig {
                 // register as parent span
                 context.register(inboundSpanContext);
                 context.register(ServerRequest.class, inboundSpanContext);
+
+                if (SpanSampling.isUnsampled(inboundSpanContext)) {
+                    // the caller decided not to sample this trace, the inbound context is propagated as is
+                    return;
+                }
             }
 
+            SpanTracingConfig spanConfig = TracingConfigUtil
+                    .spanConfig(NettyWebServer.TRACING_COMPONENT, TRACING_SPAN_HTTP_REQUEST, context);
+
             if (!spanConfig.enabled()) {
                 return;
             }
@@ -322,6 +328,7 @@ public abstract class WebTracingConfig {
                 spanName = String.format(spanName, req.method().name(), req.path(), req.query());
             }
             // tracing is enabled, so we replace the parent span with web server parent span
+            // tags are set on the builder, as samplers may decide based on them when the span is started
             Tracer.SpanBuilder spanBuilder = tracer.buildSpan(spanName)
                     .withTag(Tags.COMPONENT.getKey(), "helidon-webserver")
                     .withTag(Tags.HTTP_METHOD.getKey(), req.method().name())
@@ -337,6 +344,12 @@ public abstract class WebTracingConfig {
             context.register(span.context());
             context.register(ServerRequest.class, span.context());
 
+            if (SpanSampling.isUnsampled(span.context())) {
+                // not reported, the response status and errors are not evaluated
+                res.whenSent().whenComplete((sent, throwable) -> span.finish());
+                return;
+            }
+
             res.whenSent()
                     .thenRun(() -> {
                         Http.ResponseStatus httpStatus = res.status();
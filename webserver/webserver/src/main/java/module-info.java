@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2018, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2018, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,6 +27,7 @@ module io.helidon.webserver {
     requires transitive io.helidon.common.context;
     requires transitive io.helidon.config;
     requires transitive io.helidon.tracing.config;
+    requires io.helidon.tracing;
     requires transitive io.opentracing.util;
     requires io.helidon.logging.common;
     requires static io.helidon.config.metadata;
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2021 Oracle and/or its affiliates.
+ * Copyright (c) 2017, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -34,6 +34,7 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.collection.IsIterableContainingInOrder.contains;
 import static org.hamcrest.core.IsCollectionContaining.hasItems;
@@ -161,6 +162,26 @@ public class HashRequestHeadersTest {
         assertThat(hs.bestAccepted().isPresent(), is(false));
     }
 
+    @Test
+    public void acceptedTypesCached() {
+        String accept = "application/json;q=0.9, text/plain;q=0.5, application/vnd.helidon+json";
+        List<MediaType> first = withHeader(Http.Header.ACCEPT, accept).acceptedTypes();
+        List<MediaType> second = withHeader(Http.Header.ACCEPT, accept).acceptedTypes();
+        assertThat(second, sameInstance(first));
+        assertThat(second.get(0), is(createMt("application", "json", Map.of("q", "0.9"))));
+        assertThat(withHeader(Http.Header.ACCEPT, accept).bestAccepted(MediaType.TEXT_PLAIN,
+                                                                       MediaType.APPLICATION_JSON).orElse(null),
+                   is(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    public void acceptedTypesInvalid() {
+        HashRequestHeaders hs = withHeader(Http.Header.ACCEPT, "text/plain, invalid");
+        assertThat(hs.acceptedTypes().size(), is(2));
+        assertThat(hs.acceptedTypes().get(0), is(MediaType.TEXT_PLAIN));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> hs.acceptedTypes().get(1));
+    }
+
     @Test
     public void acceptDatetime() {
         HashRequestHeaders hs = withHeader(Http.Header.ACCEPT_DATETIME, "Tue, 3 Jun 2008 11:05:30 GMT");
@@ -1,5 +1,5 @@
 /*
- * Copyright (c) 2017, 2020 Oracle and/or its affiliates.
+ * Copyright (c) 2017, 2022 Oracle and/or its affiliates.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package io.helidon.webserver;
 
 import java.net.URI;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import io.helidon.common.context.Context;
@@ -122,7 +123,75 @@ public class RoutingTest {
         assertThat(checker.handlersInvoked(), is("createUser"));
     }
 
-    static BareRequest mockRequest(String path, Http.Method method) {
+    @Test
+    public void precomputedHandlerChains() {
+        Http.RequestMethod patch = Http.RequestMethod.create("PATCH");
+        final RoutingChecker classicChecker = new RoutingChecker();
+        final RoutingChecker precomputedChecker = new RoutingChecker();
+        Routing classic = checkedRouting(classicChecker, patch, false);
+        Routing precomputed = checkedRouting(precomputedChecker, patch, true);
+
+        for (String path : new String[] {"/", "/user", "/user/john", "/admin/user/jack", "/admin/role/1", "/other"}) {
+            for (Http.RequestMethod method : new Http.RequestMethod[] {Http.Method.GET, Http.Method.POST, patch}) {
+                classicChecker.reset();
+                precomputedChecker.reset();
+                classic.route(mockRequest(path, method), mockResponse());
+                precomputed.route(mockRequest(path, method), mockResponse());
+                assertThat(method.name() + " " + path,
+                           precomputedChecker.handlersInvoked(),
+                           is(classicChecker.handlersInvoked()));
+            }
+        }
+
+        precomputedChecker.reset();
+        precomputed.route(mockRequest("/admin/user/jack", Http.Method.GET), mockResponse());
+        assertThat(precomputedChecker.handlersInvoked(), is("any:/admin/user/jack,admin:/admin/user/jack,"
+                + "adminUser:/jack,getUser:jack:/admin/user/jack,notFound"));
+    }
+
+    private static Routing checkedRouting(RoutingChecker checker, Http.RequestMethod patch, boolean precompute) {
+        return Routing.builder()
+                .any((req, res) -> {
+                    checker.handlerInvoked("any:" + req.path().absolute());
+                    req.next();
+                })
+                .register("/admin", rules -> rules
+                        .any((req, res) -> {
+                            checker.handlerInvoked("admin:" + req.path().absolute());
+                            req.next();
+                        })
+                        .register("/user", userRules -> userRules
+                                .any((req, res) -> {
+                                    checker.handlerInvoked("adminUser:" + req.path());
+                                    req.next();
+                                })
+                                .get("/{name}", (req, res) -> {
+                                    checker.handlerInvoked("getUser:" + req.path().param("name")
+                                                                   + ":" + req.path().absolute());
+                                    req.next();
+                                }))
+                        .anyOf(List.of(patch), "/role/{id}", (req, res) -> {
+                            checker.handlerInvoked("patchRole:" + req.path().param("id"));
+                            req.next();
+                        }))
+                .get("/user/{name}", (req, res) -> {
+                    checker.handlerInvoked("getUser:" + req.path().param("name"));
+                    req.next();
+                })
+                .post("/user", (req, res) -> {
+                    checker.handlerInvoked("postUser");
+                    req.next();
+                })
+                .anyOf(List.of(patch), (req, res) -> {
+                    checker.handlerInvoked("patch");
+                    req.next();
+                })
+                .error(NotFoundException.class, (req, res, ex) -> checker.handlerInvoked("notFound"))
+                .precomputeHandlerChains(precompute)
+                .build();
+    }
+
+    static BareRequest mockRequest(String path, Http.RequestMethod method) {
         BareRequest bareRequestMock = mock(BareRequest.class);
         doReturn(URI.create("http://0.0.0.0:1234/" + path)).when(bareRequestMock).uri();
         doReturn(method).when(bareRequestMock).method();
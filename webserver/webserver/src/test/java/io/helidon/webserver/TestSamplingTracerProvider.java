@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver;
+
+import java.util.Optional;
+
+import io.helidon.config.Config;
+import io.helidon.tracing.TracerBuilder;
+import io.helidon.tracing.spi.TracerProvider;
+
+import io.opentracing.SpanContext;
+import io.opentracing.Tracer;
+import io.opentracing.mock.MockSpan;
+import io.opentracing.noop.NoopTracerFactory;
+
+/**
+ * Sampling decision of {@link io.opentracing.mock.MockTracer} span contexts, from their {@value #SAMPLED} baggage item.
+ * Propagated in headers as {@code baggage-sampled}.
+ * As this provider is registered for all tests of the module, tracers built through it are no-op tracers.
+ */
+public class TestSamplingTracerProvider implements TracerProvider {
+    /**
+     * Baggage item with the sampling decision.
+     */
+    public static final String SAMPLED = "sampled";
+
+    @Override
+    public TracerBuilder<?> createBuilder() {
+        return new NoopBuilder();
+    }
+
+    @Override
+    public Optional<Boolean> sampled(SpanContext spanContext) {
+        if (spanContext instanceof MockSpan.MockContext) {
+            return Optional.ofNullable(((MockSpan.MockContext) spanContext).getBaggageItem(SAMPLED))
+                    .map(Boolean::parseBoolean);
+        }
+        return Optional.empty();
+    }
+
+    private static final class NoopBuilder implements TracerBuilder<NoopBuilder> {
+        @Override
+        public NoopBuilder serviceName(String name) {
+            return this;
+        }
+
+        @Override
+        public NoopBuilder collectorProtocol(String protocol) {
+            return this;
+        }
+
+        @Override
+        public NoopBuilder collectorPort(int port) {
+            return this;
+        }
+
+        @Override
+        public NoopBuilder collectorHost(String host) {
+            return this;
+        }
+
+        @Override
+        public NoopBuilder collectorPath(String path) {
+            return this;
+        }
+
+        @Override
+        public NoopBuilder addTracerTag(String key, String value) {
+            return this;
+        }
+
+        @Override
+        public NoopBuilder addTracerTag(String key, Number value) {
+            return this;
+        }
+
+        @Override
+        public NoopBuilder addTracerTag(String key, boolean value) {
+            return this;
+        }
+
+        @Override
+        public NoopBuilder config(Config config) {
+            return this;
+        }
+
+        @Override
+        public NoopBuilder enabled(boolean enabled) {
+            return this;
+        }
+
+        @Override
+        public NoopBuilder registerGlobal(boolean global) {
+            return this;
+        }
+
+        @Override
+        public Tracer build() {
+            return NoopTracerFactory.create();
+        }
+    }
+}
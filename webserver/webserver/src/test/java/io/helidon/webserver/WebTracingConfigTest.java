@@ -18,14 +18,27 @@ package io.helidon.webserver;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
+import io.helidon.common.http.Http;
+import io.helidon.tracing.TracerBuilder;
 import io.helidon.tracing.config.TracingConfig;
+
+import io.opentracing.SpanContext;
+import io.opentracing.mock.MockSpan;
+import io.opentracing.mock.MockTracer;
+import io.opentracing.tag.Tags;
 import org.junit.jupiter.api.Test;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.notNullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.contains;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
 
 class WebTracingConfigTest {
 
@@ -78,4 +91,54 @@ class WebTracingConfigTest {
         assertThat(healthPathConfigs.get(1).path(), is("/openapi"));
         assertThat(healthPathConfigs.get(1).tracedConfig(), is(TracingConfig.ENABLED));
     }
+
+    @Test
+    void testUnsampledTrace() {
+        MockTracer tracer = new MockTracer();
+        SpanContext spanContext = route(tracer, "false");
+
+        // inbound context is propagated as is, no span is created
+        assertThat(spanContext.toTraceId(), is("42"));
+        assertThat(spanContext.toSpanId(), is("7"));
+        assertThat(tracer.finishedSpans().size(), is(0));
+    }
+
+    @Test
+    void testSampledTrace() {
+        MockTracer tracer = new MockTracer();
+        SpanContext spanContext = route(tracer, "true");
+
+        assertThat(spanContext.toTraceId(), is("42"));
+        assertThat(spanContext.toSpanId(), is(not("7")));
+        List<MockSpan> spans = tracer.finishedSpans();
+        assertThat(spans.size(), is(1));
+        assertThat(spans.get(0).tags().get(Tags.COMPONENT.getKey()), is("helidon-webserver"));
+        assertThat(spans.get(0).tags().get(Tags.HTTP_METHOD.getKey()), is("GET"));
+    }
+
+    @Test
+    void testTracerBuilderWithSamplingProvider() {
+        // the sampling provider of the tests is also the tracer provider of the module
+        assertThat(TracerBuilder.create("test-service").build(), is(notNullValue()));
+    }
+
+    private static SpanContext route(MockTracer tracer, String sampled) {
+        AtomicReference<SpanContext> spanContext = new AtomicReference<>();
+        Routing routing = Routing.builder()
+                .register(WebTracingConfig.create())
+                .get("/greet", (req, res) -> spanContext.set(req.spanContext().orElse(null)))
+                .build();
+
+        BareRequest request = RoutingTest.mockRequest("/greet", Http.Method.GET);
+        doReturn(Map.of("traceid", List.of("42"),
+                        "spanid", List.of("7"),
+                        "baggage-" + TestSamplingTracerProvider.SAMPLED, List.of(sampled)))
+                .when(request).headers();
+        ServerConfiguration configuration = mock(ServerConfiguration.class);
+        doReturn(tracer).when(configuration).tracer();
+        doReturn(configuration).when(request.webServer()).configuration();
+
+        routing.route(request, RoutingTest.mockResponse());
+        return spanContext.get();
+    }
 }
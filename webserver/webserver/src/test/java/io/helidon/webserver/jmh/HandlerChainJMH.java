@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver.jmh;
+
+import java.net.URI;
+import java.util.concurrent.CompletableFuture;
+
+import io.helidon.common.context.Context;
+import io.helidon.common.http.Http;
+import io.helidon.common.reactive.Single;
+import io.helidon.webserver.BareRequest;
+import io.helidon.webserver.BareResponse;
+import io.helidon.webserver.Handler;
+import io.helidon.webserver.Routing;
+import io.helidon.webserver.WebServer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Routing of a request through a chain of filters, some of them nested in a registered service,
+ * with and without {@link Routing.Builder#precomputeHandlerChains(boolean) precomputed handler chains}.
+ */
+@State(Scope.Benchmark)
+public class HandlerChainJMH {
+
+    private static final Handler FILTER = (req, res) -> req.next();
+
+    public static void main(String[] args) throws Throwable {
+        for (int threads : new int[] {1, 8, 32}) {
+            Options opt = new OptionsBuilder()
+                    .include(HandlerChainJMH.class.getSimpleName())
+                    .forks(1)
+                    .threads(threads)
+                    .warmupIterations(5)
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(5)
+                    .measurementTime(TimeValue.seconds(1))
+                    .build();
+
+            new Runner(opt).run();
+        }
+    }
+
+    @Param({"false", "true"})
+    private boolean precompute;
+
+    private Routing routing;
+    private BareRequest request;
+    private BareResponse response;
+
+    @Setup
+    public void setup() {
+        routing = Routing.builder()
+                .any(FILTER, FILTER, FILTER, FILTER)
+                .post("/api/users", FILTER)
+                .register("/api", rules -> rules
+                        .any(FILTER, FILTER)
+                        .put("/users/{id}", FILTER)
+                        .get("/users/{id}", FILTER, FILTER, (req, res) -> { }))
+                .precomputeHandlerChains(precompute)
+                .build();
+
+        request = mock(BareRequest.class);
+        doReturn(URI.create("http://localhost:8080/api/users/42")).when(request).uri();
+        doReturn(Http.Method.GET).when(request).method();
+        doReturn(Single.empty()).when(request).bodyPublisher();
+        WebServer webServer = mock(WebServer.class);
+        when(webServer.context()).thenReturn(Context.create());
+        doReturn(webServer).when(request).webServer();
+
+        response = mock(BareResponse.class);
+        CompletableFuture<BareResponse> completed = CompletableFuture.completedFuture(response);
+        doReturn(Single.create(completed)).when(response).whenCompleted();
+        doReturn(Single.create(completed)).when(response).whenHeadersCompleted();
+    }
+
+    @Benchmark
+    public void route() {
+        routing.route(request, response);
+    }
+}
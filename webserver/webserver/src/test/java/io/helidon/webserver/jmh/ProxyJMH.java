@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import io.helidon.common.http.Http;
+import io.helidon.webclient.WebClient;
+import io.helidon.webserver.ExperimentalConfiguration;
+import io.helidon.webserver.Http2Configuration;
+import io.helidon.webserver.Routing;
+import io.helidon.webserver.WebServer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * A proxying service, which forwards each request to a backend service with {@link WebClient}.
+ * Compares the client event loops and HTTP/1.1 connections (the previous behavior) with
+ * {@link WebClient.Builder#useServerEventLoops(boolean) server event loops} and multiplexed HTTP/2 connections.
+ */
+@State(Scope.Benchmark)
+public class ProxyJMH {
+
+    public static void main(String[] args) throws Throwable {
+        for (int threads : new int[] {1, 8, 32}) {
+            Options opt = new OptionsBuilder()
+                    .include(ProxyJMH.class.getSimpleName())
+                    .forks(1)
+                    .threads(threads)
+                    .warmupIterations(5)
+                    .warmupTime(TimeValue.seconds(1))
+                    .measurementIterations(5)
+                    .measurementTime(TimeValue.seconds(1))
+                    .build();
+
+            new Runner(opt).run();
+        }
+    }
+
+    @Param({"false", "true"})
+    private boolean serverEventLoops;
+
+    @Param({"HTTP/1.1", "HTTP/2.0"})
+    private String httpVersion;
+
+    private WebServer backend;
+    private WebServer proxy;
+    private WebClient client;
+
+    @Setup
+    public void setup() {
+        backend = WebServer.builder()
+                .host("localhost")
+                .experimental(ExperimentalConfiguration.builder()
+                                      .http2(Http2Configuration.builder().enable(true).build())
+                                      .build())
+                .routing(Routing.builder()
+                                 .get("/backend", (req, res) -> res.send("Hello")))
+                .build()
+                .start()
+                .await(10, TimeUnit.SECONDS);
+
+        WebClient backendClient = WebClient.builder()
+                .baseUri("http://localhost:" + backend.port())
+                .httpVersion(Http.Version.create(httpVersion))
+                .useServerEventLoops(serverEventLoops)
+                .build();
+
+        proxy = WebServer.builder()
+                .host("localhost")
+                .routing(Routing.builder()
+                                 .get("/proxy", (req, res) -> backendClient.get()
+                                         .path("/backend")
+                                         .request(String.class)
+                                         .onError(res::send)
+                                         .forSingle(res::send)))
+                .build()
+                .start()
+                .await(10, TimeUnit.SECONDS);
+
+        client = WebClient.builder()
+                .baseUri("http://localhost:" + proxy.port())
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        proxy.shutdown().await(10, TimeUnit.SECONDS);
+        backend.shutdown().await(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public String proxy() {
+        return client.get()
+                .path("/proxy")
+                .request(String.class)
+                .await(10, TimeUnit.SECONDS);
+    }
+}
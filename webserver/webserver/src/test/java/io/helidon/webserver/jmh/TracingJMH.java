@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2022 Oracle and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.helidon.webserver.jmh;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import io.helidon.common.context.Context;
+import io.helidon.common.http.Http;
+import io.helidon.common.reactive.Single;
+import io.helidon.webserver.BareRequest;
+import io.helidon.webserver.BareResponse;
+import io.helidon.webserver.Routing;
+import io.helidon.webserver.ServerConfiguration;
+import io.helidon.webserver.TestSamplingTracerProvider;
+import io.helidon.webserver.WebServer;
+import io.helidon.webserver.WebTracingConfig;
+
+import io.opentracing.Tracer;
+import io.opentracing.mock.MockSpan;
+import io.opentracing.mock.MockTracer;
+import io.opentracing.noop.NoopTracerFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tracing overhead of a request, for a trace sampled and not sampled by the caller, and with tracing disabled.
+ * The sampling decision of the caller is propagated with the inbound headers, see {@link TestSamplingTracerProvider}.
+ */
+@State(Scope.Benchmark)
+public class TracingJMH {
+
+    public static void main(String[] args) throws Throwable {
+        Options opt = new OptionsBuilder()
+                .include(TracingJMH.class.getSimpleName())
+                .forks(1)
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(1))
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    @Param({"sampled", "unsampled", "disabled"})
+    private String tracing;
+
+    private Routing routing;
+    private BareRequest request;
+    private BareResponse response;
+
+    @Setup
+    public void setup() {
+        routing = Routing.builder()
+                .register(WebTracingConfig.create())
+                .get("/api/users/{id}", (req, res) -> { })
+                .build();
+
+        Tracer tracer = "disabled".equals(tracing) ? NoopTracerFactory.create() : new ResettingTracer();
+        ServerConfiguration configuration = mock(ServerConfiguration.class);
+        doReturn(tracer).when(configuration).tracer();
+
+        request = mock(BareRequest.class);
+        doReturn(URI.create("http://localhost:8080/api/users/42")).when(request).uri();
+        doReturn(Http.Method.GET).when(request).method();
+        doReturn(Single.empty()).when(request).bodyPublisher();
+        doReturn(Map.of("traceid", List.of("42"),
+                        "spanid", List.of("7"),
+                        "baggage-" + TestSamplingTracerProvider.SAMPLED, List.of(String.valueOf(!"unsampled".equals(tracing)))))
+                .when(request).headers();
+        WebServer webServer = mock(WebServer.class);
+        when(webServer.context()).thenReturn(Context.create());
+        when(webServer.configuration()).thenReturn(configuration);
+        doReturn(webServer).when(request).webServer();
+
+        response = mock(BareResponse.class);
+        CompletableFuture<BareResponse> completed = CompletableFuture.completedFuture(response);
+        doReturn(Single.create(completed)).when(response).whenCompleted();
+        doReturn(Single.create(completed)).when(response).whenHeadersCompleted();
+    }
+
+    @Benchmark
+    public void route() {
+        routing.route(request, response);
+    }
+
+    // mock tracer keeps all finished spans
+    private static final class ResettingTracer extends MockTracer {
+        private int finished;
+
+        @Override
+        protected void onSpanFinished(MockSpan mockSpan) {
+            if (++finished % 1024 == 0) {
+                reset();
+            }
+        }
+    }
+}